@@ -0,0 +1,582 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.demo;
+
+import java.awt.Component;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.sql.RowSet;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.tools.RunScript;
+
+import com.nqadmin.rowset.JdbcRowSetImpl;
+import com.nqadmin.swingset.SSComboBox;
+import com.nqadmin.swingset.SSDBComboBox;
+import com.nqadmin.swingset.SSDBNavImpl;
+import com.nqadmin.swingset.SSDataNavigator;
+import com.nqadmin.swingset.SSTextField;
+import com.nqadmin.swingset.datasources.SSMetaDataCache;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSJdbcTrace;
+import com.nqadmin.swingset.metrics.SSMetric;
+import com.nqadmin.swingset.metrics.SSMetrics;
+import com.nqadmin.swingset.utils.SSSyncManager;
+
+import gnu.getopt.Getopt;
+
+/**
+ * Headless performance harness for the navigator/form workflow.
+ * <p>
+ * The demo database is loaded into a private in-memory H2 database and
+ * scaled to the requested number of rows. A screen equivalent to
+ * Example4 is built without a frame: an SSDataNavigator over part_data,
+ * bound SSTextFields and SSComboBox, and an SSDBComboBox navigator kept
+ * in sync with an SSSyncManager. A seeded script of first/next/previous/last,
+ * combo navigation, insert and delete is then run on the event dispatch
+ * thread, and the latency percentiles and JDBC calls of each operation
+ * are written to stdout.
+ * <p>
+ * The same seed and sizes always produce the same script, so field-reported
+ * slowness can be reproduced and compared between builds. Run with
+ * {@code -Djava.awt.headless=true}, or under Xvfb.
+ * <pre>
+ * java -Djava.awt.headless=true -cp ... com.nqadmin.swingset.demo.PerfHarness -r 50000 -n 500
+ * </pre>
+ */
+public class PerfHarness {
+
+	/**
+	 * Log4j2 Logger
+	 */
+	private static final Logger logger = LogManager.getLogger(PerfHarness.class);
+
+	private static final String DATABASE_NAME = "swingset_perf";
+	private static final String DATABASE_SCRIPT_DEMO = "suppliers_and_parts.sql";
+
+	private static final String[] CITIES = { "London", "Paris", "Athens", "Rome", "Oslo" };
+
+	/*
+	 * defaults for optional command line arguments
+	 */
+	private static int rows = 10000;
+	private static int iterations = 200;
+	private static int warmup = 20;
+	private static long seed = 1L;
+	private static boolean verbose = false;
+	private static long stallThreshold = 0;
+	private static String metaDataCache = null;
+
+	private static String cmdName = "SwingSetPerf";
+
+	/**
+	 * Latency samples, in nanoseconds, and JDBC calls for one operation.
+	 */
+	static class OperationStats {
+		private long[] samples = new long[256];
+		private int count = 0;
+		private long jdbcCalls = 0;
+		private long jdbcExecutes = 0;
+
+		void add(final long _nanos, final long _jdbcCalls, final long _jdbcExecutes) {
+			if (count == samples.length) {
+				samples = Arrays.copyOf(samples, count * 2);
+			}
+			samples[count++] = _nanos;
+			jdbcCalls += _jdbcCalls;
+			jdbcExecutes += _jdbcExecutes;
+		}
+
+		/**
+		 * @param _sorted samples in ascending order
+		 * @param _percentile 0 to 100
+		 * @return nearest-rank percentile in milliseconds
+		 */
+		private static double percentile(final long[] _sorted, final double _percentile) {
+			final int rank = (int) Math.ceil((_percentile / 100.0) * _sorted.length);
+			return _sorted[Math.max(0, rank - 1)] / 1e6;
+		}
+
+		String format(final String _name) {
+			final long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			long total = 0;
+			for (final long sample : sorted) {
+				total += sample;
+			}
+			return String.format("%-10s %7d %9.3f %9.3f %9.3f %9.3f %9.3f %9.1f %8.1f", _name, count,
+					(total / 1e6) / count, percentile(sorted, 50), percentile(sorted, 90),
+					percentile(sorted, 99), sorted[count - 1] / 1e6,
+					(double) jdbcCalls / count, (double) jdbcExecutes / count);
+		}
+	}
+
+	/**
+	 * The part_data form of Example4, without the frame.
+	 */
+	static class PartScreen extends JPanel {
+
+		/**
+		 * unique serial id
+		 */
+		private static final long serialVersionUID = -2407614316281520914L;
+
+		SSTextField txtPartID = new SSTextField();
+		SSTextField txtPartName = new SSTextField();
+		SSComboBox cmbPartColor = new SSComboBox();
+		SSTextField txtPartWeight = new SSTextField();
+		SSTextField txtPartCity = new SSTextField();
+
+		Connection connection;
+		RowSet rowset;
+		SSDataNavigator navigator;
+		SSDBComboBox cmbSelectPart;
+		SSSyncManager syncManager;
+
+		PartScreen(final Connection _connection) throws SQLException {
+			connection = _connection;
+
+			// ORDER BY SO THAT A NEWLY INSERTED RECORD IS THE LAST ONE
+			rowset = new JdbcRowSetImpl(connection);
+			rowset.setCommand("SELECT * FROM part_data ORDER BY part_id");
+			navigator = new SSDataNavigator(rowset);
+			navigator.setConfirmDeletes(false);
+			navigator.setName("Parts");
+
+			navigator.setDBNav(new SSDBNavImpl(this) {
+				/**
+				 * unique serial id
+				 */
+				private static final long serialVersionUID = 5361017693466001412L;
+
+				@Override
+				public void performCancelOps() {
+					super.performCancelOps();
+					cmbSelectPart.setEnabled(true);
+				}
+
+				@Override
+				public void performPostDeletionOps() {
+					super.performPostDeletionOps();
+					try {
+						rowset.execute();
+					} catch (final SQLException se) {
+						logger.error("SQL Exception.", se);
+					}
+					performRefreshOps();
+				}
+
+				@Override
+				public void performPostInsertOps() {
+					super.performPostInsertOps();
+					cmbSelectPart.setEnabled(true);
+					try {
+						rowset.execute();
+					} catch (final SQLException se) {
+						logger.error("SQL Exception.", se);
+					}
+					performRefreshOps();
+				}
+
+				@Override
+				public void performPreInsertOps() {
+					super.performPreInsertOps();
+					try (Statement statement = connection.createStatement();
+							ResultSet rs = statement.executeQuery("SELECT nextval('part_data_seq') as nextVal;")) {
+						rs.next();
+						txtPartID.setText(String.valueOf(rs.getInt("nextVal")));
+					} catch (final SQLException se) {
+						logger.error("SQL Exception occured initializing new record.", se);
+					}
+					cmbSelectPart.setEnabled(false);
+				}
+
+				@Override
+				public void performRefreshOps() {
+					super.performRefreshOps();
+					syncManager.async();
+					try {
+						cmbSelectPart.execute();
+					} catch (final Exception e) {
+						logger.error("Exception.", e);
+					}
+					syncManager.sync();
+				}
+			});
+
+			cmbSelectPart = new SSDBComboBox(connection, "SELECT part_id, part_name FROM part_data ORDER BY part_id",
+					"part_id", "part_name");
+			try {
+				cmbSelectPart.execute();
+			} catch (final Exception e) {
+				logger.error("Exception.", e);
+			}
+
+			cmbPartColor.setOptions(Arrays.asList(new String[] { "Red", "Green", "Blue" }));
+
+			txtPartID.bind(rowset, "part_id");
+			txtPartName.bind(rowset, "part_name");
+			cmbPartColor.bind(rowset, "color_code");
+			txtPartWeight.bind(rowset, "weight");
+			txtPartCity.bind(rowset, "city");
+
+			syncManager = new SSSyncManager(cmbSelectPart, navigator);
+			syncManager.setColumnName("part_id");
+			syncManager.sync();
+
+			add(cmbSelectPart);
+			add(txtPartID);
+			add(txtPartName);
+			add(cmbPartColor);
+			add(txtPartWeight);
+			add(txtPartCity);
+			add(navigator);
+		}
+	}
+
+	/**
+	 * An operation of the script, run on the event dispatch thread.
+	 */
+	@FunctionalInterface
+	interface Operation {
+		void run() throws Exception;
+	}
+
+	private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+	private PartScreen screen;
+
+	/**
+	 * Create the in-memory demo database and add generated suppliers,
+	 * parts and shipments.
+	 * 
+	 * @return connection to the loaded database
+	 * @throws SQLException if the database can not be loaded
+	 */
+	private static Connection loadDatabase() throws SQLException {
+		final Connection result = DriverManager.getConnection("jdbc:h2:mem:" + DATABASE_NAME);
+		try (InputStream stream = PerfHarness.class.getClassLoader().getResourceAsStream(DATABASE_SCRIPT_DEMO)) {
+			if (stream == null) {
+				throw new SQLException("Script '" + DATABASE_SCRIPT_DEMO + "' not found on the classpath.");
+			}
+			RunScript.execute(result, new InputStreamReader(stream));
+		} catch (final IOException ioe) {
+			throw new SQLException(ioe);
+		}
+
+		final Random random = new Random(seed);
+		final int suppliers = Math.max(1, rows / 10);
+		result.setAutoCommit(false);
+		try (PreparedStatement supplier = result.prepareStatement(
+				"INSERT INTO supplier_data (supplier_name, status, city) VALUES (?, ?, ?)");
+				PreparedStatement part = result.prepareStatement(
+						"INSERT INTO part_data (part_name, color_code, weight, city) VALUES (?, ?, ?, ?)");
+				PreparedStatement shipment = result.prepareStatement(
+						"INSERT INTO supplier_part_data (supplier_id, part_id, quantity, ship_date) VALUES (?, ?, ?, ?)")) {
+			for (int i = 0; i < suppliers; i++) {
+				supplier.setString(1, "Supplier " + i);
+				supplier.setInt(2, 10 * (1 + random.nextInt(5)));
+				supplier.setString(3, CITIES[random.nextInt(CITIES.length)]);
+				supplier.addBatch();
+			}
+			supplier.executeBatch();
+			for (int i = 0; i < rows; i++) {
+				part.setString(1, "Part " + i);
+				part.setInt(2, random.nextInt(3));
+				part.setInt(3, 1 + random.nextInt(50));
+				part.setString(4, CITIES[random.nextInt(CITIES.length)]);
+				part.addBatch();
+				shipment.setInt(1, 1000 + random.nextInt(suppliers));
+				shipment.setInt(2, 1000 + i);
+				shipment.setInt(3, 100 * (1 + random.nextInt(10)));
+				shipment.setDate(4, new Date(1_000_000_000_000L + (random.nextInt(3650) * 86_400_000L)));
+				shipment.addBatch();
+				if ((i % 1000) == 999) {
+					part.executeBatch();
+					shipment.executeBatch();
+				}
+			}
+			part.executeBatch();
+			shipment.executeBatch();
+			result.commit();
+		} finally {
+			result.setAutoCommit(true);
+		}
+		return result;
+	}
+
+	/**
+	 * Run an operation on the event dispatch thread and, when recording,
+	 * add its latency and JDBC calls to the named statistics.
+	 */
+	private void time(final String _name, final boolean _record, final Operation _operation) throws Exception {
+		final Exception[] failure = new Exception[1];
+		SwingUtilities.invokeAndWait(() -> {
+			final long calls = SSJdbcTrace.getTotals().getCallCount();
+			final long executes = SSJdbcTrace.getTotals().getExecuteCount();
+			final long start = System.nanoTime();
+			try {
+				_operation.run();
+			} catch (final Exception e) {
+				failure[0] = e;
+				return;
+			}
+			final long elapsed = System.nanoTime() - start;
+			if (_record) {
+				stats.computeIfAbsent(_name, _k -> new OperationStats()).add(elapsed,
+						SSJdbcTrace.getTotals().getCallCount() - calls,
+						SSJdbcTrace.getTotals().getExecuteCount() - executes);
+			}
+		});
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+	}
+
+	/**
+	 * One pass of the script; the random choices are drawn from _random.
+	 */
+	private void runIteration(final Random _random, final boolean _record) throws Exception {
+		final SSDataNavigator navigator = screen.navigator;
+
+		time("first", _record, () -> click(navigator, "First"));
+		final int steps = 1 + _random.nextInt(5);
+		for (int i = 0; i < steps; i++) {
+			time("next", _record, () -> click(navigator, "Next"));
+		}
+		time("last", _record, () -> click(navigator, "Last"));
+		time("previous", _record, () -> click(navigator, "Previous"));
+
+		final int index = _random.nextInt(screen.cmbSelectPart.getItemCount());
+		time("combo", _record, () -> screen.cmbSelectPart.setSelectedIndex(index));
+
+		final int weight = 1 + _random.nextInt(50);
+		time("insert", _record, () -> {
+			click(navigator, "Add Record");
+			screen.txtPartName.setText("Perf part");
+			screen.cmbPartColor.setSelectedIndex(weight % 3);
+			screen.txtPartWeight.setText(String.valueOf(weight));
+			screen.txtPartCity.setText(CITIES[weight % CITIES.length]);
+			click(navigator, "Commit");
+		});
+
+		// THE NEW RECORD IS THE LAST ONE, DELETING IT KEEPS THE TABLE SIZE CONSTANT
+		time("last", false, () -> click(navigator, "Last"));
+		time("delete", _record, () -> click(navigator, "Delete Record"));
+	}
+
+	/**
+	 * Click a navigator button, found by its tool tip, with doClick(0):
+	 * doClick() holds the button pressed on the event dispatch thread for
+	 * 68ms, which would be timed with the navigation.
+	 */
+	private static void click(final SSDataNavigator _navigator, final String _toolTip) {
+		for (final Component component : _navigator.getComponents()) {
+			if ((component instanceof JButton) && _toolTip.equals(((JButton) component).getToolTipText())) {
+				((JButton) component).doClick(0);
+				return;
+			}
+		}
+		throw new IllegalStateException("No navigator button " + _toolTip + ".");
+	}
+
+	private void run() throws Exception {
+		long start = System.nanoTime();
+		final Connection connection = loadDatabase();
+		System.out.println(String.format("Loaded %d parts in %.0f ms.", rows, (System.nanoTime() - start) / 1e6));
+
+		SSMetrics.setEnabled(verbose || (stallThreshold > 0));
+		if (stallThreshold > 0) {
+			SSEdtWatchdog.install(stallThreshold);
+		}
+		if (metaDataCache != null) {
+			SSMetaDataCache.open(Paths.get(metaDataCache), DATABASE_SCRIPT_DEMO);
+		}
+		final Connection traced = SSJdbcTrace.wrap(connection);
+		final PartScreen[] built = new PartScreen[1];
+		time("open", true, () -> built[0] = new PartScreen(traced));
+		screen = built[0];
+
+		final Random random = new Random(seed);
+		for (int i = 0; i < warmup; i++) {
+			runIteration(random, false);
+		}
+		SSMetrics.reset();
+		SSJdbcTrace.reset();
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			runIteration(random, true);
+		}
+		final double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(String.format("%d iterations in %.2f s, seed %d, headless %b.", iterations, seconds, seed,
+				GraphicsEnvironment.isHeadless()));
+		System.out.println(String.format("%-10s %7s %9s %9s %9s %9s %9s %9s %8s", "operation", "count", "mean",
+				"p50", "p90", "p99", "max", "jdbc/op", "exec/op"));
+		for (final Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+			System.out.println(entry.getValue().format(entry.getKey()));
+		}
+		System.out.println("(latencies in milliseconds)");
+
+		if (verbose) {
+			System.out.println();
+			System.out.println("JDBC calls after warmup, by screen and component:");
+			System.out.print(SSJdbcTrace.report());
+
+			final List<SSMetric> metrics = new ArrayList<>(SSMetrics.getMetrics());
+			metrics.sort((_a, _b) -> String.valueOf(_a).compareTo(String.valueOf(_b)));
+			System.out.println();
+			System.out.println("SwingSet metrics:");
+			for (final SSMetric metric : metrics) {
+				System.out.println(metric);
+			}
+		}
+
+		if (stallThreshold > 0) {
+			SSEdtWatchdog.uninstall();
+			final List<SSEdtWatchdog.Stall> stalls = SSEdtWatchdog.getRecentStalls();
+			System.out.println();
+			System.out.println(String.format("EDT stalls of %dms or more: %d, the last %d kept.", stallThreshold,
+					SSMetrics.getMetric(SSMetrics.EDT_STALL).getCount(), stalls.size()));
+			for (final SSEdtWatchdog.Stall stall : stalls) {
+				System.out.println(String.format("%9.1f ms  %s  [%s]", stall.getMillis(), stall.getComponent(),
+						stall.getSql()));
+			}
+		}
+
+		// LET DEFERRED COMPONENT REFRESHES RUN BEFORE THE CONNECTION GOES AWAY
+		SwingUtilities.invokeAndWait(() -> {});
+		SwingUtilities.invokeAndWait(() -> {});
+		SSMetaDataCache.close();
+		connection.close();
+	}
+
+	private static void usage() {
+		String usage =
+				"\n"
+				+ "Run a scripted navigator/form workload against a scaled in memory\n"
+				+ "copy of the demo database and report latency per operation.\n"
+				+ "\n"
+				+ cmdName + " [-h] [-v] [-r rows] [-n iterations] [-w warmup] [-s seed]\n"
+				+ "    [-t threshold] [-m cache-file]\n"
+				+ "\n"
+				+ "    -h             help\n"
+				+ "    -v             verbose; list the JDBC calls by screen and component\n"
+				+ "                   and the SwingSet metrics\n"
+				+ "    -r rows        number of generated parts, default " + rows + "\n"
+				+ "    -n iterations  number of measured script passes, default " + iterations + "\n"
+				+ "    -w warmup      number of unmeasured script passes, default " + warmup + "\n"
+				+ "    -s seed        seed for the generated data and the script, default " + seed + "\n"
+				+ "    -t threshold   install the SSEdtWatchdog and list the events that ran\n"
+				+ "                   at least threshold milliseconds\n"
+				+ "    -m cache-file  open the SSMetaDataCache in cache-file; run twice to\n"
+				+ "                   see the open with a warm cache\n"
+				+ "\n"
+				;
+		System.err.println(usage);
+		System.exit(1);
+	}
+
+	/**
+	 * Main method for the performance harness
+	 * <p>
+	 * @param _args - optional command line arguments, see usage()
+	 */
+	public static void main(final String[] _args) {
+		boolean some_error = false;
+
+		Getopt g = new Getopt(cmdName, _args, "hvr:n:w:s:t:m:");
+
+		int c;
+		try {
+			while ((c = g.getopt()) != -1)
+			{
+				switch(c)
+				{
+					case 'v': verbose = true;                               break;
+					case 'r': rows = Integer.parseInt(g.getOptarg());       break;
+					case 'n': iterations = Integer.parseInt(g.getOptarg()); break;
+					case 'w': warmup = Integer.parseInt(g.getOptarg());     break;
+					case 's': seed = Long.parseLong(g.getOptarg());         break;
+					case 't': stallThreshold = Long.parseLong(g.getOptarg()); break;
+					case 'm': metaDataCache = g.getOptarg();                break;
+					case '?':
+					case 'h':
+					default:
+						some_error = true;
+						break; // getopt() already printed an error
+				}
+			}
+		} catch (final NumberFormatException nfe) {
+			System.err.println("Invalid number: " + nfe.getMessage());
+			some_error = true;
+		}
+
+		if (some_error || (g.getOptind() != _args.length) || (rows < 1) || (iterations < 1) || (warmup < 0)) {
+			usage();
+		}
+
+		try {
+			new PerfHarness().run();
+		} catch (final Exception e) {
+			logger.fatal("Performance run failed.", e);
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+}
@@ -131,7 +131,7 @@ public abstract class SSBaseComboBox<M,O,O2> extends JComboBox<SSListItem> imple
 				logger.debug(() -> String.format("%s: Setting to null.", getColumnForLog()));
 			} else {
 				setBoundColumnText(String.valueOf(mapping));
-				logger.debug(String.format("%s: Setting to %s.",  getColumnForLog(), mapping));
+				logger.debug("{}: Setting to {}.", () -> getColumnForLog(), () -> mapping);
 			}
 
 			addRowSetListener();
@@ -214,6 +214,7 @@ public abstract class SSBaseComboBox<M,O,O2> extends JComboBox<SSListItem> imple
 			// RESTORE JCOMBOBOX UP/DOWN ARROW HANDLING OVERRIDING GLAZEDLIST
 			_jc.glazedListArrowHandler();
 			//model.autoComplete.setStrict(true);
+			model.trackPrototype(_jc);
 			return model;
 		}
 
@@ -370,12 +371,12 @@ public abstract class SSBaseComboBox<M,O,O2> extends JComboBox<SSListItem> imple
 	 */
 	public void setSelectedMapping(final M _mapping) {
 		
-		logger.debug(String.format("%s: current value: %s, new value: %s.",
-				getColumnForLog(), getSelectedMapping(), _mapping ));
+		logger.debug("{}: current value: {}, new value: {}.",
+				() -> getColumnForLog(), () -> getSelectedMapping(), () -> _mapping);
 
 		try (BaseModel<M,O,O2>.Remodel remodel = optionModel.getRemodel()) {
 			if (!hasItems()) {
-				logger.warn(String.format("%s: combobox is empty", getColumnForLog()));
+				logger.warn("{}: combobox is empty", getColumnForLog());
 				// Doesn't have items, that doesn't mean that the list is empty.
 				// Make sure the appropriate null is selected.
 				setSelectedItem(nullItem);
@@ -395,7 +396,7 @@ public abstract class SSBaseComboBox<M,O,O2> extends JComboBox<SSListItem> imple
 				// nullItem is either special first list item
 				// or it is null. It is null when getAllowNull() is false
 				item = nullItem;
-				logger.warn(String.format("%s: No mapping available for %s in combobox, setSelectedItem(null)", getColumnForLog(), _mapping));
+				logger.warn("{}: No mapping available for {} in combobox, setSelectedItem(null)", getColumnForLog(), _mapping);
 			}
 			setSelectedItem(item);
 			
@@ -417,7 +418,7 @@ public abstract class SSBaseComboBox<M,O,O2> extends JComboBox<SSListItem> imple
 
 		try (BaseModel<M,O,O2>.Remodel remodel = optionModel.getRemodel()) {
 			if(!hasItems()) {
-				logger.warn(String.format("%s: combobox is empty", getColumnForLog()));
+				logger.warn("{}: combobox is empty", getColumnForLog());
 				// Even if combo is empty, stick _option in editor. Do not return;
 			}
 			
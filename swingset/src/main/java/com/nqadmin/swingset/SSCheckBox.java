@@ -100,7 +100,7 @@ public class SSCheckBox extends JCheckBox implements SSComponentInterface {
 					setBoundColumnText(BOOLEAN_CHECKED);
 					break;
 				default:
-					logger.warn(getColumnForLog() + ": Unknown column type of " + getBoundColumnType());
+					logger.warn("{}: Unknown column type of {}", getColumnForLog(), getBoundColumnType());
 					break;
 				}
 			} else {
@@ -116,7 +116,7 @@ public class SSCheckBox extends JCheckBox implements SSComponentInterface {
 					setBoundColumnText(BOOLEAN_UNCHECKED);
 					break;
 				default:
-					logger.warn(getColumnForLog() + ": Unknown column type of " + getBoundColumnType());
+					logger.warn("{}: Unknown column type of {}", getColumnForLog(), getBoundColumnType());
 					break;
 				}
 			}
@@ -140,7 +140,7 @@ public class SSCheckBox extends JCheckBox implements SSComponentInterface {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -265,7 +265,7 @@ public class SSCheckBox extends JCheckBox implements SSComponentInterface {
 		// TODO Modify this class similar to updateSSComponent() in SSFormattedTextField and only allow JDBC types that convert to Long, Integer, Boolean
 		
 		final String text = getBoundColumnText();
-		logger.debug("{}: getBoundColumnText() - " + text, () -> getColumnForLog());
+		logger.debug("{}: getBoundColumnText() - {}", () -> getColumnForLog(), () -> text);
 
 		// SELECT/DESELECT BASED ON UNDERLYING SQL TYPE
 		switch (getBoundColumnType()) {
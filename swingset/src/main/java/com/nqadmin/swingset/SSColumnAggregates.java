@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSColumnAggregates.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Aggregates of SSTableModel columns, for example the totals shown in the
+ * footer of an SSDataGrid.
+ * <p>
+ * The aggregates are computed with a single pass over the rows when they are
+ * first needed after the RowSet is set. After that SSTableModel reports each
+ * changed value, inserted row and deleted row, and the aggregates are
+ * adjusted without reading the other rows. Only when the minimum or maximum
+ * value itself is removed is that column scanned again, when next needed.
+ * <p>
+ * COUNT counts the non-null values. SUM and AVG use the numeric values; the
+ * sums of integer and decimal values are exact, only FLOAT and DOUBLE values
+ * are summed as doubles. MIN and MAX compare numbers by value and other
+ * values by their natural order.
+ *
+ * @since 4.0.0
+ */
+public class SSColumnAggregates {
+
+	/**
+	 * Aggregate functions.
+	 */
+	public enum Aggregate {
+		/** number of non-null values */
+		COUNT,
+		/** sum of the values */
+		SUM,
+		/** smallest value */
+		MIN,
+		/** largest value */
+		MAX,
+		/** average of the values */
+		AVG
+	}
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Running state of a column.
+	 */
+	private static class ColumnState {
+		long count = 0;
+		long numberCount = 0;
+		// EXACT SUMS ARE KEPT APART FROM THE FLOATING POINT SUM, SO ADDING
+		// AND REMOVING VALUES DOES NOT DRIFT
+		long longSum = 0;
+		BigDecimal decimalSum = BigDecimal.ZERO;
+		double doubleSum = 0;
+		long decimalCount = 0;
+		long doubleCount = 0;
+		Object min = null;
+		Object max = null;
+		boolean extremaValid = true;
+
+		void add(final Object _value) {
+			if (_value == null) {
+				return;
+			}
+			count++;
+			if (_value instanceof Number) {
+				numberCount++;
+				addToSum((Number) _value, 1);
+			}
+			if (extremaValid) {
+				addExtrema(_value);
+			}
+		}
+
+		/**
+		 * Add the value to the sum of its kind, or subtract it if the sign
+		 * is -1.
+		 */
+		private void addToSum(final Number _value, final int _sign) {
+			if (isIntegral(_value)) {
+				final long value = _value.longValue();
+				try {
+					longSum = _sign > 0 ? Math.addExact(longSum, value) : Math.subtractExact(longSum, value);
+				} catch (final ArithmeticException ae) {
+					// OVERFLOW, THE BIG DECIMAL SUM TAKES THE VALUE
+					decimalSum = _sign > 0 ? decimalSum.add(BigDecimal.valueOf(value))
+							: decimalSum.subtract(BigDecimal.valueOf(value));
+				}
+			} else if ((_value instanceof BigDecimal) || (_value instanceof BigInteger)) {
+				final BigDecimal value = _value instanceof BigDecimal ? (BigDecimal) _value
+						: new BigDecimal((BigInteger) _value);
+				decimalSum = _sign > 0 ? decimalSum.add(value) : decimalSum.subtract(value);
+				decimalCount += _sign;
+			} else {
+				doubleSum += _sign * _value.doubleValue();
+				doubleCount += _sign;
+			}
+		}
+
+		/**
+		 * @return Double if there are floating point values, BigDecimal if
+		 *		there are decimal values or the sum is too large for a long,
+		 *		otherwise Long
+		 */
+		Number getSum() {
+			if (doubleCount > 0) {
+				return doubleSum + decimalSum.doubleValue() + longSum;
+			}
+			if (decimalCount > 0) {
+				return decimalSum.add(BigDecimal.valueOf(longSum));
+			}
+			if (decimalSum.signum() == 0) {
+				return longSum;
+			}
+			// INTEGERS THAT OVERFLOWED A LONG
+			final BigDecimal exactSum = decimalSum.add(BigDecimal.valueOf(longSum));
+			try {
+				return exactSum.longValueExact();
+			} catch (final ArithmeticException ae) {
+				return exactSum;
+			}
+		}
+
+		Number getAverage() {
+			final Number sum = getSum();
+			if (sum instanceof BigDecimal) {
+				return ((BigDecimal) sum).divide(BigDecimal.valueOf(numberCount), MathContext.DECIMAL64);
+			}
+			return sum.doubleValue() / numberCount;
+		}
+
+		void addExtrema(final Object _value) {
+			if ((min == null) || (compare(_value, min) < 0)) {
+				min = _value;
+			}
+			if ((max == null) || (compare(_value, max) > 0)) {
+				max = _value;
+			}
+		}
+
+		void remove(final Object _value) {
+			if (_value == null) {
+				return;
+			}
+			count--;
+			if (_value instanceof Number) {
+				numberCount--;
+				addToSum((Number) _value, -1);
+			}
+			if (extremaValid && (((min != null) && (compare(_value, min) == 0))
+					|| ((max != null) && (compare(_value, max) == 0)))) {
+				extremaValid = false;
+			}
+		}
+	}
+
+	private final SSTableModel model;
+	private final Map<Integer, Aggregate> aggregates = new TreeMap<>();
+	private final Map<Integer, ColumnState> states = new TreeMap<>();
+	private final List<ChangeListener> listeners = new ArrayList<>();
+
+	/**
+	 * Constructs the aggregates of a table model's columns.
+	 *
+	 * @param _model table model
+	 */
+	public SSColumnAggregates(final SSTableModel _model) {
+		model = _model;
+	}
+
+	/**
+	 * Sets the aggregate of a column.
+	 *
+	 * @param _column column number (first column is 0)
+	 * @param _aggregate aggregate, null for none
+	 */
+	public void setAggregate(final int _column, final Aggregate _aggregate) {
+		if (_aggregate == null) {
+			aggregates.remove(_column);
+		} else {
+			aggregates.put(_column, _aggregate);
+		}
+		invalidate();
+	}
+
+	/**
+	 * @param _column column number (first column is 0)
+	 * @return the aggregate of the column, null if none
+	 */
+	public Aggregate getAggregate(final int _column) {
+		return aggregates.get(_column);
+	}
+
+	/**
+	 * @return true if no column has an aggregate
+	 */
+	public boolean isEmpty() {
+		return aggregates.isEmpty();
+	}
+
+	/**
+	 * Returns the value of a column's aggregate.
+	 *
+	 * @param _column column number (first column is 0)
+	 * @return Long for COUNT; for SUM Long for integer values, BigDecimal for
+	 *		decimal values and Double for floating point values; for AVG
+	 *		BigDecimal for decimal values, otherwise Double; a column value
+	 *		for MIN and MAX; null if the column has no aggregate or no values
+	 */
+	public Object getValue(final int _column) {
+		final Aggregate aggregate = aggregates.get(_column);
+		if (aggregate == null) {
+			return null;
+		}
+		if (states.isEmpty()) {
+			compute();
+		}
+		final ColumnState state = states.get(_column);
+		switch (aggregate) {
+		case COUNT:
+			return state.count;
+		case SUM:
+			return state.numberCount == 0 ? null : state.getSum();
+		case AVG:
+			return state.numberCount == 0 ? null : state.getAverage();
+		case MIN:
+		case MAX:
+			if (!state.extremaValid) {
+				computeExtrema(_column, state);
+			}
+			return aggregate == Aggregate.MIN ? state.min : state.max;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Discards the aggregates, they are computed again when next needed.
+	 */
+	public void invalidate() {
+		states.clear();
+		fireStateChanged();
+	}
+
+	/**
+	 * Adjusts the aggregates for a changed value.
+	 *
+	 * @param _column column number (first column is 0)
+	 * @param _oldValue value before the change
+	 * @param _newValue value after the change
+	 */
+	public void valueChanged(final int _column, final Object _oldValue, final Object _newValue) {
+		final ColumnState state = states.get(_column);
+		if (state == null) {
+			return;
+		}
+		state.remove(_oldValue);
+		state.add(_newValue);
+		fireStateChanged();
+	}
+
+	/**
+	 * Adjusts the aggregates for an inserted row.
+	 *
+	 * @param _values the values of the row, by column
+	 */
+	public void rowInserted(final Object[] _values) {
+		if (states.isEmpty()) {
+			return;
+		}
+		for (final Map.Entry<Integer, ColumnState> entry : states.entrySet()) {
+			entry.getValue().add(_values[entry.getKey()]);
+		}
+		fireStateChanged();
+	}
+
+	/**
+	 * Adjusts the aggregates for a deleted row.
+	 *
+	 * @param _values the values of the row, by column
+	 */
+	public void rowDeleted(final Object[] _values) {
+		if (states.isEmpty()) {
+			return;
+		}
+		for (final Map.Entry<Integer, ColumnState> entry : states.entrySet()) {
+			entry.getValue().remove(_values[entry.getKey()]);
+		}
+		fireStateChanged();
+	}
+
+	/**
+	 * @param _listener notified when the aggregates change
+	 */
+	public void addChangeListener(final ChangeListener _listener) {
+		listeners.add(_listener);
+	}
+
+	/**
+	 * @param _listener listener to remove
+	 */
+	public void removeChangeListener(final ChangeListener _listener) {
+		listeners.remove(_listener);
+	}
+
+	private void fireStateChanged() {
+		final ChangeEvent event = new ChangeEvent(this);
+		for (final ChangeListener listener : listeners) {
+			listener.stateChanged(event);
+		}
+	}
+
+	/**
+	 * Compute all the aggregates with one pass over the rows.
+	 */
+	private void compute() {
+		final long start = System.nanoTime();
+		final int[] columns = new int[aggregates.size()];
+		int i = 0;
+		for (final Integer column : aggregates.keySet()) {
+			columns[i++] = column;
+			states.put(column, new ColumnState());
+		}
+		final int rows = model.rowCount;
+		for (int row = 0; row < rows; row++) {
+			for (final int column : columns) {
+				states.get(column).add(model.getValueAt(row, column));
+			}
+		}
+		logger.debug("Aggregated {} columns of {} rows in {} ms.", columns.length, rows,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	private void computeExtrema(final int _column, final ColumnState _state) {
+		_state.min = null;
+		_state.max = null;
+		for (int row = 0; row < model.rowCount; row++) {
+			final Object value = model.getValueAt(row, _column);
+			if (value != null) {
+				_state.addExtrema(value);
+			}
+		}
+		_state.extremaValid = true;
+	}
+
+	private static boolean isIntegral(final Object _value) {
+		return (_value instanceof Integer) || (_value instanceof Long) || (_value instanceof Short)
+				|| (_value instanceof Byte);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(final Object _value1, final Object _value2) {
+		if ((_value1 instanceof Number) && (_value2 instanceof Number)) {
+			return Double.compare(((Number) _value1).doubleValue(), ((Number) _value2).doubleValue());
+		}
+		if ((_value1 instanceof Comparable) && _value1.getClass().isInstance(_value2)) {
+			return ((Comparable) _value1).compareTo(_value2);
+		}
+		return _value1.toString().compareTo(_value2.toString());
+	}
+}
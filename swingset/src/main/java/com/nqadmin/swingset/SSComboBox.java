@@ -255,7 +255,7 @@ public class SSComboBox extends SSBaseComboBox<Integer, String, Object>
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Value to represent that no item has been selected in the combo box.
@@ -857,7 +857,7 @@ public class SSComboBox extends SSBaseComboBox<Integer, String, Object>
 			}
 
 		} catch (final NumberFormatException nfe) {
-			logger.warn(getColumnForLog() + ": Number Format Exception.", nfe);
+			logger.warn("{}: Number Format Exception.", getColumnForLog(), nfe);
 		}
 	}
 
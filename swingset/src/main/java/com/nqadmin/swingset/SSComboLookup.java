@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSComboLookup.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * The items of a combo column in an SSDataGrid: the underlying values
+ * stored in the column and the values displayed for them. An index from
+ * underlying value to item is built once, so rendering a cell is a hash
+ * lookup rather than a scan of the values; when all underlying values are
+ * integers the index is keyed by primitive long, and an Integer, Long or
+ * Short column value finds its item. The display text of each item is also
+ * computed once.
+ * <p>
+ * A lookup is immutable and may be shared by several columns, or grids,
+ * that use the same code table, see {@link #fromQuery(Connection, String, String, String)}.
+ *
+ * @since 4.0.0
+ */
+public class SSComboLookup {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	private final Object[] displayValues;
+	private final Object[] underlyingValues;
+	private final String[] displayText;
+
+	// INDEX FOR INTEGER UNDERLYING VALUES: OPEN ADDRESSING, SLOT HOLDS ITEM + 1
+	private long[] longKeys = null;
+	private int[] longSlots = null;
+
+	// INDEX FOR ANY OTHER UNDERLYING VALUES
+	private Map<Object, Integer> objectIndex = null;
+
+	/**
+	 * Constructs a lookup.
+	 *
+	 * @param _displayValues the objects displayed in the combo box
+	 * @param _underlyingValues the values stored in the column for each
+	 *		displayed object, null if the column stores the item index
+	 */
+	public SSComboLookup(final Object[] _displayValues, final Object[] _underlyingValues) {
+		displayValues = _displayValues;
+		underlyingValues = _underlyingValues;
+		displayText = new String[_displayValues.length];
+		for (int i = 0; i < displayText.length; i++) {
+			displayText[i] = _displayValues[i] == null ? "" : _displayValues[i].toString();
+		}
+		if (_underlyingValues != null) {
+			buildIndex();
+		}
+	}
+
+	/**
+	 * Constructs a lookup from a query, like an SSDBComboBox list.
+	 *
+	 * @param _connection connection for the query
+	 * @param _query query returning the items
+	 * @param _primaryKeyColumnName column with the values stored in the grid column
+	 * @param _displayColumnName column with the values displayed
+	 * @return the lookup
+	 * @throws SQLException if the query fails
+	 */
+	public static SSComboLookup fromQuery(final Connection _connection, final String _query,
+			final String _primaryKeyColumnName, final String _displayColumnName) throws SQLException {
+		logger.debug("Query [{}].", _query);
+		final List<Object> underlying = new ArrayList<>();
+		final List<Object> display = new ArrayList<>();
+		try (Statement statement = _connection.createStatement();
+				ResultSet rs = statement.executeQuery(_query)) {
+			final int pkColumn = rs.findColumn(_primaryKeyColumnName);
+			final int displayColumn = rs.findColumn(_displayColumnName);
+			while (rs.next()) {
+				underlying.add(rs.getObject(pkColumn));
+				display.add(rs.getObject(displayColumn));
+			}
+		}
+		return new SSComboLookup(display.toArray(), underlying.toArray());
+	}
+
+	private void buildIndex() {
+		boolean integral = true;
+		for (final Object value : underlyingValues) {
+			integral &= isIntegral(value);
+		}
+		if (integral) {
+			int capacity = 16;
+			while (capacity < (underlyingValues.length * 2)) {
+				capacity <<= 1;
+			}
+			longKeys = new long[capacity];
+			longSlots = new int[capacity];
+			// THE FIRST ITEM WITH A VALUE WINS, AS WITH A SCAN
+			for (int i = underlyingValues.length - 1; i >= 0; i--) {
+				final long key = ((Number) underlyingValues[i]).longValue();
+				int slot = findSlot(key);
+				longKeys[slot] = key;
+				longSlots[slot] = i + 1;
+			}
+		} else {
+			objectIndex = new HashMap<>(underlyingValues.length * 2);
+			for (int i = underlyingValues.length - 1; i >= 0; i--) {
+				objectIndex.put(underlyingValues[i], i);
+			}
+		}
+	}
+
+	private static boolean isIntegral(final Object _value) {
+		return (_value instanceof Integer) || (_value instanceof Long) || (_value instanceof Short)
+				|| (_value instanceof Byte);
+	}
+
+	/**
+	 * @return slot holding the key, or the empty slot where it goes
+	 */
+	private int findSlot(final long _key) {
+		final int mask = longKeys.length - 1;
+		int slot = (int) ((_key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+		while ((longSlots[slot] != 0) && (longKeys[slot] != _key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Returns the item for a value of the column.
+	 *
+	 * @param _value column value
+	 * @return item index, -1 if no item has the value
+	 */
+	public int indexOf(final Object _value) {
+		if (_value == null) {
+			return -1;
+		}
+		if (underlyingValues == null) {
+			final int index = ((Number) _value).intValue();
+			return (index >= 0) && (index < displayValues.length) ? index : -1;
+		}
+		if (longKeys != null) {
+			return isIntegral(_value) ? longSlots[findSlot(((Number) _value).longValue())] - 1 : -1;
+		}
+		final Integer index = objectIndex.get(_value);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return the number of items
+	 */
+	public int size() {
+		return displayValues.length;
+	}
+
+	/**
+	 * @return the objects displayed in the combo box
+	 */
+	public Object[] getDisplayValues() {
+		return displayValues;
+	}
+
+	/**
+	 * Returns the text shown for an item.
+	 *
+	 * @param _index item index
+	 * @return display text
+	 */
+	public String getDisplayText(final int _index) {
+		return displayText[_index];
+	}
+
+	/**
+	 * Returns the value stored in the column for an item.
+	 *
+	 * @param _index item index
+	 * @return underlying value, the index if the column stores the index
+	 */
+	public Object getUnderlyingValue(final int _index) {
+		return underlyingValues == null ? Integer.valueOf(_index) : underlyingValues[_index];
+	}
+
+	/**
+	 * @return true if the column stores the item index rather than an
+	 *		underlying value
+	 */
+	public boolean isIndexed() {
+		return underlyingValues == null;
+	}
+}
@@ -39,6 +39,7 @@ package com.nqadmin.swingset;
 
 import java.sql.JDBCType;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -55,7 +56,11 @@ import ca.odell.glazedlists.EventList;
 
 import static com.nqadmin.swingset.datasources.RowSetOps.*;
 
+import com.nqadmin.swingset.datasources.SSMetaDataCache;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSMetrics;
 import com.nqadmin.swingset.models.SSListItemFormat;
+import com.nqadmin.swingset.utils.SSScreenLoader;
 
 
 // SSDBComboBox.java
@@ -174,7 +179,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Value to represent that no item has been selected in the combo box.
@@ -353,7 +358,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 		try (Model.Remodel remodel = optionModel.getRemodel()) {
 			remodel.add(_mapping, _option);
 		} catch (final Exception e) {
-			logger.error(getColumnForLog() + ": Exception.", e);
+			logger.error("{}: Exception.", getColumnForLog(), e);
 		}
 		// try (Model.Remodel remodel = optionModel.getRemodel()) {
 		// 	remodel.add(_primaryKey, _displayText);
@@ -446,7 +451,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 				result = true;
 			}
 		} catch (final Exception e) {
-			logger.error(getColumnForLog() + ": Exception.", e);
+			logger.error("{}: Exception.", getColumnForLog(), e);
 		}
 
 		return result;
@@ -541,7 +546,22 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 	public void execute() throws Exception {
 
 		//System.out.println(getBoundColumnName() + " - " + "SSDBComboBox.execute() - setting execute count: " + executeCount++);
-		// (re)query data
+		// (re)query data, concurrently with other queries if a screen is loading
+		if (SSScreenLoader.defer(this, getColumnForLog(), connection -> {
+			QueryItems queried = null;
+			try {
+				queried = readItems(connection);
+			} catch (final SQLException se) {
+				logger.error("{}: SQL Exception.", getColumnForLog(), se);
+			}
+			final QueryItems items = queried;
+			return () -> {
+				applyItems(items);
+				updateAfterQuery();
+			};
+		})) {
+			return;
+		}
 		queryData();
 
 		// Only install AutoCompleteSupport once.
@@ -559,6 +579,13 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 
 		// autoComplete.setStrict(true);
 
+		updateAfterQuery();
+	}
+
+	/**
+	 * Update the component from the rowset after the list is (re)loaded.
+	 */
+	private void updateAfterQuery() {
 		// since the list was likely blank when the component was bound we need to update the component again so it can get the text from the list
 		// we don't want to do this if the component is unbound as with an SSDBComboBox used for navigation.
 		if (getRowSet() != null) {
@@ -613,7 +640,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 		// returning 0
 		// TODO Remove completely from future release.
 
-		logger.warn(getColumnForLog() + ": This method was never properly implemented so it has been Deprecated and just returns 0. \n", new Exception());
+		logger.warn("{}: This method was never properly implemented so it has been Deprecated and just returns 0. \n", getColumnForLog(), new Exception());
 		return 0;
 	}
 
@@ -928,15 +955,79 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 		adjustForNullItem();
 	}
 
+	/**
+	 * Query results for the list model: the column types and the rows.
+	 */
+	private static class QueryItems {
+		JDBCType optionType;
+		JDBCType option2Type;
+		final List<Long> pks = new ArrayList<>();
+		final List<Object> opts = new ArrayList<>();
+		final List<Object> opt2s = new ArrayList<>();
+	}
+
 	/**
 	 * Populates the list model with the data by fetching it from the database.
 	 */
 	private void queryData() {
+		QueryItems items = null;
+		try {
+			items = readItems(ssCommon.getConnection());
+		} catch (final SQLException se) {
+			logger.error("{}: SQL Exception.", getColumnForLog(), se);
+		} catch (final java.lang.NullPointerException npe) {
+			logger.error("{}: Null Pointer Exception.", getColumnForLog(), npe);
+		}
+		applyItems(items);
+	}
 
-		//Long primaryKey = null;
-		ResultSet rs;
+	/**
+	 * Runs the query. Does not touch the list model, so it may run off the EDT
+	 * on a connection of its own.
+	 * 
+	 * @param _connection connection for the query
+	 * @return query results
+	 * @throws SQLException if the query fails
+	 */
+	private QueryItems readItems(final Connection _connection) throws SQLException {
+		logger.debug("{}: Query [{}].", () -> getColumnForLog(), () -> getQuery());
+		final long start = SSMetrics.start();
+		final int activity = SSEdtWatchdog.enter(this::getColumnForLog, this::getQuery);
+		final QueryItems items = new QueryItems();
+		try (Statement statement = _connection.createStatement();
+				ResultSet rs = statement.executeQuery(getQuery())) {
+			final ResultSetMetaData metaData = SSMetaDataCache.getMetaData(getQuery(), rs);
+			items.optionType = getJDBCType(metaData.getColumnType(rs.findColumn(displayColumnName)));
+			if (hasOption2()) {
+				items.option2Type = getJDBCType(metaData.getColumnType(rs.findColumn(secondDisplayColumnName)));
+			}
+			while (rs.next()) {
+				final Long pk = rs.getLong(getPrimaryKeyColumnName());
+				final Object opt = rs.getObject(displayColumnName);
+				final Object opt2 = hasOption2() ? rs.getObject(secondDisplayColumnName) : null;
+				logger.trace("{}: First column to display - {}", () -> getColumnForLog(), () -> opt);
+				if (hasOption2()) {
+					logger.trace("{}: Second column to display - {}", () -> getColumnForLog(), () -> opt2);
+				}
+				items.pks.add(pk);
+				items.opts.add(opt);
+				items.opt2s.add(opt2);
+			}
+		}
+		SSEdtWatchdog.exit(activity);
+		SSMetrics.record(SSMetrics.COMBO_QUERY, start, this::getColumnForLog);
+		return items;
+	}
 
-		// this.data.getReadWriteLock().writeLock().lock();
+	/**
+	 * Replaces the list model contents with query results.
+	 * 
+	 * @param _items query results, if null the list is left with only
+	 *		the null item, if any
+	 */
+	private void applyItems(final QueryItems _items) {
+		final long start = SSMetrics.start();
+		final int activity = SSEdtWatchdog.enter(this::getColumnForLog, null);
 		try (Model.Remodel remodel = optionModel.getRemodel()) {
 			logger.trace("{}: Clearing eventList.", () -> getColumnForLog());
 			remodel.clear();
@@ -945,73 +1036,29 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 			logger.debug("{}: Nulls allowed? [{}].", () -> getColumnForLog(), () -> getAllowNull());
 			// 2020-07-24: adding support for a nullable first item if nulls are supported
 			// 2020-10-02: For a SSDBComboBox used as a navigator, we don't want a null first item. Look at getBoundColumnName() and isComboBoxNavigator.
-			// if (getAllowNull() && (getBoundColumnName()!=null)) {
-			// 	logger.trace("{}: Adding blank list item", () -> getColumnForLog());
-			// 	nullItem = remodel.createOptionMappingItem(null, "", null);
-			// 	remodel.add(nullItem);
-			// }
 			adjustForNullItem();
 
-			Statement statement = ssCommon.getConnection().createStatement();
-			rs = statement.executeQuery(getQuery());
-
-			//optionColumnType = getJDBCColumnType(rs, rs.findColumn(displayColumnName));
+			if (_items == null) {
+				return;
+			}
 
 			// Configure the listItemFormat with this queries column types
 			listItemFormat.clear();
-			listItemFormat.addElemType(optionModel.getOptionListItemElemIndex(),
-					getJDBCColumnType(rs, rs.findColumn(displayColumnName)));
-			if (hasOption2()) {
-				//option2ColumnType = getJDBCColumnType(rs, rs.findColumn(secondDisplayColumnName));
-				listItemFormat.addElemType(optionModel.getOption2ListItemElemIndex(),
-						getJDBCColumnType(rs, rs.findColumn(secondDisplayColumnName)));
+			listItemFormat.addElemType(optionModel.getOptionListItemElemIndex(), _items.optionType);
+			if (_items.option2Type != null) {
+				listItemFormat.addElemType(optionModel.getOption2ListItemElemIndex(), _items.option2Type);
 			}
 
-			logger.debug("{}: Query [{}].", () -> getColumnForLog(), () -> getQuery());
-
-			List<SSListItem> newItems = new ArrayList<>();
-			while (rs.next()) {
-				Long pk = rs.getLong(getPrimaryKeyColumnName());
-				Object opt = rs.getObject(displayColumnName);
-				Object opt2 = hasOption2() ? rs.getObject(secondDisplayColumnName) : null;
-				logger.trace("{}: First column to display - " + opt, () -> getColumnForLog());
-				if (hasOption2()) {
-					logger.trace("{}: Second column to display - " + opt2, () -> getColumnForLog());
-				}
-				newItems.add(remodel.createOptionMappingItem(pk, opt, opt2));
+			final List<SSListItem> newItems = new ArrayList<>(_items.pks.size());
+			for (int i = 0; i < _items.pks.size(); i++) {
+				newItems.add(remodel.createOptionMappingItem(_items.pks.get(i), _items.opts.get(i),
+						_items.opt2s.get(i)));
 			}
 			remodel.addAll(newItems);
-			rs.close();
-
-//				// extract primary key
-//				primaryKey = rs.getLong(getPrimaryKeyColumnName());
-//
-//				// extract first column string
-//				// getStringValue() takes care of formatting dates
-//				// TODO: just get an object and use toString
-//				String displayString = getStringValue(optionColumnType, rs, displayColumnName);
-//				logger.trace("{}: First column to display - " + displayString, () -> getColumnForLog());
-//
-//				// extract second column string, if applicable
-//				// getStringValue() takes care of formatting dates
-//				if (hasOption2()) {
-//					String secondColumnString = getStringValue(option2ColumnType, rs, secondDisplayColumnName);
-//					if (!secondColumnString.isEmpty()) {
-//						displayString += separator + secondColumnString;
-//					}
-//					logger.trace("{}: Second column to display - " + secondColumnString, () -> getColumnForLog());
-//				}
-//
-//				// add to lists
-//				remodel.add(primaryKey, displayString);
-//			}
-//			rs.close();
-
-		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + ": SQL Exception.", se);
-		} catch (final java.lang.NullPointerException npe) {
-			logger.error(getColumnForLog() + ": Null Pointer Exception.", npe);
 		}
+		// TIMED AFTER THE REMODEL IS CLOSED, WHICH IS WHEN THE LIST LISTENERS RUN
+		SSEdtWatchdog.exit(activity);
+		SSMetrics.record(SSMetrics.COMBO_POPULATE, start, this::getColumnForLog);
 	}
 //	private void queryDataXXX() {
 //
@@ -1140,7 +1187,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 	public void setFilterable(final boolean _filter) {
 		// TODO remove this method in future release
 		filterSwitch = _filter;
-		logger.warn(getColumnForLog() + ": This method has been Deprecated because GlazedList filtering is now fully integrated.\n", new Exception());
+		logger.warn("{}: This method has been Deprecated because GlazedList filtering is now fully integrated.\n", getColumnForLog(), new Exception());
 	}
 
 	/**
@@ -1469,7 +1516,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 			}
 // TODO may need to call repaint()
 		} catch (final Exception e) {
-			logger.error(getColumnForLog() + ": Exception.", e);
+			logger.error("{}: Exception.", getColumnForLog(), e);
 		}
 
 		return result;
@@ -1576,7 +1623,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 			// TODO Consider starting with a Long and passing directly to setSelectedValue(primaryKey). Modify setSelectedValue to accept a Long vs long.
 			final String text = getBoundColumnText();
 
-			logger.trace("{}: getBoundColumnText() - " + text, () -> getColumnForLog());
+			logger.trace("{}: getBoundColumnText() - {}", () -> getColumnForLog(), () -> text);
 
 			// GET THE BOUND VALUE STORED IN THE ROWSET
 			//if (text != null && !(text.equals(""))) {
@@ -1584,7 +1631,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 
 				final long primaryKey = Long.parseLong(text);
 
-				logger.debug("{}: Calling setSelectedValue(" + primaryKey + ").", () -> getColumnForLog());
+				logger.debug("{}: Calling setSelectedValue({}).", () -> getColumnForLog(), () -> primaryKey);
 
 				setSelectedValue(primaryKey);
 
@@ -1610,7 +1657,7 @@ public class SSDBComboBox extends SSBaseComboBox<Long, Object, Object>
 			});
 
 		} catch (final NumberFormatException nfe) {
-			logger.error(getColumnForLog() + ": Number Format Exception.", nfe);
+			logger.error("{}: Number Format Exception.", getColumnForLog(), nfe);
 		}
 	}
 
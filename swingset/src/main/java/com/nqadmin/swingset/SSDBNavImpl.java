@@ -85,7 +85,7 @@ public class SSDBNavImpl implements SSDBNav {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -191,7 +191,7 @@ public class SSDBNavImpl implements SSDBNav {
                 setComponents(((JScrollPane)comps[i]).getViewport());
             } else {
             // DIPLAY WARNING FOR UNKNOWN COMPONENT
-            	logger.warn("Encountered unknown component type of: " + comps[i].getClass().getSimpleName() + ". Unable to clear component.");
+            	logger.warn("Encountered unknown component type of: {}. Unable to clear component.", comps[i].getClass().getSimpleName());
             }
 
 // TODO See if there is a way to use a case statement and/or the SwingSet component Enum here.
@@ -243,7 +243,7 @@ public class SSDBNavImpl implements SSDBNav {
 				break;
 
 			default:
-            	logger.warn("Encountered unknown component type of: " + comps[i].getClass().getSimpleName() + ". Unable to clear component.");
+            	logger.warn("Encountered unknown component type of: {}. Unable to clear component.", comps[i].getClass().getSimpleName());
 				break;
 
 			}
@@ -37,22 +37,47 @@
  ******************************************************************************/
 package com.nqadmin.swingset;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
 import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.EventObject;
-import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 import java.util.Vector;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.sql.RowSet;
 import javax.swing.DefaultCellEditor;
@@ -61,12 +86,20 @@ import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
+import javax.swing.RowSorter;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SortOrder;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.border.LineBorder;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.TableColumnModelEvent;
+import javax.swing.event.TableColumnModelListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
@@ -76,6 +109,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSMetrics;
 
 // SSDataGrid.java
 //
@@ -286,45 +321,37 @@ public class SSDataGrid extends JTable {
 		
 		// Set the # of clicks required to edit the combo to 2.
 		int tmpClickCountToStart = 2;
-		Object[] underlyingValues = null;
+		final SSComboLookup lookup;
 
 		public ComboEditor(final Object[] _items, final Object[] _underlyingValues) {
-			super(new JComboBox<>(_items));
-			underlyingValues = _underlyingValues;
+			this(new SSComboLookup(_items, _underlyingValues));
+		}
+
+		public ComboEditor(final SSComboLookup _lookup) {
+			super(new JComboBox<>(_lookup.getDisplayValues()));
+			lookup = _lookup;
 		}
 
 		@Override
 		public Object getCellEditorValue() {
-			if (underlyingValues == null) {
+			if (lookup.isIndexed()) {
 				return new Integer(((JComboBox<?>) getComponent()).getSelectedIndex());
 			}
 
 			final int index = ((JComboBox<?>) getComponent()).getSelectedIndex();
 
-			logger.trace("Index is "+ index);
+			logger.trace("Index is {}", index);
 
 			if (index == -1) {
-				return underlyingValues[0];
+				return lookup.getUnderlyingValue(0);
 			}
 
-			return underlyingValues[index];
+			return lookup.getUnderlyingValue(index);
 		}
 
 		protected int getIndexOf(final Object _value) {
-			if (underlyingValues == null) {
-				// IF THE VALUE IS NULL THEN SET THE DISPLAY ON THE COMBO TO BLANK (INDEX -1)
-				if (_value == null) {
-					return -1;
-				}
-				return ((Integer) _value);
-			}
-			for (int i = 0; i < underlyingValues.length; i++) {
-				if (underlyingValues[i].equals(_value)) {
-					return i;
-				}
-			}
-
-			return -1;
+			// IF THE VALUE IS NULL OR NOT FOUND THEN SET THE DISPLAY ON THE COMBO TO BLANK (INDEX -1)
+			return lookup.indexOf(_value);
 		}
 
 		@Override
@@ -355,27 +382,23 @@ public class SSDataGrid extends JTable {
 		 */
 		private static final long serialVersionUID = 2010609036458432567L;
 		
-		Object[] displayValues = null;
-		Object[] underlyingValues = null;
+		final SSComboLookup lookup;
 
 		public ComboRenderer(final Object[] _items, final Object[] _underlyingValues) {
-			underlyingValues = _underlyingValues;
-			displayValues = _items;
+			this(new SSComboLookup(_items, _underlyingValues));
+		}
+
+		public ComboRenderer(final SSComboLookup _lookup) {
+			lookup = _lookup;
 		}
 
 		protected int getIndexOf(final Object _value) {
 			if (_value == null) {
 				return -1;
 			}
-			if (underlyingValues == null) {
-				return ((Integer) _value);
-			}
-			for (int i = 0; i < underlyingValues.length; i++) {
-				if (underlyingValues[i].equals(_value)) {
-					return i;
-				}
-			}
-			return 0;
+			final int index = lookup.indexOf(_value);
+			// AN UNKNOWN UNDERLYING VALUE SHOWS THE FIRST ITEM
+			return (index == -1) && !lookup.isIndexed() ? 0 : index;
 		}
 
 		@Override
@@ -386,16 +409,16 @@ public class SSDataGrid extends JTable {
 					_column);
 
 			int index = -1;
-			if (displayValues.length > 0) {
+			if (lookup.size() > 0) {
 				index = getIndexOf(_value);
 			} else {
-				logger.error("No item in combo that corresponds to " + _value);
+				logger.error("No item in combo that corresponds to {}", _value);
 			}
 
 			if (index == -1) {
 				label.setText("");
 			} else {
-				label.setText(displayValues[index].toString());
+				label.setText(lookup.getDisplayText(index));
 			}
 			return label;
 		}
@@ -465,15 +488,11 @@ public class SSDataGrid extends JTable {
 		// RETURNS THE TEXTFIELD WITH THE GIVEN DATE IN THE TEXTFIELD
 		// (AFTER THE FORMAT IS CHANGED TO MM/DD/YYYY
 		@Override
-		public synchronized Component getTableCellEditorComponent(final JTable table, final Object value, final boolean isSelected,
+		public Component getTableCellEditorComponent(final JTable table, final Object value, final boolean isSelected,
 				final int row, final int column) {
 
 			if (value instanceof Date) {
-				final Date date = (Date) value;
-				final GregorianCalendar calendar = new GregorianCalendar();
-				calendar.setTime(date);
-				final String strDate = "" + (calendar.get(Calendar.MONTH) + 1) + "/" + calendar.get(Calendar.DAY_OF_MONTH)
-						+ "/" + calendar.get(Calendar.YEAR);
+				final String strDate = DATE_FORMATTER.format(((Date) value).toLocalDate());
 				return super.getTableCellEditorComponent(table, strDate, isSelected, row, column);
 			}
 
@@ -503,16 +522,14 @@ public class SSDataGrid extends JTable {
 		 */
 		private static final long serialVersionUID = 2167118906692276587L;
 
+		private final transient FormatCache cache = new FormatCache(
+				value -> DATE_FORMATTER.format(((Date) value).toLocalDate()));
+
 		@Override
 		public void setValue(final Object value) {
 			if (value instanceof java.sql.Date) {
-				final Date date = (Date) value;
-				final GregorianCalendar calendar = new GregorianCalendar();
-				calendar.setTime(date);
-				final String strDate = "" + (calendar.get(Calendar.MONTH) + 1) + "/" + calendar.get(Calendar.DAY_OF_MONTH)
-						+ "/" + calendar.get(Calendar.YEAR);
 				setHorizontalAlignment(SwingConstants.CENTER);
-				setText(strDate);
+				setText(cache.format(value));
 			} else {
 				super.setValue(value);
 			}
@@ -669,16 +686,316 @@ public class SSDataGrid extends JTable {
 
 	}
 
+	/**
+	 * Row of filter fields, one under each column header. Pressing enter in a
+	 * field filters the column, see {@link SSDataGrid#setColumnFilter(int, String)}.
+	 */
+	protected class FilterBar extends JPanel implements TableColumnModelListener {
+
+		/**
+		 * unique serial id
+		 */
+		private static final long serialVersionUID = 2718431006502346261L;
+
+		/**
+		 * Filter fields by model column.
+		 */
+		private final Map<Integer, JTextField> fields = new HashMap<>();
+
+		/**
+		 * Column model whose columns the fields follow.
+		 */
+		private TableColumnModel columnModel = null;
+
+		/**
+		 * Height of the filter fields.
+		 */
+		private final int fieldHeight = new JTextField().getPreferredSize().height;
+
+		/**
+		 * Constructs a filter bar that follows the columns of the data grid.
+		 */
+		protected FilterBar() {
+			super(null);
+			setColumnModel(getColumnModel());
+			SSDataGrid.this.addPropertyChangeListener("columnModel",
+					(final PropertyChangeEvent pce) -> setColumnModel(getColumnModel()));
+		}
+
+		private void setColumnModel(final TableColumnModel _columnModel) {
+			if (columnModel != null) {
+				columnModel.removeColumnModelListener(this);
+			}
+			columnModel = _columnModel;
+			columnModel.addColumnModelListener(this);
+			revalidate();
+			repaint();
+		}
+
+		private JTextField getField(final int _modelColumn) {
+			JTextField field = fields.get(_modelColumn);
+			if (field == null) {
+				final JTextField newField = new JTextField();
+				newField.addActionListener(ae -> setColumnFilter(_modelColumn, newField.getText()));
+				add(newField);
+				fields.put(_modelColumn, newField);
+				field = newField;
+			}
+			return field;
+		}
+
+		@Override
+		public void doLayout() {
+			final int height = getHeight();
+			for (final JTextField field : fields.values()) {
+				field.setVisible(false);
+			}
+			int x = 0;
+			for (int i = 0; i < columnModel.getColumnCount(); i++) {
+				final TableColumn column = columnModel.getColumn(i);
+				final JTextField field = getField(column.getModelIndex());
+				field.setBounds(x, 0, column.getWidth(), height);
+				field.setVisible(column.getWidth() > 0);
+				x += column.getWidth();
+			}
+		}
+
+		@Override
+		public Dimension getPreferredSize() {
+			return new Dimension(columnModel.getTotalColumnWidth(), fieldHeight);
+		}
+
+		@Override
+		public void columnAdded(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnRemoved(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnMoved(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnMarginChanged(final ChangeEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnSelectionChanged(final ListSelectionEvent _event) {
+			// NOTHING TO DO
+		}
+	}
+
+	/**
+	 * Row of column aggregates, one under each column, see
+	 * {@link SSDataGrid#setAggregate(int, SSColumnAggregates.Aggregate)}.
+	 * It follows the widths of the columns and the horizontal scrolling of
+	 * the data grid.
+	 */
+	protected class FooterBar extends JPanel implements TableColumnModelListener {
+
+		/**
+		 * unique serial id
+		 */
+		private static final long serialVersionUID = -3120853577260442096L;
+
+		/**
+		 * Aggregate labels by model column.
+		 */
+		private final Map<Integer, JLabel> labels = new HashMap<>();
+
+		/**
+		 * Column model whose columns the labels follow.
+		 */
+		private TableColumnModel columnModel = null;
+
+		/**
+		 * Format of numeric aggregates.
+		 */
+		private final NumberFormat numberFormat = NumberFormat.getInstance();
+
+		/**
+		 * Height of the labels.
+		 */
+		private final int labelHeight = new JLabel(" ").getPreferredSize().height + 4;
+
+		/**
+		 * Constructs a footer that follows the columns of the data grid.
+		 */
+		protected FooterBar() {
+			super(null);
+			setColumnModel(getColumnModel());
+			SSDataGrid.this.addPropertyChangeListener("columnModel",
+					(final PropertyChangeEvent pce) -> setColumnModel(getColumnModel()));
+			scrollPane.getViewport().addChangeListener(ce -> revalidate());
+			tableModel.getAggregates().addChangeListener(ce -> {
+				revalidate();
+				repaint();
+			});
+		}
+
+		private void setColumnModel(final TableColumnModel _columnModel) {
+			if (columnModel != null) {
+				columnModel.removeColumnModelListener(this);
+			}
+			columnModel = _columnModel;
+			columnModel.addColumnModelListener(this);
+			revalidate();
+			repaint();
+		}
+
+		private JLabel getLabel(final int _modelColumn) {
+			JLabel label = labels.get(_modelColumn);
+			if (label == null) {
+				label = new JLabel();
+				label.setHorizontalAlignment(SwingConstants.RIGHT);
+				label.setBorder(new LineBorder(Color.LIGHT_GRAY));
+				add(label);
+				labels.put(_modelColumn, label);
+			}
+			return label;
+		}
+
+		private String getText(final int _modelColumn) {
+			final SSColumnAggregates aggregates = tableModel.getAggregates();
+			final SSColumnAggregates.Aggregate aggregate = aggregates.getAggregate(_modelColumn);
+			if (aggregate == null) {
+				return "";
+			}
+			final Object value = aggregates.getValue(_modelColumn);
+			final String name = aggregate.name().charAt(0) + aggregate.name().substring(1).toLowerCase(Locale.ROOT);
+			if (value == null) {
+				return name + ": ";
+			}
+			return name + ": " + (value instanceof Number ? numberFormat.format(value) : value.toString());
+		}
+
+		@Override
+		public void doLayout() {
+			final int height = getHeight();
+			for (final JLabel label : labels.values()) {
+				label.setVisible(false);
+			}
+			int x = -scrollPane.getViewport().getViewPosition().x;
+			for (int i = 0; i < columnModel.getColumnCount(); i++) {
+				final TableColumn column = columnModel.getColumn(i);
+				final JLabel label = getLabel(column.getModelIndex());
+				label.setText(getText(column.getModelIndex()));
+				label.setBounds(x, 0, column.getWidth(), height);
+				label.setVisible(column.getWidth() > 0);
+				x += column.getWidth();
+			}
+		}
+
+		@Override
+		public Dimension getPreferredSize() {
+			return new Dimension(columnModel.getTotalColumnWidth(), labelHeight);
+		}
+
+		@Override
+		public void columnAdded(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnRemoved(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnMoved(final TableColumnModelEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnMarginChanged(final ChangeEvent _event) {
+			revalidate();
+		}
+
+		@Override
+		public void columnSelectionChanged(final ListSelectionEvent _event) {
+			// NOTHING TO DO
+		}
+	}
+
+	/**
+	 * Formatted text of the values of a column, so repainting a cell does not
+	 * format its value again. Keyed by value; cleared when it gets large.
+	 */
+	private static class FormatCache {
+
+		private static final int MAX_SIZE = 4096;
+
+		private final Map<Object, String> texts = new HashMap<>();
+		private final Function<Object, String> formatter;
+
+		FormatCache(final Function<Object, String> _formatter) {
+			formatter = _formatter;
+		}
+
+		String format(final Object _value) {
+			String text = texts.get(_value);
+			if (text == null) {
+				if (texts.size() >= MAX_SIZE) {
+					texts.clear();
+				}
+				text = formatter.apply(_value);
+				texts.put(_value, text);
+			}
+			return text;
+		}
+	}
+
+	/**
+	 * Renderer for number fields. Displays numbers with the column's
+	 * NumberFormat.
+	 */
+	protected class NumberRenderer extends DefaultTableCellRenderer {
+
+		/**
+		 * Unique serial ID.
+		 */
+		private static final long serialVersionUID = 3409562208574120934L;
+
+		private final transient FormatCache cache;
+
+		public NumberRenderer(final NumberFormat _format) {
+			// CLONE, SO A FORMAT SHARED BY COLUMNS OR CHANGED BY THE CALLER IS NOT USED
+			final NumberFormat format = (NumberFormat) _format.clone();
+			cache = new FormatCache(format::format);
+			setHorizontalAlignment(SwingConstants.RIGHT);
+		}
+
+		@Override
+		public void setValue(final Object value) {
+			if (value instanceof Number) {
+				setText(cache.format(value));
+			} else {
+				super.setValue(value);
+			}
+		}
+	}
+
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Unique serial ID
 	 */
 	private static final long serialVersionUID = -7924790696188174770L;
 
+	/**
+	 * Date format of the date renderer and editor, m/d/yyyy.
+	 */
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+
 	/**
 	 * Variable to indicate if rows can be deleted.
 	 */
@@ -689,119 +1006,881 @@ public class SSDataGrid extends JTable {
 	 */
 	protected boolean callExecute = true;
 
-	/**
-	 * Number of columns in the RowSet.
-	 */
-	protected int columnCount = -1;
+	/**
+	 * Number of columns in the RowSet.
+	 */
+	protected int columnCount = -1;
+
+	/**
+	 * Minimum width of the columns in the data grid.
+	 */
+	protected int columnWidth = 100;
+
+	/**
+	 * Default number of rows sampled by {@link #autoFitColumns()}.
+	 */
+	public static final int DEFAULT_FIT_SAMPLE_ROWS = 300;
+
+	/**
+	 * Maximum width set by {@link #autoFitColumns()}.
+	 */
+	private static final int MAX_FIT_WIDTH = 500;
+
+	/**
+	 * Matches a table name or alias qualifying a column, as in {@code p.name}.
+	 */
+	private static final String COLUMN_QUALIFIER = "(?<![\\w.\"])[A-Za-z_]\\w*\\.(?=[A-Za-z_\"])";
+
+	/**
+	 * Matches ORDER BY, or a keyword limiting the rows, with which an ORDER BY
+	 * must stay in the query.
+	 */
+	private static final Pattern ORDER_BY_OR_LIMIT = Pattern
+			.compile("(?i)\\b(ORDER\\s+BY|LIMIT|OFFSET|FETCH|TOP)\\b");
+
+	/**
+	 * Matches the top level keywords of a query that is not a single SELECT
+	 * a WHERE condition can be added to.
+	 */
+	private static final Pattern NOT_SINGLE_SELECT = Pattern.compile(
+			"(?i)\\b(GROUP\\s+BY|HAVING|UNION|INTERSECT|EXCEPT|MINUS|LIMIT|OFFSET|FETCH|TOP|FOR\\s+UPDATE|WINDOW)\\b");
+
+	/**
+	 * Matches the top level WHERE of a query.
+	 */
+	private static final Pattern WHERE = Pattern.compile("(?i)\\bWHERE\\b");
+
+	/**
+	 * Matches the select list of a query, group 2, after any DISTINCT or ALL.
+	 */
+	private static final Pattern SELECT_LIST = Pattern
+			.compile("(?is)^\\s*SELECT\\s+((?:(?:DISTINCT|ALL)\\s+)?)(.*?)\\s+FROM\\b");
+
+	/**
+	 * Matches a select list item with an alias, the expression in group 1.
+	 */
+	private static final Pattern SELECT_ALIAS = Pattern
+			.compile("(?is)^(.*?[\\w)\"\\]'])\\s+(?:AS\\s+)?(\"[^\"]+\"|[A-Za-z_][\\w$]*)$");
+
+	/**
+	 * Matches an ORDER BY term, the column in group 1.
+	 */
+	private static final Pattern ORDER_BY_TERM = Pattern.compile(
+			"(?i)^((?:[A-Za-z_][\\w$]*\\.)?(?:\"[^\"]+\"|[A-Za-z_][\\w$]*|\\d+))(?:\\s+(?:ASC|DESC))?(?:\\s+NULLS\\s+(?:FIRST|LAST))?$");
+
+	/**
+	 * Escape character of the LIKE patterns of column filters.
+	 */
+	private static final char LIKE_ESCAPE = '!';
+
+	/**
+	 * Variable to indicate if column widths are fitted to their data when the
+	 * columns are set up.
+	 */
+	protected boolean autoFitColumns = false;
+
+	/**
+	 * DagaGridHandler to help with row deletions, and insertions
+	 */
+	protected SSDataGridHandler dataGridHandler;
+
+	/**
+	 * Array used to store the column names that have to hidden.
+	 */
+	protected String[] hiddenColumnNames = null;
+
+	/**
+	 * Array used to store the column numbers that have to be hidden.
+	 */
+	protected int[] hiddenColumns = null;
+
+	/**
+	 * Variable to indicate if the data grid will display an additional row for
+	 * inserting new rows.
+	 */
+	protected boolean insertion = true;
+
+	/**
+	 * Component where messages should be popped up.
+	 */
+	protected Component messageWindow = null;
+
+	/**
+	 * Number of records retrieved from the RowSet.
+	 */
+	protected int rowCount = -1;
+
+	/**
+	 * Scrollpane used to scroll datagrid.
+	 */
+	protected JScrollPane scrollPane = null; // new JScrollPane(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+
+	/**
+	 * RowSet from which component will get/set values.
+	 */
+	protected RowSet rowSet = null;
+
+	/**
+	 * Table model to construct the JTable
+	 */
+	protected SSTableModel tableModel = new SSTableModel();
+
+	/**
+	 * Variable to indicate if clicking a column header sorts the data grid.
+	 */
+	protected boolean sortable = false;
+
+	/**
+	 * Model column the query is sorted by, -1 if not sorted.
+	 */
+	protected int sortColumn = -1;
+
+	/**
+	 * Variable to indicate if the sort is ascending.
+	 */
+	protected boolean sortAscending = true;
+
+	/**
+	 * Filter text by model column.
+	 */
+	protected Map<Integer, String> columnFilters = new TreeMap<>();
+
+	/**
+	 * Filter fields shown under the column headers, null if not shown.
+	 */
+	protected FilterBar filterBar = null;
+
+	/**
+	 * Column aggregates shown under the data grid, null until requested.
+	 */
+	protected FooterBar footerBar = null;
+
+	/**
+	 * RowSet command before sorting and filtering were added.
+	 */
+	private String baseCommand = null;
+
+	/**
+	 * Number of parameters of the original command; they are bound before
+	 * the filter values.
+	 */
+	private int baseParamCount = 0;
+
+	/**
+	 * RowSet command with sorting and filtering, as last set on the RowSet.
+	 */
+	private String sortFilterCommand = null;
+
+	/**
+	 * Constructs an empty data grid.
+	 */
+	public SSDataGrid() {
+		init();
+	}
+
+	/**
+	 * Constructs a data grid with the data source set to the given RowSet.
+	 *
+	 * @param _rowSet RowSet from which values have to be retrieved.
+	 */
+	public SSDataGrid(final RowSet _rowSet) {
+		this();
+		rowSet = _rowSet;
+		bind();
+	}
+
+	/**
+	 * Initializes the data grid control. Collects metadata information about the
+	 * given RowSet.
+	 */
+	protected void bind() {
+		bind(callExecute);
+	}
+
+	/**
+	 * Initializes the data grid control, optionally executing the RowSet.
+	 *
+	 * @param _execute true if execute() should be called on the RowSet
+	 */
+	private void bind(final boolean _execute) {
+
+		// WITH DIFF REQUERY, A REQUERY WITH THE SAME COLUMNS KEEPS THE COLUMN MODEL
+		boolean sameColumns = false;
+
+		try {
+			// EXECUTE THE QUERY
+			if (_execute && !RowSetOps.isDisconnected(rowSet)) {
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(this::getName, () -> rowSet.getCommand());
+				rowSet.execute();
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, this::getName);
+			}
+
+			sameColumns = tableModel.isDiffRequery() && (getModel() == tableModel)
+					&& (columnCount == RowSetOps.getColumnCount(rowSet));
+
+			// SPECIFY THE SSROWSET TO THE TABLE MODEL.
+			tableModel.setRowSet(rowSet);
+
+			// SET THE TABLE MODEL FOR JTABLE
+			setModel(tableModel);
+
+			// GET THE ROW COUNT
+			rowCount = tableModel.getRowCount();
+
+			// GET THE COLUMN COUNT
+			columnCount = tableModel.getColumnCount();
+
+		} catch (final SQLException se) {
+			logger.error("SQL Exception.", se);
+		}
+
+		// IN MEMORY SORTING AND FILTERING OF A DISCONNECTED ROWSET
+		updateRowSorter();
+
+		if (sameColumns) {
+			return;
+		}
+
+		// THIS IS NEEDED IF THE NUMBER OF COLUMNS IN THE NEW SSROWSET
+		// DOES NOT MATCH WITH THE OLD COLUMNS.
+		createDefaultColumnModel();
+
+		// HIDE COLUMNS AS NEEDED - ALSO CALLS updateUI()
+		hideColumns();
+
+		// UPDATE DISPLAY
+		// updateUI();
+
+	} // end protected void bind() {
+
+	/**
+	 * Returns the text the given column is filtered by.
+	 *
+	 * @param _columnNumber column number (first column is 0)
+	 * @return filter text, null if the column is not filtered
+	 */
+	public String getColumnFilter(final int _columnNumber) {
+		return columnFilters.get(_columnNumber);
+	}
+
+	/**
+	 * Returns the aggregate shown in the footer for the given column.
+	 *
+	 * @param _columnNumber column number (first column is 0)
+	 * @return the aggregate, null if none
+	 */
+	public SSColumnAggregates.Aggregate getAggregate(final int _columnNumber) {
+		return tableModel.getAggregates().getAggregate(_columnNumber);
+	}
+
+	/**
+	 * Returns the column the query is sorted by.
+	 *
+	 * @return column number (first column is 0), -1 if not sorted
+	 */
+	public int getSortColumn() {
+		return sortColumn;
+	}
+
+	/**
+	 * Returns true if the sort is ascending.
+	 *
+	 * @return true if ascending, false if descending
+	 */
+	public boolean isSortAscending() {
+		return sortAscending;
+	}
+
+	/**
+	 * Returns true if clicking a column header sorts the data grid.
+	 *
+	 * @return value of sortable indicator
+	 */
+	public boolean isSortable() {
+		return sortable;
+	}
+
+	/**
+	 * Sets the aggregate shown in the footer for the given column: the count,
+	 * sum, minimum, maximum or average of the column's values. The footer,
+	 * {@link #getFooter()}, must be added below the data grid's component.
+	 * <p>
+	 * The aggregates are computed once for the rows of the RowSet and then
+	 * adjusted as cells are edited and rows inserted or deleted, see
+	 * {@link SSColumnAggregates}.
+	 *
+	 * @param _columnNumber column number (first column is 0)
+	 * @param _aggregate the aggregate, null for none
+	 */
+	public void setAggregate(final int _columnNumber, final SSColumnAggregates.Aggregate _aggregate) {
+		tableModel.getAggregates().setAggregate(_columnNumber, _aggregate);
+	}
+
+	/**
+	 * Filters the data grid on a column and requeries. Text columns match rows
+	 * containing the text, ignoring case; other columns match rows equal to
+	 * the text, for example 12.5, true or 2020-12-31 for a date.
+	 *
+	 * @param _columnNumber column number (first column is 0)
+	 * @param _filter filter text, null or empty to remove the filter
+	 */
+	public void setColumnFilter(final int _columnNumber, final String _filter) {
+		if ((_filter == null) || _filter.trim().isEmpty()) {
+			columnFilters.remove(_columnNumber);
+		} else {
+			columnFilters.put(_columnNumber, _filter.trim());
+		}
+		requery();
+	}
+
+	/**
+	 * Removes all column filters and requeries.
+	 */
+	public void clearColumnFilters() {
+		columnFilters.clear();
+		if (filterBar != null) {
+			for (final JTextField field : filterBar.fields.values()) {
+				field.setText("");
+			}
+		}
+		requery();
+	}
+
+	/**
+	 * Shows or hides a row of filter fields under the column headers.
+	 *
+	 * @param _visible true to show the filter fields
+	 */
+	public void setFilterBarVisible(final boolean _visible) {
+		if (_visible == (filterBar != null)) {
+			return;
+		}
+		filterBar = _visible ? new FilterBar() : null;
+		configureEnclosingScrollPane();
+	}
+
+	/**
+	 * Sorts the data grid on a column and requeries.
+	 *
+	 * @param _columnNumber column number (first column is 0), -1 for the
+	 *		order of the query
+	 * @param _ascending true for ascending, false for descending
+	 */
+	public void setSortColumn(final int _columnNumber, final boolean _ascending) {
+		sortColumn = _columnNumber;
+		sortAscending = _ascending;
+		requery();
+	}
+
+	/**
+	 * Sets whether clicking a column header sorts the data grid. Each click on
+	 * a header toggles between ascending, descending and unsorted.
+	 * <p>
+	 * Sorting and filtering are done by the database: the filter conditions
+	 * are added to the WHERE clause of the RowSet command, the sort column
+	 * replaces its ORDER BY, and the command is re-executed. The RowSet stays
+	 * updatable. A command that is not a single SELECT, for example with
+	 * GROUP BY or UNION, is wrapped as
+	 * {@code SELECT * FROM (command) ss_query WHERE ... ORDER BY ...}; its
+	 * trailing ORDER BY is moved to the wrapping query if it only names
+	 * columns of the result. The RowSet's own parameters are kept and the
+	 * filter values are bound after them. A disconnected RowSet
+	 * is not requeried, it would lose its changes; its rows are sorted and
+	 * filtered in memory by an {@link SSTableRowSorter}, where a filter matches
+	 * values containing the text.
+	 *
+	 * @param _sortable true if clicking a column header sorts the data grid
+	 */
+	public void setSortable(final boolean _sortable) {
+		final boolean oldValue = sortable;
+		sortable = _sortable;
+		firePropertyChange("sortable", oldValue, sortable);
+	}
+
+	/**
+	 * Puts the filter bar under the table header when the data grid is in a
+	 * scroll pane.
+	 */
+	@Override
+	protected void configureEnclosingScrollPane() {
+		super.configureEnclosingScrollPane();
+		if ((scrollPane == null) || (getTableHeader() == null) || (scrollPane.getViewport().getView() != this)) {
+			return;
+		}
+		if (filterBar != null) {
+			final JPanel header = new JPanel(new BorderLayout());
+			header.add(getTableHeader(), BorderLayout.NORTH);
+			header.add(filterBar, BorderLayout.SOUTH);
+			scrollPane.setColumnHeaderView(header);
+		}
+		scrollPane.revalidate();
+	}
+
+	/**
+	 * Sorts on a header click: ascending, then descending, then unsorted.
+	 *
+	 * @param _event the mouse click on the table header
+	 */
+	protected void sortOnHeaderClick(final MouseEvent _event) {
+		// WITH A ROW SORTER THE TABLE HEADER CALLS toggleSortOrder()
+		if (!sortable || (_event.getButton() != MouseEvent.BUTTON1) || (getRowSorter() != null)) {
+			return;
+		}
+		final int viewColumn = getTableHeader().columnAtPoint(_event.getPoint());
+		if (viewColumn < 0) {
+			return;
+		}
+		toggleSortColumn(convertColumnIndexToModel(viewColumn));
+	}
+
+	/**
+	 * Toggles the sorting of a column: ascending, then descending, then
+	 * unsorted.
+	 *
+	 * @param _column column number (first column is 0)
+	 */
+	private void toggleSortColumn(final int _column) {
+		if (_column != sortColumn) {
+			setSortColumn(_column, true);
+		} else if (sortAscending) {
+			setSortColumn(_column, false);
+		} else {
+			setSortColumn(-1, true);
+		}
+	}
+
+	/**
+	 * Sets the sorted and filtered command on the RowSet, if there is
+	 * sorting or filtering, or the original command if they were removed.
+	 * A command set on the RowSet by the application becomes the new
+	 * original command.
+	 * <p>
+	 * A single SELECT gets the filter conditions added to its WHERE clause
+	 * and the sort column as its ORDER BY, so the RowSet stays updatable.
+	 * Any other command, for example with GROUP BY, UNION or a row limit,
+	 * is wrapped as {@code SELECT * FROM (command) ss_query}; such a result
+	 * is not updatable anyway.
+	 *
+	 * @throws SQLException if a database access error occurs
+	 */
+	protected void prepareSortFilterCommand() throws SQLException {
+		final String command = rowSet.getCommand();
+		final Object[] currentParams = RowSetOps.getParameters(rowSet);
+		if ((command != null) && !command.equals(sortFilterCommand)) {
+			baseCommand = command;
+			baseParamCount = currentParams.length;
+		}
+		if (baseCommand == null) {
+			return;
+		}
+		if ((sortColumn < 0) && columnFilters.isEmpty()) {
+			if (sortFilterCommand != null) {
+				rowSet.setCommand(baseCommand);
+				rowSet.clearParameters();
+				RowSetOps.setParameters(rowSet, currentParams, baseParamCount);
+				sortFilterCommand = null;
+			}
+			return;
+		}
+		final ResultSetMetaData metaData = rowSet.getMetaData();
+		if (metaData == null) {
+			// NOT EXECUTED YET, COLUMNS ARE NOT KNOWN
+			return;
+		}
+
+		String sql = baseCommand.trim();
+		if (sql.endsWith(";")) {
+			sql = sql.substring(0, sql.length() - 1).trim();
+		}
+		String orderBy = null;
+		final int orderByIndex = trailingOrderByIndex(sql);
+		if (orderByIndex >= 0) {
+			orderBy = sql.substring(orderByIndex);
+			sql = sql.substring(0, orderByIndex).trim();
+		}
+		final String quote = identifierQuote();
+		final int columnCount = metaData.getColumnCount();
+		final String[] labels = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			labels[i] = metaData.getColumnLabel(i + 1);
+		}
+
+		// HOW THE QUERY REFERS TO A COLUMN
+		final String[] terms = new String[columnCount];
+		final StringBuilder query = new StringBuilder();
+		String conjunction;
+		if (isSingleSelect(sql)) {
+			final List<String> items = selectExpressions(sql);
+			final boolean itemsMatch = (items != null) && (items.size() == columnCount);
+			for (int i = 0; i < columnCount; i++) {
+				terms[i] = itemsMatch ? items.get(i) : quoteIdentifier(metaData.getColumnName(i + 1), quote);
+			}
+			final Matcher where = WHERE.matcher(topLevel(sql));
+			if (where.find()) {
+				query.append(sql, 0, where.start()).append("WHERE (").append(sql.substring(where.end()).trim())
+						.append(')');
+				conjunction = " AND ";
+			} else {
+				query.append(sql);
+				conjunction = " WHERE ";
+			}
+		} else {
+			for (int i = 0; i < columnCount; i++) {
+				terms[i] = quoteIdentifier(labels[i], quote);
+			}
+			// AN ORDER BY IN A DERIVED TABLE IS AN ERROR FOR SOME DATABASES, IT
+			// IS MOVED TO THE WRAPPING QUERY IF IT ONLY NAMES ITS COLUMNS
+			if ((orderBy != null) && !isOrderByOnLabels(orderBy, labels)) {
+				sql = sql + " " + orderBy;
+				orderBy = null;
+			} else if (orderBy != null) {
+				orderBy = orderBy.replaceAll(COLUMN_QUALIFIER, "");
+			}
+			query.append("SELECT * FROM (").append(sql).append(") ss_query");
+			conjunction = " WHERE ";
+		}
+
+		final List<Object> params = new ArrayList<>();
+		for (final Map.Entry<Integer, String> filter : columnFilters.entrySet()) {
+			final int column = filter.getKey() + 1;
+			final String term = terms[filter.getKey()];
+			final JDBCType type = RowSetOps.getJDBCColumnType(rowSet, column);
+			switch (type) {
+			case CHAR:
+			case VARCHAR:
+			case LONGVARCHAR:
+			case NCHAR:
+			case NVARCHAR:
+			case LONGNVARCHAR:
+				query.append(conjunction).append("LOWER(").append(term).append(") LIKE ? ESCAPE '")
+						.append(LIKE_ESCAPE).append('\'');
+				params.add(containsPattern(filter.getValue()));
+				break;
+			default:
+				try {
+					params.add(parseFilterValue(type, filter.getValue()));
+					query.append(conjunction).append(term).append(" = ?");
+				} catch (final IllegalArgumentException iae) {
+					logger.warn("Ignoring filter [{}] for column {} of type {}.", filter.getValue(), term, type);
+					continue;
+				}
+			}
+			conjunction = " AND ";
+		}
+		if (sortColumn >= 0) {
+			query.append(" ORDER BY ").append(terms[sortColumn]).append(sortAscending ? " ASC" : " DESC");
+		} else if (orderBy != null) {
+			query.append(' ').append(orderBy);
+		}
+
+		sortFilterCommand = query.toString();
+		logger.debug("Sort/filter command [{}] with {} base parameters and {}.", sortFilterCommand,
+				baseParamCount, params);
+		rowSet.setCommand(sortFilterCommand);
+		rowSet.clearParameters();
+		RowSetOps.setParameters(rowSet, currentParams, baseParamCount);
+		for (int i = 0; i < params.size(); i++) {
+			rowSet.setObject(baseParamCount + i + 1, params.get(i));
+		}
+	}
 
 	/**
-	 * Minimum width of the columns in the data grid.
-	 */
-	protected int columnWidth = 100;
+	 * Converts filter text to a LIKE pattern matching values that contain
+	 * the text, ignoring case, as {@link SSTableRowSorter} does.
+	 *
+	 * @param _text filter text
+	 * @return pattern to use with {@code ESCAPE '!'}
+	 */
+	static String containsPattern(final String _text) {
+		final String text = _text.toLowerCase(Locale.ROOT);
+		final StringBuilder pattern = new StringBuilder(text.length() + 4).append('%');
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if ((c == '%') || (c == '_') || (c == LIKE_ESCAPE)) {
+				pattern.append(LIKE_ESCAPE);
+			}
+			pattern.append(c);
+		}
+		return pattern.append('%').toString();
+	}
 
 	/**
-	 * DagaGridHandler to help with row deletions, and insertions
-	 */
-	protected SSDataGridHandler dataGridHandler;
+	 * Blanks out quoted text and parenthesized text, so that only the top
+	 * level of the query is matched. Indexes are those of the query.
+	 *
+	 * @param _sql the query
+	 * @return the query with nested and quoted text replaced by spaces
+	 */
+	static String topLevel(final String _sql) {
+		final char[] chars = _sql.toCharArray();
+		char quote = 0;
+		int depth = 0;
+		for (int i = 0; i < chars.length; i++) {
+			final char c = chars[i];
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				}
+				chars[i] = ' ';
+			} else if ((c == '\'') || (c == '"')) {
+				quote = c;
+				chars[i] = ' ';
+			} else if (c == '(') {
+				depth++;
+				chars[i] = ' ';
+			} else if (c == ')') {
+				depth--;
+				chars[i] = ' ';
+			} else if (depth > 0) {
+				chars[i] = ' ';
+			}
+		}
+		return new String(chars);
+	}
 
 	/**
-	 * Array used to store the column names that have to hidden.
-	 */
-	protected String[] hiddenColumnNames = null;
+	 * Finds an ORDER BY at the end of a query, outside parentheses and
+	 * quotes.
+	 *
+	 * @param _sql the query
+	 * @return index of the ORDER BY, or -1 if there is none or if the query
+	 *		also limits its rows
+	 */
+	static int trailingOrderByIndex(final String _sql) {
+		final Matcher matcher = ORDER_BY_OR_LIMIT.matcher(topLevel(_sql));
+		int orderByIndex = -1;
+		while (matcher.find()) {
+			if (!matcher.group(1).toUpperCase(Locale.ROOT).startsWith("ORDER")) {
+				// THE ORDER BY SELECTS WHICH ROWS ARE RETURNED
+				return -1;
+			}
+			orderByIndex = matcher.start();
+		}
+		return orderByIndex;
+	}
 
 	/**
-	 * Array used to store the column numbers that have to be hidden.
+	 * @param _sql query without its trailing ORDER BY
+	 * @return true if the query is one SELECT that a WHERE condition and an
+	 *		ORDER BY can be added to
 	 */
-	protected int[] hiddenColumns = null;
+	static boolean isSingleSelect(final String _sql) {
+		final String topLevel = topLevel(_sql);
+		return topLevel.trim().regionMatches(true, 0, "SELECT", 0, 6) && !NOT_SINGLE_SELECT.matcher(topLevel).find();
+	}
 
 	/**
-	 * Variable to indicate if the data grid will display an additional row for
-	 * inserting new rows.
-	 */
-	protected boolean insertion = true;
+	 * Splits the select list of a single SELECT into the expressions of its
+	 * columns, without their aliases.
+	 *
+	 * @param _sql the query
+	 * @return the expressions, null if the list has a wildcard or can not
+	 *		be split
+	 */
+	static List<String> selectExpressions(final String _sql) {
+		final String topLevel = topLevel(_sql);
+		final Matcher select = SELECT_LIST.matcher(topLevel);
+		if (!select.find()) {
+			return null;
+		}
+		final List<String> expressions = new ArrayList<>();
+		int itemStart = select.end(1);
+		for (int i = itemStart; i <= select.end(2); i++) {
+			if ((i == select.end(2)) || (topLevel.charAt(i) == ',')) {
+				final String item = _sql.substring(itemStart, i).trim();
+				if (item.isEmpty() || topLevel.substring(itemStart, i).contains("*")) {
+					return null;
+				}
+				final Matcher alias = SELECT_ALIAS.matcher(item);
+				expressions.add(alias.matches() && !alias.group(2).equalsIgnoreCase("END") ? alias.group(1).trim()
+						: item);
+				itemStart = i + 1;
+			}
+		}
+		return expressions;
+	}
 
 	/**
-	 * Component where messages should be popped up.
+	 * @param _orderBy an ORDER BY clause
+	 * @param _labels the column labels of the query
+	 * @return true if each term of the ORDER BY is a column label, possibly
+	 *		qualified, or a column number
 	 */
-	protected Component messageWindow = null;
+	static boolean isOrderByOnLabels(final String _orderBy, final String[] _labels) {
+		final String topLevel = topLevel(_orderBy);
+		final Matcher orderBy = ORDER_BY_OR_LIMIT.matcher(topLevel);
+		if (!orderBy.find()) {
+			return false;
+		}
+		int termStart = orderBy.end();
+		for (int i = termStart; i <= _orderBy.length(); i++) {
+			if ((i == _orderBy.length()) || (topLevel.charAt(i) == ',')) {
+				final Matcher term = ORDER_BY_TERM.matcher(_orderBy.substring(termStart, i).trim());
+				if (!term.matches()) {
+					return false;
+				}
+				final String name = term.group(1).replaceAll(COLUMN_QUALIFIER, "").replace("\"", "");
+				boolean found = name.matches("\\d+") && (Integer.parseInt(name) <= _labels.length);
+				for (final String label : _labels) {
+					found |= label.equalsIgnoreCase(name);
+				}
+				if (!found) {
+					return false;
+				}
+				termStart = i + 1;
+			}
+		}
+		return true;
+	}
 
 	/**
-	 * Number of records retrieved from the RowSet.
+	 * @return the database's identifier quote string, or an empty string if
+	 *		it is not known or identifiers cannot be quoted
 	 */
-	protected int rowCount = -1;
+	private String identifierQuote() {
+		try {
+			if ((rowSet.getStatement() != null) && (rowSet.getStatement().getConnection() != null)) {
+				final String quote = rowSet.getStatement().getConnection().getMetaData().getIdentifierQuoteString();
+				return (quote == null) ? "" : quote.trim();
+			}
+		} catch (final SQLException se) {
+			logger.debug("Identifier quote string not available.", se);
+		}
+		return "";
+	}
 
 	/**
-	 * Scrollpane used to scroll datagrid.
+	 * Quotes a column label, doubling any quote in it.
 	 */
-	protected JScrollPane scrollPane = null; // new JScrollPane(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED,JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+	private static String quoteIdentifier(final String _identifier, final String _quote) {
+		if (_quote.isEmpty()) {
+			return _identifier;
+		}
+		return _quote + _identifier.replace(_quote, _quote + _quote) + _quote;
+	}
 
 	/**
-	 * RowSet from which component will get/set values.
-	 */
-	protected RowSet rowSet = null;
+	 * Converts filter text to a value of a column's type.
+	 *
+	 * @param _type column type
+	 * @param _text filter text
+	 * @return the value
+	 * @throws IllegalArgumentException if the text is not valid for the type
+	 */
+	protected static Object parseFilterValue(final JDBCType _type, final String _text) {
+		switch (_type) {
+		case TINYINT:
+		case SMALLINT:
+		case INTEGER:
+		case BIGINT:
+			return Long.valueOf(_text);
+		case REAL:
+		case FLOAT:
+		case DOUBLE:
+		case DECIMAL:
+		case NUMERIC:
+			return new BigDecimal(_text);
+		case BIT:
+		case BOOLEAN:
+			return Boolean.valueOf(_text);
+		case DATE:
+			return Date.valueOf(_text);
+		case TIME:
+			return Time.valueOf(_text);
+		case TIMESTAMP:
+			return Timestamp.valueOf(_text);
+		default:
+			return _text;
+		}
+	}
 
 	/**
-	 * Table model to construct the JTable
+	 * Sorts and filters a disconnected RowSet in memory. The row sorter is
+	 * installed on first use and removed when the RowSet is not disconnected.
 	 */
-	protected SSTableModel tableModel = new SSTableModel();
+	protected void updateRowSorter() {
+		if ((rowSet == null) || !RowSetOps.isDisconnected(rowSet)) {
+			if (getRowSorter() instanceof SSTableRowSorter) {
+				setRowSorter(null);
+			}
+			return;
+		}
+		SSTableRowSorter sorter;
+		if (getRowSorter() instanceof SSTableRowSorter) {
+			sorter = (SSTableRowSorter) getRowSorter();
+		} else {
+			if ((sortColumn < 0) && columnFilters.isEmpty()) {
+				return;
+			}
+			sorter = new SSTableRowSorter(tableModel) {
+				@Override
+				public void toggleSortOrder(final int _column) {
+					if (sortable) {
+						toggleSortColumn(_column);
+					}
+				}
 
-	/**
-	 * Constructs an empty data grid.
-	 */
-	public SSDataGrid() {
-		init();
+				@Override
+				public void modelStructureChanged() {
+					// THE SORTER FORGETS ITS SORT KEYS AND FILTERS, THE DATA
+					// GRID KEEPS THEM
+					super.modelStructureChanged();
+					applySortFilter(this);
+				}
+			};
+			setRowSorter(sorter);
+		}
+		applySortFilter(sorter);
 	}
 
 	/**
-	 * Constructs a data grid with the data source set to the given RowSet.
+	 * Sets the data grid's sort column and column filters on the row sorter,
+	 * for the columns the table model has.
 	 *
-	 * @param _rowSet RowSet from which values have to be retrieved.
-	 */
-	public SSDataGrid(final RowSet _rowSet) {
-		this();
-		rowSet = _rowSet;
-		bind();
+	 * @param _sorter the row sorter
+	 */
+	private void applySortFilter(final SSTableRowSorter _sorter) {
+		final int modelColumns = tableModel.getColumnCount();
+		_sorter.setSortKeys(((sortColumn < 0) || (sortColumn >= modelColumns)) ? null
+				: Collections.singletonList(new RowSorter.SortKey(sortColumn,
+						sortAscending ? SortOrder.ASCENDING : SortOrder.DESCENDING)));
+		_sorter.setColumnFilters(columnFilters.isEmpty() ? columnFilters
+				: columnFilters.entrySet().stream().filter(filter -> filter.getKey() < modelColumns)
+						.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
 	}
 
 	/**
-	 * Initializes the data grid control. Collects metadata information about the
-	 * given RowSet.
+	 * Requeries the RowSet with the current sorting and filtering.
 	 */
-	protected void bind() {
-
+	protected void requery() {
+		if (rowSet == null) {
+			return;
+		}
+		if (isEditing()) {
+			getCellEditor().stopCellEditing();
+		}
+		if (RowSetOps.isDisconnected(rowSet)) {
+			updateRowSorter();
+			return;
+		}
 		try {
-			// EXECUTE THE QUERY
-			if (callExecute) {
-				rowSet.execute();
-			}
-
-			// SPECIFY THE SSROWSET TO THE TABLE MODEL.
-			tableModel.setRowSet(rowSet);
-
-			// SET THE TABLE MODEL FOR JTABLE
-			setModel(tableModel);
-
-			// GET THE ROW COUNT
-			rowCount = tableModel.getRowCount();
-
-			// GET THE COLUMN COUNT
-			columnCount = tableModel.getColumnCount();
-
+			prepareSortFilterCommand();
+			final long start = SSMetrics.start();
+			final int activity = SSEdtWatchdog.enter(this::getName, () -> rowSet.getCommand());
+			rowSet.execute();
+			SSEdtWatchdog.exit(activity);
+			SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, this::getName);
 		} catch (final SQLException se) {
 			logger.error("SQL Exception.", se);
+			if (messageWindow != null) {
+				JOptionPane.showMessageDialog(messageWindow, "Error while sorting or filtering.\n" + se.getMessage());
+			}
+			return;
 		}
-
-		// THIS IS NEEDED IF THE NUMBER OF COLUMNS IN THE NEW SSROWSET
-		// DOES NOT MATCH WITH THE OLD COLUMNS.
-		createDefaultColumnModel();
-
-		// HIDE COLUMNS AS NEEDED - ALSO CALLS updateUI()
-		hideColumns();
-
-		// UPDATE DISPLAY
-		// updateUI();
-
-	} // end protected void bind() {
+		bind(false);
+	}
 
 	/**
 	 * Returns the callExecute property. If set to true causes the navigator to skip
@@ -870,6 +1949,31 @@ public class SSDataGrid extends JTable {
 		return tableModel.getDefaultValue(columnNumber - 1);
 	}
 
+	/**
+	 * Returns the footer showing the column aggregates. Add it below the
+	 * component returned by {@link #getComponent()}, for example
+	 * {@code panel.add(dataGrid.getFooter(), BorderLayout.SOUTH)}.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @return footer with the column aggregates
+	 */
+	public Component getFooter() {
+		if (footerBar == null) {
+			footerBar = new FooterBar();
+		}
+		return footerBar;
+	}
+
+	/**
+	 * Returns the column numbers that are hidden.
+	 *
+	 * @return hidden column numbers, null if no columns are hidden
+	 */
+	public int[] getHiddenColumns() {
+		return hiddenColumns == null ? null : hiddenColumns.clone();
+	}
+
 	/**
 	 * Returns the allowInsertion property of the table. If set to true an
 	 * additional row for inserting new rows will be displayed
@@ -1003,6 +2107,129 @@ public class SSDataGrid extends JTable {
 			}
 		}
 		updateUI();
+
+		if (autoFitColumns) {
+			autoFitColumns();
+		}
+	}
+
+	/**
+	 * Sets the width of each visible column to fit its header and a sample of
+	 * its values, see {@link #autoFitColumns(int)}.
+	 */
+	public void autoFitColumns() {
+		autoFitColumns(DEFAULT_FIT_SAMPLE_ROWS);
+	}
+
+	/**
+	 * Sets the width of each visible column to fit its header and a sample of
+	 * its values: the first and last rows and rows picked at random, so the
+	 * time taken does not depend on the number of rows. A column is no
+	 * narrower than the minimum column width.
+	 * <p>
+	 * Call this on the EDT. Reading the sampled values, with
+	 * {@code getValueAt()} and so {@code absolute()} on the RowSet, and
+	 * rendering them is done on the EDT before this method returns. Only
+	 * measuring the rendered text with {@code FontMetrics.stringWidth()} runs
+	 * on a background thread; the widths are then set together on the EDT.
+	 *
+	 * @param _sampleRows number of rows sampled, at least 1
+	 * @throws IllegalArgumentException if the number of rows is less than 1
+	 */
+	public void autoFitColumns(final int _sampleRows) {
+		if (_sampleRows < 1) {
+			throw new IllegalArgumentException("Number of sampled rows must be at least 1: " + _sampleRows);
+		}
+		final TableColumnModel columns = getColumnModel();
+		final int count = columns.getColumnCount();
+		final int[] rows = sampleRows(tableModel.rowCount, _sampleRows);
+		final int padding = getIntercellSpacing().width + 6;
+
+		// RENDER THE SAMPLED VALUES TO TEXT, CELLS NOT SHOWN AS TEXT ARE MEASURED HERE
+		final String[][] texts = new String[count][];
+		final int[] widths = new int[count];
+		for (int c = 0; c < count; c++) {
+			final TableColumn column = columns.getColumn(c);
+			if (column.getMaxWidth() == 0) {
+				// HIDDEN
+				widths[c] = -1;
+				continue;
+			}
+			TableCellRenderer headerRenderer = column.getHeaderRenderer();
+			if (headerRenderer == null) {
+				headerRenderer = getTableHeader().getDefaultRenderer();
+			}
+			widths[c] = Math.max(columnWidth, headerRenderer
+					.getTableCellRendererComponent(this, column.getHeaderValue(), false, false, -1, c)
+					.getPreferredSize().width);
+			texts[c] = new String[rows.length];
+			for (int r = 0; r < rows.length; r++) {
+				final int viewRow = Math.max(0, convertRowIndexToView(rows[r]));
+				final Component component = getCellRenderer(viewRow, c).getTableCellRendererComponent(this,
+						tableModel.getValueAt(rows[r], column.getModelIndex()), false, false, viewRow, c);
+				if (component instanceof JLabel) {
+					texts[c][r] = ((JLabel) component).getText();
+				} else {
+					widths[c] = Math.max(widths[c], component.getPreferredSize().width);
+				}
+			}
+		}
+
+		final FontMetrics metrics = getFontMetrics(getFont());
+		new SwingWorker<int[], Void>() {
+			@Override
+			protected int[] doInBackground() {
+				for (int c = 0; c < count; c++) {
+					for (int r = 0; (texts[c] != null) && (r < texts[c].length); r++) {
+						if (texts[c][r] != null) {
+							widths[c] = Math.max(widths[c], metrics.stringWidth(texts[c][r]) + padding);
+						}
+					}
+				}
+				return widths;
+			}
+
+			@Override
+			protected void done() {
+				// THE COLUMNS MAY HAVE CHANGED WHILE MEASURING
+				if ((getColumnModel() != columns) || (columns.getColumnCount() != count)) {
+					return;
+				}
+				for (int c = 0; c < count; c++) {
+					if (widths[c] >= 0) {
+						columns.getColumn(c).setPreferredWidth(Math.min(MAX_FIT_WIDTH, widths[c]));
+					}
+				}
+				resizeAndRepaint();
+			}
+		}.execute();
+	}
+
+	/**
+	 * Picks the rows measured by autoFitColumns(): a third from the start,
+	 * a third from the end and the rest at random.
+	 *
+	 * @param _rowCount number of rows
+	 * @param _sampleRows number of rows to pick, at least 1
+	 * @return row numbers, ascending
+	 */
+	private static int[] sampleRows(final int _rowCount, final int _sampleRows) {
+		if (_rowCount <= _sampleRows) {
+			final int[] rows = new int[_rowCount];
+			for (int i = 0; i < _rowCount; i++) {
+				rows[i] = i;
+			}
+			return rows;
+		}
+		final BitSet picked = new BitSet(_rowCount);
+		final int ends = _sampleRows / 3;
+		picked.set(0, ends);
+		picked.set(_rowCount - ends, _rowCount);
+		final Random random = new Random(_rowCount);
+		while (picked.cardinality() < _sampleRows) {
+			picked.set(random.nextInt(_rowCount));
+		}
+		return picked.stream().toArray();
 	}
 
 	/**
@@ -1054,8 +2281,11 @@ public class SSDataGrid extends JTable {
 					if (numRows == 0) {
 						return;
 					}
-					// GET LIST OF ROWS SELECTED
+					// GET LIST OF ROWS SELECTED, IN MODEL ORDER
 					final int[] rows = getSelectedRows();
+					for (int i = 0; i < rows.length; i++) {
+						rows[i] = convertRowIndexToModel(rows[i]);
+					}
 					// IF USER HAS PROVIDED A PARENT COMPONENT FOR ERROR MESSAGES
 					// CONFIRM THE DELETION
 					if (messageWindow != null) {
@@ -1066,16 +2296,8 @@ public class SSDataGrid extends JTable {
 							return;
 						}
 					}
-					// START DELETING THE ROWS IN BOTTON UP FASHION
-					// IN DOING SO YOU RETAIN THE ROW NUMBERS THAT HAVE TO BE DELETED
-					// IF YOU DO IT TOP DOWN THE ROW NUMBERING CHANGES AS SOON AS A
-					// ROW IS DELETED AS A RESULT LOT OF CARE HAS TO BE TAKEN
-					// TO IDENTIFY THE NEW ROW NUMBERS AND THEN DELETE THE ROWS
-					// INSTEAD OF THAT ITS MUCH EASIER IF YOU DO IT BOTTOM UP.
-					for (int i = rows.length - 1; i >= 0; i--) {
-						tableModel.deleteRow(rows[i]);
-					}
-					updateUI();
+					// DELETE THE ROWS TOGETHER, THE MODEL FIRES A SINGLE TABLE EVENT
+					tableModel.deleteRows(rows);
 				}
 			}
 		});
@@ -1097,6 +2319,14 @@ public class SSDataGrid extends JTable {
 		// CODE IN HIDECOLUMNS FUNCTION DEPENDS ON THIS VARIABLE.
 		setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
 
+		// SORT ON HEADER CLICKS, IF SORTABLE
+		getTableHeader().addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(final MouseEvent me) {
+				sortOnHeaderClick(me);
+			}
+		});
+
 		// ADD THE JTABLE TO A SCROLL BAR
 		scrollPane = new JScrollPane(this, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
 				ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
@@ -1110,6 +2340,25 @@ public class SSDataGrid extends JTable {
 		return allowDeletion;
 	}
 
+	/**
+	 * Returns true if the column widths are fitted to their data when the
+	 * columns are set up.
+	 *
+	 * @return true if the column widths are fitted to the data
+	 */
+	public boolean isAutoFitColumns() {
+		return autoFitColumns;
+	}
+
+	/**
+	 * Returns true if a requery is compared to the previous rows.
+	 *
+	 * @return value of diffRequery indicator
+	 */
+	public boolean isDiffRequery() {
+		return tableModel.isDiffRequery();
+	}
+
 	/**
 	 * @param _allowDeletion boolean indicating if deletions are allowed
 	 */
@@ -1117,6 +2366,37 @@ public class SSDataGrid extends JTable {
 		allowDeletion = _allowDeletion;
 	}
 
+	/**
+	 * Sets whether the column widths are fitted to their data, with
+	 * {@link #autoFitColumns()}, whenever the columns are set up, instead of
+	 * all being the minimum column width.
+	 *
+	 * @param _autoFitColumns true to fit the column widths to the data
+	 */
+	public void setAutoFitColumns(final boolean _autoFitColumns) {
+		final boolean oldValue = autoFitColumns;
+		autoFitColumns = _autoFitColumns;
+		firePropertyChange("autoFitColumns", oldValue, autoFitColumns);
+		if (autoFitColumns && (rowSet != null)) {
+			autoFitColumns();
+		}
+	}
+
+	/**
+	 * Sets the connection and table used to delete the selected rows by
+	 * primary key in one transaction, see {@link SSTableModel#deleteRows(int[])}.
+	 * Requires a primary column.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _connection connection for the deletes, null to delete through
+	 *		the RowSet
+	 * @param _tableName table the RowSet's rows are in
+	 */
+	public void setBatchDeletion(final Connection _connection, final String _tableName) {
+		tableModel.setBatchDeletion(_connection, _tableName);
+	}
+
 	/**
 	 * Sets the callExecute property. If set to true causes the navigator to skip
 	 * the execute function call on the specified RowSet. (See FAQ for further
@@ -1202,11 +2482,28 @@ public class SSDataGrid extends JTable {
 	 * @param _columnWidth		minimium width for table column
 	 */
 	public void setComboRenderer(final int _column, final Object[] _displayItems, final Object[] _underlyingValues, final int _columnWidth) {
+		setComboRenderer(_column, new SSComboLookup(_displayItems, _underlyingValues), _columnWidth);
+	}
+
+	/**
+	 * Sets a combo box renderer for the specified column, with the items of a
+	 * lookup. The same lookup can be used for several columns, for example
+	 * one loaded from a code table with
+	 * {@link SSComboLookup#fromQuery(java.sql.Connection, String, String, String)}.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _column		column number for which combo renderer is to be
+	 *						provided.
+	 * @param _lookup		the displayed items and their underlying values
+	 * @param _columnWidth	minimium width for table column
+	 */
+	public void setComboRenderer(final int _column, final SSComboLookup _lookup, final int _columnWidth) {
 		setRowHeight(20);
 		final TableColumnModel tmpColumnModel = getColumnModel();
 		final TableColumn tmpTableColumn = tmpColumnModel.getColumn(_column);
-		tmpTableColumn.setCellRenderer(new ComboRenderer(_displayItems, _underlyingValues));
-		tmpTableColumn.setCellEditor(new ComboEditor(_displayItems, _underlyingValues));
+		tmpTableColumn.setCellRenderer(new ComboRenderer(_lookup));
+		tmpTableColumn.setCellEditor(new ComboEditor(_lookup));
 		tmpTableColumn.setMinWidth(_columnWidth);
 	}
 
@@ -1251,6 +2548,24 @@ public class SSDataGrid extends JTable {
 		setComboRenderer(column, _displayItems, _underlyingValues, _columnWidth);
 	}
 
+	/**
+	 * Sets a combo box renderer for the specified column, with the items of a
+	 * lookup that may be shared with other columns.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _column		column name for which combo renderer is to be
+	 *						provided.
+	 * @param _lookup		the displayed items and their underlying values
+	 * @param _columnWidth	minimium width for table column
+	 * @throws SQLException	SQLException
+	 */
+	public void setComboRenderer(final String _column, final SSComboLookup _lookup, final int _columnWidth)
+			throws SQLException {
+		final int column = RowSetOps.getColumnIndex(rowSet,_column) - 1;
+		setComboRenderer(column, _lookup, _columnWidth);
+	}
+
 	/**
 	 * Sets a date renderer for the specified column. The date will be displayed in
 	 * mm/dd/yyyy format. If a date renderer is not requested then the date will be
@@ -1338,6 +2653,20 @@ public class SSDataGrid extends JTable {
 		tableModel.setDefaultValues(columnNumbers, _values);
 	}
 
+	/**
+	 * Sets whether a requery, a call to {@link #setRowSet(RowSet)} with the
+	 * requeried RowSet, is compared to the previous rows by primary column so
+	 * only the inserted, deleted and changed rows are updated. The columns,
+	 * selection and scroll position are kept. The primary column must be set.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _diffRequery true to compare rows on requery
+	 */
+	public void setDiffRequery(final boolean _diffRequery) {
+		tableModel.setDiffRequery(_diffRequery);
+	}
+
 	/**
 	 * Sets the header for the JTable. This function has to be called before setting
 	 * the RowSet for SSDataGrid.
@@ -1426,6 +2755,35 @@ public class SSDataGrid extends JTable {
 		tableModel.setMessageWindow(messageWindow);
 	}
 
+	/**
+	 * Sets a number renderer for the specified column. The numbers will be
+	 * displayed with the format, which is copied; formatted values are cached
+	 * by the renderer.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _column column number for which a number renderer is needed.
+	 * @param _format format of the numbers, for example
+	 *		{@code NumberFormat.getCurrencyInstance()}
+	 */
+	public void setNumberRenderer(final int _column, final NumberFormat _format) {
+		getColumnModel().getColumn(_column).setCellRenderer(new NumberRenderer(_format));
+	}
+
+	/**
+	 * Sets a number renderer for the specified column. The numbers will be
+	 * displayed with the format, which is copied.
+	 * <p>
+	 * Currently not a bean property since there is no associated variable.
+	 *
+	 * @param _column name of the column for which a number renderer is needed.
+	 * @param _format format of the numbers
+	 * @throws SQLException	SQLException
+	 */
+	public void setNumberRenderer(final String _column, final NumberFormat _format) throws SQLException {
+		setNumberRenderer(RowSetOps.getColumnIndex(rowSet, _column) - 1, _format);
+	}
+
 	/**
 	 * Sets the column number which is the primary column for the table. This is
 	 * required if new rows have to be added to the JTable. For this to properly
@@ -1467,6 +2825,13 @@ public class SSDataGrid extends JTable {
 		final RowSet oldValue = rowSet;
 		rowSet = _rowSet;
 		firePropertyChange("rowSet", oldValue, rowSet);
+		if ((rowSet != null) && !RowSetOps.isDisconnected(rowSet)) {
+			try {
+				prepareSortFilterCommand();
+			} catch (final SQLException se) {
+				logger.error("SQL Exception.", se);
+			}
+		}
 		bind();	}
 
 	/**
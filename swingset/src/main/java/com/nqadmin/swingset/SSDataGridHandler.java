@@ -59,6 +59,37 @@ public interface SSDataGridHandler {
      */
     public boolean allowDeletion(int _row);
 
+    /**
+     * Performs the pre-deletion operations and returns the rows that can be
+     * deleted, called once by {@link SSTableModel#deleteRows(int[])}.
+     * <p>
+     * The default calls {@link #performPreDeletionOps(int)} and then
+     * {@link #allowDeletion(int)} for each row, last row first, as
+     * {@link SSTableModel#deleteRow(int)} does. A refused row is left out,
+     * the other rows are deleted.
+     *
+     * @param _rows  positions of data grid rows being deleted, in ascending order.
+     * @return the rows that can be deleted, in ascending order.
+     */
+    public default int[] prepareDeletion(final int[] _rows) {
+        final boolean[] allowed = new boolean[_rows.length];
+        int count = 0;
+        for (int i = _rows.length - 1; i >= 0; i--) {
+            performPreDeletionOps(_rows[i]);
+            if (allowDeletion(_rows[i])) {
+                allowed[i] = true;
+                count++;
+            }
+        }
+        final int[] rows = new int[count];
+        for (int i = 0, j = 0; i < _rows.length; i++) {
+            if (allowed[i]) {
+                rows[j++] = _rows[i];
+            }
+        }
+        return rows;
+    }
+
     /**
      * Method to perform post-deletion operations.
      *
@@ -66,6 +97,21 @@ public interface SSDataGridHandler {
      */
     public void performPostDeletionOps(int _row);
 
+    /**
+     * Method to perform post-deletion operations, called once by
+     * {@link SSTableModel#deleteRows(int[])}.
+     * <p>
+     * The default calls {@link #performPostDeletionOps(int)} for each row,
+     * last row first.
+     *
+     * @param _rows  positions of deleted rows in the data grid, in ascending order.
+     */
+    public default void performPostDeletionOps(final int[] _rows) {
+        for (int i = _rows.length - 1; i >= 0; i--) {
+            performPostDeletionOps(_rows[i]);
+        }
+    }
+
     /**
      * Method to perform post-insertion operations.
      *
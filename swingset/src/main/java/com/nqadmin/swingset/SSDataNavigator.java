@@ -63,6 +63,9 @@ import javax.swing.SwingUtilities;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSMetrics;
 import com.nqadmin.swingset.utils.SSEnums.Navigation;
 
 // SSDataNavigator.java
@@ -87,6 +90,7 @@ public class SSDataNavigator extends JPanel {
 
 	private static class RowSetState {
 		private boolean inserting;
+		private boolean modified;
 	}
 
 	// don't have to worry about concurrency, always EDT
@@ -111,6 +115,30 @@ public class SSDataNavigator extends JPanel {
 		return rs == null ? false : getRowSetState(rs).inserting;
 	}
 
+	/**
+	 * Record that a column of the current row was changed in the RowSet
+	 * and not yet written with updateRow(). Bound components call this
+	 * when they update the RowSet; the flag is cleared when the row is
+	 * saved or undone, or the cursor moves.
+	 * @param rs set state for this RowSet
+	 * @param flag true if the current row has unsaved changes
+	 */
+	public static void setModified(RowSet rs, boolean flag) {
+		if (rs != null) {
+			getRowSetState(rs).modified = flag;
+		}
+	}
+
+	/**
+	 * Find out if the current row of the specified RowSet has changes
+	 * that are not saved.
+	 * @param rs get state for this RowSet
+	 * @return true if the current row was changed since it was saved
+	 */
+	public static boolean isModified(RowSet rs) {
+		return rs == null ? false : getRowSetState(rs).modified;
+	}
+
 	/**
 	 * Rowset Listener on the RowSet used by data navigator.
 	 */
@@ -132,7 +160,12 @@ public class SSDataNavigator extends JPanel {
 		 */
 		@Override
 		public void cursorMoved(final RowSetEvent rse) {
+			// A SHARED COPY OF THE ROWSET MOVED ITS OWN CURSOR, SEE RowSetOps.getColumnValues()
+			if (rse.getSource() != rowSet) {
+				return;
+			}
 			logger.trace("Rowset cursor moved.");
+			setModified(rowSet, false);
 			performUpdates();
 		}
 
@@ -151,6 +184,7 @@ public class SSDataNavigator extends JPanel {
 		@Override
 		public void rowSetChanged(final RowSetEvent rse) {
 			logger.trace("Rowset changed.");
+			setModified(rowSet, false);
 			// Update the record counts and navigator display following a navigation.
 			try {
 				logger.debug("Updating row count with last(), getRow(), and first().");
@@ -166,8 +200,7 @@ public class SSDataNavigator extends JPanel {
 		
 		private void performUpdates() {
 			lastChange++;
-			logger.trace("performUpdates(): lastChange=" + lastChange
-					+ ", lastNotifiedChange=" + lastNotifiedChange);
+			logger.trace("performUpdates(): lastChange={}, lastNotifiedChange={}", lastChange, lastNotifiedChange);
 			
 			// Delay execution of logic until all listener methods are called for current event
 			// Based on: https://stackoverflow.com/questions/3953208/value-change-listener-to-jtextfield
@@ -190,7 +223,7 @@ public class SSDataNavigator extends JPanel {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -377,6 +410,8 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("FIRST button clicked.");
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					if (modification) {
@@ -400,6 +435,8 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while updating row or moving the cursor.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.NAVIGATOR_MOVE, start, SSDataNavigator.this::getName);
 				addRowsetListener();
 			}
 		});
@@ -410,6 +447,8 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("PREVIOUS button clicked.");
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					// if( rowSet.rowUpdated() )
@@ -435,6 +474,8 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while updating row or moving the cursor.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.NAVIGATOR_MOVE, start, SSDataNavigator.this::getName);
 				addRowsetListener();
 			}
 		});
@@ -446,6 +487,8 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("NEXT button clicked.");
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					// if( rowSet.rowUpdated() )
@@ -471,6 +514,8 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while updating row or moving the cursor.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.NAVIGATOR_MOVE, start, SSDataNavigator.this::getName);
 				addRowsetListener();
 			}
 		});
@@ -483,6 +528,8 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("LAST button clicked.");
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					// if( rowSet.rowUpdated() )
@@ -507,6 +554,8 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while updating row or moving the cursor.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.NAVIGATOR_MOVE, start, SSDataNavigator.this::getName);
 				addRowsetListener();
 			}
 		});
@@ -520,6 +569,7 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("COMMIT button clicked.");
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					if (isInserting(rowSet)) {
@@ -530,8 +580,10 @@ public class SSDataNavigator extends JPanel {
 							// HAS TO FIX THE DATA AND SAVE THE ROW OR CANCEL THE INSERTION.
 							return;
 						}
+						RowSetOps.completeInsertRow(rowSet);
 						rowSet.insertRow();
 						setInserting(rowSet, false);
+						setModified(rowSet, false);
 						dBNav.performPostInsertOps();
 						
 						// 2019-10-14: next bit of code seems odd. not sure why we're calling moveToCurrentRow() and last().
@@ -572,6 +624,7 @@ public class SSDataNavigator extends JPanel {
 							return;
 						}
 						rowSet.updateRow();
+						setModified(rowSet, false);
 						
 						// 2020-11-24: Generally redundant, but force a refresh the screen with the 
 						// values from the rowset. This will be most noticeable if you have
@@ -590,6 +643,7 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while saving row.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
 				addRowsetListener();
 			}
 		});
@@ -601,6 +655,7 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("UNDO button clicked.");
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					// CALL MOVE TO CURRENT ROW IF ON INSERT ROW.
@@ -614,6 +669,7 @@ public class SSDataNavigator extends JPanel {
 					// CALL CANCELROWUPDATE TO GET A TRIGGER
 					rowSet.cancelRowUpdates();
 					setInserting(rowSet, false);
+					setModified(rowSet, false);
 					dBNav.performCancelOps();
 					rowSet.refreshRow();
 
@@ -632,6 +688,7 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while undoing changes.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
 				addRowsetListener();
 			}
 		});
@@ -648,8 +705,14 @@ public class SSDataNavigator extends JPanel {
 				logger.debug("REFRESH button clicked.");
 				removeRowsetListener();
 				try {
-					if (callExecute) {
+					// a disconnected rowset would lose its changes
+					if (callExecute && !RowSetOps.isDisconnected(rowSet)) {
+						final long start = SSMetrics.start();
+						final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 						rowSet.execute();
+						SSEdtWatchdog.exit(activity);
+						SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, SSDataNavigator.this::getName);
+						setModified(rowSet, false);
 
 						if (!rowSet.next()) {
 							// THERE ARE NO RECORDS IN THE ROWSET
@@ -682,6 +745,7 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("ADD button clicked.");
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 
@@ -708,6 +772,7 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while moving to insert row.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
 				addRowsetListener();
 			}
 		});
@@ -719,6 +784,7 @@ public class SSDataNavigator extends JPanel {
 			@Override
 			public void actionPerformed(final ActionEvent ae) {
 				logger.debug("DELETE button clicked.");
+				final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 				removeRowsetListener();
 				try {
 					if (confirmDeletes) {
@@ -768,6 +834,7 @@ public class SSDataNavigator extends JPanel {
 					JOptionPane.showMessageDialog(SSDataNavigator.this,
 							"Exception occured while deleting row.\n" + se.getMessage());
 				}
+				SSEdtWatchdog.exit(activity);
 				addRowsetListener();
 			}
 		});
@@ -782,6 +849,8 @@ public class SSDataNavigator extends JPanel {
 				logger.debug("Record number manually updated.");
 				removeRowsetListener();
 				if (ke.getKeyCode() == KeyEvent.VK_ENTER) {
+					final long start = SSMetrics.start();
+					final int activity = SSEdtWatchdog.enter(SSDataNavigator.this::getName, () -> rowSet.getCommand());
 					try {
 						final int row = Integer.parseInt(txtCurrentRow.getText().trim());
 						if ((row <= rowCount) && (row > 0)) {
@@ -790,6 +859,8 @@ public class SSDataNavigator extends JPanel {
 					} catch (final Exception e) {
 						// do nothing
 					}
+					SSEdtWatchdog.exit(activity);
+					SSMetrics.record(SSMetrics.NAVIGATOR_MOVE, start, SSDataNavigator.this::getName);
 				}
 				addRowsetListener();
 			}
@@ -1252,6 +1323,7 @@ public class SSDataNavigator extends JPanel {
 		// MODE
 		// WITH OUT SAVING THE RECORD OR UNDOING THE INSERTION
 		setInserting(rowSet, false);
+		setModified(rowSet, false);
 
 		// REMOVE ROWSET LISTENER
 		if (rowSet != null) {
@@ -1264,8 +1336,12 @@ public class SSDataNavigator extends JPanel {
 
 		// SEE IF THERE ARE ANY ROWS IN THE GIVEN SSROWSET
 		try {
-			if (callExecute) {
+			if (callExecute && !RowSetOps.isDisconnected(rowSet)) {
+				final long start = SSMetrics.start();
+				final int activity = SSEdtWatchdog.enter(this::getName, () -> rowSet.getCommand());
 				rowSet.execute();
+				SSEdtWatchdog.exit(activity);
+				SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, this::getName);
 			}
 
 			if (!rowSet.next()) {
@@ -1368,7 +1444,7 @@ public class SSDataNavigator extends JPanel {
 //	        sb.append("\n");
 //	    }
 
-		logger.debug("Current Row: " + currentRow + ". Row Count: " + rowCount);
+		logger.debug("Current Row: {}. Row Count: {}", currentRow, rowCount);
 		//logger.debug("Stack trace:\n" + sb);
 
 		// ENABLE OR DISABLE BUTTONS
@@ -60,6 +60,7 @@ import javax.swing.ScrollPaneConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.nqadmin.swingset.metrics.SSMetrics;
 import com.nqadmin.swingset.utils.SSCommon;
 import com.nqadmin.swingset.utils.SSComponentInterface;
 
@@ -108,6 +109,7 @@ public class SSImage extends JPanel implements SSComponentInterface {
                                 }
                                 //inStream.close();
                                 getRowSet().updateBytes(getBoundColumnName(), bytes);
+                                SSDataNavigator.setModified(getRowSet(), true);
                                 img = new ImageIcon(bytes);
                                 lblImage.setPreferredSize(new Dimension(img.getIconWidth(), img.getIconHeight()));
                                 lblImage.setIcon(img);
@@ -119,9 +121,9 @@ public class SSImage extends JPanel implements SSComponentInterface {
                         }
                     }
                 }catch(final SQLException se){
-                	logger.error(getColumnForLog() + ": SQL Exception.", se);
+                	logger.error("{}: SQL Exception.", getColumnForLog(), se);
                 }catch(final IOException ioe){
-                	logger.error(getColumnForLog() + ": IO Exception.", ioe);
+                	logger.error("{}: IO Exception.", getColumnForLog(), ioe);
                 }
 
                 addRowSetListener();
@@ -132,7 +134,7 @@ public class SSImage extends JPanel implements SSComponentInterface {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -313,10 +315,12 @@ public class SSImage extends JPanel implements SSComponentInterface {
 		
 
         try {
+            final long start = SSMetrics.start();
             final byte[] imageData = getRowSet().getRow() >0 ? getRowSet().getBytes(getBoundColumnName()) : null;
             if(imageData != null){
             	logger.debug("{}: Setting non-null image.", () -> getColumnForLog());
                 img = new ImageIcon(imageData);
+                SSMetrics.record(SSMetrics.BLOB_DECODE, start, this::getColumnForLog);
                 lblImage.setPreferredSize(new Dimension(img.getIconWidth(), img.getIconHeight()));
                 lblImage.setText("");
             } else {
@@ -325,7 +329,7 @@ public class SSImage extends JPanel implements SSComponentInterface {
                 lblImage.setText("No Picture");
             }
         } catch(final SQLException se) {
-        	logger.error(getColumnForLog() + ": SQL Exception.", se);
+        	logger.error("{}: SQL Exception.", getColumnForLog(), se);
             img = null;
         }
 
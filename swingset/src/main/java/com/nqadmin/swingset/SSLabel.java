@@ -96,7 +96,7 @@ public class SSLabel extends JLabel implements SSComponentInterface {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
     /**
 	 * unique serial id
@@ -223,7 +223,7 @@ public class SSLabel extends JLabel implements SSComponentInterface {
 	@Override
 	public void updateSSComponent() {
 		final String text = getBoundColumnText();
-		logger.debug("{}: Setting label to " + text + ".", () -> getColumnForLog());
+		logger.debug("{}: Setting label to {}.", () -> getColumnForLog(), () -> text);
 		setText(text);
 	}
 
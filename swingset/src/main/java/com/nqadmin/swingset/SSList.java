@@ -43,7 +43,10 @@ import java.sql.SQLException;
 import java.sql.JDBCType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Vector;
 import java.util.stream.Collectors;
@@ -52,6 +55,9 @@ import java.util.stream.Stream;
 
 import javax.swing.JList;
 import javax.swing.ListModel;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 
@@ -106,6 +112,10 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 		
 		@Override
 		public void valueChanged(final ListSelectionEvent e) {
+			// wait for the final selection, for example a mouse drag
+			if (e.getValueIsAdjusting()) {
+				return;
+			}
 			removeListeners();
 			updateRowSet();
 			addListeners();
@@ -128,10 +138,23 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 
 	private Model optionSwingModel;
 
+	/**
+	 * Map from mapping to the index of its list item; built as needed,
+	 * null when the item list changes.
+	 */
+	private transient Map<Object, Integer> mappingIndexes;
+
+	/**
+	 * The data for the bound column of the current row,
+	 * as last read from or written to the database.
+	 * A write that would not change it is skipped.
+	 */
+	private Object[] currentDbData;
+
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -205,6 +228,22 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 		this.selectedDBModel = _collectionModel;
 		// last line of constructor safe to access this
 		Model.install(this);
+		optionSwingModel.addListDataListener(new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				mappingIndexes = null;
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				mappingIndexes = null;
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				mappingIndexes = null;
+			}
+		});
 
 		// uncomment this to run some tests
 		// testStuff(this);
@@ -312,9 +351,13 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 	 * @return a list with the mappings values corresponding to the selected indices
 	 */
 	public List<Object> getSelectedMappings() {
-		return Arrays.stream(getSelectedIndices())
-				.mapToObj((index) -> optionSwingModel.getMappings().get(index))
-				.collect(Collectors.toList());
+		List<Object> allMappings = optionSwingModel.getMappings();
+		int[] indices = getSelectedIndices();
+		List<Object> selectedMappings = new ArrayList<>(indices.length);
+		for (int index : indices) {
+			selectedMappings.add(allMappings.get(index));
+		}
+		return selectedMappings;
 	}
 
 	@Override
@@ -499,9 +542,66 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 	 * @param _selectedMappings Values to be selected in list
 	 */
 	public void setSelectedValues(final Object[] _selectedMappings) {
-		setSelectedIndices(Arrays.stream(_selectedMappings)
-				.mapToInt(o -> optionSwingModel.getMappings().indexOf(o))
-				.toArray());
+		Map<Object, Integer> indexes = getMappingIndexes();
+		BitSet selection = new BitSet(indexes.size());
+		for (Object mapping : _selectedMappings) {
+			Integer index = indexes.get(mapping);
+			if (index != null) {
+				selection.set(index);
+			}
+		}
+		setSelection(selection);
+	}
+
+	/**
+	 * Build, if needed, the map from mapping to the index of its list item.
+	 * If a mapping occurs more than once, the first one is used.
+	 *
+	 * @return map from mapping to index
+	 */
+	private Map<Object, Integer> getMappingIndexes() {
+		if (mappingIndexes == null) {
+			List<Object> allMappings = optionSwingModel.getMappings();
+			Map<Object, Integer> indexes = new HashMap<>(allMappings.size() * 4 / 3 + 1);
+			for (int i = 0; i < allMappings.size(); i++) {
+				indexes.putIfAbsent(allMappings.get(i), i);
+			}
+			mappingIndexes = indexes;
+		}
+		return mappingIndexes;
+	}
+
+	/**
+	 * Make the list's selection match the specified indexes. Nothing
+	 * is done if the selection is unchanged; otherwise the
+	 * selection model is changed a run of indexes at a time, while adjusting.
+	 *
+	 * @param _selection indexes to select
+	 */
+	private void setSelection(final BitSet _selection) {
+		ListSelectionModel sm = getSelectionModel();
+		BitSet current = new BitSet();
+		int max = sm.getMaxSelectionIndex();
+		for (int i = sm.getMinSelectionIndex(); i >= 0 && i <= max; i++) {
+			if (sm.isSelectedIndex(i)) {
+				current.set(i);
+			}
+		}
+		if (current.equals(_selection)) {
+			return;
+		}
+
+		sm.setValueIsAdjusting(true);
+		try {
+			sm.clearSelection();
+			for (int i = _selection.nextSetBit(0); i >= 0; ) {
+				int end = _selection.nextClearBit(i);
+				sm.addSelectionInterval(i, end - 1);
+				i = _selection.nextSetBit(end);
+			}
+		} finally {
+			sm.setValueIsAdjusting(false);
+		}
 	}
 
 	/**
@@ -520,11 +620,16 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 	 * the list
 	 */
 	protected void updateRowSet() {
+		Object[] data = getSelectedMappings().toArray();
+		if (selectedDBModel.isSameData(currentDbData, data)) {
+			logger.trace("{}: Selection unchanged, skip write.", () -> getColumnForLog());
+			return;
+		}
 		try {
-			selectedDBModel.writeData(getRowSet(), getBoundColumnName(),
-							getSelectedMappings().toArray());
+			selectedDBModel.writeData(getRowSet(), getBoundColumnName(), data);
+			currentDbData = data;
 		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + ": SQL Exception.", se);
+			logger.error("{}: SQL Exception.", getColumnForLog(), se);
 		}
 	}
 
@@ -548,16 +653,20 @@ public class SSList extends JList<SSListItem> implements SSComponentInterface {
 			    array = selectedDBModel.readData(getRowSet(), getBoundColumnName());
 			}
 		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + ": SQL Exception.", se);
+			logger.error("{}: SQL Exception.", getColumnForLog(), se);
 		}
 		
+		currentDbData = array;
+
 		if (array == null) {
 			logger.debug("{}: Array is null. Clearing selection.", () -> getColumnForLog());
 			clearSelection();
 			return;
 		}
 
-		logger.debug("{}: Updating component with array of " + Arrays.toString(array) + ".", () -> getColumnForLog());
+		if (logger.isDebugEnabled()) {
+			logger.debug("{}: Updating component with array of {}.", getColumnForLog(), Arrays.toString(array));
+		}
 		setSelectedValues(array);
 	}
 
@@ -87,7 +87,7 @@ public class SSSlider extends JSlider implements SSComponentInterface {
     /**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
     /**
 	 * unique serial id
@@ -221,16 +221,16 @@ public class SSSlider extends JSlider implements SSComponentInterface {
             			logger.debug("{}: Setting slider to 0.", () -> getColumnForLog());
             			setValue(0);
 	            	} else {
-	            		logger.debug("{}: Setting slider to " + columnValue + ".", () -> getColumnForLog());
+	            		logger.debug("{}: Setting slider to {}.", () -> getColumnForLog(), () -> columnValue);
 	            		setValue(Integer.parseInt(columnValue));
 	            	}
             	} catch (final NumberFormatException _nfe) {
-            		logger.error(getColumnForLog() + ": Number Format Exception. Cannot update slider to " + columnValue, _nfe);
+            		logger.error("{}: Number Format Exception. Cannot update slider to {}", getColumnForLog(), columnValue, _nfe);
             	}
                 break;
 
             default:
-            	logger.warn(getColumnForLog() + ": Unable to update Slider bound to " + getBoundColumnName() + " because the data type is not supported (" + getBoundColumnType() + ".");
+            	logger.warn("{}: Unable to update Slider bound to {} because the data type is not supported ({}.", getColumnForLog(), getBoundColumnName(), getBoundColumnType());
                 break;
         }
 
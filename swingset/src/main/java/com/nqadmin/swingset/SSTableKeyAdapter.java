@@ -70,7 +70,7 @@ public class SSTableKeyAdapter extends KeyAdapter implements Serializable {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -38,12 +38,18 @@
 package com.nqadmin.swingset;
 
 import java.awt.Component;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
@@ -56,6 +62,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSMetrics;
 
 // SSTableModel.java
 //
@@ -75,7 +82,7 @@ public class SSTableModel extends AbstractTableModel {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -172,6 +179,34 @@ public class SSTableModel extends AbstractTableModel {
 	 */
 	private int primaryColumn = -1;
 
+	/**
+	 * Maximum number of keys in one DELETE statement of deleteRows().
+	 */
+	private static final int DELETE_CHUNK = 500;
+
+	/**
+	 * Connection and table for deleteRows() by primary key, null to delete
+	 * through the RowSet.
+	 */
+	private transient Connection deleteConnection = null;
+	private String deleteTableName = null;
+
+	/**
+	 * Column aggregates kept up to date on edits, null if not used.
+	 */
+	private transient SSColumnAggregates aggregates = null;
+
+	/**
+	 * Indicator to refresh by comparing the rows of a new RowSet to the
+	 * previous rows, see {@link #setDiffRequery(boolean)}.
+	 */
+	private boolean diffRequery = false;
+
+	/**
+	 * Column values of each row as of the last refresh, when diffRequery is set.
+	 */
+	private transient List<Object[]> rowSnapshot = null;
+
 	/**
 	 * Number of rows in the RowSet.
 	 */
@@ -229,8 +264,15 @@ public class SSTableModel extends AbstractTableModel {
 					return false;
 				}
 				rowset.absolute(_row + 1);
+				final Object[] deletedValues = readAggregatedRow();
 				rowset.deleteRow();
 				rowCount--;
+				if ((rowSnapshot != null) && (_row < rowSnapshot.size())) {
+					rowSnapshot.remove(_row);
+				}
+				if (deletedValues != null) {
+					aggregates.rowDeleted(deletedValues);
+				}
 				if (dataGridHandler != null) {
 					dataGridHandler.performPostDeletionOps(_row);
 				}
@@ -248,6 +290,127 @@ public class SSTableModel extends AbstractTableModel {
 
 	} // end public boolean deleteRow(int _row) {
 
+	/**
+	 * Deletes the specified rows from the database, calling the
+	 * SSDataGridHandler once for all the rows and firing a single table event.
+	 * Rows refused by {@link SSDataGridHandler#prepareDeletion(int[])} are
+	 * not deleted, the others are.
+	 * <p>
+	 * If a connection is set with {@link #setBatchDeletion(Connection, String)}
+	 * and there is a primary column, the rows are deleted by primary key with
+	 * {@code DELETE ... WHERE pk IN (...)} statements in one transaction, and
+	 * the RowSet is requeried. Otherwise each row is deleted through the
+	 * RowSet, one at a time, last row first: with a connected RowSet each
+	 * delete is committed on its own when the connection is in auto commit
+	 * mode, so a failure leaves the rows before it deleted. A disconnected
+	 * RowSet only marks the rows as deleted.
+	 *
+	 * @param _rows the row numbers that have to be deleted, in any order
+	 *
+	 * @return the number of rows deleted
+	 */
+	public int deleteRows(final int[] _rows) {
+		int[] rows = Arrays.stream(_rows).filter(row -> (row >= 0) && (row < rowCount)).sorted().distinct()
+				.toArray();
+		if ((rows.length > 0) && (dataGridHandler != null)) {
+			rows = dataGridHandler.prepareDeletion(rows);
+		}
+		if (rows.length == 0) {
+			return 0;
+		}
+		final long start = System.nanoTime();
+		int deleted = 0;
+		try {
+			if ((deleteConnection != null) && (primaryColumn >= 0) && !RowSetOps.isDisconnected(rowset)) {
+				deleteByPrimaryColumn(rows);
+				deleted = rows.length;
+				rowset.execute();
+				setRowSet(rowset);
+			} else {
+				// BOTTOM UP, SO THE NUMBERS OF THE REMAINING ROWS DON'T CHANGE
+				for (int i = rows.length - 1; i >= 0; i--) {
+					rowset.absolute(rows[i] + 1);
+					final Object[] deletedValues = readAggregatedRow();
+					rowset.deleteRow();
+					rowCount--;
+					deleted++;
+					if (deletedValues != null) {
+						aggregates.rowDeleted(deletedValues);
+					}
+					if ((rowSnapshot != null) && (rows[i] < rowSnapshot.size())) {
+						rowSnapshot.remove(rows[i]);
+					}
+				}
+				if (RowSetOps.isDisconnected(rowset)) {
+					// CachedRowSetImpl MOVES WRONGLY FROM A DELETED ROW, START AGAIN
+					rowset.beforeFirst();
+					if (rowCount > 0) {
+						rowset.absolute(Math.min(rows[0] + 1, rowCount));
+					}
+				}
+				if ((rows[rows.length - 1] - rows[0]) == (rows.length - 1)) {
+					fireTableRowsDeleted(rows[0], rows[rows.length - 1]);
+				} else {
+					fireTableDataChanged();
+				}
+			}
+		} catch (final SQLException se) {
+			logger.error("SQL Exception while deleting rows.",  se);
+			if (deleted > 0) {
+				fireTableDataChanged();
+			}
+			if (component != null) {
+				JOptionPane.showMessageDialog(component, "Error while deleting rows.\n" + se.getMessage());
+			}
+			return deleted;
+		}
+		logger.debug("Deleted {} rows in {} ms.", deleted, (System.nanoTime() - start) / 1_000_000);
+		if (dataGridHandler != null) {
+			dataGridHandler.performPostDeletionOps(rows);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Deletes the rows from the table by primary key in one transaction.
+	 *
+	 * @param _rows the row numbers, in ascending order
+	 * @throws SQLException if a delete fails, nothing is deleted
+	 */
+	private void deleteByPrimaryColumn(final int[] _rows) throws SQLException {
+		final String keyColumn = rowset.getMetaData().getColumnName(primaryColumn + 1);
+		final Object[] keys = new Object[_rows.length];
+		for (int i = 0; i < _rows.length; i++) {
+			rowset.absolute(_rows[i] + 1);
+			keys[i] = rowset.getObject(primaryColumn + 1);
+		}
+		final boolean autoCommit = deleteConnection.getAutoCommit();
+		deleteConnection.setAutoCommit(false);
+		try {
+			for (int first = 0; first < keys.length; first += DELETE_CHUNK) {
+				final int count = Math.min(DELETE_CHUNK, keys.length - first);
+				final StringBuilder sql = new StringBuilder("DELETE FROM ").append(deleteTableName).append(" WHERE ")
+						.append(keyColumn).append(" IN (");
+				for (int i = 0; i < count; i++) {
+					sql.append(i == 0 ? "?" : ", ?");
+				}
+				sql.append(')');
+				try (PreparedStatement statement = deleteConnection.prepareStatement(sql.toString())) {
+					for (int i = 0; i < count; i++) {
+						statement.setObject(i + 1, keys[first + i]);
+					}
+					statement.executeUpdate();
+				}
+			}
+			deleteConnection.commit();
+		} catch (final SQLException se) {
+			deleteConnection.rollback();
+			throw se;
+		} finally {
+			deleteConnection.setAutoCommit(autoCommit);
+		}
+	}
+
 	/**
 	 * Returns the type for the column specified for the current view.
 	 *
@@ -328,7 +491,7 @@ public class SSTableModel extends AbstractTableModel {
 	public String getColumnName(final int _columnNumber) {
 		if (headers != null) {
 			if (_columnNumber < headers.length) {
-				logger.debug("Sending header " + headers[_columnNumber]);
+				logger.debug("Sending header {}", headers[_columnNumber]);
 				return headers[_columnNumber];
 			}
 		}
@@ -380,6 +543,20 @@ public class SSTableModel extends AbstractTableModel {
 	 */
 	@Override
 	public Object getValueAt(final int _row, final int _column) {
+		final long start = SSMetrics.start();
+		final Object value = readValueAt(_row, _column);
+		SSMetrics.record(SSMetrics.GRID_CELL_READ, start);
+		return value;
+	}
+
+	/**
+	 * Reads the value of a cell from the rowset.
+	 *
+	 * @param _row    the row whose value is to be queried
+	 * @param _column the column whose value is to be queried
+	 * @return the value at the specified cell
+	 */
+	private Object readValueAt(final int _row, final int _column) {
 
 		Object value = null;
 		if (_row == rowCount) {
@@ -434,7 +611,7 @@ public class SSTableModel extends AbstractTableModel {
 				value = rowset.getString(_column + 1);
 				break;
 			default:
-				logger.warn("Unknown data type of " + type);
+				logger.warn("Unknown data type of {}", type);
 			}
 		} catch (final SQLException se) {
 			logger.error("SQL Exception while retrieving value.",  se);
@@ -446,7 +623,7 @@ public class SSTableModel extends AbstractTableModel {
 
 		return value;
 
-	} // end public Object getValueAt(int _row, int _column) {
+	} // end private Object readValueAt(int _row, int _column) {
 
 	/**
 	 * Initializes the SSTableModel. (Gets the column count and row count for the
@@ -463,6 +640,8 @@ public class SSTableModel extends AbstractTableModel {
 			rowCount = rowset.getRow();
 			rowset.first();
 
+			rowSnapshot = diffRequery ? readRows() : null;
+
 			// *** Following code added 11-01-2004 per forum suggestion from Diego Gil (dags).
 			// IF DATA CHANGES, ALERT LISTENERS
 			fireTableDataChanged();
@@ -473,6 +652,191 @@ public class SSTableModel extends AbstractTableModel {
 		}
 	}
 
+	/**
+	 * Returns the column values of every row of the RowSet and leaves the
+	 * RowSet on the first row.
+	 *
+	 * @return list of column values, one array per row
+	 * @throws SQLException if a database access error occurs
+	 */
+	private List<Object[]> readRows() throws SQLException {
+		final List<Object[]> rows = new ArrayList<>(rowCount);
+		rowset.beforeFirst();
+		while (rowset.next()) {
+			final Object[] values = new Object[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				values[i] = rowset.getObject(i + 1);
+			}
+			rows.add(values);
+		}
+		rowset.first();
+		return rows;
+	}
+
+	/**
+	 * Returns the values of the current row of the RowSet if there are
+	 * column aggregates to adjust.
+	 *
+	 * @return the column values, null if there are no aggregates
+	 * @throws SQLException if a database access error occurs
+	 */
+	private Object[] readAggregatedRow() throws SQLException {
+		if ((aggregates == null) || aggregates.isEmpty()) {
+			return null;
+		}
+		final Object[] values = new Object[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			values[i] = rowset.getObject(i + 1);
+		}
+		return values;
+	}
+
+	/**
+	 * Refreshes the model from a requeried RowSet by comparing its rows to
+	 * those of the previous refresh using the primary column. Only the
+	 * inserted, deleted and changed rows are reported to the listeners, so the
+	 * JTable keeps its columns, selection and scroll position.
+	 * <p>
+	 * Not possible if there is no primary column, no previous rows, the number of
+	 * columns changed, primary keys are null or duplicated, or the order
+	 * of the rows present in both changed.
+	 *
+	 * @return true if the model is refreshed, false if it must be
+	 *		initialized with {@link #init()}
+	 */
+	protected boolean refreshRows() {
+		if ((rowSnapshot == null) || (primaryColumn < 0)) {
+			return false;
+		}
+		try {
+			if (RowSetOps.getColumnCount(rowset) != columnCount) {
+				return false;
+			}
+			final List<Object[]> oldRows = rowSnapshot;
+			final List<Object[]> newRows = readRows();
+			final Map<Object, Integer> oldIndex = indexRows(oldRows);
+			final Map<Object, Integer> newIndex = indexRows(newRows);
+			if ((oldIndex == null) || (newIndex == null)) {
+				return false;
+			}
+
+			// THE ROWS IN BOTH MUST BE IN THE SAME ORDER
+			final List<Object> keptOld = new ArrayList<>();
+			for (final Object[] row : oldRows) {
+				if (newIndex.containsKey(row[primaryColumn])) {
+					keptOld.add(row[primaryColumn]);
+				}
+			}
+			final List<Object> keptNew = new ArrayList<>();
+			for (final Object[] row : newRows) {
+				if (oldIndex.containsKey(row[primaryColumn])) {
+					keptNew.add(row[primaryColumn]);
+				}
+			}
+			if (!keptOld.equals(keptNew)) {
+				return false;
+			}
+
+			rowSnapshot = newRows;
+
+			// DELETED ROWS, LAST FIRST SO THE INDEXES OF EARLIER ROWS DON'T CHANGE.
+			// ROW COUNT FOLLOWS EACH EVENT SO LISTENERS SEE A CONSISTENT MODEL.
+			for (int end = oldRows.size() - 1; end >= 0; end--) {
+				if (!newIndex.containsKey(oldRows.get(end)[primaryColumn])) {
+					int start = end;
+					while ((start > 0) && !newIndex.containsKey(oldRows.get(start - 1)[primaryColumn])) {
+						start--;
+					}
+					rowCount -= end - start + 1;
+					fireTableRowsDeleted(start, end);
+					end = start;
+				}
+			}
+
+			// INSERTED ROWS, IN ORDER AT THEIR NEW INDEXES
+			for (int start = 0; start < newRows.size(); start++) {
+				if (!oldIndex.containsKey(newRows.get(start)[primaryColumn])) {
+					int end = start;
+					while (((end + 1) < newRows.size()) && !oldIndex.containsKey(newRows.get(end + 1)[primaryColumn])) {
+						end++;
+					}
+					rowCount += end - start + 1;
+					fireTableRowsInserted(start, end);
+					start = end;
+				}
+			}
+
+			// CHANGED ROWS
+			for (int start = 0; start < newRows.size(); start++) {
+				if (isChangedRow(oldRows, oldIndex, newRows.get(start))) {
+					int end = start;
+					while (((end + 1) < newRows.size()) && isChangedRow(oldRows, oldIndex, newRows.get(end + 1))) {
+						end++;
+					}
+					fireTableRowsUpdated(start, end);
+					start = end;
+				}
+			}
+
+			logger.debug("Refreshed {} rows from {} rows.", newRows.size(), oldRows.size());
+			return true;
+
+		} catch (final SQLException se) {
+			logger.error("SQL Exception while refreshing rows.",  se);
+			return false;
+		}
+	}
+
+	/**
+	 * Maps the primary key of each row to its index.
+	 *
+	 * @return the map, null if a primary key is null or duplicated
+	 */
+	private Map<Object, Integer> indexRows(final List<Object[]> _rows) {
+		final Map<Object, Integer> index = new HashMap<>(_rows.size() * 2);
+		for (int i = 0; i < _rows.size(); i++) {
+			final Object key = _rows.get(i)[primaryColumn];
+			if ((key == null) || (index.put(key, i) != null)) {
+				return null;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return true if the row was present before and has different values
+	 */
+	private boolean isChangedRow(final List<Object[]> _oldRows, final Map<Object, Integer> _oldIndex,
+			final Object[] _row) {
+		final Integer oldRow = _oldIndex.get(_row[primaryColumn]);
+		return (oldRow != null) && !Arrays.equals(_oldRows.get(oldRow), _row);
+	}
+
+	/**
+	 * Returns true if a new RowSet is compared to the previous rows.
+	 *
+	 * @return value of diffRequery indicator
+	 */
+	public boolean isDiffRequery() {
+		return diffRequery;
+	}
+
+	/**
+	 * Sets whether a new or requeried RowSet given to {@link #setRowSet(RowSet)}
+	 * is compared to the previous rows by primary column, firing row events
+	 * only for the inserted, deleted and changed rows, instead of a full data
+	 * change. The primary column must be set. The previous column values are
+	 * kept in memory.
+	 *
+	 * @param _diffRequery true to compare rows on requery
+	 */
+	public void setDiffRequery(final boolean _diffRequery) {
+		diffRequery = _diffRequery;
+		if (!diffRequery) {
+			rowSnapshot = null;
+		}
+	}
+
 	/**
 	 * Inserts a new row into the database. While doing so it inserts all the
 	 * defaults provided by user and if the primary column is specified along with
@@ -546,13 +910,18 @@ public class SSTableModel extends AbstractTableModel {
 				logger.warn("SSTableModel.setValueAt(): Unknown data type.");
 			}
 
+			RowSetOps.completeInsertRow(rowset);
+			final Object[] insertedValues = readAggregatedRow();
 			rowset.insertRow();
 			if (rowCount != 0) {
 				rowset.moveToCurrentRow();
 			} else {
 				rowset.first();
 			}
-			rowset.refreshRow();
+			// for a disconnected rowset this would discard the row's changes
+			if (!RowSetOps.isDisconnected(rowset)) {
+				rowset.refreshRow();
+			}
 
 			logger.debug("Row number of inserted row : {}", () -> {
 				try {
@@ -567,6 +936,11 @@ public class SSTableModel extends AbstractTableModel {
 			}
 			inInsertRow = false;
 			rowCount++;
+			// POSITION OF THE NEW ROW IN THE ROWSET IS NOT KNOWN
+			rowSnapshot = null;
+			if (insertedValues != null) {
+				aggregates.rowInserted(insertedValues);
+			}
 
 			if (dataGridHandler != null) {
 				dataGridHandler.performPostInsertOps(rowCount - 1);
@@ -626,7 +1000,7 @@ public class SSTableModel extends AbstractTableModel {
 			while (iterator.hasNext()) {
 				final Integer column = (Integer) iterator.next();
 
-				logger.debug("Column number is:" + column);
+				logger.debug("Column number is:{}", column);
 				
 				// TODO May be able to utilize JDBCType Enum here.
 				// TODO This may be better as a static method in RowSetOps
@@ -668,7 +1042,7 @@ public class SSTableModel extends AbstractTableModel {
 					rowset.updateString(column.intValue() + 1, (String) defaultValuesMap.get(column));
 					break;
 				default:
-					logger.warn("Unknown data type of " + type);
+					logger.warn("Unknown data type of {}", type);
 				} // END OF SWITCH
 
 			} // END OF WHILE
@@ -809,7 +1183,7 @@ public class SSTableModel extends AbstractTableModel {
 				rowset.updateString(primaryColumn + 1, (String) dataValue.getPrimaryColumnValue());
 				break;
 			default:
-				logger.warn("Unknown data type of " + type);
+				logger.warn("Unknown data type of {}", type);
 			}
 		} catch (final SQLException se) {
 			logger.error("SQL Exception while insering Primary Key value.",  se);
@@ -820,6 +1194,33 @@ public class SSTableModel extends AbstractTableModel {
 		}
 	} // end protected void setPrimaryColumn() {
 
+	/**
+	 * Returns the column aggregates of the model, which are kept up to date
+	 * as rows are edited, inserted and deleted.
+	 *
+	 * @return the column aggregates
+	 */
+	public SSColumnAggregates getAggregates() {
+		if (aggregates == null) {
+			aggregates = new SSColumnAggregates(this);
+		}
+		return aggregates;
+	}
+
+	/**
+	 * Sets the connection and table used by {@link #deleteRows(int[])} to
+	 * delete rows by primary key. The connection must not be the one used by
+	 * the RowSet.
+	 *
+	 * @param _connection connection for the deletes, null to delete through
+	 *		the RowSet
+	 * @param _tableName table the RowSet's rows are in
+	 */
+	public void setBatchDeletion(final Connection _connection, final String _tableName) {
+		deleteConnection = _connection;
+		deleteTableName = _tableName;
+	}
+
 	/**
 	 * Sets the column number which is the primary column for the table. This is
 	 * required if new rows have to be added to the JTable. For this to properly
@@ -834,13 +1235,19 @@ public class SSTableModel extends AbstractTableModel {
 
 	/**
 	 * Sets the RowSet for SSTableModel to the given RowSet. This RowSet will
-	 * be used to get the data for JTable.
+	 * be used to get the data for JTable. If diffRequery is set, only the
+	 * rows that differ from the previous RowSet are reported as changed.
 	 *
 	 * @param _rowset RowSet object whose records has to be displayed in JTable.
 	 */
 	public void setRowSet(final RowSet _rowset) {
 		rowset = _rowset;
-		init();
+		if (!diffRequery || !refreshRows()) {
+			init();
+		}
+		if (aggregates != null) {
+			aggregates.invalidate();
+		}
 	}
 	
 	/**
@@ -954,7 +1361,10 @@ public class SSTableModel extends AbstractTableModel {
 			return;
 		}
 
-		logger.debug("Set value at "+ _row + "  " + _column + " with "+ valueCopy);
+		logger.debug("Set value at {}  {} with {}", _row, _column, valueCopy);
+
+		final boolean aggregated = (aggregates != null) && (aggregates.getAggregate(_column) != null);
+		final Object oldValue = aggregated ? getValueAt(_row, _column) : null;
 
 		try {
 			// YOU SHOULD BE ON THE RIGHT ROW IN THE SSROWSET
@@ -963,6 +1373,9 @@ public class SSTableModel extends AbstractTableModel {
 			}
 			if (valueCopy == null) {
 				rowset.updateNull(_column + 1);
+				if (aggregated) {
+					aggregates.valueChanged(_column, oldValue, null);
+				}
 				return;
 			}
 			
@@ -1002,10 +1415,14 @@ public class SSTableModel extends AbstractTableModel {
 				rowset.updateString(_column + 1, (String) valueCopy);
 				break;
 			default:
-				logger.warn("Unknown data type of " + type);
+				logger.warn("Unknown data type of {}", type);
 			}
 			rowset.updateRow();
 
+			if (aggregated) {
+				aggregates.valueChanged(_column, oldValue, getValueAt(_row, _column));
+			}
+
 			logger.debug("Updated value: {}.", () -> getValueAt(_row,_column));
 		} catch (final SQLException se) {
 			logger.error("SQL Exception while updating value.",  se);
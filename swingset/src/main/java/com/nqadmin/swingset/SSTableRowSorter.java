@@ -0,0 +1,600 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSTableRowSorter.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * RowSorter for an SSTableModel whose data is in memory, for example from a
+ * disconnected RowSet. The model is not changed; only the view to model
+ * index arrays are.
+ * <p>
+ * The values of a column are read once and converted to primitive sort keys,
+ * strings are ranked with a Collator, so comparisons do not box or call
+ * {@code getValueAt()}. Large tables are sorted in parallel. Column filters are
+ * evaluated once per column into a bitmap of matching rows; the rows shown
+ * are those matching every filter. Keys and bitmaps are recomputed when the
+ * model data changes.
+ * <p>
+ * The insertion row of the model, if any, always stays last.
+ * 
+ * @since 4.0.0
+ */
+public class SSTableRowSorter extends RowSorter<SSTableModel> {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Minimum number of rows sorted in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Sort keys of a column: a primitive key per row, rows with a null value
+	 * are marked and sort first.
+	 */
+	private static class ColumnKeys {
+		final long[] keys;
+		final BitSet nulls;
+
+		ColumnKeys(final int _rows) {
+			keys = new long[_rows];
+			nulls = new BitSet(_rows);
+		}
+
+		int compare(final int _row1, final int _row2) {
+			final boolean null1 = nulls.get(_row1);
+			final boolean null2 = nulls.get(_row2);
+			if (null1 || null2) {
+				return null1 == null2 ? 0 : (null1 ? -1 : 1);
+			}
+			return Long.compare(keys[_row1], keys[_row2]);
+		}
+	}
+
+	/**
+	 * Compares model rows by the sort keys.
+	 */
+	@FunctionalInterface
+	private interface RowComparator {
+		int compare(int _row1, int _row2);
+	}
+
+	private final SSTableModel model;
+	private List<SortKey> sortKeys = Collections.emptyList();
+	private final Map<Integer, Predicate<Object>> filters = new TreeMap<>();
+	private final Map<Integer, String> filterTexts = new HashMap<>();
+
+	private final Map<Integer, ColumnKeys> columnKeys = new HashMap<>();
+	private final Map<Integer, BitSet> filterMatches = new HashMap<>();
+
+	/** model index by view index, null if the view is the model order */
+	private int[] viewToModel = null;
+	/** view index by model index, -1 if filtered out */
+	private int[] modelToView = null;
+
+	/**
+	 * Constructs a sorter for a table model.
+	 * 
+	 * @param _model the table model
+	 */
+	public SSTableRowSorter(final SSTableModel _model) {
+		model = _model;
+	}
+
+	@Override
+	public SSTableModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Toggles the column between ascending and descending, making it the
+	 * primary sort key.
+	 */
+	@Override
+	public void toggleSortOrder(final int _column) {
+		final List<SortKey> keys = new ArrayList<>(sortKeys);
+		SortOrder order = SortOrder.ASCENDING;
+		for (int i = 0; i < keys.size(); i++) {
+			if (keys.get(i).getColumn() == _column) {
+				order = keys.get(i).getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+				keys.remove(i);
+				break;
+			}
+		}
+		keys.add(0, new SortKey(_column, order));
+		setSortKeys(keys);
+	}
+
+	@Override
+	public int convertRowIndexToModel(final int _index) {
+		if (viewToModel == null) {
+			return _index;
+		}
+		if ((_index < 0) || (_index >= viewToModel.length)) {
+			throw new IndexOutOfBoundsException("Invalid index " + _index);
+		}
+		return viewToModel[_index];
+	}
+
+	@Override
+	public int convertRowIndexToView(final int _index) {
+		if (modelToView == null) {
+			return _index;
+		}
+		if ((_index < 0) || (_index >= modelToView.length)) {
+			throw new IndexOutOfBoundsException("Invalid index " + _index);
+		}
+		return modelToView[_index];
+	}
+
+	@Override
+	public void setSortKeys(final List<? extends SortKey> _keys) {
+		final List<SortKey> keys = _keys == null ? Collections.emptyList()
+				: Collections.unmodifiableList(new ArrayList<>(_keys));
+		if (keys.equals(sortKeys)) {
+			return;
+		}
+		sortKeys = keys;
+		fireSortOrderChanged();
+		sort();
+	}
+
+	@Override
+	public List<? extends SortKey> getSortKeys() {
+		return sortKeys;
+	}
+
+	@Override
+	public int getViewRowCount() {
+		return viewToModel == null ? getModelRowCount() : viewToModel.length;
+	}
+
+	@Override
+	public int getModelRowCount() {
+		return model.getRowCount();
+	}
+
+	/**
+	 * Filters the rows on a column.
+	 * 
+	 * @param _column model column
+	 * @param _filter rows are shown if the filter accepts the column's value,
+	 *		null to remove the filter
+	 */
+	public void setColumnFilter(final int _column, final Predicate<Object> _filter) {
+		putFilter(_column, _filter, null);
+		sort();
+	}
+
+	/**
+	 * Filters the rows on a column to those whose value contains the text,
+	 * ignoring case.
+	 * 
+	 * @param _column model column
+	 * @param _text the text, null or empty to remove the filter
+	 */
+	public void setColumnFilter(final int _column, final String _text) {
+		if (putTextFilter(_column, _text)) {
+			sort();
+		}
+	}
+
+	/**
+	 * Sets the text filters of all columns, see
+	 * {@link #setColumnFilter(int, String)}. Only the bitmaps of columns whose
+	 * filter changed are recomputed.
+	 * 
+	 * @param _filters filter text by model column
+	 */
+	public void setColumnFilters(final Map<Integer, String> _filters) {
+		boolean changed = false;
+		for (final Integer column : new ArrayList<>(filters.keySet())) {
+			if (!_filters.containsKey(column)) {
+				changed |= putTextFilter(column, null);
+			}
+		}
+		for (final Map.Entry<Integer, String> filter : _filters.entrySet()) {
+			changed |= putTextFilter(filter.getKey(), filter.getValue());
+		}
+		if (changed) {
+			sort();
+		}
+	}
+
+	/**
+	 * Removes all column filters.
+	 */
+	public void clearColumnFilters() {
+		filters.clear();
+		filterTexts.clear();
+		filterMatches.clear();
+		sort();
+	}
+
+	private boolean putTextFilter(final int _column, final String _text) {
+		final String text = ((_text == null) || _text.isEmpty()) ? null : _text.toLowerCase(Locale.ROOT);
+		if ((text == null) ? !filters.containsKey(_column) : text.equals(filterTexts.get(_column))) {
+			return false;
+		}
+		putFilter(_column,
+				text == null ? null : value -> (value != null) && value.toString().toLowerCase(Locale.ROOT).contains(text),
+				text);
+		return true;
+	}
+
+	private void putFilter(final int _column, final Predicate<Object> _filter, final String _text) {
+		if (_filter == null) {
+			filters.remove(_column);
+			filterTexts.remove(_column);
+		} else {
+			filters.put(_column, _filter);
+			if (_text == null) {
+				filterTexts.remove(_column);
+			} else {
+				filterTexts.put(_column, _text);
+			}
+		}
+		filterMatches.remove(_column);
+	}
+
+	/**
+	 * The columns may have changed, so the sort keys and filters are removed.
+	 * An owner that keeps them, such as {@link SSDataGrid}, sets them again.
+	 */
+	@Override
+	public void modelStructureChanged() {
+		sortKeys = Collections.emptyList();
+		filters.clear();
+		filterTexts.clear();
+		invalidate();
+		sort();
+	}
+
+	@Override
+	public void allRowsChanged() {
+		invalidate();
+		sort();
+	}
+
+	@Override
+	public void rowsInserted(final int _firstRow, final int _endRow) {
+		allRowsChanged();
+	}
+
+	@Override
+	public void rowsDeleted(final int _firstRow, final int _endRow) {
+		allRowsChanged();
+	}
+
+	@Override
+	public void rowsUpdated(final int _firstRow, final int _endRow) {
+		allRowsChanged();
+	}
+
+	@Override
+	public void rowsUpdated(final int _firstRow, final int _endRow, final int _column) {
+		columnKeys.remove(_column);
+		filterMatches.remove(_column);
+		sort();
+	}
+
+	private void invalidate() {
+		columnKeys.clear();
+		filterMatches.clear();
+	}
+
+	/**
+	 * @return number of data rows, excluding the insertion row
+	 */
+	private int getDataRowCount() {
+		return Math.min(model.rowCount, model.getRowCount());
+	}
+
+	/**
+	 * Recompute the view and notify the listeners.
+	 */
+	private void sort() {
+		final int[] oldViewToModel = viewToModel;
+		final int modelRows = getModelRowCount();
+		final int dataRows = getDataRowCount();
+
+		final List<SortKey> activeKeys = new ArrayList<>();
+		for (final SortKey key : sortKeys) {
+			if ((key.getSortOrder() != SortOrder.UNSORTED) && (key.getColumn() < model.getColumnCount())) {
+				activeKeys.add(key);
+			}
+		}
+
+		if (activeKeys.isEmpty() && filters.isEmpty()) {
+			viewToModel = null;
+			modelToView = null;
+		} else {
+			final long start = System.nanoTime();
+
+			// ROWS MATCHING ALL FILTERS
+			int[] rows;
+			if (filters.isEmpty()) {
+				rows = new int[dataRows];
+				for (int i = 0; i < dataRows; i++) {
+					rows[i] = i;
+				}
+			} else {
+				final BitSet matches = new BitSet(dataRows);
+				matches.set(0, dataRows);
+				for (final Map.Entry<Integer, Predicate<Object>> filter : filters.entrySet()) {
+					matches.and(getFilterMatches(filter.getKey(), filter.getValue(), dataRows));
+				}
+				rows = matches.stream().toArray();
+			}
+
+			// SORT
+			if (!activeKeys.isEmpty()) {
+				final ColumnKeys[] keys = new ColumnKeys[activeKeys.size()];
+				final boolean[] descending = new boolean[keys.length];
+				for (int i = 0; i < keys.length; i++) {
+					keys[i] = getColumnKeys(activeKeys.get(i).getColumn(), dataRows);
+					descending[i] = activeKeys.get(i).getSortOrder() == SortOrder.DESCENDING;
+				}
+				final RowComparator comparator = (row1, row2) -> {
+					for (int i = 0; i < keys.length; i++) {
+						final int result = keys[i].compare(row1, row2);
+						if (result != 0) {
+							return descending[i] ? -result : result;
+						}
+					}
+					return Integer.compare(row1, row2);
+				};
+				sortRows(rows, comparator);
+			}
+
+			// INSERTION ROW STAYS LAST
+			if (modelRows > dataRows) {
+				rows = Arrays.copyOf(rows, rows.length + (modelRows - dataRows));
+				for (int i = dataRows; i < modelRows; i++) {
+					rows[rows.length - (modelRows - i)] = i;
+				}
+			}
+
+			viewToModel = rows;
+			modelToView = new int[modelRows];
+			Arrays.fill(modelToView, -1);
+			for (int i = 0; i < rows.length; i++) {
+				modelToView[rows[i]] = i;
+			}
+			logger.debug("Sorted {} of {} rows in {} ms.", rows.length, modelRows,
+					(System.nanoTime() - start) / 1_000_000);
+		}
+
+		fireRowSorterChanged(oldViewToModel);
+	}
+
+	private BitSet getFilterMatches(final int _column, final Predicate<Object> _filter, final int _rows) {
+		BitSet matches = filterMatches.get(_column);
+		if (matches == null) {
+			matches = new BitSet(_rows);
+			for (int i = 0; i < _rows; i++) {
+				if (_filter.test(model.getValueAt(i, _column))) {
+					matches.set(i);
+				}
+			}
+			filterMatches.put(_column, matches);
+		}
+		return matches;
+	}
+
+	/**
+	 * Read a column's values and convert them to sort keys.
+	 */
+	private ColumnKeys getColumnKeys(final int _column, final int _rows) {
+		ColumnKeys result = columnKeys.get(_column);
+		if (result != null) {
+			return result;
+		}
+		result = new ColumnKeys(_rows);
+		final Object[] values = new Object[_rows];
+		boolean ranked = false;
+		for (int i = 0; i < _rows; i++) {
+			final Object value = model.getValueAt(i, _column);
+			if (value == null) {
+				result.nulls.set(i);
+			} else if ((value instanceof Integer) || (value instanceof Long) || (value instanceof Short)
+					|| (value instanceof Byte)) {
+				result.keys[i] = ((Number) value).longValue();
+			} else if ((value instanceof Double) || (value instanceof Float)) {
+				// ORDER PRESERVING LONG FOR A DOUBLE
+				final long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+				result.keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+			} else if (value instanceof Boolean) {
+				result.keys[i] = ((Boolean) value) ? 1 : 0;
+			} else if (value instanceof java.util.Date) {
+				result.keys[i] = ((java.util.Date) value).getTime();
+			} else {
+				values[i] = value;
+				ranked = true;
+			}
+		}
+		if (ranked) {
+			rankValues(values, result.keys);
+		}
+		columnKeys.put(_column, result);
+		return result;
+	}
+
+	/**
+	 * Set the key of each non-null value to its rank among the distinct values,
+	 * in Collator order for strings and natural order for other Comparables.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void rankValues(final Object[] _values, final long[] _keys) {
+		final Collator collator = Collator.getInstance();
+		final Map<Object, Comparable> sortValues = new HashMap<>();
+		for (final Object value : _values) {
+			if ((value != null) && !sortValues.containsKey(value)) {
+				final Comparable sortValue;
+				if (value instanceof String) {
+					sortValue = collator.getCollationKey((String) value);
+				} else if (value instanceof Comparable) {
+					sortValue = (Comparable) value;
+				} else {
+					sortValue = collator.getCollationKey(value.toString());
+				}
+				sortValues.put(value, sortValue);
+			}
+		}
+		final List<Map.Entry<Object, Comparable>> distinct = new ArrayList<>(sortValues.entrySet());
+		distinct.sort((entry1, entry2) -> {
+			final Comparable key1 = entry1.getValue();
+			final Comparable key2 = entry2.getValue();
+			if ((key1 instanceof CollationKey) != (key2 instanceof CollationKey)) {
+				return key1 instanceof CollationKey ? 1 : -1;
+			}
+			return key1.compareTo(key2);
+		});
+		final Map<Object, Long> ranks = new HashMap<>(distinct.size() * 2);
+		for (int i = 0; i < distinct.size(); i++) {
+			ranks.put(distinct.get(i).getKey(), (long) i);
+		}
+		for (int i = 0; i < _values.length; i++) {
+			if (_values[i] != null) {
+				_keys[i] = ranks.get(_values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Stable merge sort of row indexes, in parallel for large arrays.
+	 */
+	private static void sortRows(final int[] _rows, final RowComparator _comparator) {
+		final int[] buffer = new int[_rows.length];
+		if (_rows.length >= PARALLEL_THRESHOLD) {
+			ForkJoinPool.commonPool().invoke(new MergeSort(_rows, buffer, 0, _rows.length, _comparator));
+		} else {
+			mergeSort(_rows, buffer, 0, _rows.length, _comparator);
+		}
+	}
+
+	private static void mergeSort(final int[] _rows, final int[] _buffer, final int _from, final int _to,
+			final RowComparator _comparator) {
+		if ((_to - _from) < 2) {
+			return;
+		}
+		final int middle = (_from + _to) >>> 1;
+		mergeSort(_rows, _buffer, _from, middle, _comparator);
+		mergeSort(_rows, _buffer, middle, _to, _comparator);
+		merge(_rows, _buffer, _from, middle, _to, _comparator);
+	}
+
+	private static void merge(final int[] _rows, final int[] _buffer, final int _from, final int _middle,
+			final int _to, final RowComparator _comparator) {
+		if (_comparator.compare(_rows[_middle - 1], _rows[_middle]) <= 0) {
+			return;
+		}
+		System.arraycopy(_rows, _from, _buffer, _from, _to - _from);
+		int left = _from;
+		int right = _middle;
+		for (int i = _from; i < _to; i++) {
+			if ((right >= _to) || ((left < _middle) && (_comparator.compare(_buffer[left], _buffer[right]) <= 0))) {
+				_rows[i] = _buffer[left++];
+			} else {
+				_rows[i] = _buffer[right++];
+			}
+		}
+	}
+
+	/**
+	 * Parallel merge sort task.
+	 */
+	private static class MergeSort extends RecursiveAction {
+
+		private static final long serialVersionUID = 4906284219012584633L;
+
+		private final int[] rows;
+		private final int[] buffer;
+		private final int from;
+		private final int to;
+		private final RowComparator comparator;
+
+		MergeSort(final int[] _rows, final int[] _buffer, final int _from, final int _to,
+				final RowComparator _comparator) {
+			rows = _rows;
+			buffer = _buffer;
+			from = _from;
+			to = _to;
+			comparator = _comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if ((to - from) < PARALLEL_THRESHOLD) {
+				mergeSort(rows, buffer, from, to, comparator);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new MergeSort(rows, buffer, from, middle, comparator),
+					new MergeSort(rows, buffer, middle, to, comparator));
+			merge(rows, buffer, from, middle, to, comparator);
+		}
+	}
+}
@@ -60,7 +60,7 @@ public class SSTextArea extends JTextArea implements SSComponentInterface {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
     /**
 	 * unique serial id
@@ -157,7 +157,7 @@ public class SSTextArea extends JTextArea implements SSComponentInterface {
 	public void updateSSComponent() {
 		
 		final String text = getBoundColumnText();
-		logger.debug("{}: Setting text area to " + text + ".", () -> getColumnForLog());
+		logger.debug("{}: Setting text area to {}.", () -> getColumnForLog(), () -> text);
 		setText(text);
 	}
 
@@ -82,7 +82,7 @@ public class SSTextField extends JTextField implements SSComponentInterface {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
     /**
      * Use this mask if mm/dd/yyyy format is required.
@@ -445,7 +445,7 @@ public class SSTextField extends JTextField implements SSComponentInterface {
                     setText(decimalMask(str, numberOfDecimalPlaces));
                     break;
                 default:
-                	logger.warn(getColumnForLog() + ": Unknown textbox mask type of " + mask);
+                	logger.warn("{}: Unknown textbox mask type of {}", getColumnForLog(), mask);
                 	break;
             } // end switch
             return true;
@@ -508,7 +508,7 @@ public class SSTextField extends JTextField implements SSComponentInterface {
 	public void updateSSComponent() {
 		
 		final String text = getBoundColumnText();
-		logger.debug("{}: Setting text field to " + text + ".", () -> getColumnForLog());
+		logger.debug("{}: Setting text field to {}.", () -> getColumnForLog(), () -> text);
 		setText(text);
 	}
 
@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.sql.RowSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.nqadmin.swingset.utils.SSCommon;
+
+// ColumnTextCodec.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Converts between the text shown in a SwingSet component and the value
+ * of a RowSet column. There is one codec per group of {@link JDBCType}s
+ * that share a conversion; use {@link #forJDBCType(JDBCType)} once, when
+ * a column is bound, and then reuse the codec for every read and write of
+ * that column. This avoids looking up column metadata and dispatching on
+ * the column type for each edit.
+ * <p>
+ * The codecs only deal with non-null text and values. Null handling,
+ * including how empty text is treated, is done by
+ * {@link RowSetOps#updateColumnText(RowSet, String, int, boolean, ColumnTextCodec)}
+ * using {@link #isEmptyTextOK()}.
+ *
+ * @since 4.0.0
+ */
+public enum ColumnTextCodec {
+	/** INTEGER, SMALLINT, TINYINT */
+	INT(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final int value = _resultSet.getInt(_columnIndex);
+			return _resultSet.wasNull() ? null : String.valueOf(value);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateInt(_columnIndex, Integer.parseInt(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Integer.valueOf(_text);
+		}
+	},
+
+	/** BIGINT */
+	LONG(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final long value = _resultSet.getLong(_columnIndex);
+			return _resultSet.wasNull() ? null : String.valueOf(value);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateLong(_columnIndex, Long.parseLong(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Long.valueOf(_text);
+		}
+	},
+
+	/** FLOAT */
+	FLOAT(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final float value = _resultSet.getFloat(_columnIndex);
+			return _resultSet.wasNull() ? null : String.valueOf(value);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateFloat(_columnIndex, Float.parseFloat(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Float.valueOf(_text);
+		}
+	},
+
+	/** DOUBLE, REAL */
+	DOUBLE(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final double value = _resultSet.getDouble(_columnIndex);
+			return _resultSet.wasNull() ? null : String.valueOf(value);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateDouble(_columnIndex, Double.parseDouble(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Double.valueOf(_text);
+		}
+	},
+
+	/** DECIMAL, NUMERIC */
+	DECIMAL(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final BigDecimal value = _resultSet.getBigDecimal(_columnIndex);
+			return value == null ? null : value.toString();
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateBigDecimal(_columnIndex, new BigDecimal(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return new BigDecimal(_text);
+		}
+	},
+
+	/** BOOLEAN, BIT */
+	BOOLEAN(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final boolean value = _resultSet.getBoolean(_columnIndex);
+			return _resultSet.wasNull() ? null : String.valueOf(value);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateBoolean(_columnIndex, Boolean.parseBoolean(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Boolean.valueOf(_text);
+		}
+	},
+
+	/** DATE; text is formatted as MM/dd/yyyy, parsed as yyyy-mm-dd or MM/dd/yyyy */
+	DATE(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			return formatDate(_resultSet.getDate(_columnIndex));
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateDate(_columnIndex, (Date) parseText(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return parseDate(_text);
+		}
+	},
+
+	/** TIME */
+	TIME(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final Time time = _resultSet.getTime(_columnIndex);
+			return time == null ? null : time.toString();
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateTime(_columnIndex, Time.valueOf(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return Time.valueOf(_text);
+		}
+	},
+
+	/**
+	 * TIMESTAMP; text is formatted as a date, MM/dd/yyyy, export text as
+	 * yyyy-mm-dd hh:mm:ss.fffffffff; parsed as either, or as a date
+	 * yyyy-mm-dd
+	 */
+	TIMESTAMP(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			return formatDate(_resultSet.getDate(_columnIndex));
+		}
+
+		@Override
+		public String getExportText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			final Timestamp timestamp = _resultSet.getTimestamp(_columnIndex);
+			return timestamp == null ? null : timestamp.toString();
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateTimestamp(_columnIndex, (Timestamp) parseText(_text));
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			// A DATE ALONE, yyyy-mm-dd OR mm/dd/yyyy, IS MIDNIGHT
+			if ((_text.indexOf('/') >= 0) || (_text.indexOf(':') < 0)) {
+				return new Timestamp(parseDate(_text).getTime());
+			}
+			// Per ER email 2020-11-25, we weren't even trying to handle a legitimate timestamp
+			return Timestamp.valueOf(_text);
+		}
+	},
+
+	/** CHAR, VARCHAR, LONGVARCHAR; empty or blank text is a valid value */
+	STRING(true) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			return _resultSet.getString(_columnIndex);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			_rowSet.updateString(_columnIndex, _text);
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			return _text;
+		}
+	},
+
+	/**
+	 * Any other type; text conversion is not supported, export text is the
+	 * driver's {@code getString()}
+	 */
+	UNSUPPORTED(false) {
+		@Override
+		public String getText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			if (_resultSet.getObject(_columnIndex) != null) {
+				logUnsupported(_resultSet, _columnIndex);
+			}
+			return null;
+		}
+
+		@Override
+		public String getExportText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+			return _resultSet.getString(_columnIndex);
+		}
+
+		@Override
+		public void updateText(final RowSet _rowSet, final int _columnIndex, final String _text) throws SQLException {
+			logUnsupported(_rowSet, _columnIndex);
+		}
+
+		@Override
+		public Object parseText(final String _text) {
+			throw new IllegalArgumentException("Text conversion is not supported for this column type.");
+		}
+	};
+
+	private static final Logger logger = LogManager.getLogger();
+
+	private static final Map<JDBCType, ColumnTextCodec> codecs = new EnumMap<>(JDBCType.class);
+	static {
+		codecs.put(JDBCType.INTEGER, INT);
+		codecs.put(JDBCType.SMALLINT, INT);
+		codecs.put(JDBCType.TINYINT, INT);
+		codecs.put(JDBCType.BIGINT, LONG);
+		codecs.put(JDBCType.FLOAT, FLOAT);
+		codecs.put(JDBCType.DOUBLE, DOUBLE);
+		codecs.put(JDBCType.REAL, DOUBLE);
+		codecs.put(JDBCType.NUMERIC, DECIMAL);
+		codecs.put(JDBCType.DECIMAL, DECIMAL);
+		codecs.put(JDBCType.BOOLEAN, BOOLEAN);
+		codecs.put(JDBCType.BIT, BOOLEAN);
+		codecs.put(JDBCType.DATE, DATE);
+		codecs.put(JDBCType.TIME, TIME);
+		codecs.put(JDBCType.TIMESTAMP, TIMESTAMP);
+		codecs.put(JDBCType.CHAR, STRING);
+		codecs.put(JDBCType.VARCHAR, STRING);
+		codecs.put(JDBCType.LONGVARCHAR, STRING);
+	}
+
+	private final boolean emptyTextOK;
+
+	private ColumnTextCodec(final boolean _emptyTextOK) {
+		emptyTextOK = _emptyTextOK;
+	}
+
+	/**
+	 * Get the codec for columns of the specified type.
+	 *
+	 * @param _jdbcType column type
+	 * @return the codec, {@link #UNSUPPORTED} if text conversion
+	 * is not available for the type
+	 */
+	public static ColumnTextCodec forJDBCType(final JDBCType _jdbcType) {
+		final ColumnTextCodec codec = _jdbcType == null ? null : codecs.get(_jdbcType);
+		return codec == null ? UNSUPPORTED : codec;
+	}
+
+	/**
+	 * @return true if text conversion is available for this codec's types
+	 */
+	public boolean isSupported() {
+		return this != UNSUPPORTED;
+	}
+
+	/**
+	 * Empty or blank text is a legitimate value for character columns;
+	 * for any other type it can only be written as null.
+	 *
+	 * @return true if empty text is written as is
+	 */
+	public boolean isEmptyTextOK() {
+		return emptyTextOK;
+	}
+
+	/**
+	 * Get the text representation of the value in the specified column
+	 * of the current row.
+	 *
+	 * @param _resultSet RowSet, or other ResultSet, on which to operate
+	 * @param _columnIndex column index, starting from 1
+	 * @return text for the column's value, null if the value is null
+	 * @throws SQLException if a database access error occurs
+	 */
+	public abstract String getText(ResultSet _resultSet, int _columnIndex) throws SQLException;
+
+	/**
+	 * Get text for the value in the specified column of the current row
+	 * that keeps the whole value, for writing to a file. It is the same as
+	 * {@link #getText(ResultSet, int)} except that a timestamp keeps its
+	 * time of day and a column whose type is not supported is written with
+	 * {@code getString()}.
+	 *
+	 * @param _resultSet RowSet, or other ResultSet, on which to operate
+	 * @param _columnIndex column index, starting from 1
+	 * @return text for the column's value, null if the value is null
+	 * @throws SQLException if a database access error occurs
+	 */
+	public String getExportText(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+		return getText(_resultSet, _columnIndex);
+	}
+
+	/**
+	 * Convert the text to the column's type and update the specified column
+	 * of the current row.
+	 *
+	 * @param _rowSet RowSet on which to operate
+	 * @param _columnIndex column index, starting from 1
+	 * @param _text non-null text to convert
+	 * @throws SQLException if a database access error occurs
+	 * @throws NumberFormatException if unable to parse the text to a number
+	 * @throws IllegalArgumentException if unable to parse the text to a date/time
+	 */
+	public abstract void updateText(RowSet _rowSet, int _columnIndex, String _text) throws SQLException;
+
+	/**
+	 * Convert the text to a value of the column's type, for example to set
+	 * a statement parameter.
+	 *
+	 * @param _text non-null text to convert
+	 * @return the value
+	 * @throws NumberFormatException if unable to parse the text to a number
+	 * @throws IllegalArgumentException if unable to parse the text to a date/time,
+	 *		or text conversion is not supported
+	 */
+	public abstract Object parseText(String _text);
+
+	/**
+	 * Parse a date as yyyy-mm-dd, or as mm/dd/yyyy if it contains a slash.
+	 */
+	private static Date parseDate(final String _text) {
+		if (_text.indexOf('/') < 0) {
+			return Date.valueOf(_text);
+		}
+		try {
+			return SSCommon.getSQLDate(_text);
+		} catch (final NoSuchElementException nse) {
+			throw new IllegalArgumentException("Invalid date " + _text, nse);
+		}
+	}
+
+	private static String formatDate(final Date _date) {
+		if (_date == null) {
+			return null;
+		}
+		final LocalDate localDate = _date.toLocalDate();
+		final StringBuilder sb = new StringBuilder(10);
+		final int month = localDate.getMonthValue();
+		final int day = localDate.getDayOfMonth();
+		if (month < 10) {
+			sb.append('0');
+		}
+		sb.append(month).append('/');
+		if (day < 10) {
+			sb.append('0');
+		}
+		sb.append(day).append('/').append(localDate.getYear());
+		return sb.toString();
+	}
+
+	private static void logUnsupported(final ResultSet _resultSet, final int _columnIndex) {
+		logger.error("Unsupported data type of {} for column {}.",
+				() -> getTypeName(_resultSet, _columnIndex), () -> _columnIndex);
+	}
+
+	private static String getTypeName(final ResultSet _resultSet, final int _columnIndex) {
+		try {
+			return RowSetOps.getJDBCColumnType(_resultSet, _columnIndex).getName();
+		} catch (final SQLException | RuntimeException ex) {
+			return "unknown";
+		}
+	}
+}
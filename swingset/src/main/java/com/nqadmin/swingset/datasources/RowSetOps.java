@@ -38,26 +38,27 @@
 package com.nqadmin.swingset.datasources;
 
 import java.math.BigDecimal;
-import java.sql.Date;
 import java.sql.JDBCType;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Time;
-import java.sql.Timestamp;
+import java.sql.Statement;
+import java.sql.Types;
 import java.time.Instant;
-import java.util.Calendar;
+import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.EnumSet;
-import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Optional;
 
 import javax.sql.RowSet;
+import javax.sql.rowset.BaseRowSet;
+import javax.sql.rowset.CachedRowSet;
 
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.nqadmin.swingset.SSDataNavigator;
-import com.nqadmin.swingset.utils.SSCommon;
 
 // RowSetOps.java
 //
@@ -66,7 +67,8 @@ import com.nqadmin.swingset.utils.SSCommon;
 /**
  * Utility class for working with {@link RowSet}s and {@link ResultSet}s.
  * Some methods for converting to/from text from/to objects according
- * to database type. Several convenience methods for accessing metadata.
+ * to database type. Several convenience methods for accessing metadata;
+ * when the {@link SSMetaDataCache} is open, they answer from the cache.
  * 
  * 
  * @since 4.0.0
@@ -75,6 +77,11 @@ public class RowSetOps {
 
 	private RowSetOps(){}
 
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
 	// TODO Audit type handling based on http://www.java2s.com/Code/Java/Database-SQL-JDBC/StandardSQLDataTypeswithTheirJavaEquivalents.htm
 
 	/**
@@ -85,7 +92,7 @@ public class RowSetOps {
 	 * @throws SQLException - if a database access error occurs
 	 */
 	public static int getColumnCount(final ResultSet _resultSet) throws SQLException {
-		return _resultSet.getMetaData().getColumnCount();
+		return SSMetaDataCache.getMetaData(_resultSet).getColumnCount();
 	}
 
 	/**
@@ -99,7 +106,7 @@ public class RowSetOps {
 	 * @throws SQLException - if a database access error occurs
 	 */
 	public static int getColumnIndex(final ResultSet _resultSet, final String _columnName) throws SQLException {
-		return _resultSet.findColumn(_columnName);
+		return SSMetaDataCache.findColumn(_resultSet, _columnName);
 	}
 
 	/**
@@ -113,7 +120,7 @@ public class RowSetOps {
 	 * @throws SQLException - if a database access error occurs
 	 */
 	public static String getColumnName(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
-		return _resultSet.getMetaData().getColumnName(_columnIndex);
+		return SSMetaDataCache.getMetaData(_resultSet).getColumnName(_columnIndex);
 	}
 
 	/**
@@ -125,12 +132,12 @@ public class RowSetOps {
 	 */
 	public static Optional<Boolean> isNullable(final ResultSet _resultSet, final int _columnIndex) {
 		try {
-			int nullable = _resultSet.getMetaData().isNullable(_columnIndex);
+			int nullable = SSMetaDataCache.getMetaData(_resultSet).isNullable(_columnIndex);
 			return nullable == ResultSetMetaData.columnNullableUnknown
 					? Optional.empty()
 					: Optional.of(nullable == ResultSetMetaData.columnNullable);
 		} catch (SQLException ex) {
-			LogManager.getLogger().error(() -> String.format("SQL Exception for column %d.",
+			logger.error(() -> String.format("SQL Exception for column %d.",
 					_columnIndex, ex));
 			return Optional.empty();
 		}
@@ -147,7 +154,7 @@ public class RowSetOps {
 		try {
 			return isNullable(_resultSet, getColumnIndex(_resultSet, _columnName));
 		} catch (SQLException ex) {
-			LogManager.getLogger().error(() -> String.format("SQL Exception for column %s.",
+			logger.error(() -> String.format("SQL Exception for column %s.",
 					_columnName, ex));
 			return Optional.empty();
 		}
@@ -156,6 +163,10 @@ public class RowSetOps {
 	/**
 	 * Method used by RowSet listeners to get the new text when the RowSet
 	 * events are triggered.
+	 * <p>
+	 * This looks up the column's type on each call; when the same column
+	 * is read repeatedly use
+	 * {@link #getColumnText(RowSet, int, ColumnTextCodec)}.
 	 *
 	 * @param _rowSet RowSet on which to operate
 	 * @param _columnName - name of database column to retrieve
@@ -163,103 +174,53 @@ public class RowSetOps {
 	 * @return text representation of data in specified column
 	 */
 	public static String getColumnText(final RowSet _rowSet, final String _columnName) {
-		String value = null;
-
 		try {
-			// IF THE COLUMN IS NULL SO RETURN NULL
-			if ((getColumnCount(_rowSet)==0) || (_rowSet.getObject(_columnName) == null)) {
+			if (getColumnCount(_rowSet)==0) {
 				return null;
 			}
-
-			//final int columnType = getColumnType(_rowSet, _columnName);
-			
-			final JDBCType jdbcType = getJDBCType(getColumnType(_rowSet, _columnName));
-
-			// BASED ON THE COLUMN DATA TYPE THE CORRESPONDING FUNCTION
-			// IS CALLED TO GET THE VALUE IN THE COLUMN
-			switch (jdbcType) {
-			case INTEGER:
-			case SMALLINT:
-			case TINYINT:
-				value = String.valueOf(_rowSet.getInt(_columnName));
-				break;
-
-			case BIGINT:
-				value = String.valueOf(_rowSet.getLong(_columnName));
-				break;
-
-			case FLOAT:
-				value = String.valueOf(_rowSet.getFloat(_columnName));
-				break;
-
-			case DOUBLE:
-			case REAL:
-				value = String.valueOf(_rowSet.getDouble(_columnName));
-				break;
-				
-			case NUMERIC:
-			case DECIMAL:
-				value = String.valueOf(_rowSet.getBigDecimal(_columnName));
-				break;
-
-			case BOOLEAN:
-			case BIT:
-				value = String.valueOf(_rowSet.getBoolean(_columnName));
-				break;
-
-			case DATE:
-			case TIMESTAMP:
-				final Date date = _rowSet.getDate(_columnName);
-				if (date == null) {
-					value = "";
-				} else {
-					final GregorianCalendar calendar = new GregorianCalendar();
-					calendar.setTime(date);
-					value = "";
-					if ((calendar.get(Calendar.MONTH) + 1) < 10) {
-						value = "0";
-					}
-					value = value + (calendar.get(Calendar.MONTH) + 1) + "/";
-
-					if (calendar.get(Calendar.DAY_OF_MONTH) < 10) {
-						value = value + "0";
-					}
-					value = value + calendar.get(Calendar.DAY_OF_MONTH) + "/";
-					value = value + calendar.get(Calendar.YEAR);
-				}
-				break;
-
-			case TIME:
-				final Time time = _rowSet.getTime(_columnName);
-				if (time == null) {
-					value = "";
-				} else {
-					value=time.toString();
-				}
-				break;
-
-			case CHAR:
-			case VARCHAR:
-			case LONGVARCHAR:
-				final String str = _rowSet.getString(_columnName);
-				if (str == null) {
-					value = "";
-				} else {
-					value = String.valueOf(str);
-				}
-				break;
-
-			default:
-				LogManager.getLogger().error("Unsupported data type of " + jdbcType.getName() + " for column " + _columnName + ".");
-			} // end switch
-
+			final int columnIndex = getColumnIndex(_rowSet, _columnName);
+			return getColumnText(_rowSet, columnIndex, getColumnTextCodec(_rowSet, columnIndex));
 		} catch (final SQLException se) {
-			LogManager.getLogger().error("SQL Exception for column " + _columnName + ".", se);
+			logger.error("SQL Exception for column {}.", _columnName, se);
 		}
+		return null;
+	}
 
-		return value;
+	/**
+	 * Get the text for the specified column using a codec that was
+	 * determined when the column was bound.
+	 *
+	 * @param _rowSet RowSet on which to operate
+	 * @param _columnIndex index of database column to retrieve
+	 * @param _codec codec for the column's type
+	 *
+	 * @return text representation of data in specified column,
+	 * null if the column is null
+	 * @see #getColumnTextCodec(ResultSet, int)
+	 */
+	public static String getColumnText(final RowSet _rowSet, final int _columnIndex, final ColumnTextCodec _codec) {
+		try {
+			return _codec.getText(_rowSet, _columnIndex);
+		} catch (final SQLException se) {
+			logger.error(() -> String.format("SQL Exception for column %d.", _columnIndex), se);
+		}
+		return null;
+	}
 
-	} // end protected String getColumnText(RowSet rs, String _columnName) {
+	/**
+	 * Get the codec that converts the specified column to/from text.
+	 * The codec depends only on the column's type, so it can be
+	 * determined once and used for all rows.
+	 *
+	 * @param _resultSet ResultSet on which to operate
+	 * @param _columnIndex - the column index where the first column is 1, second
+	 *                     column is 2, etc.
+	 * @return codec for the column's type
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static ColumnTextCodec getColumnTextCodec(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
+		return ColumnTextCodec.forJDBCType(getJDBCColumnType(_resultSet, _columnIndex));
+	}
 
 	/**
 	 * Retrieves an integer corresponding to the designated column's type based on
@@ -275,7 +236,7 @@ public class RowSetOps {
 	 * @throws SQLException - if a database access error occurs
 	 */
 	public static int getColumnType(final ResultSet _resultSet, final int _columnIndex) throws SQLException {
-		return _resultSet.getMetaData().getColumnType(_columnIndex);
+		return SSMetaDataCache.getMetaData(_resultSet).getColumnType(_columnIndex);
 	}
 
 	/**
@@ -309,7 +270,7 @@ public class RowSetOps {
 	 * @throws SQLException - if a database access error occurs
 	 */
 	public static int getColumnType(final ResultSet _resultSet, final String _columnName) throws SQLException {
-		return _resultSet.getMetaData().getColumnType(getColumnIndex(_resultSet, _columnName));
+		return SSMetaDataCache.getMetaData(_resultSet).getColumnType(getColumnIndex(_resultSet, _columnName));
 	}
 
 	/**
@@ -329,32 +290,6 @@ public class RowSetOps {
 		return getJDBCType(getColumnType(_resultSet, _columnName));
 	}
 
-	private static final EnumSet<JDBCType> textUpdateEmptyOK = EnumSet.of(
-			JDBCType.CHAR,
-			JDBCType.VARCHAR,
-			JDBCType.LONGVARCHAR
-	);
-	
-	private static final EnumSet<JDBCType> textUpdateOK = EnumSet.of(
-			JDBCType.INTEGER,
-			JDBCType.SMALLINT,
-			JDBCType.TINYINT,
-			JDBCType.BIGINT,
-			JDBCType.FLOAT,
-			JDBCType.DOUBLE,
-			JDBCType.REAL,
-			JDBCType.NUMERIC,
-			JDBCType.DECIMAL,
-			JDBCType.BOOLEAN,
-			JDBCType.BIT,
-			JDBCType.DATE,
-			JDBCType.TIME,
-			JDBCType.TIMESTAMP,
-			JDBCType.CHAR,
-			JDBCType.VARCHAR,
-			JDBCType.LONGVARCHAR
-	);
-
 	/**
 	 * Method used by SwingSet component listeners to update the underlying
 	 * RowSet.
@@ -362,6 +297,10 @@ public class RowSetOps {
 	 * When the user changes/edits the SwingSet column this method propagates the
 	 * change to the RowSet. A separate call is required to flush/commit the change
 	 * to the database.
+	 * <p>
+	 * This looks up the column's type on each call; when the same column
+	 * is updated repeatedly use
+	 * {@link #updateColumnText(RowSet, String, int, boolean, ColumnTextCodec)}.
 	 *
 	 * @param _rowSet RowSet on which to operate
 	 * @param _updatedValue string to be type-converted as needed and updated in
@@ -372,22 +311,41 @@ public class RowSetOps {
 	 * @throws SQLException  thrown if a database error is encountered
 	 * @throws NumberFormatException thrown if unable to parse a string to number format
 	 */
-	// TODO: Eclipse is giving a Potential null pointer access, but we have assert(_updatedValue != null) so may be able to remove warning in future.
-	@SuppressWarnings("null")
 	public static void updateColumnText(final RowSet _rowSet, final String _updatedValue, final String _columnName, final boolean _allowNull) throws NullPointerException, SQLException, NumberFormatException {
+		final int columnIndex = getColumnIndex(_rowSet, _columnName);
+		updateColumnText(_rowSet, _updatedValue, columnIndex, _allowNull, getColumnTextCodec(_rowSet, columnIndex));
+	}
+
+	/**
+	 * Update the specified column from text using a codec that was
+	 * determined when the column was bound.
+	 * See {@link #updateColumnText(RowSet, String, String, boolean)}.
+	 *
+	 * @param _rowSet RowSet on which to operate
+	 * @param _updatedValue string to be type-converted as needed and updated in
+	 *                      underlying RowSet column
+	 * @param _columnIndex  index of the database column
+	 * @param _allowNull 	indicates if Component and underlying column can contain null values
+	 * @param _codec codec for the column's type
+	 * @throws NullPointerException thrown if null is not allowed
+	 * @throws SQLException  thrown if a database error is encountered
+	 * @throws NumberFormatException thrown if unable to parse a string to number format
+	 * @see #getColumnTextCodec(ResultSet, int)
+	 */
+	public static void updateColumnText(final RowSet _rowSet, final String _updatedValue, final int _columnIndex, final boolean _allowNull, final ColumnTextCodec _codec) throws NullPointerException, SQLException, NumberFormatException {
+
+		logger.debug("[{}]. Update to: {}. Allow null? [{}]", _columnIndex, _updatedValue, _allowNull);
 
-		LogManager.getLogger().debug("[" + _columnName + "]. Update to: " + _updatedValue + ". Allow null? [" + _allowNull + "]");
+		SSDataNavigator.setModified(_rowSet, true);
 
-		JDBCType jdbcType = getJDBCType(getColumnType(_rowSet, _columnName));
-		
-		if (!textUpdateOK.contains(jdbcType)) {
-			LogManager.getLogger().error("Unsupported data type of " + jdbcType.getName() + " for column " + _columnName + ".");
+		if (!_codec.isSupported()) {
+			_codec.updateText(_rowSet, _columnIndex, _updatedValue);
 			return;
 		}
 
 		// On insert row, write null if updatedValue is null or empty string, and do not perform other checks. 
 		if ((_updatedValue == null || _updatedValue.isEmpty()) && SSDataNavigator.isInserting(_rowSet)) {
-			_rowSet.updateNull(_columnName);
+			_rowSet.updateNull(_columnIndex);
 			return;
 		}
 
@@ -405,113 +363,163 @@ public class RowSetOps {
 		 *     (e.g., "" or "   " for a double)
 		 *     
 		 * If !_allowNull then a character based field with 0 or more blank spaced will be allowed
-		 * and code will continue to the switch/case statement below.
+		 * and the codec will write it.
 		 */
-       if (_updatedValue == null
-    		   || _updatedValue.isEmpty()
-               || (_updatedValue.trim().isEmpty() && !textUpdateEmptyOK.contains(jdbcType))) {
-    	    // TODO: Switch to isBlank) for Java 11+
-    	   	// Java 11: || (_updatedValue.isBlank() && !textUpdateEmptyOK.contains(jdbcType))) {
-
-            if (_allowNull) {
-                _rowSet.updateNull(_columnName);
-                return;
-            } else if (!textUpdateEmptyOK.contains(jdbcType)) {
-                // This will throw an exception for a non-char type, but allow a char-based type with
-            	// an empty string to continue to the switch/case below and write the empty string via
-            	// _rowSet.updateString(_columnName, _updatedValue)
-            	//
-            	// Note that if there is a UNIQUE constraint on such a text column then repeatedly writing the same 
-            	// number (0 to N) spaces should throw an SQL exception (as should any other duplicate string)
-                throw new NullPointerException("Null values are not allowed for this field.");
-            }
-        }
-		assert(_updatedValue != null);
+		if (_updatedValue == null
+				|| _updatedValue.isEmpty()
+				|| (!_codec.isEmptyTextOK() && _updatedValue.trim().isEmpty())) {
+			// TODO: Switch to isBlank) for Java 11+
+
+			if (_allowNull) {
+				_rowSet.updateNull(_columnIndex);
+				return;
+			} else if (!_codec.isEmptyTextOK()) {
+				// This will throw an exception for a non-char type, but allow a char-based type with
+				// an empty string to continue to the codec and write the empty string.
+				//
+				// Note that if there is a UNIQUE constraint on such a text column then repeatedly writing the same 
+				// number (0 to N) spaces should throw an SQL exception (as should any other duplicate string)
+				throw new NullPointerException("Null values are not allowed for this field.");
+			}
+		}
 
 		/*
 		 * SECOND - WRITING NON-NULL VALUES TO DATABASE BASED ON APPROPRIATE STRING CONVERSIONS
 		 */
-		switch (jdbcType) {
-	
-		case INTEGER:
-		case SMALLINT:
-		case TINYINT:
-			final int intValue = Integer.parseInt(_updatedValue);
-			_rowSet.updateInt(_columnName, intValue);
-			break;
-			
-		case BIGINT:
-			final long longValue = Long.parseLong(_updatedValue);
-			_rowSet.updateLong(_columnName, longValue);
-			break;
-			
-		case FLOAT:
-			final float floatValue = Float.parseFloat(_updatedValue);
-			_rowSet.updateFloat(_columnName, floatValue);
-			break;
-			
-		case DOUBLE:
-		//case NUMERIC: 
-		//case DECIMAL:
-		case REAL:
-			final double doubleValue = Double.parseDouble(_updatedValue);
-			_rowSet.updateDouble(_columnName, doubleValue);
-			break;
-			
-		case DECIMAL:
-		case NUMERIC:
-			_rowSet.updateBigDecimal(_columnName, new BigDecimal(_updatedValue));
-			break;
-			
-		case BOOLEAN:
-		case BIT:
-			// CONVERT THE GIVEN STRING TO BOOLEAN TYPE
-			final boolean boolValue = Boolean.valueOf(_updatedValue);
-			_rowSet.updateBoolean(_columnName, boolValue);
-			break;
-			
-		case DATE:
-// TODO Good to get rid of getSQLDate if possible.
-			if (_updatedValue.length() == 10) {
-				Date dateValue = SSCommon.getSQLDate(_updatedValue);
-				_rowSet.updateDate(_columnName, dateValue);
-			} else {
-			// 2020-12-01_BP: Might as well at least try to process a date that is other than 10 characters
-				Date dateValue = java.sql.Date.valueOf(_updatedValue);
-				_rowSet.updateDate(_columnName, dateValue);
+		_codec.updateText(_rowSet, _columnIndex, _updatedValue);
+
+	} // end public static void updateColumnText(RowSet, String, int, boolean, ColumnTextCodec)
+
+	/**
+	 * Get the values of a column, in row order, without moving the RowSet's
+	 * cursor. A CachedRowSet is read through a shared copy, see
+	 * {@link CachedRowSet#createShared()}, with its own cursor over the same
+	 * rows, so the row numbers are those of the RowSet; the RowSet's
+	 * listeners receive the copy's cursorMoved events, with the copy as the
+	 * event source. Otherwise the RowSet's command is executed again, with
+	 * its parameters, on the connection of the RowSet's statement; rows
+	 * added or removed since the RowSet was executed may shift the row
+	 * numbers, so check the value at a row before relying on it.
+	 *
+	 * @param _rowSet executed RowSet on which to operate
+	 * @param _columnIndex - the column index where the first column is 1, second
+	 *                     column is 2, etc.
+	 * @return the column's values, the first is for row 1; empty if the
+	 *         RowSet has no statement to read with
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static List<Object> getColumnValues(final RowSet _rowSet, final int _columnIndex) throws SQLException {
+		if (_rowSet instanceof CachedRowSet) {
+			final List<Object> values = new ArrayList<>(((CachedRowSet) _rowSet).size());
+			// THE COPY IS NOT CLOSED, THAT WOULD RELEASE THE ROWS IT SHARES
+			final CachedRowSet shared = (CachedRowSet) ((CachedRowSet) _rowSet).createShared();
+			// THE COPY STARTS WHERE THE ROWSET IS, WHICH MAY BE THE INSERT ROW
+			shared.moveToCurrentRow();
+			shared.beforeFirst();
+			while (shared.next()) {
+				values.add(shared.getObject(_columnIndex));
 			}
-			break;
-			
-		case TIME:
-			Time timeValue = java.sql.Time.valueOf(_updatedValue);
-			_rowSet.updateTime(_columnName, timeValue);
-			break;
-			
-		case TIMESTAMP:
-		// TODO: We're not doing anything here
-		// TODO: Probably a better way to handle date to timestamp conversion. Formatter? Get rid of getSQLDate() if possible.
-			// CONVERT ANY 10 CHARACTER DATE (e.g., yyyy-mm-dd, mm/dd/yyyy to a date/time)
-			if (_updatedValue.length() == 10) {
-				Timestamp timestampValue = new Timestamp(SSCommon.getSQLDate(_updatedValue).getTime());
-				_rowSet.updateTimestamp(_columnName, timestampValue);
+			return values;
+		}
+		final List<Object> values = new ArrayList<>();
+		final Statement rowSetStatement = _rowSet.getStatement();
+		if (rowSetStatement == null) {
+			logger.warn("RowSet has no statement, column {} can not be read.", _columnIndex);
+			return values;
+		}
+		try (PreparedStatement statement = rowSetStatement.getConnection().prepareStatement(_rowSet.getCommand(),
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			setParameters(statement, _rowSet);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					values.add(resultSet.getObject(_columnIndex));
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Set the parameters of a statement that executes a RowSet's command to
+	 * the parameters set on the RowSet. Only RowSets that extend
+	 * {@link BaseRowSet} expose their parameters; for others nothing is set.
+	 *
+	 * @param _statement statement prepared from the RowSet's command
+	 * @param _rowSet RowSet whose parameters are copied
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static void setParameters(final PreparedStatement _statement, final RowSet _rowSet) throws SQLException {
+		if (_rowSet instanceof BaseRowSet) {
+			final Object[] params = ((BaseRowSet) _rowSet).getParams();
+			for (int i = 0; i < params.length; i++) {
+				setParameter(_statement, i + 1, params[i]);
+			}
+		}
+	}
+
+	/**
+	 * Get the parameters set on a RowSet, in the form stored by
+	 * {@link BaseRowSet#getParams()}. Only RowSets that extend
+	 * {@link BaseRowSet} expose their parameters; for others the array is
+	 * empty.
+	 *
+	 * @param _rowSet RowSet on which to operate
+	 * @return the parameters, first parameter at index 0
+	 * @throws SQLException - if a parameter is missing
+	 */
+	public static Object[] getParameters(final RowSet _rowSet) throws SQLException {
+		if (_rowSet instanceof BaseRowSet) {
+			return ((BaseRowSet) _rowSet).getParams();
+		}
+		return new Object[0];
+	}
+
+	/**
+	 * Set the first parameters of a RowSet from parameters obtained with
+	 * {@link #getParameters(RowSet)}.
+	 *
+	 * @param _rowSet RowSet on which to operate
+	 * @param _params parameters as returned by {@link #getParameters(RowSet)}
+	 * @param _count number of parameters to set
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static void setParameters(final RowSet _rowSet, final Object[] _params, final int _count)
+			throws SQLException {
+		for (int i = 0; i < _count; i++) {
+			final Object value = parameterValue(_params[i]);
+			if (value == null) {
+				_rowSet.setNull(i + 1, parameterNullType(_params[i]));
 			} else {
-			// Per ER email 2020-11-25, we weren't even trying to handle a legitimate timestamp
-				Timestamp timeStampValue = java.sql.Timestamp.valueOf(_updatedValue);
-				_rowSet.updateTimestamp(_columnName, timeStampValue);
+				_rowSet.setObject(i + 1, value);
 			}
-			break;
-			
-		case CHAR:
-		case VARCHAR:
-		case LONGVARCHAR:
-			_rowSet.updateString(_columnName, _updatedValue);
-			break;
+		}
+	}
 
-		default:
-			throw new IllegalStateException("switch cases out of sync");
-		} // end switch
+	/**
+	 * Set a parameter as stored by BaseRowSet: the value, or an array with the
+	 * value followed by its type or other arguments.
+	 */
+	private static void setParameter(final PreparedStatement _statement, final int _index, final Object _param)
+			throws SQLException {
+		final Object value = parameterValue(_param);
+		if (value == null) {
+			_statement.setNull(_index, parameterNullType(_param));
+		} else {
+			_statement.setObject(_index, value);
+		}
+	}
+
+	private static Object parameterValue(final Object _param) {
+		return (_param instanceof Object[]) ? ((Object[]) _param)[0] : _param;
+	}
 
-	} // end protected void updateColumnText(String _updatedValue, String _columnName)
+	private static int parameterNullType(final Object _param) {
+		if ((_param instanceof Object[]) && (((Object[]) _param).length > 1)
+				&& (((Object[]) _param)[1] instanceof Integer)) {
+			return (Integer) ((Object[]) _param)[1];
+		}
+		return Types.NULL;
+	}
 
 	/**
 	 * Convenience method for getting {@link JDBCType} enum from
@@ -633,4 +641,42 @@ public class RowSetOps {
 		}
 		return clazz;
 	}
+
+	/**
+	 * Determine if a RowSet is disconnected, that is it works on an
+	 * in-memory copy of the data and changes are not written to the database
+	 * until explicitly synchronized, see {@link SSDisconnectedRowSet}.
+	 * A disconnected RowSet must not be re-executed while it may have
+	 * changes, re-executing discards them.
+	 * 
+	 * @param _rowSet the RowSet
+	 * @return true if the RowSet is disconnected
+	 */
+	public static boolean isDisconnected(final RowSet _rowSet) {
+		return _rowSet instanceof CachedRowSet;
+	}
+
+	/**
+	 * A CachedRowSet only accepts an insert row with every column set.
+	 * Set any column of the insert row of a disconnected RowSet that has no
+	 * value to null; let the database supply defaults when synchronizing.
+	 * Does nothing for a connected RowSet.
+	 * 
+	 * @param _rowSet the RowSet, positioned on the insert row
+	 * @throws SQLException if a database access error occurs
+	 */
+	public static void completeInsertRow(final RowSet _rowSet) throws SQLException {
+		if (!isDisconnected(_rowSet)) {
+			return;
+		}
+		final int columnCount = getColumnCount(_rowSet);
+		for (int i = 1; i <= columnCount; i++) {
+			try {
+				_rowSet.getObject(i);
+			} catch (final SQLException se) {
+				// reading a column of the insert row that has no value fails
+				_rowSet.updateNull(i);
+			}
+		}
+	}
 }
@@ -47,6 +47,8 @@ import java.sql.SQLException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.nqadmin.swingset.metrics.SSJdbcTrace;
+
 // SSConnection.java
 //
 // SwingSet - Open Toolkit For Making Swing Controls Database-Aware
@@ -66,7 +68,7 @@ public class SSConnection implements Serializable {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -98,6 +100,21 @@ public class SSConnection implements Serializable {
 	 */
 	protected String username = "";
 
+	/**
+	 * True if getConnection() returns a connection traced by SSJdbcTrace.
+	 */
+	protected boolean tracing = false;
+
+	/**
+	 * Tracing wrapper around connection, recreated when connection changes.
+	 */
+	private transient Connection tracedConnection;
+
+	/**
+	 * Connection wrapped by tracedConnection.
+	 */
+	private transient Connection tracedTarget;
+
 	/**
 	 * Constructs a default SSConnection object.
 	 */
@@ -188,7 +205,14 @@ public class SSConnection implements Serializable {
 				logger.error("Class Not Found Exception.", cnfe);
 			}
 		}
-		return connection;
+		if (!tracing || (connection == null)) {
+			return connection;
+		}
+		if (tracedTarget != connection) {
+			tracedConnection = SSJdbcTrace.wrap(connection);
+			tracedTarget = connection;
+		}
+		return tracedConnection;
 	}
 
 	/**
@@ -200,6 +224,15 @@ public class SSConnection implements Serializable {
 		return driverName;
 	}
 
+	/**
+	 * Returns true if getConnection() returns a traced connection.
+	 *
+	 * @return true if JDBC calls are traced
+	 */
+	public boolean isTracing() {
+		return tracing;
+	}
+
 	/**
 	 * Returns the password being used to connect to the database.
 	 *
@@ -252,6 +285,16 @@ public class SSConnection implements Serializable {
 		connection = _connection;
 	}
 
+	/**
+	 * Trace the JDBC calls made through getConnection() with SSJdbcTrace.
+	 * Only rowsets and statements created after this call are traced.
+	 *
+	 * @param _tracing true to trace JDBC calls
+	 */
+	public void setTracing(final boolean _tracing) {
+		tracing = _tracing;
+	}
+
 	/**
 	 * Sets the database driver class name.
 	 *
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.spi.SyncProviderException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSDisconnectedRowSet.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Disconnected mode for a single table: the query result is loaded once
+ * into a {@link CachedRowSet}, which is bound to the navigator, data grid
+ * and components like any other RowSet. Inserts, updates and deletes are
+ * made in memory; {@link #synchronize()} writes all of them to the database
+ * in one transaction, using JDBC batches.
+ * <p>
+ * Concurrency is optimistic. An update only succeeds if the columns it
+ * changes still have the values that were loaded, a delete only succeeds
+ * if the row still exists. If any row conflicts, nothing is written.
+ * <p>
+ * The rowset is never re-executed by SwingSet while bound, see
+ * {@link RowSetOps#isDisconnected(javax.sql.RowSet)};
+ * use {@link #reload()} to discard changes and re-query.
+ * <pre>
+ * {@code
+ * SSDisconnectedRowSet data = new SSDisconnectedRowSet(connection, "part_data", "part_id");
+ * data.load("SELECT * FROM part_data ORDER BY part_name;");
+ * navigator.setRowSet(data.getRowSet());
+ * ...
+ * data.synchronize();
+ * }
+ * </pre>
+ * 
+ * @since 4.0.0
+ */
+public class SSDisconnectedRowSet {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * A batch of statements with the same SQL and the primary keys
+	 * of their rows, in batch order.
+	 */
+	private static class Batch {
+		final PreparedStatement statement;
+		final List<Object> keys = new ArrayList<>();
+
+		Batch(final PreparedStatement _statement) {
+			statement = _statement;
+		}
+	}
+
+	private final Connection connection;
+	private final String tableName;
+	private final String pkColumn;
+	private final CachedRowSet rowSet;
+	private List<Object> conflictingKeys = Collections.emptyList();
+
+	/**
+	 * Create a disconnected RowSet for a table.
+	 * 
+	 * @param _connection connection used to load and synchronize
+	 * @param _tableName table that is loaded and updated
+	 * @param _pkColumn primary key column of the table
+	 * @throws SQLException if the RowSet can not be created
+	 */
+	public SSDisconnectedRowSet(final Connection _connection, final String _tableName, final String _pkColumn)
+			throws SQLException {
+		connection = _connection;
+		tableName = _tableName;
+		pkColumn = _pkColumn;
+		rowSet = RowSetProvider.newFactory().createCachedRowSet();
+		rowSet.setConcurrency(ResultSet.CONCUR_UPDATABLE);
+	}
+
+	/**
+	 * @return the RowSet to bind to components
+	 */
+	public CachedRowSet getRowSet() {
+		return rowSet;
+	}
+
+	/**
+	 * Set the query and load its results. The query must select from
+	 * the table and include the primary key column.
+	 * 
+	 * @param _command SQL query
+	 * @throws SQLException if the query fails
+	 */
+	public void load(final String _command) throws SQLException {
+		rowSet.setCommand(_command);
+		reload();
+	}
+
+	/**
+	 * Discard any changes and load the query results again.
+	 * 
+	 * @throws SQLException if the query fails
+	 */
+	public void reload() throws SQLException {
+		rowSet.execute(connection);
+		rowSet.setTableName(tableName);
+		rowSet.setKeyColumns(new int[] { rowSet.findColumn(pkColumn) });
+	}
+
+	/**
+	 * Discard any changes, restoring the rows as loaded.
+	 * 
+	 * @throws SQLException if a database access error occurs
+	 */
+	public void discardChanges() throws SQLException {
+		rowSet.restoreOriginal();
+	}
+
+	/**
+	 * @return true if there are inserted, updated or deleted rows
+	 *		that are not synchronized
+	 * @throws SQLException if a database access error occurs
+	 */
+	public boolean hasPendingChanges() throws SQLException {
+		final CachedRowSet rows = sharedRows();
+		while (rows.next()) {
+			if (rows.rowDeleted() || rows.rowInserted() || rows.rowUpdated()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return primary keys of the rows that conflicted in the last
+	 *		{@link #synchronize()}
+	 */
+	public List<Object> getConflictingKeys() {
+		return conflictingKeys;
+	}
+
+	/**
+	 * Write all inserted, updated and deleted rows to the database in one
+	 * transaction, then reload so the RowSet has the values, such as
+	 * generated keys and defaults, assigned by the database.
+	 * <p>
+	 * If another user has changed or deleted any of the rows since they
+	 * were loaded, the transaction is rolled back, the changes are kept in
+	 * memory and the primary keys of those rows are available from
+	 * {@link #getConflictingKeys()}.
+	 * 
+	 * @return number of rows written
+	 * @throws SyncProviderException if any row conflicts
+	 * @throws SQLException if writing fails; nothing is written
+	 */
+	public int synchronize() throws SQLException {
+		conflictingKeys = Collections.emptyList();
+		final int position = rowSet.getRow();
+		final Map<String, Batch> deletes = new LinkedHashMap<>();
+		final Map<String, Batch> updates = new LinkedHashMap<>();
+		final Map<String, Batch> inserts = new LinkedHashMap<>();
+		final boolean autoCommit = connection.getAutoCommit();
+		int rowCount = 0;
+
+		try {
+			connection.setAutoCommit(false);
+			rowCount = addBatches(deletes, updates, inserts);
+			if (rowCount == 0) {
+				return 0;
+			}
+
+			final List<Object> conflicts = new ArrayList<>();
+			executeBatches(deletes, conflicts);
+			executeBatches(updates, conflicts);
+			executeBatches(inserts, conflicts);
+
+			if (!conflicts.isEmpty()) {
+				connection.rollback();
+				conflictingKeys = Collections.unmodifiableList(conflicts);
+				logger.warn("{}: synchronize conflicts for keys {}.", tableName, conflicts);
+				throw new SyncProviderException("Rows changed by another user: " + conflicts);
+			}
+			connection.commit();
+			logger.debug("{}: synchronized {} rows.", tableName, rowCount);
+			reload();
+			restorePosition(position);
+			return rowCount;
+
+		} catch (final SyncProviderException spe) {
+			throw spe;
+		} catch (final SQLException se) {
+			connection.rollback();
+			throw se;
+		} finally {
+			closeAll(deletes, updates, inserts);
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Execute batches, collecting the keys of rows that were not found.
+	 */
+	private static void executeBatches(final Map<String, Batch> _batches, final List<Object> _conflicts)
+			throws SQLException {
+		for (final Batch batch : _batches.values()) {
+			final int[] counts = batch.statement.executeBatch();
+			for (int i = 0; i < counts.length; i++) {
+				// SUCCESS_NO_INFO is taken as success, nothing more can be known
+				if (counts[i] == 0) {
+					_conflicts.add(batch.keys.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add a statement to the batches for each changed row.
+	 * 
+	 * @return number of changed rows
+	 */
+	private int addBatches(final Map<String, Batch> _deletes, final Map<String, Batch> _updates,
+			final Map<String, Batch> _inserts) throws SQLException {
+		final ResultSetMetaData metaData = rowSet.getMetaData();
+		final int columnCount = metaData.getColumnCount();
+		final int pkIndex = rowSet.findColumn(pkColumn);
+		final CachedRowSet rows = sharedRows();
+		int rowCount = 0;
+
+		while (rows.next()) {
+			if (rows.rowDeleted()) {
+				if (rows.rowInserted()) {
+					continue;
+				}
+				final ResultSet original = originalRow(rows);
+				final Object key = original.getObject(pkIndex);
+				final Batch batch = getBatch(_deletes, "DELETE FROM " + tableName + " WHERE " + pkColumn + " = ?");
+				batch.statement.setObject(1, key);
+				addBatch(batch, key);
+			} else if (rows.rowInserted()) {
+				final StringBuilder columns = new StringBuilder();
+				final StringBuilder params = new StringBuilder();
+				final List<Integer> indexes = new ArrayList<>();
+				for (int i = 1; i <= columnCount; i++) {
+					if (rows.getObject(i) != null) {
+						columns.append(columns.length() == 0 ? "" : ", ").append(metaData.getColumnName(i));
+						params.append(params.length() == 0 ? "?" : ", ?");
+						indexes.add(i);
+					}
+				}
+				final Batch batch = getBatch(_inserts,
+						"INSERT INTO " + tableName + " (" + columns + ") VALUES (" + params + ")");
+				for (int i = 0; i < indexes.size(); i++) {
+					batch.statement.setObject(i + 1, rows.getObject(indexes.get(i)));
+				}
+				addBatch(batch, rows.getObject(pkIndex));
+			} else if (rows.rowUpdated()) {
+				final ResultSet original = originalRow(rows);
+				final StringBuilder set = new StringBuilder();
+				final StringBuilder where = new StringBuilder(" WHERE " + pkColumn + " = ?");
+				final List<Integer> changed = new ArrayList<>();
+				for (int i = 1; i <= columnCount; i++) {
+					if (rows.columnUpdated(i)) {
+						set.append(set.length() == 0 ? "" : ", ").append(metaData.getColumnName(i)).append(" = ?");
+						where.append(" AND ").append(metaData.getColumnName(i))
+								.append(original.getObject(i) == null ? " IS NULL" : " = ?");
+						changed.add(i);
+					}
+				}
+				if (changed.isEmpty()) {
+					continue;
+				}
+				final Object key = original.getObject(pkIndex);
+				final Batch batch = getBatch(_updates, "UPDATE " + tableName + " SET " + set + where);
+				int param = 1;
+				for (final int i : changed) {
+					setParameter(batch.statement, param++, rows.getObject(i), metaData.getColumnType(i));
+				}
+				batch.statement.setObject(param++, key);
+				for (final int i : changed) {
+					final Object value = original.getObject(i);
+					if (value != null) {
+						batch.statement.setObject(param++, value);
+					}
+				}
+				addBatch(batch, key);
+			} else {
+				continue;
+			}
+			rowCount++;
+		}
+		return rowCount;
+	}
+
+	private static ResultSet originalRow(final CachedRowSet _rows) throws SQLException {
+		final ResultSet original = _rows.getOriginalRow();
+		original.next();
+		return original;
+	}
+
+	private Batch getBatch(final Map<String, Batch> _batches, final String _sql) throws SQLException {
+		Batch batch = _batches.get(_sql);
+		if (batch == null) {
+			logger.debug("{}: batch statement [{}].", tableName, _sql);
+			batch = new Batch(connection.prepareStatement(_sql));
+			_batches.put(_sql, batch);
+		}
+		return batch;
+	}
+
+	private static void addBatch(final Batch _batch, final Object _key) throws SQLException {
+		_batch.statement.addBatch();
+		_batch.keys.add(_key);
+	}
+
+	private static void setParameter(final PreparedStatement _statement, final int _index, final Object _value,
+			final int _sqlType) throws SQLException {
+		if (_value == null) {
+			_statement.setNull(_index, _sqlType);
+		} else {
+			_statement.setObject(_index, _value);
+		}
+	}
+
+	@SafeVarargs
+	private static void closeAll(final Map<String, Batch>... _batches) {
+		for (final Map<String, Batch> batches : _batches) {
+			for (final Batch batch : batches.values()) {
+				try {
+					batch.statement.close();
+				} catch (final SQLException se) {
+					logger.warn("Failed to close batch statement.", se);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Move to the row the cursor was on before the RowSet was reloaded, or
+	 * to the first row if it was not on a row or that row is gone.
+	 */
+	private void restorePosition(final int _position) throws SQLException {
+		if ((_position <= 0) || !rowSet.absolute(_position)) {
+			rowSet.first();
+		}
+	}
+
+	/**
+	 * Walking the bound RowSet would refresh its components for every row,
+	 * a shared copy has its own cursor over the same rows. The copy is not
+	 * closed, that would clear the rows, and is moved off the insert row in
+	 * case the RowSet is on it.
+	 * 
+	 * @return the rows, including deleted rows, before the first row
+	 */
+	private CachedRowSet sharedRows() throws SQLException {
+		final CachedRowSet shared = (CachedRowSet) rowSet.createShared();
+		shared.moveToCurrentRow();
+		shared.setShowDeleted(true);
+		shared.beforeFirst();
+		return shared;
+	}
+}
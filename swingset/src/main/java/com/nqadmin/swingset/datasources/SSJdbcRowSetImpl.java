@@ -63,7 +63,7 @@ public class SSJdbcRowSetImpl extends JdbcRowSetImpl implements SSRowSet {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * unique serial id
@@ -174,7 +174,7 @@ public class SSJdbcRowSetImpl extends JdbcRowSetImpl implements SSRowSet {
 		} catch (final SQLException se) {
 			// TODO consider letting the calling class handle any SQLException and do away
 			// with this overridden method.
-			logger.error("SQL Exception for command " + _command + ".", se);
+			logger.error("SQL Exception for command {}.", _command, se);
 		}
 	}
 
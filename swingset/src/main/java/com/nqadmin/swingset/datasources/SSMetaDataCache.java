@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.sql.RowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSMetaDataCache.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Persistent cache of result set metadata: the column names, labels, types
+ * and nullability of each command text, for one schema version. Binding a
+ * screen asks the metadata of every bound column, through
+ * {@link RowSetOps}, and with a cache those answers come from memory
+ * instead of the driver; over a slow connection this is most of the cost
+ * of opening a screen.
+ * <p>
+ * An entry loaded from the file is used as is until the command has been
+ * executed; the first metadata request after that validates the entry
+ * against the column count, labels and types of the real metadata, which
+ * drivers answer without a round trip, and replaces it if the query
+ * changed. Screen helpers validate right after their query, off the event
+ * dispatch thread. Nullability is not validated; change the schema version
+ * to discard every entry, for example after a database migration.
+ * <p>
+ * The cache is off unless {@link #open(Path, String)} is called or the
+ * system property {@value #FILE_PROPERTY} names the cache file, with the
+ * schema version in {@value #SCHEMA_VERSION_PROPERTY}. Changes are written
+ * by {@link #save()}, {@link #close()}, and at JVM shutdown.
+ *
+ * @since 4.0.0
+ */
+public final class SSMetaDataCache {
+
+	private SSMetaDataCache() {}
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * System property naming the cache file.
+	 */
+	public static final String FILE_PROPERTY = "swingset.metadata.cache";
+
+	/**
+	 * System property with the schema version, default empty.
+	 */
+	public static final String SCHEMA_VERSION_PROPERTY = "swingset.metadata.schema";
+
+	/**
+	 * First int of a cache file.
+	 */
+	private static final int MAGIC = 0x53534d44;
+
+	/**
+	 * Version of the file layout.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Metadata of one command.
+	 */
+	private static final class Entry {
+		private final RowSetMetaDataImpl metaData;
+		private final Map<String, Integer> labels = new HashMap<>();
+		private volatile boolean validated;
+
+		Entry(final RowSetMetaDataImpl _metaData, final boolean _validated) throws SQLException {
+			metaData = _metaData;
+			validated = _validated;
+			// FIRST COLUMN WINS FOR DUPLICATE LABELS, AS IN findColumn()
+			for (int i = metaData.getColumnCount(); i > 0; i--) {
+				labels.put(metaData.getColumnLabel(i).toUpperCase(Locale.ROOT), i);
+			}
+		}
+
+		boolean matches(final ResultSetMetaData _metaData) throws SQLException {
+			final int columnCount = _metaData.getColumnCount();
+			if (columnCount != metaData.getColumnCount()) {
+				return false;
+			}
+			for (int i = 1; i <= columnCount; i++) {
+				if (!metaData.getColumnLabel(i).equals(_metaData.getColumnLabel(i))
+						|| (metaData.getColumnType(i) != _metaData.getColumnType(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private static volatile boolean enabled = false;
+	private static volatile boolean dirty = false;
+	private static Path file;
+	private static String schemaVersion = "";
+	private static Thread shutdownHook;
+
+	static {
+		final String property = System.getProperty(FILE_PROPERTY);
+		if ((property != null) && !property.trim().isEmpty()) {
+			open(Paths.get(property), System.getProperty(SCHEMA_VERSION_PROPERTY, ""));
+		}
+	}
+
+	/**
+	 * Start caching in the specified file, loading its entries if it
+	 * exists and was written for the same schema version.
+	 *
+	 * @param _file cache file
+	 * @param _schemaVersion schema version, for example the migration level
+	 */
+	public static synchronized void open(final Path _file, final String _schemaVersion) {
+		close();
+		file = _file;
+		schemaVersion = (_schemaVersion == null) ? "" : _schemaVersion;
+		try {
+			load();
+		} catch (final NoSuchFileException nsfe) {
+			logger.debug("Metadata cache {} does not exist yet.", file);
+		} catch (final IOException | SQLException e) {
+			logger.warn("Metadata cache {} could not be read, starting empty.", file, e);
+			entries.clear();
+		}
+		if (shutdownHook == null) {
+			shutdownHook = new Thread(SSMetaDataCache::saveQuietly, "SSMetaDataCache");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+		enabled = true;
+	}
+
+	/**
+	 * Save any changes and stop caching.
+	 */
+	public static synchronized void close() {
+		if (!enabled) {
+			return;
+		}
+		saveQuietly();
+		enabled = false;
+		entries.clear();
+		file = null;
+	}
+
+	/**
+	 * @return true if metadata is cached
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Discard every entry, in memory and, at the next save, in the file.
+	 */
+	public static void clear() {
+		entries.clear();
+		dirty = true;
+	}
+
+	/**
+	 * Get the metadata of a result set. For a RowSet with a command, it
+	 * comes from the cache, see the class description; otherwise, and when
+	 * the cache is off, from the result set.
+	 *
+	 * @param _resultSet ResultSet on which to operate
+	 * @return the result set's metadata
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static ResultSetMetaData getMetaData(final ResultSet _resultSet) throws SQLException {
+		final Entry entry = getEntry(_resultSet);
+		return (entry == null) ? _resultSet.getMetaData() : entry.metaData;
+	}
+
+	/**
+	 * Get the metadata of a result set produced by the specified command,
+	 * for example the query of an SSDBComboBox.
+	 *
+	 * @param _command SQL text that produced the result set
+	 * @param _resultSet ResultSet on which to operate
+	 * @return the result set's metadata
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static ResultSetMetaData getMetaData(final String _command, final ResultSet _resultSet)
+			throws SQLException {
+		final Entry entry = getEntry(_command, _resultSet);
+		return (entry == null) ? _resultSet.getMetaData() : entry.metaData;
+	}
+
+	/**
+	 * Get the index of a column, with the cached labels if the result set's
+	 * metadata is cached.
+	 *
+	 * @param _resultSet ResultSet on which to operate
+	 * @param _columnLabel - name or label of the column
+	 * @return the column index (starting from 1)
+	 * @throws SQLException - if the column is not found or a database access
+	 *                      error occurs
+	 */
+	public static int findColumn(final ResultSet _resultSet, final String _columnLabel) throws SQLException {
+		final Entry entry = getEntry(_resultSet);
+		if (entry != null) {
+			final Integer index = entry.labels.get(_columnLabel.toUpperCase(Locale.ROOT));
+			if (index != null) {
+				return index;
+			}
+		}
+		return _resultSet.findColumn(_columnLabel);
+	}
+
+	/**
+	 * Validate, or add, the entry of an executed RowSet's command now,
+	 * instead of at the first metadata request.
+	 *
+	 * @param _rowSet executed RowSet
+	 * @throws SQLException - if a database access error occurs
+	 */
+	public static void validate(final RowSet _rowSet) throws SQLException {
+		getEntry(_rowSet);
+	}
+
+	private static Entry getEntry(final ResultSet _resultSet) throws SQLException {
+		if (!enabled || !(_resultSet instanceof RowSet)) {
+			return null;
+		}
+		return getEntry(((RowSet) _resultSet).getCommand(), _resultSet);
+	}
+
+	private static Entry getEntry(final String _command, final ResultSet _resultSet) throws SQLException {
+		if (!enabled || (_command == null)) {
+			return null;
+		}
+		final Entry entry = entries.get(_command);
+		if ((entry != null) && entry.validated) {
+			return entry;
+		}
+
+		final ResultSetMetaData metaData;
+		try {
+			metaData = _resultSet.getMetaData();
+		} catch (final SQLException | NullPointerException e) {
+			// NOT EXECUTED YET, THE UNVALIDATED ENTRY IS ALL THERE IS;
+			// JdbcRowSetImpl THROWS NullPointerException BEFORE execute()
+			if (entry != null) {
+				return entry;
+			}
+			throw e;
+		}
+		if (metaData == null) {
+			return entry;
+		}
+		if ((entry != null) && entry.matches(metaData)) {
+			entry.validated = true;
+			return entry;
+		}
+
+		if (entry != null) {
+			logger.info("Cached metadata of [{}] is out of date, replacing it.", _command);
+		}
+		final Entry added;
+		try {
+			added = new Entry(copy(metaData), true);
+		} catch (final SQLException se) {
+			// FOR EXAMPLE A VENDOR TYPE THAT RowSetMetaDataImpl REJECTS
+			logger.debug("Metadata of [{}] can not be cached.", _command, se);
+			entries.remove(_command);
+			return null;
+		}
+		entries.put(_command, added);
+		dirty = true;
+		return added;
+	}
+
+	private static RowSetMetaDataImpl copy(final ResultSetMetaData _metaData) throws SQLException {
+		final int columnCount = _metaData.getColumnCount();
+		final RowSetMetaDataImpl result = new RowSetMetaDataImpl();
+		result.setColumnCount(columnCount);
+		for (int i = 1; i <= columnCount; i++) {
+			result.setColumnName(i, _metaData.getColumnName(i));
+			result.setColumnLabel(i, _metaData.getColumnLabel(i));
+			result.setColumnType(i, _metaData.getColumnType(i));
+			result.setNullable(i, _metaData.isNullable(i));
+		}
+		return result;
+	}
+
+	private static void load() throws IOException, SQLException {
+		entries.clear();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if ((in.readInt() != MAGIC) || (in.readInt() != FORMAT_VERSION)) {
+				throw new IOException("Not a metadata cache file.");
+			}
+			if (!schemaVersion.equals(readString(in))) {
+				logger.info("Metadata cache {} is for another schema version, starting empty.", file);
+				dirty = true;
+				return;
+			}
+			for (int entryCount = in.readInt(); entryCount > 0; entryCount--) {
+				final String command = readString(in);
+				final int columnCount = in.readShort();
+				final RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+				metaData.setColumnCount(columnCount);
+				for (int i = 1; i <= columnCount; i++) {
+					metaData.setColumnName(i, readString(in));
+					metaData.setColumnLabel(i, readString(in));
+					metaData.setColumnType(i, in.readInt());
+					metaData.setNullable(i, in.readByte());
+				}
+				entries.put(command, new Entry(metaData, false));
+			}
+		}
+		dirty = false;
+		logger.debug("Loaded {} metadata cache entries from {}.", entries.size(), file);
+	}
+
+	/**
+	 * Write the cache file if anything changed since it was loaded or
+	 * saved. The file is replaced atomically where the file system allows.
+	 *
+	 * @throws IOException if the file can not be written
+	 */
+	public static synchronized void save() throws IOException {
+		if (!enabled || !dirty) {
+			return;
+		}
+		dirty = false;
+		final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			writeString(out, schemaVersion);
+			final Map<String, Entry> snapshot = new HashMap<>(entries);
+			out.writeInt(snapshot.size());
+			for (final Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+				final RowSetMetaDataImpl metaData = mapEntry.getValue().metaData;
+				writeString(out, mapEntry.getKey());
+				out.writeShort(metaData.getColumnCount());
+				for (int i = 1; i <= metaData.getColumnCount(); i++) {
+					writeString(out, metaData.getColumnName(i));
+					writeString(out, metaData.getColumnLabel(i));
+					out.writeInt(metaData.getColumnType(i));
+					out.writeByte(metaData.isNullable(i));
+				}
+			}
+		} catch (final IOException | SQLException e) {
+			dirty = true;
+			throw (e instanceof IOException) ? (IOException) e : new IOException(e);
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final IOException ioe) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		logger.debug("Saved {} metadata cache entries to {}.", entries.size(), file);
+	}
+
+	private static void saveQuietly() {
+		try {
+			save();
+		} catch (final IOException ioe) {
+			logger.warn("Metadata cache {} could not be written.", file, ioe);
+		}
+	}
+
+	private static String readString(final DataInputStream _in) throws IOException {
+		final byte[] bytes = new byte[_in.readInt()];
+		_in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(final DataOutputStream _out, final String _string) throws IOException {
+		final byte[] bytes = ((_string == null) ? "" : _string).getBytes(StandardCharsets.UTF_8);
+		_out.writeInt(bytes.length);
+		_out.write(bytes);
+	}
+}
@@ -121,11 +121,12 @@ public class SSBooleanField extends JCheckBox implements RowSetListener, KeyList
 				default:
 					break;
 				}
+				SSDataNavigator.setModified(rowset, true);
 				rowset.addRowSetListener(tf);
 			} catch (final java.sql.SQLException se) {
-				logger.error(getColumnForLog() + ": SQL Exception.", se);
+				logger.error("{}: SQL Exception.", getColumnForLog(), se);
 			} catch (final java.lang.NullPointerException np) {
-				logger.error(getColumnForLog() + ": Null Pointer Exception.", np);
+				logger.error("{}: Null Pointer Exception.", getColumnForLog(), np);
 			}
 			return true;
 		}
@@ -134,7 +135,7 @@ public class SSBooleanField extends JCheckBox implements RowSetListener, KeyList
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 	/**
 	 * unique serial id
 	 */
@@ -182,7 +183,7 @@ public class SSBooleanField extends JCheckBox implements RowSetListener, KeyList
 			//colType = rowset.getColumnType(columnName);
 			colType = RowSetOps.getColumnType(rowset, columnName);
 		} catch (final java.sql.SQLException se) {
-			logger.error(getColumnForLog() + ": SQL Exception.", se);
+			logger.error("{}: SQL Exception.", getColumnForLog(), se);
 		}
 		rowset.addRowSetListener(this);
 		DbToFm();
@@ -245,7 +246,7 @@ public class SSBooleanField extends JCheckBox implements RowSetListener, KeyList
 				break;
 			}
 		} catch (final java.sql.SQLException se) {
-			logger.error(getColumnForLog() + ": SQL Exception.", se);
+			logger.error("{}: SQL Exception.", getColumnForLog(), se);
 		}
 	}
 
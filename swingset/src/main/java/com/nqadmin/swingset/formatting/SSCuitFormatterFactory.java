@@ -57,7 +57,7 @@ public class SSCuitFormatterFactory extends javax.swing.text.DefaultFormatterFac
     /**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 	/**
 	 * unique serial id
 	 */
@@ -61,7 +61,7 @@ public class SSDateFormatterFactory extends javax.swing.text.DefaultFormatterFac
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Constant for MM/dd/yyyy date format
@@ -112,7 +112,7 @@ public class SSDateFormatterFactory extends javax.swing.text.DefaultFormatterFac
 			setDisplayFormatter(new DateFormatter(new SimpleDateFormat("yyyy-MM-dd")));
     		break;
     	default:
-    		logger.warn("Unknown date format type of " + format);
+    		logger.warn("Unknown date format type of {}", format);
         	break;
     	}
     }
@@ -107,7 +107,7 @@ public class SSFormattedTextField extends JFormattedTextField
 				final SSFormattedTextField ssftf = (SSFormattedTextField) input;
 				AbstractFormatter formatter = ssftf.getFormatter();
 				String formattedText = ssftf.getText();
-				logger.debug("Formatter is: " + formatter + ".");
+				logger.debug("Formatter is: {}.", formatter);
 				if (formatter!=null && formattedText!=null && !formattedText.isEmpty()) {
 					
 					try {
@@ -116,7 +116,7 @@ public class SSFormattedTextField extends JFormattedTextField
 						// but this approach lets us know if the formatter is null.
 						//ssftf.commitEdit(); 
 					} catch (ParseException pe) {
-						logger.warn(getColumnForLog() + ": String of '" + formattedText + "' generated a Parse Exception at " + pe.getErrorOffset() + ".", pe);
+						logger.warn("{}: String of '{}' generated a Parse Exception at {}.", getColumnForLog(), formattedText, pe.getErrorOffset(), pe);
 						result = false;
 						// We're not going to call setValue(null) if result is false.
 					}
@@ -176,7 +176,7 @@ public class SSFormattedTextField extends JFormattedTextField
 			    final SSFormattedTextField ftf = (SSFormattedTextField)_pce.getSource();
 
 			    final Object currentValue = ftf.getValue();
-			    logger.info(getColumnForLog() + ": Object to be passed to database is " + currentValue + ".");
+			    logger.info("{}: Object to be passed to database is {}.", getColumnForLog(), currentValue);
 
 			    // TODO May want to see if we can veto invalid updates
 			    // 2020-12-14_BP: allow null if on insert row
@@ -202,14 +202,15 @@ public class SSFormattedTextField extends JFormattedTextField
 				    			getRowSet().updateObject(getBoundColumnName(), new java.sql.Timestamp(((java.util.Date)currentValue).getTime()));
 				    			break;
 				    		default:
-				    			logger.warn(getColumnForLog() + ": getValue() returned a java.sql.Date, but JDBCType is " + getBoundColumnJDBCType() + ". Unable to update column.");
+				    			logger.warn("{}: getValue() returned a java.sql.Date, but JDBCType is {}. Unable to update column.", getColumnForLog(), getBoundColumnJDBCType());
 				    		}
 				    	} else{
 				    		getRowSet().updateObject(getBoundColumnName(), currentValue);
 				    	}		    	
+				    	SSDataNavigator.setModified(getRowSet(), true);
 
 					} catch (final SQLException _se) {
-						logger.error(getColumnForLog() + ": RowSet update triggered SQL Exception.", _se);
+						logger.error("{}: RowSet update triggered SQL Exception.", getColumnForLog(), _se);
 						JOptionPane.showMessageDialog(ftf,
 								"SQL Exception encountered for " + getBoundColumnName(), "SQL Exception", JOptionPane.ERROR_MESSAGE);
 					}
@@ -225,7 +226,7 @@ public class SSFormattedTextField extends JFormattedTextField
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
     /**
 	 * unique serial id
@@ -477,14 +478,16 @@ public class SSFormattedTextField extends JFormattedTextField
 					(newValue instanceof java.sql.Time) ||
 					(newValue instanceof java.sql.Timestamp)) {
 				
-				logger.debug("{}: getObject() - " + newValue, () -> getColumnForLog());
+				if (logger.isDebugEnabled()) {
+					logger.debug("{}: getObject() - {}", getColumnForLog(), newValue);
+				}
 				setValue(newValue);
 			} else {
-				logger.error(getColumnForLog() + ": JDBCType of " + jdbcType.toString() + " was cast to unsupported type of " + newValue.getClass().getName() + " based on JDBC connection getTypeMap().");
+				logger.error("{}: JDBCType of {} was cast to unsupported type of {} based on JDBC connection getTypeMap().", getColumnForLog(), jdbcType, newValue.getClass().getName());
 			}
 
 		} catch (final java.sql.SQLException sqe) {
-			logger.error(getColumnForLog() + ": SQL Exception while updating rowset from formatted component.", sqe);
+			logger.error("{}: SQL Exception while updating rowset from formatted component.", getColumnForLog(), sqe);
 			setValue(null);
 		}
 
@@ -67,6 +67,7 @@ import org.apache.logging.log4j.Logger;
 
 import com.nqadmin.swingset.SSDataNavigator;
 import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSMetrics;
 
 /**
  * SSImageField.java
@@ -92,7 +93,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 	private static final long serialVersionUID = 889303691158522232L;
 	private int colType = -99;
 	protected String columnName = null;
@@ -175,6 +176,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 						try {
 							rowset.updateBytes(columnName,
 									imageBytes);
+							SSDataNavigator.setModified(rowset, true);
 						} catch (final SQLException se) {
 							// do nothing
 						}
@@ -186,7 +188,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 					// }catch(SQLException se){
 					// se.printStackTrace();
 				} catch (final IOException ioe) {
-					logger.error(getColumnForLog() + ": IO Exception.", ioe);
+					logger.error("{}: IO Exception.", getColumnForLog(), ioe);
 				}
 			}
 		});
@@ -209,7 +211,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 			//colType = rowset.getColumnType(columnName);
 			colType = RowSetOps.getColumnType(rowset, columnName);
 		} catch (final java.sql.SQLException sqe) {
-			logger.error(getColumnForLog() + ": SQL Exception.", sqe);
+			logger.error("{}: SQL Exception.", getColumnForLog(), sqe);
 		}
 		rowset.addRowSetListener(this);
 		DbToFm();
@@ -295,6 +297,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 			switch (colType) {
 
 			case java.sql.Types.BINARY:
+				final long start = SSMetrics.start();
 				imageBytes = rowset.getBytes(columnName);
 
 				if (imageBytes == null) {
@@ -305,6 +308,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 
 				if (imageBytes.length > 0) {
 					fullIcon = new ImageIcon(imageBytes);
+					SSMetrics.record(SSMetrics.BLOB_DECODE, start, this::getColumnForLog);
 				} else {
 					fullIcon = nullIcon;
 				}
@@ -315,7 +319,7 @@ public class SSImageField extends JPanel implements RowSetListener, KeyListener,
 				break;
 			}
 		} catch (final java.sql.SQLException sqe) {
-			logger.error(getColumnForLog() + ": SQL Exception.", sqe);
+			logger.error("{}: SQL Exception.", getColumnForLog(), sqe);
 		}
 	}
 
@@ -122,13 +122,14 @@ public class SSMemoField extends JTextArea implements RowSetListener, KeyListene
 					default:
 						break;
 					}
+					SSDataNavigator.setModified(rowset, true);
 					rowset.addRowSetListener(tf);
 					return true;
 				} catch (final java.sql.SQLException se) {
-					logger.error(getColumnForLog() + ": SQL Exception.", se);
+					logger.error("{}: SQL Exception.", getColumnForLog(), se);
 					tf.setText("");
 				} catch (final java.lang.NullPointerException np) {
-					logger.error(getColumnForLog() + ": Null Pointer Exception.", np);
+					logger.error("{}: Null Pointer Exception.", getColumnForLog(), np);
 					tf.setText("");
 				}
 				//return true;
@@ -144,7 +145,7 @@ public class SSMemoField extends JTextArea implements RowSetListener, KeyListene
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 	/**
 	 * unique serial id
 	 */
@@ -195,7 +196,7 @@ public class SSMemoField extends JTextArea implements RowSetListener, KeyListene
 			//colType = rowset.getColumnType(columnName);
 			colType = RowSetOps.getColumnType(rowset,columnName);
 		} catch (final java.sql.SQLException sqe) {
-			logger.error(getColumnForLog() + ": SQL Exception.", sqe);
+			logger.error("{}: SQL Exception.", getColumnForLog(), sqe);
 		}
 		rowset.addRowSetListener(this);
 		DbToFm();
@@ -243,7 +244,7 @@ public class SSMemoField extends JTextArea implements RowSetListener, KeyListene
 				break;
 			}
 		} catch (final java.sql.SQLException sqe) {
-			logger.error(getColumnForLog() + ": SQL Exception.", sqe);
+			logger.error("{}: SQL Exception.", getColumnForLog(), sqe);
 			setText("");
 		}
 	}
@@ -373,7 +374,7 @@ public class SSMemoField extends JTextArea implements RowSetListener, KeyListene
 		if (_event.getKeyCode() == KeyEvent.VK_F5) {
 			logger.debug("{}: F5 = PROCESS", () -> getColumnForLog());
 			if (navigator.updatePresentRow() == true) {
-				logger.info(getColumnForLog() + ": Update successful.");
+				logger.info("{}: Update successful.", getColumnForLog());
 			}
 		}
 
@@ -56,7 +56,7 @@ public class SSSSNFormatterFactory extends javax.swing.text.DefaultFormatterFact
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 	/**
 	 * unique serial id
 	 */
@@ -0,0 +1,526 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSEdtWatchdog.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Optional watchdog for event dispatch thread stalls. When installed, it
+ * pushes an {@link EventQueue} that times each dispatched event; a
+ * background thread takes a stack sample of the event dispatch thread
+ * once an event has run longer than the threshold.
+ * <p>
+ * SwingSet components mark their database and refresh work with
+ * {@link #enter(Supplier, Supplier)} and {@link #exit(int)}, so each stall
+ * is attributed to the innermost component, for example the bound column
+ * from {@code getColumnForLog()}, and the innermost SQL being run.
+ * <p>
+ * Each stall is
+ * <ul>
+ * <li>recorded as {@link SSMetrics#EDT_STALL}, tagged with the component,</li>
+ * <li>logged at WARN, with the stack sample, to the logger
+ * {@code com.nqadmin.swingset.metrics.SSEdtWatchdog}; route it to a
+ * rolling file appender in the log4j configuration,</li>
+ * <li>kept in memory, see {@link #getRecentStalls()}.</li>
+ * </ul>
+ * When the watchdog is not installed and {@link SSJdbcTrace} is not
+ * enabled, {@code enter()} and {@code exit()} return immediately.
+ *
+ * @since 4.0.0
+ */
+public final class SSEdtWatchdog {
+
+	private SSEdtWatchdog() {}
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Number of stalls kept by {@link #getRecentStalls()}.
+	 */
+	public static final int RECENT_STALLS = 100;
+
+	private static final int MAX_ACTIVITY_DEPTH = 16;
+
+	/**
+	 * One event that ran longer than the threshold.
+	 */
+	public static final class Stall {
+		private final Instant time;
+		private final long nanos;
+		private final String event;
+		private final String component;
+		private final String sql;
+		private final StackTraceElement[] stack;
+
+		Stall(final Instant _time, final long _nanos, final String _event, final String _component,
+				final String _sql, final StackTraceElement[] _stack) {
+			time = _time;
+			nanos = _nanos;
+			event = _event;
+			component = _component;
+			sql = _sql;
+			stack = _stack;
+		}
+
+		/**
+		 * @return when the event finished
+		 */
+		public Instant getTime() {
+			return time;
+		}
+
+		/**
+		 * @return event dispatch time in milliseconds
+		 */
+		public double getMillis() {
+			return nanos / 1e6;
+		}
+
+		/**
+		 * @return description of the dispatched event
+		 */
+		public String getEvent() {
+			return event;
+		}
+
+		/**
+		 * @return SwingSet component running when the stack was sampled,
+		 *         or null
+		 */
+		public String getComponent() {
+			return component;
+		}
+
+		/**
+		 * @return SQL the component was running, or null
+		 */
+		public String getSql() {
+			return sql;
+		}
+
+		/**
+		 * @return stack of the event dispatch thread after the threshold
+		 *         passed, empty if the event finished before it was sampled
+		 */
+		public StackTraceElement[] getStack() {
+			return stack.clone();
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder(String.format("EDT stall %.1fms in %s", getMillis(), event));
+			if (component != null) {
+				sb.append(", component ").append(component);
+			}
+			if (sql != null) {
+				sb.append(", SQL [").append(sql).append(']');
+			}
+			for (final StackTraceElement element : stack) {
+				sb.append("\n\tat ").append(element);
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Times the events it dispatches.
+	 */
+	private static class WatchdogEventQueue extends EventQueue {
+		private final long thresholdNanos;
+
+		// WRITTEN ON THE EDT, READ BY THE SAMPLER
+		private volatile Thread dispatchThread;
+		private volatile long dispatchStart = 0L;
+		private volatile long dispatchCount = 0L;
+		private volatile AWTEvent dispatchEvent;
+
+		// WRITTEN BY THE SAMPLER, READ ON THE EDT
+		private volatile Sample sample;
+
+		// AN EVENT THAT RAN A NESTED EVENT LOOP, E.G. A MODAL DIALOG, WAITED FOR THE USER
+		private boolean nested = false;
+
+		WatchdogEventQueue(final long _thresholdNanos) {
+			thresholdNanos = _thresholdNanos;
+		}
+
+		@Override
+		protected void dispatchEvent(final AWTEvent _event) {
+			if (dispatchStart != 0L) {
+				// NESTED DISPATCH FROM A MODAL DIALOG, NOT TIMED
+				nested = true;
+				super.dispatchEvent(_event);
+				return;
+			}
+			nested = false;
+			dispatchThread = Thread.currentThread();
+			dispatchEvent = _event;
+			resetActivities();
+			dispatchCount++;
+			final long start = System.nanoTime();
+			dispatchStart = start;
+			try {
+				super.dispatchEvent(_event);
+			} finally {
+				final long nanos = System.nanoTime() - start;
+				dispatchStart = 0L;
+				resetActivities();
+				if ((nanos >= thresholdNanos) && !nested) {
+					final Sample taken = sample;
+					stalled(_event, nanos, ((taken != null) && (taken.dispatch == dispatchCount)) ? taken : null);
+				}
+				dispatchEvent = null;
+			}
+		}
+
+		/**
+		 * Called periodically by the sampler thread.
+		 */
+		void sample() {
+			final long start = dispatchStart;
+			final long count = dispatchCount;
+			final Thread thread = dispatchThread;
+			final Sample taken = sample;
+			if ((start == 0L) || (thread == null) || ((System.nanoTime() - start) < thresholdNanos)
+					|| ((taken != null) && (taken.dispatch == count))) {
+				return;
+			}
+			final StackTraceElement[] stack = thread.getStackTrace();
+			// THE INNERMOST COMPONENT, AND THE INNERMOST SQL, WHICH MAY BELONG TO AN ENCLOSING ACTIVITY
+			String component = null;
+			String sql = null;
+			for (int i = Math.min(depth, MAX_ACTIVITY_DEPTH) - 1; i >= 0; i--) {
+				if (component == null) {
+					// THE CACHE IS ONLY WRITTEN ON THE EVENT DISPATCH THREAD
+					final String cached = componentTexts[i];
+					component = (cached != null) ? cached : evaluate(components[i]);
+				}
+				if (sql == null) {
+					sql = evaluate(sqls[i]);
+				}
+			}
+			sample = new Sample(count, stack, component, sql);
+		}
+
+		void remove() {
+			pop();
+		}
+	}
+
+	/**
+	 * A stack sample of the event dispatch thread during one event.
+	 */
+	private static class Sample {
+		final long dispatch;
+		final StackTraceElement[] stack;
+		final String component;
+		final String sql;
+
+		Sample(final long _dispatch, final StackTraceElement[] _stack, final String _component, final String _sql) {
+			dispatch = _dispatch;
+			stack = _stack;
+			component = _component;
+			sql = _sql;
+		}
+	}
+
+	private static volatile WatchdogEventQueue queue;
+
+	// ACTIVITY STACK OF THE EVENT DISPATCH THREAD, WRITTEN ON THE EDT
+	private static final Object[] components = new Object[MAX_ACTIVITY_DEPTH];
+	private static final String[] componentTexts = new String[MAX_ACTIVITY_DEPTH];
+	private static final Object[] sqls = new Object[MAX_ACTIVITY_DEPTH];
+	private static volatile int depth = 0;
+	private static volatile Thread activityThread;
+
+	// SSJdbcTrace ATTRIBUTES CALLS TO THE ACTIVITIES
+	private static volatile boolean traceActivities = false;
+
+	private static ScheduledExecutorService sampler;
+
+	private static final Deque<Stall> recentStalls = new ArrayDeque<>();
+
+	/**
+	 * Install the watchdog. If it is already installed, it is reinstalled
+	 * with the new threshold.
+	 *
+	 * @param _thresholdMillis events running at least this long are stalls
+	 */
+	public static synchronized void install(final long _thresholdMillis) {
+		uninstall();
+		final long threshold = Math.max(1, _thresholdMillis);
+		final WatchdogEventQueue newQueue = new WatchdogEventQueue(TimeUnit.MILLISECONDS.toNanos(threshold));
+		Toolkit.getDefaultToolkit().getSystemEventQueue().push(newQueue);
+		sampler = Executors.newSingleThreadScheduledExecutor(_runnable -> {
+			final Thread thread = new Thread(_runnable, "SwingSet EDT watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final long period = Math.max(5, threshold / 4);
+		sampler.scheduleAtFixedRate(newQueue::sample, period, period, TimeUnit.MILLISECONDS);
+		queue = newQueue;
+		logger.info("EDT watchdog installed, threshold {}ms.", threshold);
+	}
+
+	/**
+	 * Remove the watchdog. Stalls already recorded are kept.
+	 */
+	public static synchronized void uninstall() {
+		if (queue == null) {
+			return;
+		}
+		sampler.shutdownNow();
+		sampler = null;
+		// EVENTS ALREADY QUEUED ARE MOVED BACK TO THE PREVIOUS QUEUE
+		queue.remove();
+		queue = null;
+		logger.info("EDT watchdog uninstalled.");
+	}
+
+	/**
+	 * @return true if the watchdog is installed
+	 */
+	public static boolean isInstalled() {
+		return queue != null;
+	}
+
+	/**
+	 * Mark the start of work to attribute stalls, and {@link SSJdbcTrace}
+	 * calls, to. The suppliers are only called if the work is running when
+	 * a stack sample is taken, or a traced call is made, and possibly from
+	 * the sampler thread, so they should only read fields.
+	 * <p>
+	 * Calls that are not on the event dispatch thread are ignored.
+	 *
+	 * @param _component the component, for example {@code getColumnForLog()}
+	 * @param _sql SQL being run, may be or return null
+	 * @return value to pass to {@link #exit(int)}
+	 */
+	public static int enter(final Supplier<String> _component, final Supplier<String> _sql) {
+		if ((queue == null) && !traceActivities) {
+			return -1;
+		}
+		final Thread current = Thread.currentThread();
+		if (current != activityThread) {
+			if (!EventQueue.isDispatchThread()) {
+				return -1;
+			}
+			// FIRST USE, OR THE EVENT DISPATCH THREAD WAS REPLACED
+			activityThread = current;
+			depth = 0;
+		}
+		final int d = depth;
+		if (d < MAX_ACTIVITY_DEPTH) {
+			components[d] = _component;
+			componentTexts[d] = null;
+			sqls[d] = _sql;
+		}
+		depth = d + 1;
+		return d;
+	}
+
+	/**
+	 * Mark the end of work started with {@link #enter(Supplier, Supplier)}.
+	 * Work that is not exited, for example after an early return, is
+	 * discarded by the next {@code exit()} of an enclosing activity or
+	 * when the event finishes.
+	 *
+	 * @param _token value returned by {@code enter()}
+	 */
+	public static void exit(final int _token) {
+		if ((_token < 0) || (Thread.currentThread() != activityThread)) {
+			return;
+		}
+		for (int i = _token; i < Math.min(depth, MAX_ACTIVITY_DEPTH); i++) {
+			components[i] = null;
+			componentTexts[i] = null;
+			sqls[i] = null;
+		}
+		depth = _token;
+	}
+
+	/**
+	 * Discard the activities, including any that were not exited.
+	 */
+	private static void resetActivities() {
+		exit(0);
+	}
+
+	/**
+	 * Called by SSJdbcTrace to keep the activity stack while tracing.
+	 *
+	 * @param _trace true if calls are traced
+	 */
+	static void setTraceActivities(final boolean _trace) {
+		traceActivities = _trace;
+	}
+
+	/**
+	 * @return the innermost component of the current activity, null if
+	 *         there is none or this is not the event dispatch thread
+	 */
+	static String currentComponent() {
+		if (Thread.currentThread() != activityThread) {
+			return null;
+		}
+		for (int i = Math.min(depth, MAX_ACTIVITY_DEPTH) - 1; i >= 0; i--) {
+			final String text = componentText(i);
+			if (text != null) {
+				return text;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the outermost component of the current activity, usually
+	 *         the navigator, grid or screen, null if there is none or this
+	 *         is not the event dispatch thread
+	 */
+	static String currentScreen() {
+		if (Thread.currentThread() != activityThread) {
+			return null;
+		}
+		final int d = Math.min(depth, MAX_ACTIVITY_DEPTH);
+		for (int i = 0; i < d; i++) {
+			final String text = componentText(i);
+			if (text != null) {
+				return text;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Called only on the activity thread, which owns the cache; the sampler
+	 * thread evaluates the supplier without caching.
+	 *
+	 * @param _index activity stack index
+	 * @return the activity's component, evaluated once
+	 */
+	private static String componentText(final int _index) {
+		String text = componentTexts[_index];
+		if (text == null) {
+			text = evaluate(components[_index]);
+			componentTexts[_index] = text;
+		}
+		return text;
+	}
+
+	/**
+	 * @return the most recent stalls, oldest first
+	 */
+	public static List<Stall> getRecentStalls() {
+		synchronized (recentStalls) {
+			return new ArrayList<>(recentStalls);
+		}
+	}
+
+	/**
+	 * Discard the recent stalls.
+	 */
+	public static void clearRecentStalls() {
+		synchronized (recentStalls) {
+			recentStalls.clear();
+		}
+	}
+
+	private static String evaluate(final Object _supplier) {
+		if (_supplier == null) {
+			return null;
+		}
+		try {
+			@SuppressWarnings("unchecked")
+			final String value = ((Supplier<String>) _supplier).get();
+			return value;
+		} catch (final RuntimeException re) {
+			return null;
+		}
+	}
+
+	private static String describe(final AWTEvent _event) {
+		if (_event instanceof InvocationEvent) {
+			// THE RUNNABLE OF invokeLater() IS MORE USEFUL THAN THE EVENT
+			final String text = _event.paramString();
+			final int runnable = text.indexOf("runnable=");
+			if (runnable >= 0) {
+				final int end = text.indexOf(',', runnable);
+				return "InvocationEvent " + text.substring(runnable, (end < 0) ? text.length() : end);
+			}
+		}
+		final Object source = _event.getSource();
+		return _event.getClass().getSimpleName() + "[" + _event.paramString() + "] on "
+				+ ((source == null) ? "null" : source.getClass().getName());
+	}
+
+	private static void stalled(final AWTEvent _event, final long _nanos, final Sample _sample) {
+		final Stall stall = new Stall(Instant.now(), _nanos, describe(_event),
+				(_sample == null) ? null : _sample.component, (_sample == null) ? null : _sample.sql,
+				(_sample == null) ? new StackTraceElement[0] : _sample.stack);
+		synchronized (recentStalls) {
+			if (recentStalls.size() == RECENT_STALLS) {
+				recentStalls.removeFirst();
+			}
+			recentStalls.addLast(stall);
+		}
+		SSMetrics.recordNanos(SSMetrics.EDT_STALL, stall.getComponent(), _nanos);
+		logger.warn("{}", stall);
+	}
+}
@@ -0,0 +1,427 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.RowSet;
+
+// SSJdbcTrace.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Counts and times JDBC calls. A connection wrapped with
+ * {@link #wrap(Connection)} returns wrapped statements, result sets and
+ * metadata, so every call made through it, including the calls a
+ * JdbcRowSet makes for its cursor, is recorded:
+ * <ul>
+ * <li>by call type, for example {@code ResultSet.absolute},</li>
+ * <li>by SQL text, with the executions and the rows fetched,</li>
+ * <li>per screen, the outermost {@link SSEdtWatchdog#enter} activity,
+ * which is the navigator, grid or screen helper title,</li>
+ * <li>per component, the innermost activity, for example the bound
+ * column from {@code getColumnForLog()}.</li>
+ * </ul>
+ * This makes patterns like an {@code absolute()} for every grid cell, or a
+ * query for every navigation, visible in {@link #report()}. Only calls on
+ * the event dispatch thread are attributed to screens and components.
+ * Statement executions are also recorded as the
+ * {@link SSMetrics#JDBC_EXECUTE} metric.
+ * <p>
+ * Tracing is meant for diagnosis; each call through a wrapper costs a
+ * reflective invocation.
+ *
+ * @since 4.0.0
+ */
+public final class SSJdbcTrace {
+
+	private SSJdbcTrace() {}
+
+	/**
+	 * Distinct SQL texts kept for each statistics group, more are counted
+	 * as {@value #OTHER_SQL}.
+	 */
+	public static final int MAX_SQL_TEXTS = 1000;
+
+	/**
+	 * SQL text used once {@link #MAX_SQL_TEXTS} is reached.
+	 */
+	public static final String OTHER_SQL = "(other)";
+
+	/**
+	 * Calls, or executions of one SQL text.
+	 */
+	public static final class Count {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder rows = new LongAdder();
+
+		/**
+		 * @return number of calls or executions
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return total time in milliseconds
+		 */
+		public double getMillis() {
+			return nanos.sum() / 1e6;
+		}
+
+		/**
+		 * @return rows fetched, only for SQL texts
+		 */
+		public long getRows() {
+			return rows.sum();
+		}
+	}
+
+	/**
+	 * JDBC calls for everything, one screen or one component.
+	 */
+	public static final class Stats {
+		private final String name;
+		private final ConcurrentMap<String, Count> calls = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, Count> statements = new ConcurrentHashMap<>();
+		private final LongAdder callCount = new LongAdder();
+		private final LongAdder executeCount = new LongAdder();
+
+		Stats(final String _name) {
+			name = _name;
+		}
+
+		void add(final String _call, final long _nanos, final String _executedSql, final String _fetchedSql) {
+			callCount.increment();
+			final Count call = calls.computeIfAbsent(_call, _k -> new Count());
+			call.count.increment();
+			call.nanos.add(_nanos);
+			if (_executedSql != null) {
+				executeCount.increment();
+				final Count statement = statement(_executedSql);
+				statement.count.increment();
+				statement.nanos.add(_nanos);
+			}
+			if (_fetchedSql != null) {
+				statement(_fetchedSql).rows.increment();
+			}
+		}
+
+		private Count statement(final String _sql) {
+			Count statement = statements.get(_sql);
+			if (statement == null) {
+				final String key = (statements.size() < MAX_SQL_TEXTS) ? _sql : OTHER_SQL;
+				statement = statements.computeIfAbsent(key, _k -> new Count());
+			}
+			return statement;
+		}
+
+		/**
+		 * @return screen or component name, null for the totals
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return number of JDBC calls
+		 */
+		public long getCallCount() {
+			return callCount.sum();
+		}
+
+		/**
+		 * @return number of statement executions
+		 */
+		public long getExecuteCount() {
+			return executeCount.sum();
+		}
+
+		/**
+		 * @return calls by type, for example {@code ResultSet.next}
+		 */
+		public Map<String, Count> getCalls() {
+			return Collections.unmodifiableMap(new TreeMap<>(calls));
+		}
+
+		/**
+		 * @return executions and fetched rows by SQL text
+		 */
+		public Map<String, Count> getStatements() {
+			return Collections.unmodifiableMap(new TreeMap<>(statements));
+		}
+
+		/**
+		 * @param _sb report text
+		 * @param _limit maximum number of call types and SQL texts
+		 */
+		void appendTo(final StringBuilder _sb, final int _limit) {
+			_sb.append(String.format("%s: %d calls, %d executes%n", (name == null) ? "All" : name, getCallCount(),
+					getExecuteCount()));
+			final List<Map.Entry<String, Count>> sortedCalls = new ArrayList<>(calls.entrySet());
+			sortedCalls.sort((_a, _b) -> Long.compare(_b.getValue().getCount(), _a.getValue().getCount()));
+			for (final Map.Entry<String, Count> entry : sortedCalls.subList(0, Math.min(_limit, sortedCalls.size()))) {
+				_sb.append(String.format("  %10d %10.1fms  %s%n", entry.getValue().getCount(),
+						entry.getValue().getMillis(), entry.getKey()));
+			}
+			final List<Map.Entry<String, Count>> sortedSql = new ArrayList<>(statements.entrySet());
+			sortedSql.sort((_a, _b) -> Double.compare(_b.getValue().getMillis(), _a.getValue().getMillis()));
+			for (final Map.Entry<String, Count> entry : sortedSql.subList(0, Math.min(_limit, sortedSql.size()))) {
+				_sb.append(String.format("  %10d %10.1fms %8d rows  %s%n", entry.getValue().getCount(),
+						entry.getValue().getMillis(), entry.getValue().getRows(), entry.getKey()));
+			}
+		}
+	}
+
+	/**
+	 * Records the calls made through one wrapped JDBC object.
+	 */
+	private static final class TraceHandler implements InvocationHandler {
+		private final Object target;
+		private final String type;
+		private final String sql;
+
+		TraceHandler(final Object _target, final String _type, final String _sql) {
+			target = _target;
+			type = _type;
+			sql = _sql;
+		}
+
+		@Override
+		public Object invoke(final Object _proxy, final Method _method, final Object[] _args) throws Throwable {
+			if (_method.getDeclaringClass() == Object.class) {
+				switch (_method.getName()) {
+				case "equals":
+					return _proxy == _args[0];
+				case "hashCode":
+					return System.identityHashCode(_proxy);
+				default:
+					return _method.invoke(target, _args);
+				}
+			}
+			final String name = _method.getName();
+			final String argSql = ((_args != null) && (_args.length > 0) && (_args[0] instanceof String))
+					? (String) _args[0] : null;
+			final boolean execute = name.startsWith("execute");
+
+			final long start = System.nanoTime();
+			final Object result;
+			try {
+				result = _method.invoke(target, _args);
+			} catch (final InvocationTargetException ite) {
+				throw ite.getCause();
+			}
+			final long nanos = System.nanoTime() - start;
+
+			// A ROWSET'S COMMAND IS THE SQL OF ITS EXECUTE
+			final String executedSql = !execute ? null
+					: (argSql != null) ? argSql
+					: (target instanceof RowSet) ? ((RowSet) target).getCommand() : sql;
+			if (enabled) {
+				final String fetchedSql = ("next".equals(name) && Boolean.TRUE.equals(result)) ? sql : null;
+				record(type + "." + name, nanos, executedSql, fetchedSql);
+			}
+
+			if ((result == null) || (result == target) || !isTraced(_method.getReturnType())) {
+				return result;
+			}
+			// STATEMENTS KEEP THEIR PREPARED SQL, RESULT SETS THE SQL THAT PRODUCED THEM
+			final String derivedSql = name.startsWith("prepare") ? argSql
+					: (executedSql != null) ? executedSql : sql;
+			return wrap(_method.getReturnType(), result, derivedSql);
+		}
+	}
+
+	private static volatile boolean enabled = true;
+
+	private static final Stats totals = new Stats(null);
+	private static final ConcurrentMap<String, Stats> screens = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, Stats> components = new ConcurrentHashMap<>();
+
+	/**
+	 * Wrap a connection. Calls through the returned connection, and the
+	 * statements, result sets and metadata it returns, are traced.
+	 *
+	 * @param _connection connection to trace
+	 * @return tracing connection
+	 */
+	public static Connection wrap(final Connection _connection) {
+		SSEdtWatchdog.setTraceActivities(enabled);
+		return (Connection) wrap(Connection.class, _connection, null);
+	}
+
+	/**
+	 * Wrap a rowset. The proxy implements every interface of the rowset,
+	 * for example CachedRowSet, but RowSetEvents still have the original
+	 * rowset as their source, so listeners must be added to the proxy
+	 * only. Prefer wrapping the connection of a JdbcRowSet, which traces
+	 * the calls that reach the database.
+	 *
+	 * @param _rowSet rowset to trace
+	 * @return tracing rowset
+	 */
+	public static RowSet wrap(final RowSet _rowSet) {
+		SSEdtWatchdog.setTraceActivities(enabled);
+		final Set<Class<?>> interfaces = new LinkedHashSet<>();
+		for (Class<?> c = _rowSet.getClass(); c != null; c = c.getSuperclass()) {
+			addPublicInterfaces(c, interfaces);
+		}
+		return (RowSet) Proxy.newProxyInstance(SSJdbcTrace.class.getClassLoader(),
+				interfaces.toArray(new Class<?>[0]), new TraceHandler(_rowSet, "RowSet", null));
+	}
+
+	private static void addPublicInterfaces(final Class<?> _class, final Set<Class<?>> _interfaces) {
+		for (final Class<?> i : _class.getInterfaces()) {
+			if (Modifier.isPublic(i.getModifiers())) {
+				_interfaces.add(i);
+			}
+			addPublicInterfaces(i, _interfaces);
+		}
+	}
+
+	private static boolean isTraced(final Class<?> _type) {
+		return _type.isInterface()
+				&& (_type.getName().startsWith("java.sql.") || _type.getName().startsWith("javax.sql."));
+	}
+
+	private static Object wrap(final Class<?> _interface, final Object _target, final String _sql) {
+		return Proxy.newProxyInstance(SSJdbcTrace.class.getClassLoader(), new Class<?>[] { _interface },
+				new TraceHandler(_target, _interface.getSimpleName(), _sql));
+	}
+
+	private static void record(final String _call, final long _nanos, final String _executedSql,
+			final String _fetchedSql) {
+		final String screen = SSEdtWatchdog.currentScreen();
+		final String component = SSEdtWatchdog.currentComponent();
+		totals.add(_call, _nanos, _executedSql, _fetchedSql);
+		if (screen != null) {
+			screens.computeIfAbsent(screen, Stats::new).add(_call, _nanos, _executedSql, _fetchedSql);
+		}
+		if ((component != null) && !component.equals(screen)) {
+			components.computeIfAbsent(component, Stats::new).add(_call, _nanos, _executedSql, _fetchedSql);
+		}
+		if (_executedSql != null) {
+			SSMetrics.recordNanos(SSMetrics.JDBC_EXECUTE, component, _nanos);
+		}
+	}
+
+	/**
+	 * @return true if calls through wrapped objects are recorded
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Pause or resume recording. Wrapped objects stay wrapped.
+	 *
+	 * @param _enabled true to record calls
+	 */
+	public static void setEnabled(final boolean _enabled) {
+		enabled = _enabled;
+		SSEdtWatchdog.setTraceActivities(_enabled);
+	}
+
+	/**
+	 * @return calls over all screens and components
+	 */
+	public static Stats getTotals() {
+		return totals;
+	}
+
+	/**
+	 * @return calls by screen
+	 */
+	public static Map<String, Stats> getScreens() {
+		return Collections.unmodifiableMap(new TreeMap<>(screens));
+	}
+
+	/**
+	 * @return calls by component
+	 */
+	public static Map<String, Stats> getComponents() {
+		return Collections.unmodifiableMap(new TreeMap<>(components));
+	}
+
+	/**
+	 * Discard all recorded calls.
+	 */
+	public static void reset() {
+		totals.calls.clear();
+		totals.statements.clear();
+		totals.callCount.reset();
+		totals.executeCount.reset();
+		screens.clear();
+		components.clear();
+	}
+
+	/**
+	 * @return the most frequent calls and the slowest SQL, in total, by
+	 *         screen and by component
+	 */
+	public static String report() {
+		final StringBuilder sb = new StringBuilder();
+		totals.appendTo(sb, 20);
+		sb.append(String.format("By screen:%n"));
+		for (final Stats stats : getScreens().values()) {
+			stats.appendTo(sb, 5);
+		}
+		sb.append(String.format("By component:%n"));
+		for (final Stats stats : getComponents().values()) {
+			stats.appendTo(sb, 5);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// SSMetric.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * A counter and latency histogram for one kind of operation, optionally
+ * restricted to one screen or component. Instances are created and
+ * registered by {@link SSMetrics}.
+ * <p>
+ * The histogram has 16 one microsecond buckets followed by 8 buckets
+ * for each power of two, so recording is a few atomic increments and
+ * the memory used does not grow with the number of measurements.
+ *
+ * @since 4.0.0
+ */
+public class SSMetric implements SSMetricMXBean {
+
+	private static final int LINEAR_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int FIRST_EXPONENT = 4;
+	private static final int BUCKETS = LINEAR_BUCKETS + ((63 - FIRST_EXPONENT) * SUB_BUCKETS);
+
+	private final String name;
+	private final String tag;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * @param _name metric name
+	 * @param _tag screen or component, or null
+	 */
+	SSMetric(final String _name, final String _tag) {
+		name = _name;
+		tag = _tag;
+	}
+
+	/**
+	 * @param _micros duration in microseconds
+	 * @return histogram bucket for the duration
+	 */
+	private static int bucketOf(final long _micros) {
+		if (_micros < LINEAR_BUCKETS) {
+			return (int) _micros;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(_micros);
+		final int sub = (int) (_micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + ((exponent - FIRST_EXPONENT) * SUB_BUCKETS) + sub;
+	}
+
+	/**
+	 * @param _bucket histogram bucket
+	 * @return exclusive upper bound of the bucket in microseconds
+	 */
+	private static long bucketLimit(final int _bucket) {
+		if (_bucket < LINEAR_BUCKETS) {
+			return _bucket + 1;
+		}
+		final int exponent = FIRST_EXPONENT + ((_bucket - LINEAR_BUCKETS) / SUB_BUCKETS);
+		final int sub = (_bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Add a measurement.
+	 *
+	 * @param _nanos duration in nanoseconds
+	 */
+	void record(final long _nanos) {
+		final long nanos = Math.max(0, _nanos);
+		count.increment();
+		totalNanos.add(nanos);
+		buckets.incrementAndGet(bucketOf(nanos / 1000));
+		long max = maxNanos.get();
+		while ((nanos > max) && !maxNanos.compareAndSet(max, nanos)) {
+			max = maxNanos.get();
+		}
+	}
+
+	/**
+	 * @param _percentile 0 to 100
+	 * @return upper bound, in milliseconds, of the bucket holding the
+	 *         percentile; never more than the largest measurement
+	 */
+	public double getPercentileMillis(final double _percentile) {
+		final long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil((_percentile / 100.0) * total));
+		long cumulative = 0;
+		int bucket = 0;
+		for (; bucket < (BUCKETS - 1); bucket++) {
+			cumulative += counts[bucket];
+			if (cumulative >= rank) {
+				break;
+			}
+		}
+		return Math.min(bucketLimit(bucket) / 1e3, getMaxMillis());
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getTag() {
+		return tag;
+	}
+
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public double getTotalMillis() {
+		return totalNanos.sum() / 1e6;
+	}
+
+	@Override
+	public double getMeanMillis() {
+		final long n = count.sum();
+		return (n == 0) ? 0 : (totalNanos.sum() / 1e6) / n;
+	}
+
+	@Override
+	public double getMaxMillis() {
+		return maxNanos.get() / 1e6;
+	}
+
+	@Override
+	public double getMedianMillis() {
+		return getPercentileMillis(50);
+	}
+
+	@Override
+	public double get90thPercentileMillis() {
+		return getPercentileMillis(90);
+	}
+
+	@Override
+	public double get99thPercentileMillis() {
+		return getPercentileMillis(99);
+	}
+
+	@Override
+	public void reset() {
+		count.reset();
+		totalNanos.reset();
+		maxNanos.set(0);
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s%s count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms", name,
+				(tag == null) ? "" : ("[" + tag + "]"), getCount(), getMeanMillis(), getMedianMillis(),
+				get90thPercentileMillis(), get99thPercentileMillis(), getMaxMillis());
+	}
+}
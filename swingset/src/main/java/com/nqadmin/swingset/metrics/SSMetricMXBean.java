@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.metrics;
+
+// SSMetricMXBean.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * JMX view of a {@link SSMetric}. Durations are in milliseconds;
+ * percentiles are accurate to about 12%.
+ *
+ * @since 4.0.0
+ */
+public interface SSMetricMXBean {
+
+	/**
+	 * @return metric name
+	 */
+	String getName();
+
+	/**
+	 * @return screen or component the metric is restricted to,
+	 *         or null for all of them
+	 */
+	String getTag();
+
+	/**
+	 * @return number of measurements
+	 */
+	long getCount();
+
+	/**
+	 * @return sum of all measurements
+	 */
+	double getTotalMillis();
+
+	/**
+	 * @return mean measurement
+	 */
+	double getMeanMillis();
+
+	/**
+	 * @return largest measurement
+	 */
+	double getMaxMillis();
+
+	/**
+	 * @return 50th percentile
+	 */
+	double getMedianMillis();
+
+	/**
+	 * @return 90th percentile
+	 */
+	double get90thPercentileMillis();
+
+	/**
+	 * @return 99th percentile
+	 */
+	double get99thPercentileMillis();
+
+	/**
+	 * Discard all measurements.
+	 */
+	void reset();
+}
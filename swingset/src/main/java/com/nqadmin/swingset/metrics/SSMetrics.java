@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSMetrics.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * In-process registry of SwingSet timings. SwingSet components time their
+ * database and refresh work with
+ * <pre>
+ * final long start = SSMetrics.start();
+ * ...
+ * SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, () -&gt; screenTitle);
+ * </pre>
+ * and each measurement is added to the {@link SSMetric} for the name and,
+ * when there is a tag, to the one for the name and tag. The tag names the
+ * screen or component, for example the bound column from
+ * {@code getColumnForLog()}, so slow screens and components can be found
+ * in production.
+ * <p>
+ * Recording is off unless {@link #setEnabled(boolean)} is called or the
+ * system property {@code swingset.metrics} is {@code true}; when off,
+ * {@link #start()} is a field read and nothing is recorded.
+ * {@link #registerMBeans()} publishes every metric to the platform
+ * MBeanServer under {@value #JMX_DOMAIN}, and an
+ * {@link SSMetricsListener} receives each measurement as it is made.
+ *
+ * @since 4.0.0
+ */
+public final class SSMetrics {
+
+	private SSMetrics() {}
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * {@code RowSet.execute()} by navigators, grids and screen helpers.
+	 */
+	public static final String ROWSET_EXECUTE = "RowSetExecute";
+
+	/**
+	 * SSDataNavigator first, previous, next, last and go to row.
+	 */
+	public static final String NAVIGATOR_MOVE = "NavigatorMove";
+
+	/**
+	 * Refresh of a bound component from the rowset,
+	 * {@code SSCommon.updateSSComponent()}.
+	 */
+	public static final String COMPONENT_UPDATE = "ComponentUpdate";
+
+	/**
+	 * SSDBComboBox query.
+	 */
+	public static final String COMBO_QUERY = "ComboQuery";
+
+	/**
+	 * SSDBComboBox list model population from the query results.
+	 */
+	public static final String COMBO_POPULATE = "ComboPopulate";
+
+	/**
+	 * SSTableModel cell read.
+	 */
+	public static final String GRID_CELL_READ = "GridCellRead";
+
+	/**
+	 * Image decode from BLOB/binary column data.
+	 */
+	public static final String BLOB_DECODE = "BlobDecode";
+
+	/**
+	 * Statement executions traced by {@link SSJdbcTrace}.
+	 */
+	public static final String JDBC_EXECUTE = "JdbcExecute";
+
+	/**
+	 * Event dispatch thread stalls found by {@link SSEdtWatchdog}.
+	 */
+	public static final String EDT_STALL = "EdtStall";
+
+	/**
+	 * JMX domain of the metric MBeans.
+	 */
+	public static final String JMX_DOMAIN = "com.nqadmin.swingset";
+
+	private static volatile boolean enabled = Boolean.getBoolean("swingset.metrics");
+
+	private static volatile boolean mbeansRegistered = false;
+
+	private static final ConcurrentMap<String, SSMetric> metrics = new ConcurrentHashMap<>();
+
+	private static final List<SSMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @return true if measurements are recorded
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turn recording on or off. Metrics already recorded are kept.
+	 *
+	 * @param _enabled true to record measurements
+	 */
+	public static void setEnabled(final boolean _enabled) {
+		enabled = _enabled;
+	}
+
+	/**
+	 * Start a measurement.
+	 *
+	 * @return value to pass to {@code record()}, 0 if recording is off
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Finish an untagged measurement.
+	 *
+	 * @param _name metric name
+	 * @param _start value returned by {@link #start()}
+	 */
+	public static void record(final String _name, final long _start) {
+		if (_start != 0L) {
+			recordNanos(_name, null, System.nanoTime() - _start);
+		}
+	}
+
+	/**
+	 * Finish a measurement. The tag is only computed if recording was on
+	 * when the measurement started.
+	 *
+	 * @param _name metric name
+	 * @param _start value returned by {@link #start()}
+	 * @param _tag screen or component the measurement belongs to
+	 */
+	public static void record(final String _name, final long _start, final Supplier<String> _tag) {
+		if (_start != 0L) {
+			final long nanos = System.nanoTime() - _start;
+			recordNanos(_name, _tag.get(), nanos);
+		}
+	}
+
+	/**
+	 * Record a measurement made elsewhere, for example by a watchdog.
+	 *
+	 * @param _name metric name
+	 * @param _tag screen or component the measurement belongs to, may be null
+	 * @param _nanos duration in nanoseconds
+	 */
+	public static void recordNanos(final String _name, final String _tag, final long _nanos) {
+		if (!enabled) {
+			return;
+		}
+		getMetric(_name).record(_nanos);
+		if (_tag != null) {
+			getMetric(_name, _tag).record(_nanos);
+		}
+		for (final SSMetricsListener listener : listeners) {
+			try {
+				listener.metricRecorded(_name, _tag, _nanos);
+			} catch (final RuntimeException re) {
+				logger.error("Metrics listener failed.", re);
+			}
+		}
+	}
+
+	/**
+	 * @param _name metric name
+	 * @return metric over all screens and components, created if needed
+	 */
+	public static SSMetric getMetric(final String _name) {
+		return getMetric(_name, null);
+	}
+
+	/**
+	 * @param _name metric name
+	 * @param _tag screen or component, null for all of them
+	 * @return metric, created if needed
+	 */
+	public static SSMetric getMetric(final String _name, final String _tag) {
+		final String key = (_tag == null) ? _name : (_name + '\u0000' + _tag);
+		SSMetric metric = metrics.get(key);
+		if (metric == null) {
+			metric = metrics.computeIfAbsent(key, _k -> new SSMetric(_name, _tag));
+			if (mbeansRegistered) {
+				registerMBean(metric);
+			}
+		}
+		return metric;
+	}
+
+	/**
+	 * @return snapshot of all metrics
+	 */
+	public static Collection<SSMetric> getMetrics() {
+		return new ArrayList<>(metrics.values());
+	}
+
+	/**
+	 * Discard all measurements. Metrics stay registered.
+	 */
+	public static void reset() {
+		for (final SSMetric metric : metrics.values()) {
+			metric.reset();
+		}
+	}
+
+	/**
+	 * @param _listener listener to receive every measurement
+	 */
+	public static void addMetricsListener(final SSMetricsListener _listener) {
+		listeners.add(_listener);
+	}
+
+	/**
+	 * @param _listener listener to remove
+	 */
+	public static void removeMetricsListener(final SSMetricsListener _listener) {
+		listeners.remove(_listener);
+	}
+
+	/**
+	 * Register every metric, and any created later, with the platform
+	 * MBeanServer.
+	 */
+	public static synchronized void registerMBeans() {
+		mbeansRegistered = true;
+		for (final SSMetric metric : metrics.values()) {
+			registerMBean(metric);
+		}
+	}
+
+	/**
+	 * Remove the metrics from the platform MBeanServer.
+	 */
+	public static synchronized void unregisterMBeans() {
+		mbeansRegistered = false;
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (final SSMetric metric : metrics.values()) {
+			try {
+				final ObjectName objectName = getObjectName(metric);
+				if (server.isRegistered(objectName)) {
+					server.unregisterMBean(objectName);
+				}
+			} catch (final JMException jme) {
+				logger.warn("Unable to unregister metric {}.", metric.getName(), jme);
+			}
+		}
+	}
+
+	private static void registerMBean(final SSMetric _metric) {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			final ObjectName objectName = getObjectName(_metric);
+			if (!server.isRegistered(objectName)) {
+				server.registerMBean(_metric, objectName);
+			}
+		} catch (final JMException jme) {
+			logger.warn("Unable to register metric {}.", _metric.getName(), jme);
+		}
+	}
+
+	private static ObjectName getObjectName(final SSMetric _metric) throws JMException {
+		final StringBuilder sb = new StringBuilder(JMX_DOMAIN).append(":type=Metrics,name=").append(_metric.getName());
+		if (_metric.getTag() != null) {
+			sb.append(",tag=").append(ObjectName.quote(_metric.getTag()));
+		}
+		return new ObjectName(sb.toString());
+	}
+}
@@ -38,6 +38,7 @@
 package com.nqadmin.swingset.models;
 
 import java.awt.Component;
+import java.beans.PropertyChangeListener;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -55,9 +56,11 @@ import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JList;
 import javax.swing.ListCellRenderer;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
 import javax.swing.plaf.basic.BasicComboBoxRenderer;
+import javax.swing.plaf.basic.ComboPopup;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -143,12 +146,12 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger eventLogger = LogManager.getLogger(AbstractComboBoxListSwingModel.class.getName() + ".events");
+	private static final Logger eventLogger = LogManager.getLogger(AbstractComboBoxListSwingModel.class.getName() + ".events");
 
 	/**
 	 * number of objects in the SSListItem
@@ -168,6 +171,12 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 	 */
 	private final List<SSListItem> itemList;
 
+	/**
+	 * When the item list can provide an element without
+	 * materializing an SSListItem, this is the item list; otherwise null.
+	 */
+	private final ElemStore elemStore;
+
 	/**
 	 * A read only list of SSListItem elements.
 	 */
@@ -226,6 +235,7 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 			addEventLogging();
 		}
 		itemList = _itemList != null ? _itemList : new ArrayList<>();
+		elemStore = itemList instanceof ElemStore ? (ElemStore) itemList : null;
 		this.itemNumElems = _itemNumElems;
 		setupNumElems(_itemNumElems);
 	}
@@ -324,6 +334,171 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 		} else {
 			throw new IllegalArgumentException("must be JList or JComboBox");
 		}
+		_model.trackPrototype(_jc);
+	}
+
+	//////////////////////////////////////////////////////////////////////////
+	//
+	// Prototype and fixed cell size
+	//
+	// Without a prototype, JList/JComboBox render every item to find
+	// the preferred size; with a large list that's slow. When the list
+	// gets large, pick a prototype from a sample of the items and
+	// use that for fixed cell sizes; then only visible items are rendered.
+	//
+
+	/** default for {@link #setFixedCellSizeThreshold(int) } */
+	public static final int DEFAULT_FIXED_CELL_SIZE_THRESHOLD = 1000;
+	/** max number of items examined to pick a prototype */
+	private static final int PROTOTYPE_SAMPLE_SIZE = 100;
+
+	private int fixedCellSizeThreshold = DEFAULT_FIXED_CELL_SIZE_THRESHOLD;
+	/** component whose cell sizes are managed, see trackPrototype */
+	private JComponent prototypeComponent;
+	/** true if fixed cell sizes have been set into the component */
+	private boolean prototypeApplied;
+	/** an update of the prototype is queued */
+	private boolean prototypeUpdatePending;
+
+	/**
+	 * When the item list has at least this many items, a prototype
+	 * list item is sampled from the list and the component uses fixed
+	 * cell sizes; the items are not all rendered to find the preferred size.
+	 * A negative value disables fixed cell sizes.
+	 * The default is {@link #DEFAULT_FIXED_CELL_SIZE_THRESHOLD}.
+	 * 
+	 * @param _threshold item list size at which fixed cell sizes are used
+	 */
+	public void setFixedCellSizeThreshold(int _threshold) {
+		fixedCellSizeThreshold = _threshold;
+		schedulePrototypeUpdate();
+	}
+
+	/**
+	 * @return item list size at which fixed cell sizes are used
+	 */
+	public int getFixedCellSizeThreshold() {
+		return fixedCellSizeThreshold;
+	}
+
+	/**
+	 * Pick the list item which produces the longest string
+	 * with {@link #getListItemFormat() }. With a large list only
+	 * a sample, spread evenly across the list, is examined.
+	 * 
+	 * @return a prototype list item, null if the list is empty
+	 */
+	public SSListItem getPrototypeListItem() {
+		try (Remodel remodel = getRemodel()) {
+			int size = itemList.size();
+			if (size == 0) {
+				return null;
+			}
+			SSListItemFormat format = getListItemFormat();
+			int step = Math.max(1, size / PROTOTYPE_SAMPLE_SIZE);
+			SSListItem prototype = null;
+			int prototypeLength = -1;
+			for (int i = 0; i < size; i += step) {
+				SSListItem item = itemList.get(i);
+				int length = format.format(item).length();
+				if (length > prototypeLength) {
+					prototype = item;
+					prototypeLength = length;
+				}
+			}
+			return prototype;
+		}
+	}
+
+	/**
+	 * Manage the cell sizes of the specified component,
+	 * which displays this model, according to
+	 * {@link #setFixedCellSizeThreshold(int) }.
+	 * Invoked by install; a subclass that installs itself differently,
+	 * for example with GlazedLists, should invoke this.
+	 * 
+	 * @param _jc JList or JComboBox that displays this model
+	 */
+	protected void trackPrototype(JComponent _jc) {
+		Objects.requireNonNull(_jc);
+		if (prototypeComponent != null) {
+			throw new IllegalStateException("prototype already tracked");
+		}
+		prototypeComponent = _jc;
+		addListDataListener(new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				schedulePrototypeUpdate();
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				schedulePrototypeUpdate();
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				// -1 is a combo box selection change
+				if (e.getIndex0() >= 0) {
+					schedulePrototypeUpdate();
+				}
+			}
+		});
+		// a new UI means a new combo popup list
+		PropertyChangeListener uiListener = (evt) -> schedulePrototypeUpdate();
+		_jc.addPropertyChangeListener("UI", uiListener);
+		schedulePrototypeUpdate();
+	}
+
+	/**
+	 * Coalesce list changes into a single prototype update,
+	 * done on the event dispatch thread.
+	 */
+	private void schedulePrototypeUpdate() {
+		if (prototypeComponent == null || prototypeUpdatePending) {
+			return;
+		}
+		prototypeUpdatePending = true;
+		SwingUtilities.invokeLater(() -> {
+			prototypeUpdatePending = false;
+			updatePrototype();
+		});
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void updatePrototype() {
+		SSListItem prototype = fixedCellSizeThreshold >= 0
+				&& getItemList().size() >= fixedCellSizeThreshold
+				? getPrototypeListItem() : null;
+		if (prototype == null && !prototypeApplied) {
+			// Leave alone whatever may have been set up by the application.
+			return;
+		}
+		logger.debug(() -> "prototype: " + prototype);
+
+		if (prototypeComponent instanceof JList) {
+			setupFixedCellSize((JList) prototypeComponent, prototype);
+		} else if (prototypeComponent instanceof JComboBox) {
+			JComboBox comboBox = (JComboBox) prototypeComponent;
+			comboBox.setPrototypeDisplayValue(prototype);
+			Object popup = comboBox.getUI().getAccessibleChild(comboBox, 0);
+			if (popup instanceof ComboPopup) {
+				setupFixedCellSize(((ComboPopup) popup).getList(), prototype);
+			}
+		}
+		prototypeApplied = prototype != null;
+	}
+
+	private static void setupFixedCellSize(JList<?> _list, SSListItem _prototype) {
+		if (_prototype != null) {
+			// This sets the fixed cell width/height
+			@SuppressWarnings("unchecked")
+			JList<Object> list = (JList<Object>) _list;
+			list.setPrototypeCellValue(_prototype);
+		} else {
+			_list.setFixedCellWidth(-1);
+			_list.setFixedCellHeight(-1);
+		}
 	}
 
 	private SSListItemFormat listItemFormat;
@@ -557,7 +732,8 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 
 	private void comboAdjustSelectedForRemove(int _index) {
 		if (comboBoxModel) {
-			if ( getElementAt( _index ) == selectedObject ) {
+			// ITEMS MAY BE FLYWEIGHTS, SEE CompactOptionMappingItemList
+			if ( Objects.equals( getElementAt( _index ), selectedObject ) ) {
 				if ( _index == 0 ) {
 					setSelectedItem( getSize() == 1 ? null : getElementAt( _index + 1 ) );
 				}
@@ -745,6 +921,9 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 	 * @return the element extracted from the list item.
 	 */
 	private Object getElem(int _listItemIndex, int _elemIndex) {
+		if (elemStore != null) {
+			return elemStore.getElem(_listItemIndex, _elemIndex);
+		}
 		return getElem(itemList.get(_listItemIndex), _elemIndex);
 	}
 
@@ -1304,7 +1483,7 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 		Object clone() throws CloneNotSupportedException;
 	}
 
-	private interface ListItemWrite0 extends ListItem0, Cloneable {
+	/*package*/ interface ListItemWrite0 extends ListItem0, Cloneable {
 		/**
 		 * Put an object into the SSListItem.
 		 * @param index which item to set
@@ -1313,6 +1492,22 @@ public abstract class AbstractComboBoxListSwingModel extends DefaultComboBoxMode
 		void setElem(int index, Object object);
 	}
 
+	/**
+	 * An item list that implements this can extract an element
+	 * of a list item without creating the SSListItem; slices, for
+	 * example {@code getMappings()}, use this when available.
+	 */
+	/*package*/ interface ElemStore {
+		/**
+		 * From the list item at the specified list item index,
+		 * get the element at the specified element position.
+		 * @param _listItemIndex index of the list item
+		 * @param _elemIndex which element to extract
+		 * @return the element extracted from the list item.
+		 */
+		Object getElem(int _listItemIndex, int _elemIndex);
+	}
+
 	//
 	// DO NOT LOOK BELOW THIS LINE
 	//
@@ -0,0 +1,573 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static com.nqadmin.swingset.models.OptionMappingSwingModel.KEY_IDX;
+import static com.nqadmin.swingset.models.OptionMappingSwingModel.OPT2_IDX;
+import static com.nqadmin.swingset.models.OptionMappingSwingModel.OPT_IDX;
+
+// CompactOptionMappingItemList.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * An item list, for use with {@link OptionMappingSwingModel}, whose
+ * mappings are {@code Long} and whose options are {@code String}.
+ * The mappings are kept in a {@code long[]} and the options are kept
+ * in a packed character table; no SSListItem is kept in the list.
+ * An SSListItem returned by {@link #get(int)} is a flyweight
+ * created on demand; it is a snapshot of the list item
+ * at that position.
+ * <p>
+ * Since the returned SSListItem are created on demand, two calls
+ * to {@code get(index)} return equal, but not identical, list items.
+ * {@link #indexOf(java.lang.Object)} compares the elements of any
+ * list item, whatever its class.
+ * <p>
+ * A null mapping is supported, typically that is the "nullItem" of
+ * a combo box. Option2 is kept as an Object.
+ * <p>
+ * This list is not an EventList, it can not be used with GlazedLists.
+ * Usually this is used through {@link CompactOptionMappingSwingModel}.
+ * 
+ * @since 4.0.0
+ */
+//
+// Each row has (mapping, optionStart, optionLength); optionLength of -1
+// is a null option. Option chars are appended to "chars"; when a row is
+// removed or set, the chars of the previous option become garbage and
+// the table is compacted when there's more garbage than live chars.
+//
+public class CompactOptionMappingItemList extends AbstractList<SSListItem>
+		implements RandomAccess, AbstractComboBoxListSwingModel.ElemStore {
+
+	private static final int INITIAL_ROWS = 16;
+	private static final int INITIAL_CHARS = 256;
+	/** don't bother to compact the char table when there is less garbage */
+	private static final int MIN_GARBAGE = 4096;
+
+	private boolean option2Enabled;
+
+	private int size;
+	private long[] mappings = new long[INITIAL_ROWS];
+	/** lazily allocated; rows with a null mapping */
+	private boolean[] nullMappings;
+	private int[] optionStarts = new int[INITIAL_ROWS];
+	private int[] optionLengths = new int[INITIAL_ROWS];
+	/** lazily allocated when option2 is enabled */
+	private Object[] options2;
+
+	private char[] chars = new char[INITIAL_CHARS];
+	private int charsUsed;
+	private int charsGarbage;
+
+	/**
+	 * Create an empty item list.
+	 * @param _option2Enabled true if list items contain option2
+	 */
+	public CompactOptionMappingItemList(boolean _option2Enabled) {
+		option2Enabled = _option2Enabled;
+	}
+
+	/**
+	 * Change whether list items contain option2;
+	 * the list must be empty.
+	 * @param _option2Enabled true if list items contain option2
+	 */
+	public void setOption2Enabled(boolean _option2Enabled) {
+		if (size != 0) {
+			throw new IllegalStateException("Only change option2enabled when empty");
+		}
+		option2Enabled = _option2Enabled;
+		options2 = null;
+	}
+
+	/**
+	 * @return true if a list item contains option2
+	 */
+	public boolean isOption2Enabled() {
+		return option2Enabled;
+	}
+
+	//////////////////////////////////////////////////////////////////////////
+	//
+	// List
+	//
+
+	/** {@inheritDoc} */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Create a flyweight list item for the specified position.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SSListItem get(int _index) {
+		checkIndex(_index);
+		return new Item(getMapping(_index), getOption(_index),
+				option2Enabled ? getOption2(_index) : null, option2Enabled);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public SSListItem set(int _index, SSListItem _listItem) {
+		checkIndex(_index);
+		SSListItem oldItem = get(_index);
+		store(_index, (AbstractComboBoxListSwingModel.ListItem0) _listItem);
+		return oldItem;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void add(int _index, SSListItem _listItem) {
+		if (_index < 0 || _index > size) {
+			throw new IndexOutOfBoundsException("Index: " + _index + ", Size: " + size);
+		}
+		AbstractComboBoxListSwingModel.ListItem0 listItem = (AbstractComboBoxListSwingModel.ListItem0) _listItem;
+		ensureCapacity(size + 1);
+		if (_index < size) {
+			moveRows(_index, _index + 1, size - _index);
+		}
+		size++;
+		optionLengths[_index] = -1;
+		store(_index, listItem);
+		modCount++;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean addAll(Collection<? extends SSListItem> _listItems) {
+		ensureCapacity(size + _listItems.size());
+		return super.addAll(_listItems);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public SSListItem remove(int _index) {
+		checkIndex(_index);
+		SSListItem oldItem = get(_index);
+		if (optionLengths[_index] > 0) {
+			charsGarbage += optionLengths[_index];
+		}
+		int nMove = size - _index - 1;
+		if (nMove > 0) {
+			moveRows(_index + 1, _index, nMove);
+		}
+		size--;
+		if (options2 != null) {
+			options2[size] = null;
+		}
+		modCount++;
+		maybeCompact();
+		return oldItem;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clear() {
+		if (options2 != null) {
+			Arrays.fill(options2, 0, size, null);
+		}
+		nullMappings = null;
+		size = 0;
+		charsUsed = 0;
+		charsGarbage = 0;
+		modCount++;
+	}
+
+	/**
+	 * Find the specified list item by comparing its elements;
+	 * the list item may be of any class.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int indexOf(Object _listItem) {
+		if (!(_listItem instanceof AbstractComboBoxListSwingModel.ListItem0)) {
+			return -1;
+		}
+		AbstractComboBoxListSwingModel.ListItem0 listItem = (AbstractComboBoxListSwingModel.ListItem0) _listItem;
+		Object mapping = listItem.getElem(KEY_IDX);
+		Object option = listItem.getElem(OPT_IDX);
+		Object option2 = option2Enabled ? listItem.getElem(OPT2_IDX) : null;
+		if (mapping != null && !(mapping instanceof Long)
+				|| option != null && !(option instanceof String)) {
+			return -1;
+		}
+		for (int i = 0; i < size; i++) {
+			if (mappingEquals(i, (Long) mapping)
+					&& optionEquals(i, (String) option)
+					&& (!option2Enabled || Objects.equals(options2[i], option2))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean contains(Object _listItem) {
+		return indexOf(_listItem) >= 0;
+	}
+
+	//////////////////////////////////////////////////////////////////////////
+	//
+	// Element access without creating an SSListItem
+	//
+
+	/** {@inheritDoc} */
+	@Override
+	public Object getElem(int _listItemIndex, int _elemIndex) {
+		checkIndex(_listItemIndex);
+		switch (_elemIndex) {
+		case KEY_IDX:
+			return getMapping(_listItemIndex);
+		case OPT_IDX:
+			return getOption(_listItemIndex);
+		case OPT2_IDX:
+			if (option2Enabled) {
+				return getOption2(_listItemIndex);
+			}
+			break;
+		default:
+			break;
+		}
+		throw new ArrayIndexOutOfBoundsException(
+				"No element " + _elemIndex + " in this ListItem");
+	}
+
+	/**
+	 * Find the first list item with the specified mapping;
+	 * no objects are created.
+	 * @param _mapping mapping to look for
+	 * @return index of the list item or -1 if not found
+	 */
+	public int indexOfMapping(long _mapping) {
+		for (int i = 0; i < size; i++) {
+			if (mappings[i] == _mapping && !isNullMapping(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the mapping of the specified list item as a primitive.
+	 * @param _index list item index
+	 * @return the mapping, 0 if the mapping is null
+	 */
+	public long getMappingAsLong(int _index) {
+		checkIndex(_index);
+		return mappings[_index];
+	}
+
+	/**
+	 * Discard unused storage; useful after the list is fully loaded.
+	 */
+	public void trimToSize() {
+		compact();
+		chars = Arrays.copyOf(chars, charsUsed);
+		mappings = Arrays.copyOf(mappings, size);
+		optionStarts = Arrays.copyOf(optionStarts, size);
+		optionLengths = Arrays.copyOf(optionLengths, size);
+		if (nullMappings != null) {
+			nullMappings = Arrays.copyOf(nullMappings, size);
+		}
+		if (options2 != null) {
+			options2 = Arrays.copyOf(options2, size);
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////
+	//
+	// Internals
+	//
+
+	private void checkIndex(int _index) {
+		if (_index < 0 || _index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + _index + ", Size: " + size);
+		}
+	}
+
+	private boolean isNullMapping(int _index) {
+		return nullMappings != null && nullMappings[_index];
+	}
+
+	private Long getMapping(int _index) {
+		return isNullMapping(_index) ? null : mappings[_index];
+	}
+
+	private String getOption(int _index) {
+		int len = optionLengths[_index];
+		return len < 0 ? null : new String(chars, optionStarts[_index], len);
+	}
+
+	private Object getOption2(int _index) {
+		return options2 == null ? null : options2[_index];
+	}
+
+	private boolean mappingEquals(int _index, Long _mapping) {
+		if (_mapping == null) {
+			return isNullMapping(_index);
+		}
+		return mappings[_index] == _mapping && !isNullMapping(_index);
+	}
+
+	private boolean optionEquals(int _index, String _option) {
+		int len = optionLengths[_index];
+		if (_option == null) {
+			return len < 0;
+		}
+		if (len != _option.length()) {
+			return false;
+		}
+		int start = optionStarts[_index];
+		for (int i = 0; i < len; i++) {
+			if (chars[start + i] != _option.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Put the elements of the list item into the row at the specified index.
+	 * The previous option of the row, if any, becomes garbage.
+	 */
+	private void store(int _index, AbstractComboBoxListSwingModel.ListItem0 _listItem) {
+		Object mapping = _listItem.getElem(KEY_IDX);
+		Object option = _listItem.getElem(OPT_IDX);
+		if (mapping != null && !(mapping instanceof Long)) {
+			throw new IllegalArgumentException("mapping must be a Long, not " + mapping.getClass());
+		}
+		if (option != null && !(option instanceof String)) {
+			throw new IllegalArgumentException("option must be a String, not " + option.getClass());
+		}
+
+		if (mapping == null) {
+			if (nullMappings == null) {
+				nullMappings = new boolean[mappings.length];
+			}
+			nullMappings[_index] = true;
+			mappings[_index] = 0;
+		} else {
+			if (nullMappings != null) {
+				nullMappings[_index] = false;
+			}
+			mappings[_index] = (Long) mapping;
+		}
+
+		if (optionLengths[_index] > 0) {
+			charsGarbage += optionLengths[_index];
+		}
+		// the row has no option while the char table might be compacted
+		optionStarts[_index] = 0;
+		optionLengths[_index] = -1;
+		if (option != null) {
+			String s = (String) option;
+			int len = s.length();
+			ensureCharCapacity(len);
+			s.getChars(0, len, chars, charsUsed);
+			optionStarts[_index] = charsUsed;
+			optionLengths[_index] = len;
+			charsUsed += len;
+		}
+
+		if (option2Enabled) {
+			if (options2 == null) {
+				options2 = new Object[mappings.length];
+			}
+			options2[_index] = _listItem.getElem(OPT2_IDX);
+		}
+	}
+
+	private void moveRows(int _from, int _to, int _count) {
+		System.arraycopy(mappings, _from, mappings, _to, _count);
+		System.arraycopy(optionStarts, _from, optionStarts, _to, _count);
+		System.arraycopy(optionLengths, _from, optionLengths, _to, _count);
+		if (nullMappings != null) {
+			System.arraycopy(nullMappings, _from, nullMappings, _to, _count);
+		}
+		if (options2 != null) {
+			System.arraycopy(options2, _from, options2, _to, _count);
+		}
+	}
+
+	private void ensureCapacity(int _rows) {
+		if (_rows <= mappings.length) {
+			return;
+		}
+		int newLength = Math.max(_rows, mappings.length + (mappings.length >> 1));
+		mappings = Arrays.copyOf(mappings, newLength);
+		optionStarts = Arrays.copyOf(optionStarts, newLength);
+		optionLengths = Arrays.copyOf(optionLengths, newLength);
+		if (nullMappings != null) {
+			nullMappings = Arrays.copyOf(nullMappings, newLength);
+		}
+		if (options2 != null) {
+			options2 = Arrays.copyOf(options2, newLength);
+		}
+	}
+
+	private void ensureCharCapacity(int _nNewChars) {
+		if (charsUsed + _nNewChars <= chars.length) {
+			return;
+		}
+		compact();
+		if (charsUsed + _nNewChars <= chars.length) {
+			return;
+		}
+		chars = Arrays.copyOf(chars, Math.max(charsUsed + _nNewChars,
+				chars.length + (chars.length >> 1)));
+	}
+
+	private void maybeCompact() {
+		if (charsGarbage >= MIN_GARBAGE && charsGarbage > charsUsed - charsGarbage) {
+			compact();
+		}
+	}
+
+	/** Squeeze the garbage out of the char table. */
+	private void compact() {
+		if (charsGarbage == 0) {
+			return;
+		}
+		int live = charsUsed - charsGarbage;
+		char[] newChars = new char[Math.max(INITIAL_CHARS, live + (live >> 1))];
+		int used = 0;
+		for (int i = 0; i < size; i++) {
+			int len = optionLengths[i];
+			if (len > 0) {
+				System.arraycopy(chars, optionStarts[i], newChars, used, len);
+				optionStarts[i] = used;
+				used += len;
+			}
+		}
+		chars = newChars;
+		charsUsed = used;
+		charsGarbage = 0;
+	}
+
+	/**
+	 * A flyweight SSListItem; a snapshot of a row of the item list.
+	 * Its {@code clone} is used to modify an element, which is
+	 * then stored into the list with {@code set}.
+	 */
+	private static class Item implements AbstractComboBoxListSwingModel.ListItemWrite0 {
+		private Long mapping;
+		private String option;
+		private Object option2;
+		private final boolean hasOption2;
+
+		Item(Long _mapping, String _option, Object _option2, boolean _hasOption2) {
+			mapping = _mapping;
+			option = _option;
+			option2 = _option2;
+			hasOption2 = _hasOption2;
+		}
+
+		private void checkIndex(int index) {
+			if (index < 0 || index > (hasOption2 ? 2 : 1)) {
+				throw new ArrayIndexOutOfBoundsException(
+						"No element " + index + " in this ListItem");
+			}
+		}
+
+		@Override
+		public Object getElem(int index) {
+			checkIndex(index);
+			return index == KEY_IDX ? mapping : index == OPT_IDX ? option : option2;
+		}
+
+		@Override
+		public void setElem(int index, Object object) {
+			checkIndex(index);
+			switch (index) {
+			case KEY_IDX: mapping = (Long) object; break;
+			case OPT_IDX: option = (String) object; break;
+			default:      option2 = object; break;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return hasOption2 ? "{" + option + "," + mapping + "," + option2 + '}'
+					: "{" + option + "," + mapping + '}';
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = 3;
+			hash = 47 * hash + Objects.hashCode(this.option);
+			hash = 47 * hash + Objects.hashCode(this.mapping);
+			hash = 47 * hash + Objects.hashCode(this.option2);
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			final Item other = (Item) obj;
+			return hasOption2 == other.hasOption2
+					&& Objects.equals(this.mapping, other.mapping)
+					&& Objects.equals(this.option, other.option)
+					&& Objects.equals(this.option2, other.option2);
+		}
+
+		@Override
+		public Object clone() throws CloneNotSupportedException {
+			return super.clone();
+		}
+	}
+}
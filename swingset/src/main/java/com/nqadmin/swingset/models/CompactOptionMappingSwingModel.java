@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.models;
+
+// CompactOptionMappingSwingModel.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * An OptionMappingSwingModel, with {@code Long} mappings and
+ * {@code String} options, whose item list is a
+ * {@link CompactOptionMappingItemList}. Use this for large
+ * option lists; an item costs roughly a {@code long}, two {@code int}
+ * and the option's characters, rather than several objects.
+ * <p>
+ * The SSListItem from this model are flyweights
+ * created on demand; compare them with {@code equals}, not {@code ==}.
+ * 
+ * @param <O2>  option2 type; if present, supplementary display string
+ * 
+ * @see CompactOptionMappingItemList
+ * @since 4.0.0
+ */
+public class CompactOptionMappingSwingModel<O2> extends OptionMappingSwingModel<Long, String, O2> {
+	private static final long serialVersionUID = 1L;
+
+	/** the item list, also held by super */
+	private final CompactOptionMappingItemList compactItemList;
+
+	/**
+	 * Create an empty CompactOptionMappingSwingModel.
+	 * 
+	 * @param _option2Enabled true says to provide an options2 field in SSListItem
+	 */
+	public CompactOptionMappingSwingModel(boolean _option2Enabled) {
+		this(_option2Enabled, new CompactOptionMappingItemList(_option2Enabled));
+	}
+
+	private CompactOptionMappingSwingModel(boolean _option2Enabled,
+			CompactOptionMappingItemList _itemList) {
+		super(_option2Enabled, _itemList);
+		compactItemList = _itemList;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setOption2Enabled(boolean _option2Enabled) {
+		super.setOption2Enabled(_option2Enabled);
+		compactItemList.setOption2Enabled(_option2Enabled);
+	}
+
+	/**
+	 * Find the first list item with the specified mapping;
+	 * the search does not create any objects.
+	 * 
+	 * @param _mapping mapping to look for
+	 * @return index of the list item or -1 if not found
+	 */
+	public int indexOfMapping(long _mapping) {
+		try (Remodel remodel = getRemodel()) {
+			return compactItemList.indexOfMapping(_mapping);
+		}
+	}
+
+	/**
+	 * Discard unused storage; useful after the model is fully loaded.
+	 */
+	public void trimToSize() {
+		try (Remodel remodel = getRemodel()) {
+			compactItemList.trimToSize();
+		}
+	}
+}
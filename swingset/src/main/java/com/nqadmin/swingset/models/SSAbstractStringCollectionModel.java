@@ -48,6 +48,7 @@ import java.util.List;
 import javax.sql.RowSet;
 
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 // SSAbstractStringCollectionModel.java
 //
@@ -96,7 +97,7 @@ public abstract class SSAbstractStringCollectionModel extends SSAbstractCollecti
 	/**
 	 * Log4j Logger for component
 	 */
-	//private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/** {@inheritDoc} */
 	@Override
@@ -130,7 +131,7 @@ public abstract class SSAbstractStringCollectionModel extends SSAbstractCollecti
 			return null;
 		}
 		
-		LogManager.getLogger().debug("SSList.toObjArray() contents: " + _dbstring);
+		logger.debug("SSList.toObjArray() contents: {}", _dbstring);
 		List<Object> data = new ArrayList<>();
 		List<String> dbSplit= Arrays.asList(_dbstring.split(separator));
 		try {
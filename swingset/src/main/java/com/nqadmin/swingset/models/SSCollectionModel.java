@@ -39,6 +39,7 @@ package com.nqadmin.swingset.models;
 
 import java.sql.JDBCType;
 import java.sql.SQLException;
+import java.util.Arrays;
 import javax.sql.RowSet;
 
 // SSCollectionModel.java
@@ -77,4 +78,18 @@ public interface SSCollectionModel {
 	 * @throws SQLException if a database related error occurs
 	 */
 	void writeData(RowSet rowSet, String columnName, Object[] data) throws SQLException;
+
+	/**
+	 * Determine if writing data2 would store the same thing as data1,
+	 * in which case the write can be skipped.
+	 * By default the arrays must be equal, element by element.
+	 * Either argument may be null, they are the same only if both are null.
+	 *
+	 * @param data1 data, typically as read from the database
+	 * @param data2 data, typically about to be written
+	 * @return true if the database would be unchanged
+	 */
+	default boolean isSameData(Object[] data1, Object[] data2) {
+		return Arrays.equals(data1, data2);
+	}
 }
@@ -76,12 +76,13 @@ public class SSDbArrayModel extends SSAbstractCollectionModel {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/** {@inheritDoc } */
 	@Override
 	public Object[] readData(final RowSet _rowSet, final String _columnName) throws SQLException {
-		return toObjList(getJDBCType(), _rowSet.getArray(_columnName)).toArray();
+		List<Object> data = toObjList(getJDBCType(), _rowSet.getArray(_columnName));
+		return data == null ? null : data.toArray();
 	}
 
 	/** {@inheritDoc } */
@@ -104,7 +105,7 @@ public class SSDbArrayModel extends SSAbstractCollectionModel {
 			return null;
 		}
 		
-		logger.debug("SSList.toObjArray() contents: " + _array);
+		logger.debug("SSList.toObjArray() contents: {}", _array);
 		
 		Object dbArray = _array.getArray();
 		
@@ -142,7 +143,7 @@ public class SSDbArrayModel extends SSAbstractCollectionModel {
 						}
 						break;
 					default:
-						logger.error("DataType: " + _array.getBaseTypeName() + " not supported and unable to convert to generic object.");
+						logger.error("DataType: {} not supported and unable to convert to generic object.", _array.getBaseTypeName());
 						throw new SQLDataException("Unknown primitive array type");
 				}
 			}
@@ -38,6 +38,8 @@
 package com.nqadmin.swingset.models;
 
 import java.sql.JDBCType;
+import java.util.Arrays;
+import java.util.HashSet;
 
 // SSMysqlSetModel.java
 //
@@ -72,4 +74,16 @@ public class SSMysqlSetModel extends SSAbstractStringCollectionModel {
 	public SSMysqlSetModel(JDBCType _jdbcType) {
 		super(_jdbcType, COMMA_SEP, "COMMA(,)");
 	}
+
+	/**
+	 * The order of elements in a SET does not matter.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSameData(Object[] _data1, Object[] _data2) {
+		if (_data1 == null || _data2 == null) {
+			return _data1 == _data2;
+		}
+		return new HashSet<>(Arrays.asList(_data1)).equals(new HashSet<>(Arrays.asList(_data2)));
+	}
 }
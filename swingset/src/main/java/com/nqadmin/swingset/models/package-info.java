@@ -64,6 +64,8 @@
  * and MutableComboBoxModel; they can be installed into either.
  * {@link com.nqadmin.swingset.models.GlazedListsOptionMappingInfo}
  * works with {@code GlazedLists} auto completion.
+ * {@link com.nqadmin.swingset.models.CompactOptionMappingSwingModel}
+ * keeps large option lists in primitive storage.
  * 
  * @since 4.0.0
  */
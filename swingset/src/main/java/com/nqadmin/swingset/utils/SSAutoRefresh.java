@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.awt.Component;
+import java.awt.Window;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowListener;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+import javax.sql.RowSet;
+import javax.swing.SwingUtilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.nqadmin.swingset.SSDataGrid;
+import com.nqadmin.swingset.SSDataNavigator;
+import com.nqadmin.swingset.datasources.RowSetOps;
+
+// SSAutoRefresh.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Polls a cheap change indicator query on a background thread and refreshes
+ * a screen on the event dispatch thread only when the indicator changes.
+ * <p>
+ * The change query returns a single row, for example
+ * {@code SELECT MAX(updated_at), COUNT(*) FROM part_data}
+ * or a row version; a refresh is triggered when any of its column values
+ * differ from the previous poll. The first poll only records the values.
+ * <p>
+ * While the component is not showing or its window is not active, the
+ * polling interval doubles after each poll, up to the maximum interval.
+ * <p>
+ * The query runs off the EDT so it needs its own connection: a DataSource,
+ * typically a pool, or a Connection dedicated to polling. It must not be
+ * the connection used by the screen's RowSet.
+ * <p>
+ * For an {@link SSDataGrid}, use {@link SSDataGrid#setDiffRequery(boolean)}
+ * so a refresh only updates the rows that changed.
+ * 
+ * @since 4.0.0
+ */
+public class SSAutoRefresh {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Default maximum polling interval in milliseconds when inactive.
+	 */
+	public static final int DEFAULT_MAX_INTERVAL = 300_000;
+
+	private final DataSource dataSource;
+	private final Connection connection;
+	private final String changeQuery;
+	private final BooleanSupplier refresher;
+	private final int interval;
+	private Component component = null;
+	private int maxInterval = DEFAULT_MAX_INTERVAL;
+
+	private ScheduledExecutorService scheduler = null;
+	private int delay;
+	private volatile Object[] lastValues = null;
+	private volatile boolean refreshPending = false;
+
+	/**
+	 * Whether the component is showing in the active window, kept up to date
+	 * on the EDT by the listeners below and read by the polling thread.
+	 */
+	private volatile boolean active = true;
+	private Window window = null;
+	private final HierarchyListener hierarchyListener = _event -> updateActive();
+	private final WindowListener windowListener = new WindowAdapter() {
+		@Override
+		public void windowActivated(final WindowEvent _event) {
+			updateActive();
+		}
+
+		@Override
+		public void windowDeactivated(final WindowEvent _event) {
+			updateActive();
+		}
+	};
+
+	/**
+	 * Create an auto refresh that gets a connection from a DataSource
+	 * for each poll.
+	 * 
+	 * @param _dataSource source of connections for the change query
+	 * @param _changeQuery single row query whose values change when the data changes
+	 * @param _interval polling interval in milliseconds
+	 * @param _refresher refreshes the screen, run on the EDT; returns false
+	 *		if the refresh must be postponed, for example while editing
+	 */
+	public SSAutoRefresh(final DataSource _dataSource, final String _changeQuery, final int _interval,
+			final BooleanSupplier _refresher) {
+		this(_dataSource, null, _changeQuery, _interval, _refresher);
+	}
+
+	/**
+	 * Create an auto refresh with a connection dedicated to polling.
+	 * 
+	 * @param _connection connection for the change query
+	 * @param _changeQuery single row query whose values change when the data changes
+	 * @param _interval polling interval in milliseconds
+	 * @param _refresher refreshes the screen, run on the EDT; returns false
+	 *		if the refresh must be postponed, for example while editing
+	 */
+	public SSAutoRefresh(final Connection _connection, final String _changeQuery, final int _interval,
+			final BooleanSupplier _refresher) {
+		this(null, _connection, _changeQuery, _interval, _refresher);
+	}
+
+	private SSAutoRefresh(final DataSource _dataSource, final Connection _connection, final String _changeQuery,
+			final int _interval, final BooleanSupplier _refresher) {
+		dataSource = _dataSource;
+		connection = _connection;
+		changeQuery = _changeQuery;
+		interval = Math.max(1, _interval);
+		refresher = _refresher;
+	}
+
+	/**
+	 * Create an auto refresh that requeries an SSDataGrid's RowSet.
+	 * A refresh is postponed while a cell is being edited.
+	 * 
+	 * @param _dataGrid the data grid
+	 * @param _dataSource source of connections for the change query
+	 * @param _changeQuery single row query whose values change when the data changes
+	 * @param _interval polling interval in milliseconds
+	 * @return the auto refresh, not started
+	 */
+	public static SSAutoRefresh forDataGrid(final SSDataGrid _dataGrid, final DataSource _dataSource,
+			final String _changeQuery, final int _interval) {
+		final SSAutoRefresh autoRefresh = new SSAutoRefresh(_dataSource, _changeQuery, _interval, () -> {
+			if (_dataGrid.isEditing()) {
+				return false;
+			}
+			_dataGrid.setRowSet(_dataGrid.getRowSet());
+			return true;
+		});
+		autoRefresh.setComponent(_dataGrid);
+		return autoRefresh;
+	}
+
+	/**
+	 * Create an auto refresh that clicks an SSDataNavigator's refresh button.
+	 * A refresh is postponed while inserting or while the current row has
+	 * unsaved changes. After the refresh the navigator returns to the record
+	 * it was on, found by its key column; if that record is gone it moves to
+	 * the first row.
+	 * 
+	 * @param _dataNavigator the data navigator
+	 * @param _dataSource source of connections for the change query
+	 * @param _changeQuery single row query whose values change when the data changes
+	 * @param _interval polling interval in milliseconds
+	 * @param _keyColumn name of the primary key column of the navigator's RowSet
+	 * @return the auto refresh, not started
+	 */
+	public static SSAutoRefresh forDataNavigator(final SSDataNavigator _dataNavigator, final DataSource _dataSource,
+			final String _changeQuery, final int _interval, final String _keyColumn) {
+		final SSAutoRefresh autoRefresh = new SSAutoRefresh(_dataSource, _changeQuery, _interval, () -> {
+			final RowSet rowSet = _dataNavigator.getRowSet();
+			if ((rowSet == null) || SSDataNavigator.isInserting(rowSet) || SSDataNavigator.isModified(rowSet)) {
+				return false;
+			}
+			try {
+				final int previousRow = rowSet.getRow();
+				final Object key = (previousRow > 0) ? rowSet.getObject(_keyColumn) : null;
+				_dataNavigator.doRefreshButtonClick();
+				if (key != null) {
+					moveToKey(rowSet, _keyColumn, key, previousRow);
+				}
+			} catch (final SQLException se) {
+				logger.error("SQL Exception returning to the current record after refresh.", se);
+			}
+			return true;
+		});
+		autoRefresh.setComponent(_dataNavigator);
+		return autoRefresh;
+	}
+
+	/**
+	 * Move to the row whose key column equals the key. The previous row
+	 * number is tried first since the record usually has not moved.
+	 */
+	private static void moveToKey(final RowSet _rowSet, final String _keyColumn, final Object _key,
+			final int _previousRow) throws SQLException {
+		if (_rowSet.absolute(_previousRow) && Objects.equals(_key, _rowSet.getObject(_keyColumn))) {
+			return;
+		}
+		final List<Object> keys = RowSetOps.getColumnValues(_rowSet, RowSetOps.getColumnIndex(_rowSet, _keyColumn));
+		final int index = keys.indexOf(_key);
+		if ((index >= 0) && _rowSet.absolute(index + 1) && Objects.equals(_key, _rowSet.getObject(_keyColumn))) {
+			return;
+		}
+		logger.debug("Record [{}] not found after refresh.", _key);
+		_rowSet.first();
+	}
+
+	/**
+	 * Set the component whose visibility and window activity determine
+	 * whether polling backs off.
+	 * 
+	 * @param _component the component, if null polling never backs off
+	 */
+	public void setComponent(final Component _component) {
+		if (component != null) {
+			component.removeHierarchyListener(hierarchyListener);
+		}
+		component = _component;
+		if (component != null) {
+			component.addHierarchyListener(hierarchyListener);
+		}
+		if (SwingUtilities.isEventDispatchThread()) {
+			updateActive();
+		} else {
+			SwingUtilities.invokeLater(this::updateActive);
+		}
+	}
+
+	/**
+	 * @param _maxInterval maximum polling interval in milliseconds when
+	 *		the component is inactive
+	 */
+	public void setMaxInterval(final int _maxInterval) {
+		maxInterval = _maxInterval;
+	}
+
+	/**
+	 * @return true if polling
+	 */
+	public synchronized boolean isRunning() {
+		return scheduler != null;
+	}
+
+	/**
+	 * Start polling.
+	 */
+	public synchronized void start() {
+		if (scheduler != null) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "SSAutoRefresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+		lastValues = null;
+		delay = interval;
+		scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stop polling.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Run the change query, request a refresh if its values changed, and
+	 * schedule the next poll.
+	 */
+	private void poll() {
+		try {
+			final Object[] values = queryValues();
+			if (lastValues == null) {
+				lastValues = values;
+			} else if (!Arrays.equals(lastValues, values) && !refreshPending) {
+				logger.debug("Change detected by [{}].", changeQuery);
+				refreshPending = true;
+				SwingUtilities.invokeLater(() -> refresh(values));
+			}
+		} catch (final SQLException se) {
+			logger.error("SQL Exception polling [{}].", changeQuery, se);
+		} catch (final RuntimeException re) {
+			// A RUNTIME EXCEPTION MUST NOT END POLLING
+			logger.error("Exception polling [{}].", changeQuery, re);
+		}
+
+		synchronized (this) {
+			if (scheduler != null) {
+				delay = active ? interval : Math.min(Math.max(interval, maxInterval), delay * 2);
+				scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Refresh on the EDT. If postponed, the change is detected again by the
+	 * next poll.
+	 */
+	private void refresh(final Object[] _values) {
+		try {
+			if (isRunning() && refresher.getAsBoolean()) {
+				lastValues = _values;
+			}
+		} catch (final RuntimeException re) {
+			logger.error("Exception refreshing after change.", re);
+		} finally {
+			refreshPending = false;
+		}
+	}
+
+	private Object[] queryValues() throws SQLException {
+		if (dataSource != null) {
+			try (Connection pooled = dataSource.getConnection()) {
+				return queryValues(pooled);
+			}
+		}
+		return queryValues(connection);
+	}
+
+	private Object[] queryValues(final Connection _connection) throws SQLException {
+		try (Statement statement = _connection.createStatement();
+				ResultSet rs = statement.executeQuery(changeQuery)) {
+			final int columnCount = rs.getMetaData().getColumnCount();
+			final Object[] values = new Object[columnCount];
+			if (rs.next()) {
+				for (int i = 0; i < columnCount; i++) {
+					values[i] = rs.getObject(i + 1);
+				}
+			}
+			return values;
+		}
+	}
+
+	/**
+	 * Update whether the component is showing in the active window, and
+	 * listen to the window the component is now in. Called on the EDT when
+	 * the component is set, when its hierarchy changes and when its window
+	 * is activated or deactivated.
+	 */
+	private void updateActive() {
+		final Window newWindow = (component == null) ? null : SwingUtilities.getWindowAncestor(component);
+		if (newWindow != window) {
+			if (window != null) {
+				window.removeWindowListener(windowListener);
+			}
+			window = newWindow;
+			if (window != null) {
+				window.addWindowListener(windowListener);
+			}
+		}
+		active = (component == null) || (component.isShowing() && (window != null) && window.isActive());
+	}
+}
@@ -55,7 +55,11 @@ import javax.swing.event.DocumentListener;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.nqadmin.swingset.SSDataNavigator;
+import com.nqadmin.swingset.datasources.ColumnTextCodec;
 import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSMetrics;
 
 import java.sql.Connection;
 import java.util.Objects;
@@ -126,8 +130,7 @@ public class SSCommon implements Serializable {
 		@Override
 		public void changedUpdate(final DocumentEvent de) {
 			lastChange++;
-			logger.trace("{} - changedUpdate(): lastChange=" + lastChange
-					+ ", lastNotifiedChange=" + lastNotifiedChange, () -> getColumnForLog());
+			logger.trace("{} - changedUpdate(): lastChange={}, lastNotifiedChange={}", () -> getColumnForLog(), () -> lastChange, () -> lastNotifiedChange);
 			
 			// Delay execution of logic until all listener methods are called for current event
 			// See: https://stackoverflow.com/questions/3953208/value-change-listener-to-jtextfield
@@ -182,6 +185,10 @@ public class SSCommon implements Serializable {
 		 */
 		@Override
 		public void cursorMoved(final RowSetEvent event) {
+			// A SHARED COPY OF THE ROWSET MOVED ITS OWN CURSOR, SEE RowSetOps.getColumnValues()
+			if (event.getSource() != getRowSet()) {
+				return;
+			}
 			logger.trace("Rowset cursor moved. {}", () -> getColumnForLog());
 			//updateSSComponent();
 			performUpdates();
@@ -227,8 +234,7 @@ public class SSCommon implements Serializable {
 
 		private void performUpdates() {
 			lastChange++;
-			logger.trace("{} - performUpdates(): lastChange=" + lastChange
-					+ ", lastNotifiedChange=" + lastNotifiedChange, () -> getColumnForLog());
+			logger.trace("{} - performUpdates(): lastChange={}, lastNotifiedChange={}", () -> getColumnForLog(), () -> lastChange, () -> lastNotifiedChange);
 			
 			// Delay execution of logic until all listener methods are called for current event
 			// Based on: https://stackoverflow.com/questions/3953208/value-change-listener-to-jtextfield
@@ -246,7 +252,7 @@ public class SSCommon implements Serializable {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * Constant to indicate that no RowSet column index has been specified.
@@ -304,6 +310,12 @@ public class SSCommon implements Serializable {
 	 */
 	private JDBCType boundColumnJDBCType = java.sql.JDBCType.NULL;
 
+	/**
+	 * Converts bound column to/from text; chosen from
+	 * boundColumnJDBCType during bind.
+	 */
+	private ColumnTextCodec boundColumnCodec = ColumnTextCodec.UNSUPPORTED;
+
 	/**
 	 * Name of RowSet column to which the SwingSet component will be bound.
 	 */
@@ -415,6 +427,7 @@ public class SSCommon implements Serializable {
 		// set default in case case bind fails.
 		// TODO: is this the right thing to do if bind fails?
 		isNullable = Optional.empty();
+		boundColumnCodec = ColumnTextCodec.forJDBCType(boundColumnJDBCType);
 
 		// TODO consider updating Component to null/zero/empty string if not valid column name, column index, or rowset
 		
@@ -485,7 +498,7 @@ public class SSCommon implements Serializable {
 		try {
 			bind(_rowSet, RowSetOps.getColumnIndex(_rowSet, _boundColumnName));
 		} catch (final SQLException se) {
-			logger.error(_boundColumnName + " - Failed to retrieve column index while binding.", se);
+			logger.error("{} - Failed to retrieve column index while binding.", _boundColumnName, se);
 		}
 //		// INDICATE THAT WE'RE UPDATING THE BINDINGS
 //		inBinding = true;
@@ -567,13 +580,13 @@ public class SSCommon implements Serializable {
 		try {
 			if (getRowSet().getRow() != 0) {
 				//value = getRowSet().getColumnText(getBoundColumnName());
-				value = RowSetOps.getColumnText(getRowSet(),getBoundColumnName());
+				value = RowSetOps.getColumnText(getRowSet(), getBoundColumnIndex(), boundColumnCodec);
 				if (!getAllowNull() && (value == null)) {
 					value = "";
 				}
 			}
 		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + " - SQL Exception.", se);
+			logger.error("{} - SQL Exception.", getColumnForLog(), se);
 		}
 
 		return value;
@@ -702,6 +715,7 @@ public class SSCommon implements Serializable {
 	 */
 	public void setBoundColumnArray(final SSArray _boundColumnArray) throws SQLException {
 		getRowSet().updateArray(getBoundColumnName(), _boundColumnArray);
+		SSDataNavigator.setModified(getRowSet(), true);
 	}
 
 	/**
@@ -735,7 +749,7 @@ public class SSCommon implements Serializable {
 			boundColumnJDBCType = JDBCType.valueOf(boundColumnType);
 
 		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + " - SQL Exception.", se);
+			logger.error("{} - SQL Exception.", getColumnForLog(), se);
 		}
 
 		// BIND UPDATED COLUMN IF APPLICABLE
@@ -777,7 +791,7 @@ public class SSCommon implements Serializable {
 			boundColumnJDBCType = JDBCType.valueOf(boundColumnType);
 
 		} catch (final SQLException se) {
-			logger.error(getColumnForLog() + " - SQL Exception.", se);
+			logger.error("{} - SQL Exception.", getColumnForLog(), se);
 		}
 
 		// BIND UPDATED COLUMN IF APPLICABLE
@@ -809,9 +823,10 @@ public class SSCommon implements Serializable {
 	 * @param _boundColumnText value to write to bound database column
 	 */
 	public void setBoundColumnText(final String _boundColumnText) {
+		logger.debug("{}: {}", () -> getColumnForLog(), () -> _boundColumnText);
 		try {
 			//getRowSet().updateColumnText(_boundColumnText, getBoundColumnName(), getAllowNull());
-			RowSetOps.updateColumnText(getRowSet(),_boundColumnText, getBoundColumnName(), getAllowNull());
+			RowSetOps.updateColumnText(getRowSet(), _boundColumnText, getBoundColumnIndex(), getAllowNull(), boundColumnCodec);
 		} catch(final NullPointerException _npe) {
 			logger.warn("Null Pointer Exception.", _npe);
 			JOptionPane.showMessageDialog((JComponent)getSSComponent(),
@@ -875,12 +890,18 @@ public class SSCommon implements Serializable {
 		// not handled properly. Maybe incorporate SwingUtilities.invokeLater()? 
 		logger.trace("Updating component {}.", () -> getColumnForLog());
 		
+		final long start = SSMetrics.start();
+		final int activity = SSEdtWatchdog.enter(this::getColumnForLog, null);
+
 		ssComponent.removeSSComponentListener();
 
 		ssComponent.updateSSComponent();
 
 		ssComponent.addSSComponentListener();
 
+		SSEdtWatchdog.exit(activity);
+		SSMetrics.record(SSMetrics.COMPONENT_UPDATE, start, this::getColumnForLog);
+
 	}
 
 }
@@ -49,8 +49,6 @@ import javax.sql.RowSet;
 import javax.swing.JComponent;
 import javax.swing.KeyStroke;
 
-import org.apache.logging.log4j.LogManager;
-
 import java.sql.Connection;
 
 // SSComponentInterface.java
@@ -427,8 +425,6 @@ public interface SSComponentInterface {
 
 		getSSCommon().setBoundColumnText(_boundColumnText);
 
-		LogManager.getLogger().debug("{}: " + _boundColumnText, () -> getColumnForLog());
-
 	}
 
 	/**
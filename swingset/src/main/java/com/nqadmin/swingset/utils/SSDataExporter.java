@@ -0,0 +1,474 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.awt.Component;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.sql.DataSource;
+import javax.sql.RowSet;
+import javax.sql.rowset.CachedRowSet;
+import javax.swing.JOptionPane;
+import javax.swing.RowSorter;
+import javax.swing.SwingWorker;
+import javax.swing.table.TableModel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.nqadmin.swingset.SSDataGrid;
+import com.nqadmin.swingset.datasources.ColumnTextCodec;
+import com.nqadmin.swingset.datasources.RowSetOps;
+
+// SSDataExporter.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Exports the rows of a RowSet, or of an SSDataGrid, to a CSV or TSV file on
+ * a background thread. Rows are streamed to the file as they are read, so
+ * the size of the export is not limited by memory.
+ * <p>
+ * A disconnected RowSet, for example a CachedRowSet, is read through a shared
+ * cursor, without moving the RowSet's own cursor. For any other RowSet the RowSet's command is executed again, with
+ * its parameters, on a connection from a DataSource or a dedicated
+ * Connection, with a large fetch size so the driver streams the result. It
+ * must not be the connection used by the RowSet.
+ * <p>
+ * Values are formatted with the column's {@link ColumnTextCodec}, as in the
+ * SwingSet components, except that a timestamp is written with its time of
+ * day, as {@code yyyy-mm-dd hh:mm:ss.f}, and a column of a type the codecs do
+ * not support is written with the driver's {@code getString()}. See
+ * {@link ColumnTextCodec#getExportText(ResultSet, int)}. A value is quoted if
+ * it contains the delimiter, a quote or a line break.
+ * <p>
+ * Progress is reported through the SwingWorker {@code progress} property when
+ * the number of rows is known, and the {@code exportedRows} property. Call
+ * {@link #cancel(boolean)} to stop the export; the partial file is deleted.
+ * <pre>
+ * {@code
+ * SSDataExporter exporter = SSDataExporter.forDataGrid(dataGrid, dataSource, path);
+ * exporter.addPropertyChangeListener(evt -> ...);
+ * exporter.execute();
+ * }
+ * </pre>
+ * 
+ * @since 4.0.0
+ */
+public class SSDataExporter extends SwingWorker<Long, Long> {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Comma delimiter.
+	 */
+	public static final char CSV = ',';
+
+	/**
+	 * Tab delimiter.
+	 */
+	public static final char TSV = '\t';
+
+	/**
+	 * Default fetch size when the command is executed again.
+	 */
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+
+	/**
+	 * Number of rows between progress updates.
+	 */
+	private static final int PROGRESS_ROWS = 1000;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final RowSet rowSet;
+	private final DataSource dataSource;
+	private final Connection connection;
+	private final Path path;
+
+	private char delimiter;
+	private boolean header = true;
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+	private int[] columns = null;
+	private String[] columnNames = null;
+	private int[] rowOrder = null;
+	private int nextRowIndex = 0;
+	private Component messageWindow = null;
+
+	private volatile long exportedRows = 0;
+
+	/**
+	 * Constructs an exporter for a disconnected RowSet.
+	 * 
+	 * @param _rowSet disconnected RowSet to export
+	 * @param _path file to write
+	 */
+	public SSDataExporter(final RowSet _rowSet, final Path _path) {
+		this(_rowSet, null, null, _path);
+		if (!RowSetOps.isDisconnected(_rowSet)) {
+			throw new IllegalArgumentException("A connected RowSet needs a DataSource or Connection for export.");
+		}
+	}
+
+	/**
+	 * Constructs an exporter that executes the RowSet's command on a
+	 * connection from a DataSource, unless the RowSet is disconnected.
+	 * 
+	 * @param _rowSet RowSet to export
+	 * @param _dataSource source of the connection used for the export
+	 * @param _path file to write
+	 */
+	public SSDataExporter(final RowSet _rowSet, final DataSource _dataSource, final Path _path) {
+		this(_rowSet, _dataSource, null, _path);
+	}
+
+	/**
+	 * Constructs an exporter that executes the RowSet's command on a
+	 * connection dedicated to the export, unless the RowSet is disconnected.
+	 * The connection is not closed.
+	 * 
+	 * @param _rowSet RowSet to export
+	 * @param _connection connection used for the export
+	 * @param _path file to write
+	 */
+	public SSDataExporter(final RowSet _rowSet, final Connection _connection, final Path _path) {
+		this(_rowSet, null, _connection, _path);
+	}
+
+	private SSDataExporter(final RowSet _rowSet, final DataSource _dataSource, final Connection _connection,
+			final Path _path) {
+		rowSet = _rowSet;
+		dataSource = _dataSource;
+		connection = _connection;
+		path = _path;
+		setDelimiter(_path.toString().toLowerCase().endsWith(".tsv") ? TSV : CSV);
+	}
+
+	/**
+	 * Constructs an exporter for the rows of a data grid, without its hidden
+	 * columns. The header holds the column labels, not the grid's headers,
+	 * so that the file can be read back by {@link SSDataImporter}. The rows
+	 * are sorted and filtered as in the grid: by the command when it is
+	 * executed again, or, for a disconnected RowSet, in the order of the
+	 * grid's row sorter when the exporter is constructed.
+	 * <p>
+	 * Call on the event dispatch thread.
+	 * 
+	 * @param _dataGrid data grid to export
+	 * @param _dataSource source of the connection used for the export, may be
+	 *		null if the grid's RowSet is disconnected
+	 * @param _path file to write
+	 * @return the exporter
+	 */
+	public static SSDataExporter forDataGrid(final SSDataGrid _dataGrid, final DataSource _dataSource,
+			final Path _path) {
+		final SSDataExporter exporter = _dataSource == null ? new SSDataExporter(_dataGrid.getRowSet(), _path)
+				: new SSDataExporter(_dataGrid.getRowSet(), _dataSource, _path);
+		final TableModel model = _dataGrid.getModel();
+		final int[] hidden = _dataGrid.getHiddenColumns();
+		final int[] columns = new int[model.getColumnCount()];
+		int count = 0;
+		for (int i = 0; i < columns.length; i++) {
+			boolean visible = true;
+			for (int j = 0; (hidden != null) && (j < hidden.length); j++) {
+				visible &= hidden[j] != i;
+			}
+			if (visible) {
+				columns[count++] = i + 1;
+			}
+		}
+		exporter.setColumns(Arrays.copyOf(columns, count), null);
+		final RowSorter<? extends TableModel> sorter = _dataGrid.getRowSorter();
+		if (RowSetOps.isDisconnected(_dataGrid.getRowSet()) && (sorter != null)) {
+			// VIEW ORDER, THE ROWSET'S ROWS ARE THE MODEL'S ROWS
+			exporter.rowOrder = new int[sorter.getViewRowCount()];
+			for (int i = 0; i < exporter.rowOrder.length; i++) {
+				exporter.rowOrder[i] = sorter.convertRowIndexToModel(i) + 1;
+			}
+		}
+		exporter.setMessageWindow(_dataGrid.getMessageWindow());
+		return exporter;
+	}
+
+	/**
+	 * @return the number of rows written so far
+	 */
+	public long getExportedRows() {
+		return exportedRows;
+	}
+
+	/**
+	 * Sets the delimiter, {@link #CSV} or {@link #TSV}. The default is TSV for
+	 * a file ending in .tsv, otherwise CSV.
+	 * 
+	 * @param _delimiter field delimiter
+	 */
+	public void setDelimiter(final char _delimiter) {
+		delimiter = _delimiter;
+	}
+
+	/**
+	 * Sets the fetch size used when the command is executed again.
+	 * 
+	 * @param _fetchSize fetch size
+	 */
+	public void setFetchSize(final int _fetchSize) {
+		fetchSize = _fetchSize;
+	}
+
+	/**
+	 * Sets whether the first line holds the column names. The default is true.
+	 * 
+	 * @param _header true to write a header line
+	 */
+	public void setHeader(final boolean _header) {
+		header = _header;
+	}
+
+	/**
+	 * Sets the columns to export. By default all columns are exported with
+	 * their labels as names.
+	 * 
+	 * @param _columns column indexes, starting from 1
+	 * @param _columnNames header names of the columns, null to use the labels
+	 */
+	public void setColumns(final int[] _columns, final String[] _columnNames) {
+		columns = _columns;
+		columnNames = _columnNames;
+	}
+
+	/**
+	 * Sets the component used as parent of the error message when the export
+	 * fails.
+	 * 
+	 * @param _messageWindow parent component, null for no message
+	 */
+	public void setMessageWindow(final Component _messageWindow) {
+		messageWindow = _messageWindow;
+	}
+
+	@Override
+	protected Long doInBackground() throws Exception {
+		final long start = System.nanoTime();
+		boolean completed = false;
+		try {
+			if (RowSetOps.isDisconnected(rowSet)) {
+				// THE COPY IS NOT CLOSED, THAT WOULD RELEASE THE ROWS IT SHARES
+				final CachedRowSet shared = (CachedRowSet) ((CachedRowSet) rowSet).createShared();
+				shared.moveToCurrentRow();
+				shared.beforeFirst();
+				export(shared, rowOrder != null ? rowOrder.length : shared.size());
+			} else if (dataSource != null) {
+				try (Connection exportConnection = dataSource.getConnection()) {
+					// SOME DRIVERS ONLY STREAM RESULTS OUTSIDE OF AUTO COMMIT
+					exportConnection.setAutoCommit(false);
+					try {
+						export(exportConnection);
+					} finally {
+						exportConnection.rollback();
+						exportConnection.setAutoCommit(true);
+					}
+				}
+			} else {
+				export(connection);
+			}
+			completed = !isCancelled();
+		} finally {
+			if (!completed) {
+				Files.deleteIfExists(path);
+			}
+		}
+		logger.debug("Exported {} rows to {} in {} ms.", () -> exportedRows, () -> path,
+				() -> (System.nanoTime() - start) / 1_000_000);
+		return exportedRows;
+	}
+
+	/**
+	 * Execute the RowSet's command with its parameters and export the result.
+	 */
+	private void export(final Connection _connection) throws SQLException, IOException {
+		try (PreparedStatement statement = _connection.prepareStatement(rowSet.getCommand(),
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			statement.setFetchSize(fetchSize);
+			RowSetOps.setParameters(statement, rowSet);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				export(resultSet, -1);
+			}
+		}
+	}
+
+	/**
+	 * Write the header and the rows of the result set.
+	 */
+	private void export(final ResultSet _resultSet, final int _totalRows) throws SQLException, IOException {
+		final int[] exportColumns = getExportColumns(_resultSet);
+		final ColumnTextCodec[] codecs = new ColumnTextCodec[exportColumns.length];
+		for (int i = 0; i < codecs.length; i++) {
+			codecs[i] = RowSetOps.getColumnTextCodec(_resultSet, exportColumns[i]);
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+				Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE)) {
+			final StringBuilder line = new StringBuilder(256);
+			if (header) {
+				for (int i = 0; i < exportColumns.length; i++) {
+					appendField(line, i, columnNames != null ? columnNames[i]
+							: _resultSet.getMetaData().getColumnLabel(exportColumns[i]));
+				}
+				writer.append(line).append(System.lineSeparator());
+			}
+			while (nextRow(_resultSet)) {
+				if (isCancelled()) {
+					return;
+				}
+				line.setLength(0);
+				for (int i = 0; i < exportColumns.length; i++) {
+					appendField(line, i, codecs[i].getExportText(_resultSet, exportColumns[i]));
+				}
+				writer.append(line).append(System.lineSeparator());
+				if ((++exportedRows % PROGRESS_ROWS) == 0) {
+					publish(exportedRows);
+					if (_totalRows > 0) {
+						setProgress((int) Math.min(100, (exportedRows * 100) / _totalRows));
+					}
+				}
+			}
+		}
+		publish(exportedRows);
+		setProgress(100);
+	}
+
+	/**
+	 * Move to the next row, in the row order if there is one. A row the
+	 * RowSet does not have, such as the grid's insertion row, is skipped.
+	 */
+	private boolean nextRow(final ResultSet _resultSet) throws SQLException {
+		if (rowOrder == null) {
+			return _resultSet.next();
+		}
+		while (nextRowIndex < rowOrder.length) {
+			if (_resultSet.absolute(rowOrder[nextRowIndex++])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int[] getExportColumns(final ResultSet _resultSet) throws SQLException {
+		if (columns != null) {
+			return columns;
+		}
+		final int[] allColumns = new int[RowSetOps.getColumnCount(_resultSet)];
+		for (int i = 0; i < allColumns.length; i++) {
+			allColumns[i] = i + 1;
+		}
+		return allColumns;
+	}
+
+	/**
+	 * Append a field, with its delimiter, quoted if needed. A null value is
+	 * written as an empty field.
+	 */
+	private void appendField(final StringBuilder _line, final int _field, final String _text) {
+		if (_field > 0) {
+			_line.append(delimiter);
+		}
+		if (_text == null) {
+			return;
+		}
+		boolean quote = false;
+		for (int i = 0; (i < _text.length()) && !quote; i++) {
+			final char c = _text.charAt(i);
+			quote = (c == delimiter) || (c == '"') || (c == '\n') || (c == '\r');
+		}
+		if (!quote) {
+			_line.append(_text);
+			return;
+		}
+		_line.append('"');
+		for (int i = 0; i < _text.length(); i++) {
+			final char c = _text.charAt(i);
+			if (c == '"') {
+				_line.append('"');
+			}
+			_line.append(c);
+		}
+		_line.append('"');
+	}
+
+	@Override
+	protected void process(final List<Long> _chunks) {
+		firePropertyChange("exportedRows", null, _chunks.get(_chunks.size() - 1));
+	}
+
+	@Override
+	protected void done() {
+		try {
+			get();
+		} catch (final CancellationException ce) {
+			logger.info("Export to {} cancelled after {} rows.", path, exportedRows);
+		} catch (final InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		} catch (final ExecutionException ee) {
+			logger.error("Export to {} failed.", path, ee.getCause());
+			if (messageWindow != null) {
+				JOptionPane.showMessageDialog(messageWindow,
+						"Error while exporting to " + path + ".\n" + ee.getCause().getMessage());
+			}
+		}
+	}
+}
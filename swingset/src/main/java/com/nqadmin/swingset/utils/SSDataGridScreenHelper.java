@@ -68,7 +68,7 @@ import java.sql.Connection;
 //public abstract class SSDataGridScreenHelper extends JInternalFrame {
 public abstract class SSDataGridScreenHelper extends SSScreenHelperCommon {
 	
-	private static Logger logger = LogManager.getLogger(); // Log4j Logger for component
+	private static final Logger logger = LogManager.getLogger(); // Log4j Logger for component
 	
 	private static final long serialVersionUID = 3558830097072342112L; // unique serial ID
 
@@ -403,13 +403,16 @@ public abstract class SSDataGridScreenHelper extends SSScreenHelperCommon {
 	@Override
 	protected void initScreen() {
 		
-		try {
+		try (SSScreenLoader loader = beginScreenLoad()) {
 			// SETUP QUERY, DEFAULTS, and BUILD SCREEN
 			// SET ROWSET QUERY
 			initRowset();
 	
 			// CONFIGURE DATAGRID
 			configureDataGrid();
+
+			// WAIT FOR ANY SSDBComboBox QUERIES STARTED WHILE CONFIGURING
+			finishScreenLoad(loader);
 			
 			// ADD DATAGRID TO CONTENT PANE
 	 		contentPane.add(dataGrid.getComponent());
@@ -441,6 +444,23 @@ public abstract class SSDataGridScreenHelper extends SSScreenHelperCommon {
 		}
 	}
 
+	/**
+	 * Poll for changes made by other users and requery the data grid when the
+	 * change query's values change. Requires a DataSource, see
+	 * {@link #setDataSource(javax.sql.DataSource)}.
+	 *
+	 * @param _changeQuery single row query whose values change when the data changes,
+	 *		for example {@code SELECT MAX(updated_at), COUNT(*) FROM part_data}
+	 * @param _interval polling interval in milliseconds
+	 */
+	protected void setAutoRefresh(final String _changeQuery, final int _interval) {
+		if (getDataSource() == null) {
+			logger.error("Auto refresh requires a DataSource.");
+			return;
+		}
+		setAutoRefresh(SSAutoRefresh.forDataGrid(dataGrid, getDataSource(), _changeQuery, _interval));
+	}
+
 	/**
 	 * Updates the parent ID used for record retrieval, sets the rowset query, updates the DataGrid rowset,
 	 * and updates any DataGrid default values.
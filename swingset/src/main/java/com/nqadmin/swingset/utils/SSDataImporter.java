@@ -0,0 +1,505 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.awt.Component;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.sql.DataSource;
+import javax.sql.RowSet;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.nqadmin.swingset.SSDataGrid;
+import com.nqadmin.swingset.datasources.ColumnTextCodec;
+import com.nqadmin.swingset.datasources.RowSetOps;
+
+// SSDataImporter.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Imports a CSV or TSV file into the table of a RowSet on a background
+ * thread. The file is read a line at a time and the rows are inserted with
+ * JDBC batches, each batch committed on its own; the screen is refreshed once
+ * when the import is done.
+ * <p>
+ * The columns of the file are mapped to the RowSet's columns by the names in
+ * the first line, or by position if there is no header line. Values are
+ * converted with the column's {@link ColumnTextCodec}; an empty field is null,
+ * except for character columns. Dates may be yyyy-mm-dd or MM/dd/yyyy, so a
+ * file written by {@link SSDataExporter} can be imported. A line that cannot be converted, or a row
+ * rejected by the database, is skipped and reported by
+ * {@link #getRejectedLines()}; the rest of the file is still imported.
+ * <p>
+ * The inserts need their own connection: a DataSource, typically a pool,
+ * or a Connection dedicated to the import. Progress is reported through the
+ * SwingWorker {@code progress} property and {@link #cancel(boolean)} stops
+ * the import after the current batch is committed.
+ * 
+ * @since 4.0.0
+ */
+public class SSDataImporter extends SwingWorker<Long, Void> {
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Default number of rows per batch and commit.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * A line of the file, converted to column values.
+	 */
+	private static class ImportRow {
+		final long lineNumber;
+		final Object[] values;
+
+		ImportRow(final long _lineNumber, final Object[] _values) {
+			lineNumber = _lineNumber;
+			values = _values;
+		}
+	}
+
+	private final RowSet rowSet;
+	private final String tableName;
+	private final DataSource dataSource;
+	private final Connection connection;
+	private final Path path;
+
+	private char delimiter;
+	private boolean header = true;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private Runnable refresher = null;
+	private Component messageWindow = null;
+
+	private final List<String> rejectedLines = Collections.synchronizedList(new ArrayList<>());
+	private volatile long importedRows = 0;
+
+	/** physical line number of the last line read */
+	private long lineNumber = 0;
+	/** characters read, for progress */
+	private long charsRead = 0;
+
+	/**
+	 * Constructs an importer using a connection from a DataSource.
+	 * 
+	 * @param _rowSet RowSet whose columns the file is mapped to
+	 * @param _tableName table to insert into
+	 * @param _dataSource source of the connection used for the import
+	 * @param _path file to read
+	 */
+	public SSDataImporter(final RowSet _rowSet, final String _tableName, final DataSource _dataSource,
+			final Path _path) {
+		this(_rowSet, _tableName, _dataSource, null, _path);
+	}
+
+	/**
+	 * Constructs an importer using a connection dedicated to the import. The
+	 * connection is not closed.
+	 * 
+	 * @param _rowSet RowSet whose columns the file is mapped to
+	 * @param _tableName table to insert into
+	 * @param _connection connection used for the import
+	 * @param _path file to read
+	 */
+	public SSDataImporter(final RowSet _rowSet, final String _tableName, final Connection _connection,
+			final Path _path) {
+		this(_rowSet, _tableName, null, _connection, _path);
+	}
+
+	private SSDataImporter(final RowSet _rowSet, final String _tableName, final DataSource _dataSource,
+			final Connection _connection, final Path _path) {
+		rowSet = _rowSet;
+		tableName = _tableName;
+		dataSource = _dataSource;
+		connection = _connection;
+		path = _path;
+		delimiter = _path.toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? SSDataExporter.TSV
+				: SSDataExporter.CSV;
+	}
+
+	/**
+	 * Constructs an importer into the table shown by a data grid. The grid is
+	 * requeried when the import is done; a disconnected RowSet must be
+	 * reloaded by the application.
+	 * 
+	 * @param _dataGrid data grid whose RowSet's columns the file is mapped to
+	 * @param _tableName table to insert into
+	 * @param _dataSource source of the connection used for the import
+	 * @param _path file to read
+	 * @return the importer
+	 */
+	public static SSDataImporter forDataGrid(final SSDataGrid _dataGrid, final String _tableName,
+			final DataSource _dataSource, final Path _path) {
+		final SSDataImporter importer = new SSDataImporter(_dataGrid.getRowSet(), _tableName, _dataSource, _path);
+		importer.setRefresher(() -> _dataGrid.setRowSet(_dataGrid.getRowSet()));
+		importer.setMessageWindow(_dataGrid.getMessageWindow());
+		return importer;
+	}
+
+	/**
+	 * @return the number of rows inserted so far
+	 */
+	public long getImportedRows() {
+		return importedRows;
+	}
+
+	/**
+	 * Returns the lines that were not imported, as the line number in the file
+	 * followed by the reason.
+	 * 
+	 * @return rejected lines
+	 */
+	public List<String> getRejectedLines() {
+		synchronized (rejectedLines) {
+			return new ArrayList<>(rejectedLines);
+		}
+	}
+
+	/**
+	 * Sets the number of rows inserted by a batch and committed together.
+	 * 
+	 * @param _batchSize rows per batch
+	 */
+	public void setBatchSize(final int _batchSize) {
+		batchSize = Math.max(1, _batchSize);
+	}
+
+	/**
+	 * Sets the delimiter, {@link SSDataExporter#CSV} or
+	 * {@link SSDataExporter#TSV}. The default is TSV for a file ending in .tsv,
+	 * otherwise CSV.
+	 * 
+	 * @param _delimiter field delimiter
+	 */
+	public void setDelimiter(final char _delimiter) {
+		delimiter = _delimiter;
+	}
+
+	/**
+	 * Sets whether the first line holds the column names. The default is true.
+	 * 
+	 * @param _header true if the file has a header line
+	 */
+	public void setHeader(final boolean _header) {
+		header = _header;
+	}
+
+	/**
+	 * Sets the component used as parent of the message shown when the import
+	 * is done.
+	 * 
+	 * @param _messageWindow parent component, null for no message
+	 */
+	public void setMessageWindow(final Component _messageWindow) {
+		messageWindow = _messageWindow;
+	}
+
+	/**
+	 * Sets the refresh run on the EDT when the import is done.
+	 * 
+	 * @param _refresher refreshes the screen, null for none
+	 */
+	public void setRefresher(final Runnable _refresher) {
+		refresher = _refresher;
+	}
+
+	@Override
+	protected Long doInBackground() throws Exception {
+		final long start = System.nanoTime();
+		if (dataSource != null) {
+			try (Connection importConnection = dataSource.getConnection()) {
+				importFile(importConnection);
+			}
+		} else {
+			importFile(connection);
+		}
+		logger.debug("Imported {} rows from {} in {} ms, {} rejected.", () -> importedRows, () -> path,
+				() -> (System.nanoTime() - start) / 1_000_000, () -> rejectedLines.size());
+		return importedRows;
+	}
+
+	private void importFile(final Connection _connection) throws SQLException, IOException {
+		final long fileSize = Math.max(1, Files.size(path));
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+
+			// MAP THE FILE COLUMNS TO ROWSET COLUMNS
+			final int rowSetColumns = RowSetOps.getColumnCount(rowSet);
+			final int[] columns;
+			List<String> fields = null;
+			if (header) {
+				final List<String> names = readRecord(reader);
+				if (names == null) {
+					return;
+				}
+				columns = new int[names.size()];
+				for (int i = 0; i < columns.length; i++) {
+					columns[i] = RowSetOps.getColumnIndex(rowSet, names.get(i).trim());
+				}
+			} else {
+				fields = readRecord(reader);
+				if (fields == null) {
+					return;
+				}
+				columns = new int[Math.min(fields.size(), rowSetColumns)];
+				for (int i = 0; i < columns.length; i++) {
+					columns[i] = i + 1;
+				}
+			}
+			final ColumnTextCodec[] codecs = new ColumnTextCodec[columns.length];
+			final StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
+			for (int i = 0; i < columns.length; i++) {
+				codecs[i] = RowSetOps.getColumnTextCodec(rowSet, columns[i]);
+				sql.append(i == 0 ? "" : ", ").append(rowSet.getMetaData().getColumnName(columns[i]));
+			}
+			sql.append(") VALUES (");
+			for (int i = 0; i < columns.length; i++) {
+				sql.append(i == 0 ? "?" : ", ?");
+			}
+			sql.append(')');
+
+			final boolean autoCommit = _connection.getAutoCommit();
+			_connection.setAutoCommit(false);
+			try (PreparedStatement statement = _connection.prepareStatement(sql.toString())) {
+				final List<ImportRow> batch = new ArrayList<>(batchSize);
+				long recordLine = lineNumber;
+				if (fields == null) {
+					recordLine = lineNumber + 1;
+					fields = readRecord(reader);
+				}
+				while ((fields != null) && !isCancelled()) {
+					final ImportRow row = convert(recordLine, fields, codecs);
+					if (row != null) {
+						batch.add(row);
+						if (batch.size() >= batchSize) {
+							insertBatch(_connection, statement, batch);
+							setProgress((int) Math.min(99, (charsRead * 100) / fileSize));
+						}
+					}
+					recordLine = lineNumber + 1;
+					fields = readRecord(reader);
+				}
+				insertBatch(_connection, statement, batch);
+			} catch (final SQLException | IOException | RuntimeException ex) {
+				// NOTHING UNCOMMITTED MAY BE LEFT WHEN AUTO COMMIT IS RESTORED
+				try {
+					_connection.rollback();
+				} catch (final SQLException se) {
+					ex.addSuppressed(se);
+				}
+				throw ex;
+			} finally {
+				_connection.setAutoCommit(autoCommit);
+			}
+		}
+		setProgress(100);
+	}
+
+	/**
+	 * Convert the fields of a line, null if the line is rejected.
+	 */
+	private ImportRow convert(final long _lineNumber, final List<String> _fields, final ColumnTextCodec[] _codecs) {
+		if (_fields.size() != _codecs.length) {
+			reject(_lineNumber, "expected " + _codecs.length + " fields, found " + _fields.size());
+			return null;
+		}
+		final Object[] values = new Object[_codecs.length];
+		for (int i = 0; i < values.length; i++) {
+			final String text = _fields.get(i);
+			if (text.isEmpty() && !_codecs[i].isEmptyTextOK()) {
+				values[i] = null;
+				continue;
+			}
+			try {
+				values[i] = _codecs[i].parseText(_codecs[i].isEmptyTextOK() ? text : text.trim());
+			} catch (final RuntimeException re) {
+				reject(_lineNumber, "field " + (i + 1) + ", " + re);
+				return null;
+			}
+		}
+		return new ImportRow(_lineNumber, values);
+	}
+
+	/**
+	 * Insert and commit a batch. If the batch fails it is rolled back and its
+	 * rows are inserted one at a time, to find the rejected ones. Any other
+	 * SQLException is thrown, the caller rolls back.
+	 */
+	private void insertBatch(final Connection _connection, final PreparedStatement _statement,
+			final List<ImportRow> _batch) throws SQLException {
+		if (_batch.isEmpty()) {
+			return;
+		}
+		try {
+			for (final ImportRow row : _batch) {
+				setValues(_statement, row);
+				_statement.addBatch();
+			}
+			_statement.executeBatch();
+			_connection.commit();
+			importedRows += _batch.size();
+		} catch (final BatchUpdateException bue) {
+			_connection.rollback();
+			_statement.clearBatch();
+			for (final ImportRow row : _batch) {
+				try {
+					setValues(_statement, row);
+					_statement.executeUpdate();
+					_connection.commit();
+					importedRows++;
+				} catch (final SQLException se) {
+					_connection.rollback();
+					reject(row.lineNumber, se.getMessage());
+				}
+			}
+		}
+		_batch.clear();
+	}
+
+	private static void setValues(final PreparedStatement _statement, final ImportRow _row) throws SQLException {
+		for (int i = 0; i < _row.values.length; i++) {
+			_statement.setObject(i + 1, _row.values[i]);
+		}
+	}
+
+	private void reject(final long _lineNumber, final String _reason) {
+		logger.debug("Line {} rejected: {}", _lineNumber, _reason);
+		rejectedLines.add("Line " + _lineNumber + ": " + _reason);
+	}
+
+	/**
+	 * Read the fields of the next record; a quoted field may contain the
+	 * delimiter, doubled quotes and line breaks.
+	 * 
+	 * @return the fields, null at the end of the file
+	 */
+	List<String> readRecord(final BufferedReader _reader) throws IOException {
+		String line = _reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		lineNumber++;
+		charsRead += line.length() + 1;
+		final List<String> fields = new ArrayList<>();
+		final StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true) {
+			if (i >= line.length()) {
+				if (!quoted) {
+					break;
+				}
+				// LINE BREAK IN A QUOTED FIELD
+				line = _reader.readLine();
+				if (line == null) {
+					break;
+				}
+				lineNumber++;
+				charsRead += line.length() + 1;
+				field.append('\n');
+				i = 0;
+				continue;
+			}
+			final char c = line.charAt(i++);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if ((i < line.length()) && (line.charAt(i) == '"')) {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == delimiter) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	@Override
+	protected void done() {
+		try {
+			get();
+		} catch (final CancellationException ce) {
+			logger.info("Import from {} cancelled after {} rows.", path, importedRows);
+		} catch (final InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		} catch (final ExecutionException ee) {
+			logger.error("Import from {} failed.", path, ee.getCause());
+			if (messageWindow != null) {
+				JOptionPane.showMessageDialog(messageWindow,
+						"Error while importing from " + path + ".\n" + ee.getCause().getMessage());
+			}
+		}
+		if ((importedRows > 0) && (refresher != null)) {
+			refresher.run();
+		}
+		if ((messageWindow != null) && !rejectedLines.isEmpty()) {
+			JOptionPane.showMessageDialog(messageWindow, importedRows + " rows imported, " + rejectedLines.size()
+					+ " lines rejected.\n" + rejectedLines.get(0));
+		}
+	}
+}
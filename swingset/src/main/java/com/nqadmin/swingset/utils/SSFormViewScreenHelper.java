@@ -39,6 +39,7 @@ package com.nqadmin.swingset.utils;
 
 import java.awt.Container;
 import java.sql.SQLException;
+import java.util.concurrent.Future;
 
 import javax.swing.JOptionPane;
 import javax.swing.event.InternalFrameAdapter;
@@ -258,7 +259,7 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 
 	}
 	
-	private static Logger logger = LogManager.getLogger(); // Log4j Logger for component
+	private static final Logger logger = LogManager.getLogger(); // Log4j Logger for component
 
 	private static final long serialVersionUID = 266766406708536384L; // unique serial ID
 	
@@ -611,19 +612,10 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 	private void initDataNavigator() {
 		setDataNavigator(new SSDataNavigator(getRowset()));
 		getDataNavigator().setDBNav(new FormHelperSSDBNavImpl(this));
+		// NAMES THE NAVIGATOR'S METRICS AFTER THE SCREEN
+		getDataNavigator().setName(getTitle());
 	}
 
-	/**
-	 * Initialize rowset and loads sql query results
-	 * 
-	 * @throws SQLException exception thrown while initializing rowset
-	 * @throws Exception exception thrown while initializing rowset
-	 */
-	private void initRowset() throws SQLException, Exception {
-		setRowset(new JdbcRowSetImpl(getConnection()));
-		updateRowset();
-	}
-	
 	/**
 	 * Performs post construction initialization.
 	 *
@@ -647,17 +639,27 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 	 */
 	@Override
 	protected void initScreen() {
-		try {
+		try (SSScreenLoader loader = beginScreenLoad()) {
 
 			// SETUP QUERY, DEFAULTS, and BUILD SCREEN
-			// SET ROWSET QUERY
-			initRowset();
+			// SET ROWSET QUERY, the rowset has no listeners yet so it may load
+			// concurrently with the combo navigator and any other SSDBComboBoxes
+			setRowset(new JdbcRowSetImpl(getConnection()));
+			// THE QUERY IS BUILT HERE, THE LOADER MAY RUN OFF THE EDT
+			final String selectionQuery = getSelectionQuery();
+			final Future<Void> rowsetLoad = loader.submit("rowset", () -> {
+				updateRowset(selectionQuery);
+				return null;
+			});
 
-			// INITIALIZE DATA NAVIGATOR
-			initDataNavigator();
-			
 			// INITIALIZE COMBO NAVIGATOR
 			initCmbNavigator();
+
+			// WAIT FOR ROWSET, needed for binding
+			SSScreenLoader.waitFor(rowsetLoad);
+
+			// INITIALIZE DATA NAVIGATOR
+			initDataNavigator();
 			
 			// BIND PRIMARY KEY
 			txtPrimaryKey.bind(getRowset(), getPkColumn());
@@ -677,6 +679,9 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 			// POPULATE/UPDATE DATA IN COMBO BOXES
 			updateSSDBComboBoxes();
 
+			// WAIT FOR COMBO BOX QUERIES AND UPDATE THE COMBO BOXES
+			finishScreenLoad(loader);
+
 			// INITIALIZE AND TURN ON SYNC MANAGER
 			activateSyncManager();
 
@@ -727,6 +732,24 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 	 */
 	protected abstract void retrieveAndSetNewPrimaryKey();
 	
+	/**
+	 * Poll for changes made by other users and refresh the data navigator when
+	 * the change query's values change. Requires a DataSource, see
+	 * {@link #setDataSource(javax.sql.DataSource)}.
+	 *
+	 * @param _changeQuery single row query whose values change when the data changes,
+	 *		for example {@code SELECT MAX(updated_at), COUNT(*) FROM part_data}
+	 * @param _interval polling interval in milliseconds
+	 */
+	protected void setAutoRefresh(final String _changeQuery, final int _interval) {
+		if (getDataSource() == null) {
+			logger.error("Auto refresh requires a DataSource.");
+			return;
+		}
+		setAutoRefresh(SSAutoRefresh.forDataNavigator(getDataNavigator(), getDataSource(), _changeQuery, _interval,
+				getPkColumn()));
+	}
+
 	/**
 	 * @param _cmbDisplayColumn1 name of the 1st database column to display in the combo navigator
 	 */
@@ -918,22 +941,25 @@ public abstract class SSFormViewScreenHelper extends SSScreenHelperCommon {
 		// Update parameters
 			setParentID(_parentID);
 
-		try {
+		try (SSScreenLoader loader = beginScreenLoad()) {
 			// TURN OFF THE SYNC MANAGER
 			deactivateSyncManager();
 
+			// UPDATE THE COMBO NAVIGATOR, may query concurrently with the rowset
+			updateCmbNavigatorData();
+
 			// SET THE NEW QUERY FOR ROWSET
 			updateRowset();
 
 			// SET NEW ROWSET FOR NAVIGATOR.
 			updateDataNavigator();
-			
-			// UPDATE THE COMBO NAVIGATOR
-			updateCmbNavigatorData();
 
 			// UPDATE SELECTION CRITERIA FOR ANY OTHER SSDBCombos
 			updateSSDBComboBoxes();
 
+			// WAIT FOR COMBO BOX QUERIES AND UPDATE THE COMBO BOXES
+			finishScreenLoad(loader);
+
 			// TURN ON SYNC MANAGER
 			activateSyncManager();
 
@@ -42,19 +42,28 @@ import java.awt.Container;
 import java.awt.Frame;
 import java.beans.PropertyVetoException;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
 
+import javax.sql.DataSource;
 import javax.sql.RowSet;
 import javax.swing.JFrame;
 import javax.swing.JInternalFrame;
 import javax.swing.JMenuBar;
 import javax.swing.SwingUtilities;
+import javax.swing.event.InternalFrameAdapter;
+import javax.swing.event.InternalFrameEvent;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.Connection;
 
+import com.nqadmin.swingset.datasources.SSMetaDataCache;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
+import com.nqadmin.swingset.metrics.SSMetrics;
+
 //SSScreenHelperCommon.java
 //
 //SwingSet - Open Toolkit For Making Swing Controls Database-Aware
@@ -72,7 +81,7 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * SwingSet properties
@@ -80,6 +89,10 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 	protected static final Properties ssProps = SSProperties.getProperties();
 	
 	private Connection connection; // Database connection.
+	private DataSource dataSource = null; // Pooled connections for concurrent screen loading.
+	private int maxLoadThreads = SSScreenLoader.DEFAULT_MAX_THREADS; // Maximum concurrent screen load queries.
+	private Map<String, Long> loadTimings = Collections.emptyMap(); // Query timings of the last screen load.
+	private SSAutoRefresh autoRefresh = null; // Polls for changes made by other users.
 	private RowSet rowset; // Rowset to be used for screen/form.
 
 	private String pkColumn; // Primary key column name for rowset.
@@ -106,6 +119,14 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 	public SSScreenHelperCommon(final String _title, final boolean _resizable, final boolean _closable,
 			final boolean _maximizable, final boolean _iconifiable) {
 		super(_title, _resizable, _closable, _maximizable, _iconifiable);
+
+		// STOP POLLING FOR CHANGES WHEN THE SCREEN IS CLOSED
+		addInternalFrameListener(new InternalFrameAdapter() {
+			@Override
+			public void internalFrameClosed(final InternalFrameEvent ife) {
+				setAutoRefresh(null);
+			}
+		});
 	}
 
 	/**
@@ -281,6 +302,74 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 		return connection;
 	}
 	
+	/**
+	 * @return the auto refresh polling for changes, may be null
+	 */
+	protected SSAutoRefresh getAutoRefresh() {
+		return autoRefresh;
+	}
+
+	/**
+	 * @return the DataSource used for concurrent screen loading, may be null
+	 */
+	protected DataSource getDataSource() {
+		return dataSource;
+	}
+
+	/**
+	 * @return elapsed milliseconds of each query of the most recent
+	 *		screen load or update, by name
+	 */
+	public Map<String, Long> getLoadTimings() {
+		return loadTimings;
+	}
+
+	/**
+	 * @return maximum number of concurrent queries when loading the screen
+	 */
+	protected int getMaxLoadThreads() {
+		return maxLoadThreads;
+	}
+
+	/**
+	 * Create the loader for a screen load or update. The queries of a
+	 * screen, for example those of the SSDBComboBoxes, run concurrently if a
+	 * DataSource is set; otherwise they run one after the other on the
+	 * screen's connection.
+	 * <p>
+	 * Loading is done with, for example
+	 * <pre>
+	 * {@code
+	 * try (SSScreenLoader loader = beginScreenLoad()) {
+	 * 	...
+	 * 	finishScreenLoad(loader);
+	 * }
+	 * }
+	 * </pre>
+	 * 
+	 * @return a loader that is collecting queries
+	 */
+	protected SSScreenLoader beginScreenLoad() {
+		final SSScreenLoader loader = new SSScreenLoader(getDataSource(), getMaxLoadThreads());
+		loader.begin();
+		return loader;
+	}
+
+	/**
+	 * Wait for the queries started since {@link #beginScreenLoad()} and
+	 * apply their results.
+	 * 
+	 * @param _loader from beginScreenLoad()
+	 * @throws Exception the first exception thrown by a query
+	 */
+	protected void finishScreenLoad(final SSScreenLoader _loader) throws Exception {
+		try {
+			_loader.finish();
+		} finally {
+			loadTimings = _loader.getTimings();
+		}
+	}
+
 	/**
 	 * Performs post construction screen initialization.
 	 * <p>
@@ -403,6 +492,24 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 		selectSQL = _selectSQL;
 	}
 	
+	/**
+	 * Replace the auto refresh polling for changes made by other users. The new
+	 * one backs off while this screen is not showing and is stopped when the
+	 * screen is closed.
+	 * 
+	 * @param _autoRefresh the auto refresh to start, null to stop polling
+	 */
+	protected void setAutoRefresh(final SSAutoRefresh _autoRefresh) {
+		if (autoRefresh != null) {
+			autoRefresh.stop();
+		}
+		autoRefresh = _autoRefresh;
+		if (autoRefresh != null) {
+			autoRefresh.setComponent(this);
+			autoRefresh.start();
+		}
+	}
+
 	/**
 	 * @param _connection the connection to set
 	 */
@@ -410,6 +517,25 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 		connection = _connection;
 	}
 
+	/**
+	 * Set a DataSource, typically a connection pool for the screen's
+	 * database, so that the independent queries of a screen load run
+	 * concurrently, each on its own connection.
+	 * 
+	 * @param _dataSource the DataSource to set, null to load sequentially
+	 */
+	protected void setDataSource(final DataSource _dataSource) {
+		dataSource = _dataSource;
+	}
+
+	/**
+	 * @param _maxLoadThreads maximum number of concurrent queries when
+	 *		loading the screen
+	 */
+	protected void setMaxLoadThreads(final int _maxLoadThreads) {
+		maxLoadThreads = _maxLoadThreads;
+	}
+
 	/**
 	 * Shows the screen at the default location on the specified container.
 	 *
@@ -472,17 +598,27 @@ public abstract class SSScreenHelperCommon extends JInternalFrame {
 	 * @throws Exception exception thrown while updating the rowset
 	 */
 	protected void updateRowset() throws SQLException, Exception {
-		logger.debug("Rowset query: [{}].", () -> {
-			try {
-				return getSelectionQuery();
-			} catch (SQLException se) {
-				return "*** getSelectionQuery() threw an SQL Exception ***";
-			} catch (Exception e) {
-				return "*** getSelectionQuery() threw an Exception ***";
-			}
-		});
-		getRowset().setCommand(getSelectionQuery());
+		updateRowset(getSelectionQuery());
+	}
+
+	/**
+	 * Updates rowset with the results of a query obtained from
+	 * {@link #getSelectionQuery()}. The query is obtained on the event
+	 * dispatch thread, this may run on a loader thread.
+	 *
+	 * @param _selectionQuery the rowset query
+	 * @throws SQLException SQL exception thrown while updating the rowset
+	 */
+	protected void updateRowset(final String _selectionQuery) throws SQLException {
+		logger.debug("Rowset query: [{}].", _selectionQuery);
+		getRowset().setCommand(_selectionQuery);
+		final long start = SSMetrics.start();
+		final int activity = SSEdtWatchdog.enter(this::getTitle, () -> getRowset().getCommand());
 		getRowset().execute();
+		SSEdtWatchdog.exit(activity);
+		SSMetrics.record(SSMetrics.ROWSET_EXECUTE, start, this::getTitle);
+		// VALIDATE ANY CACHED METADATA HERE, OFF THE EDT WHEN LOADING CONCURRENTLY
+		SSMetaDataCache.validate(getRowset());
 	}
 
 	/**
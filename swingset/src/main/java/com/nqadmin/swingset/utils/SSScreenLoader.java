@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// SSScreenLoader.java
+//
+// SwingSet - Open Toolkit For Making Swing Controls Database-Aware
+
+/**
+ * Runs the independent queries of a screen load concurrently, then applies
+ * their results to the components in one pass on the event dispatch thread.
+ * <p>
+ * Between {@link #begin()} and {@link #finish()}, which must be called on
+ * the same thread, typically the EDT, components that support it, for
+ * example {@link com.nqadmin.swingset.SSDBComboBox#execute()}, hand their
+ * query to this loader through {@link #defer}. Each deferred query
+ * runs on a bounded thread pool with its own connection from the
+ * {@link DataSource}, which should be pooled; the work that updates the
+ * component is run by {@code finish()} after all queries have completed,
+ * in the order the queries were deferred.
+ * <p>
+ * Without a DataSource nothing is deferred and {@link #submit} runs its
+ * work immediately; the screen loads sequentially as it always has.
+ * <p>
+ * The elapsed time of each query is recorded, see {@link #getTimings()}.
+ * 
+ * @since 4.0.0
+ */
+public class SSScreenLoader implements AutoCloseable {
+
+	/**
+	 * A query that runs on a worker thread. It returns the work,
+	 * typically updating a Swing component with the query results,
+	 * that is run on the loading thread when all queries are done.
+	 */
+	@FunctionalInterface
+	public interface LoadTask {
+		/**
+		 * Run a query. Must not touch Swing components.
+		 * 
+		 * @param _connection connection for the query; it is closed,
+		 *		returned to the pool, after this method returns
+		 * @return work to run on the loading thread, may be null
+		 * @throws Exception if the query fails
+		 */
+		Runnable query(Connection _connection) throws Exception;
+	}
+
+	/**
+	 * Log4j Logger for component
+	 */
+	private static final Logger logger = LogManager.getLogger();
+
+	/**
+	 * Default maximum number of concurrent queries.
+	 */
+	public static final int DEFAULT_MAX_THREADS = 4;
+
+	/**
+	 * The loader collecting deferred queries; only used on its owner thread.
+	 */
+	private static volatile SSScreenLoader collecting;
+
+	private final DataSource dataSource;
+	private final int maxThreads;
+	private ExecutorService executor;
+	private Thread owner;
+	private SSScreenLoader previous;
+
+	/** deferred queries, by key, in the order their results are applied */
+	private final Map<Object, Future<Runnable>> deferred = new LinkedHashMap<>();
+	private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	/**
+	 * Create a loader.
+	 * 
+	 * @param _dataSource source of connections for concurrent queries,
+	 *		if null queries are not run concurrently
+	 * @param _maxThreads maximum number of concurrent queries
+	 */
+	public SSScreenLoader(final DataSource _dataSource, final int _maxThreads) {
+		dataSource = _dataSource;
+		maxThreads = Math.max(1, _maxThreads);
+	}
+
+	/**
+	 * @return true if queries are run concurrently
+	 */
+	public boolean isConcurrent() {
+		return dataSource != null;
+	}
+
+	/**
+	 * Start collecting deferred queries on the current thread.
+	 */
+	public void begin() {
+		if (!isConcurrent() || (owner != null)) {
+			return;
+		}
+		owner = Thread.currentThread();
+		previous = collecting;
+		collecting = this;
+	}
+
+	/**
+	 * If a loader is collecting on the current thread, run the query
+	 * with that loader. A query deferred with the same key as an earlier,
+	 * not yet applied, query replaces it.
+	 * 
+	 * @param _key identifies what the query loads, typically the component
+	 * @param _name name used for the query's timing
+	 * @param _task the query
+	 * @return true if the query is deferred, false if the caller
+	 *		should run the query itself
+	 */
+	public static boolean defer(final Object _key, final String _name, final LoadTask _task) {
+		final SSScreenLoader loader = collecting;
+		if ((loader == null) || (loader.owner != Thread.currentThread())) {
+			return false;
+		}
+		final Future<Runnable> future = loader.getExecutor().submit(() -> {
+			try (Connection connection = loader.dataSource.getConnection()) {
+				return loader.timed(_name, () -> _task.query(connection));
+			}
+		});
+		final Future<Runnable> replaced = loader.deferred.remove(_key);
+		if (replaced != null) {
+			replaced.cancel(false);
+		}
+		loader.deferred.put(_key, future);
+		return true;
+	}
+
+	/**
+	 * Run work, for example executing the screen's rowset, that does not
+	 * need its own connection. It runs concurrently with the deferred
+	 * queries; without a DataSource it runs immediately.
+	 * 
+	 * @param <T> result type
+	 * @param _name name used for the work's timing
+	 * @param _work the work
+	 * @return the pending result, see {@link #waitFor(Future)}
+	 */
+	public <T> Future<T> submit(final String _name, final Callable<T> _work) {
+		final Callable<T> work = () -> timed(_name, _work);
+		if (!isConcurrent()) {
+			final FutureTask<T> task = new FutureTask<>(work);
+			task.run();
+			return task;
+		}
+		return getExecutor().submit(work);
+	}
+
+	/**
+	 * Wait for submitted work to complete.
+	 * 
+	 * @param <T> result type
+	 * @param _future from {@link #submit}
+	 * @return the result of the work
+	 * @throws Exception the exception thrown by the work
+	 */
+	public static <T> T waitFor(final Future<T> _future) throws Exception {
+		try {
+			return _future.get();
+		} catch (final ExecutionException ee) {
+			final Throwable cause = ee.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw ee;
+		}
+	}
+
+	/**
+	 * Stop collecting, wait for the deferred queries, and then run the
+	 * work they returned in the order the queries were deferred. If a query
+	 * failed, the remaining work is still run and the first failure is
+	 * thrown afterwards.
+	 * 
+	 * @throws Exception the first exception thrown by a deferred query
+	 */
+	public void finish() throws Exception {
+		stopCollecting();
+		final List<Future<Runnable>> futures = new ArrayList<>(deferred.values());
+		deferred.clear();
+		Exception failure = null;
+		for (final Future<Runnable> future : futures) {
+			try {
+				final Runnable apply = waitFor(future);
+				if (apply != null) {
+					apply.run();
+				}
+			} catch (final Exception ex) {
+				logger.error("Screen load query failed.", ex);
+				if (failure == null) {
+					failure = ex;
+				}
+			}
+		}
+		shutdown();
+		logger.debug("Screen load timings (ms): {}", timings);
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * If not finished, stop collecting and discard any deferred queries.
+	 */
+	@Override
+	public void close() {
+		stopCollecting();
+		for (final Future<Runnable> future : deferred.values()) {
+			future.cancel(true);
+		}
+		deferred.clear();
+		shutdown();
+	}
+
+	/**
+	 * @return elapsed milliseconds of each query, by name, in order
+	 *		of completion
+	 */
+	public Map<String, Long> getTimings() {
+		synchronized (timings) {
+			return Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+		}
+	}
+
+	private <T> T timed(final String _name, final Callable<T> _work) throws Exception {
+		final long start = System.nanoTime();
+		try {
+			return _work.call();
+		} finally {
+			final long elapsed = (System.nanoTime() - start) / 1_000_000;
+			timings.put(_name, elapsed);
+			logger.debug("{}: query took {} ms.", _name, elapsed);
+		}
+	}
+
+	private void stopCollecting() {
+		if ((owner != null) && (collecting == this)) {
+			collecting = previous;
+		}
+		owner = null;
+		previous = null;
+	}
+
+	private ExecutorService getExecutor() {
+		if (executor == null) {
+			final AtomicInteger count = new AtomicInteger();
+			final ThreadFactory threadFactory = runnable -> {
+				final Thread thread = new Thread(runnable, "SSScreenLoader-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+			executor = Executors.newFixedThreadPool(maxThreads, threadFactory);
+		}
+		return executor;
+	}
+
+	private void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+}
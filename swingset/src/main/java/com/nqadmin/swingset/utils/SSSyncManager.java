@@ -37,21 +37,30 @@
  ******************************************************************************/
 package com.nqadmin.swingset.utils;
 
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.sql.RowSet;
 import javax.sql.RowSetEvent;
 import javax.sql.RowSetListener;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.nqadmin.swingset.SSDBComboBox;
 import com.nqadmin.swingset.SSDataNavigator;
+import com.nqadmin.swingset.datasources.RowSetOps;
+import com.nqadmin.swingset.metrics.SSEdtWatchdog;
 
 // SSSyncManager.java
 //
@@ -60,9 +69,16 @@ import com.nqadmin.swingset.SSDataNavigator;
 /**
  * Used to synchronize a data navigator and a navigation combobox.
  * <p>
- * IMPORTANT: The SSDBComboBox and the RowSet queries should select the same
- * records and in the same order. Otherwise the SSSyncManager will spend a lot of
- * time looping through records to match.
+ * The SSDBComboBox and the RowSet queries should select the same records,
+ * the order does not matter. When a record is chosen in the combo box, the
+ * RowSet is positioned using an index from primary key to row number; the
+ * index is built the first time it is needed after the RowSet is executed,
+ * without moving the RowSet's cursor. A record the index does not find is
+ * searched for row by row.
+ * <p>
+ * Use {@link #setNavigationDelay(int)} so that scrolling through the combo
+ * box with the keyboard only moves the RowSet, and refreshes the bound
+ * components, once the selection settles.
  */
 public class SSSyncManager {
 
@@ -80,8 +96,36 @@ public class SSSyncManager {
 		// ITS POSITIONED AT THE RIGHT RECORD.
 		@Override
 		public void actionPerformed(final ActionEvent ae) {
+			if (isDeferredNavigation()) {
+				// Only the combo changes, the rowset follows when the selection settles.
+				navigationTimer.restart();
+				return;
+			}
+			stopNavigationTimer();
+			syncRowSet();
+		}
+
+		/**
+		 * Navigation is deferred while keys, for example arrow keys, are
+		 * changing the selection; Enter, mouse clicks and programmatic
+		 * changes navigate immediately.
+		 * @return true if moving the rowset should wait for the selection to settle
+		 */
+		protected boolean isDeferredNavigation() {
+			if (navigationDelay <= 0) {
+				return false;
+			}
+			final AWTEvent event = EventQueue.getCurrentEvent();
+			return (event instanceof KeyEvent) && (((KeyEvent)event).getKeyCode() != KeyEvent.VK_ENTER);
+		}
+
+		/**
+		 * Move the rowset to the record selected in the combo box.
+		 */
+		protected void syncRowSet() {
 
 			removeRowsetListener();
+			final int activity = SSEdtWatchdog.enter(comboBox::getColumnForLog, () -> rowset.getCommand());
 
 			try {
 				// IF THIS IS NOT CAUSED BY THE USER ACTION (IN WHICH THE FOCUS WILL BE ON THE COMBO) THERE IS NOTHING TO DO
@@ -110,72 +154,34 @@ public class SSSyncManager {
 				// 2020-12-02_BP: adding back
 				dataNavigator.updatePresentRow();
 
-				// Note that the rowset count starts at 1 whereas combobox index starts at 0.
-
 				final long rowsetPK = rowset.getLong(columnName);
 
 				if (comboPK != rowsetPK) {
-					// long indexOfId = SSSyncManager.this.comboBox.itemMap.get(this.id) + 1;
-					final int indexOfPK = comboBox.getMappings().indexOf(comboPK) + 1;
-					//int index = (int) indexOfPK;
-					logger.debug("Rowset PK=" + rowsetPK + ", Combo PK=" + comboPK + ", Target rowset record # should be " + indexOfPK + ".");
-					rowset.absolute(indexOfPK);
-					final int numRecords = comboBox.getItemCount();
-					int count = 0;
-
-					// IF AFTER POSITIONING THE ROWSET INDEX AT THE COMBO INDEX, THE VALUES DON'T MATCH,
-					// PERFORM A MANUAL LOOP TO TRY TO FIND A MATCH
-					// PRESUMING RECORDS COULD BE ADDED/DELETED BY OTHER CONNECTIONS, DON'T LOOP
-					// THROUGH ALL OF THE RECORDS MORE THAN ONCE PLUS A CUSHION OF overlapToCheck
-					while (comboPK != rowset.getLong(columnName)) {
-						if (!rowset.next()) {
-							rowset.beforeFirst();
-							rowset.next();
-						}
-
-						count++;
-
-						logger.warn(
-								"SSSyncManager RowSet and SSDBComboBox values do not match for the same index. This can be caused by SSDBComboBox and RowSet "
-								+ " queries not selecting the same records in the same order. Looping through each record for a match. Pass # "
-										+ count + ".");
-
-						// Often records are just slightly out of order so a better strategy would be to move backwards by some small offset
-						// and then search forward rather than potentially searching through all records to make a full loop.
-						if (count==1) {
-							// If there are only a few records, just start at first record
-							int rowsetSearchFrom = 1;
-
-							if (numRecords>offsetToCheck) {
-								rowsetSearchFrom = indexOfPK - offsetToCheck;
-							}
-							if (rowsetSearchFrom<1) {
-								rowsetSearchFrom += numRecords;
-							}
-							if (rowsetSearchFrom>numRecords) {
-								rowsetSearchFrom -= numRecords;
-							}
-							rowset.absolute(rowsetSearchFrom);
-						}
+					final int currentRow = rowset.getRow();
+					logger.debug("Rowset PK={}, Combo PK={}.", rowsetPK, comboPK);
 
+					boolean found = false;
+					try {
+						found = moveToPK(comboPK);
+					} finally {
 						// number of items in combo is the number of records in resultset.
-						// so if for some reason item is in combo but deleted in rowset
-						// To avoid infinite loop in such scenario
-						if (count > (numRecords + overlapToCheck)) {
-							comboBox.repaint();
-							logger.warn("SSSyncManager unable to find a record matching the selection in the dropdown list: " + comboBox.getSelectedStringValue() + ".");
-							// JOptionPane.showInternalMessageDialog(this,"Record deleted. Info the admin
-							// about this","Row not found",JOptionPane.OK_OPTION);
-							break;
+						// so if for some reason item is in combo but deleted in rowset,
+						// or the move failed, stay where we were.
+						if (!found) {
+							rowset.absolute(currentRow);
 						}
 					}
+					if (!found) {
+						comboBox.repaint();
+						logger.warn("SSSyncManager unable to find a record matching the selection in the dropdown list: {}.", comboBox.getSelectedStringValue());
+					}
 				}
 
-
 			} catch (final SQLException se) {
 				logger.error("SQL Exception.", se);
 			} finally {
-				logger.debug("SyncComboListener actionPerformedCount=" + actionPerformedCount++);
+				logger.debug("SyncComboListener actionPerformedCount={}", actionPerformedCount++);
+				SSEdtWatchdog.exit(activity);
 				addRowsetListener();
 			}
 		}
@@ -222,13 +228,13 @@ public class SSSyncManager {
 		@Override
 		public void rowSetChanged(final RowSetEvent rse) {
 			logger.trace("Rowset changed.");
+			invalidateRowIndex();
 			performUpdates();
 		}
 		
 		private void performUpdates() {
 			lastChange++;
-			logger.trace("performUpdates(): lastChange=" + lastChange
-					+ ", lastNotifiedChange=" + lastNotifiedChange);
+			logger.trace("performUpdates(): lastChange={}, lastNotifiedChange={}", lastChange, lastNotifiedChange);
 			
 			// Delay execution of logic until all listener methods are called for current event
 			// Based on: https://stackoverflow.com/questions/3953208/value-change-listener-to-jtextfield
@@ -246,17 +252,7 @@ public class SSSyncManager {
 	/**
 	 * Log4j Logger for component
 	 */
-	private static Logger logger = LogManager.getLogger();
-
-	/**
-	 * # of records to step back if doing a sequential search because SSDBComboBox and RowSet results don't match.
-	 */
-	private static final int offsetToCheck = 7;
-
-	/**
-	 * # of records of overlap to check if SSDBComboBox and RowSet results don't match due to record additions/deletions.
-	 */
-	private static final int overlapToCheck = 7;
+	private static final Logger logger = LogManager.getLogger();
 
 	/**
 	 * RowSet column used as basis for synchronization.
@@ -298,6 +294,24 @@ public class SSSyncManager {
 	 */
 	private boolean rowsetListenerAdded = false;
 
+	/**
+	 * RowSet row number keyed by the value in columnName. It is built
+	 * with a single pass over the rowset the first time it is needed after
+	 * the rowset is executed; null means it must be rebuilt.
+	 */
+	private Map<Long, Integer> rowIndex;
+
+	/**
+	 * Milliseconds the combo selection must be stable, while changed
+	 * from the keyboard, before the rowset is moved; 0 moves immediately.
+	 */
+	private int navigationDelay = 0;
+
+	/**
+	 * Moves the rowset when a keyboard driven selection settles.
+	 */
+	private Timer navigationTimer;
+
 	/**
 	 * <p>
 	 * Creates a SSSyncManager with the specified combo box and data navigator.
@@ -349,6 +363,9 @@ public class SSSyncManager {
 	 * Method to update combo box based on rowset.
 	 */
 	protected void adjustValue() {
+
+		// The rowset moved, a pending combo navigation is obsolete.
+		stopNavigationTimer();
 		
 //		// Ignore rowset listener calls triggered during row insertion or while navigator is calling updateRow() on rowset.
 //		if (dataNavigator.isOnInsertRow()) {
@@ -362,7 +379,7 @@ public class SSSyncManager {
 				// GET THE PRIMARY KEY FOR THE CURRENT RECORD IN THE ROWSET
 				final Long currentRowPK = rowset.getLong(columnName);
 
-				logger.debug("SSSyncManager().adjustValue() - RowSet value: " + currentRowPK);
+				logger.debug("SSSyncManager().adjustValue() - RowSet value: {}", currentRowPK);
 
 				// CHECK IF THE COMBO BOX IS DISPLAYING THE SAME ONE.
 				if ((comboBox.getSelectedStringValue() == null)
@@ -382,14 +399,139 @@ public class SSSyncManager {
 		addComboListener();
 	}
 
+	/**
+	 * Discard the primary key to row number index, it is rebuilt
+	 * when next needed. This is done automatically when the rowset
+	 * is executed; call this if rows are added or removed in a way
+	 * that does not notify rowset listeners.
+	 */
+	public void invalidateRowIndex() {
+		rowIndex = null;
+	}
+
+	/**
+	 * Position the rowset at the record with the specified primary key.
+	 * Rows can shift when records are inserted or deleted, so the indexed
+	 * row is verified; if it doesn't match, the index is rebuilt once and
+	 * then the rowset is searched row by row.
+	 * 
+	 * @param _pk primary key of the target record
+	 * @return true if the rowset is positioned at the target record
+	 * @throws SQLException if a database access error occurs
+	 */
+	private boolean moveToPK(final long _pk) throws SQLException {
+		if ((rowIndex != null) && moveToIndexedRow(_pk)) {
+			return true;
+		}
+		try {
+			rowIndex = buildRowIndex();
+			if (moveToIndexedRow(_pk)) {
+				return true;
+			}
+		} catch (final SQLException se) {
+			rowIndex = null;
+			logger.error("SQL Exception building the row index.", se);
+		}
+		return scanForPK(_pk);
+	}
+
+	private boolean moveToIndexedRow(final long _pk) throws SQLException {
+		final Integer row = rowIndex.get(_pk);
+		return (row != null) && rowset.absolute(row) && (rowset.getLong(columnName) == _pk);
+	}
+
+	/**
+	 * Read columnName from every row without moving the rowset's cursor,
+	 * which would notify every bound component once per row, see
+	 * {@link RowSetOps#getColumnValues(RowSet, int)}. Rows are matched by
+	 * number, a record whose row moved since the rowset was executed is
+	 * caught by the check in moveToIndexedRow().
+	 * 
+	 * @return row number keyed by primary key
+	 * @throws SQLException if a database access error occurs
+	 */
+	private Map<Long, Integer> buildRowIndex() throws SQLException {
+		final List<Object> values = RowSetOps.getColumnValues(rowset, RowSetOps.getColumnIndex(rowset, columnName));
+		final Map<Long, Integer> index = new HashMap<>(Math.max(16, (values.size() * 4 / 3) + 1));
+		int row = 0;
+		for (final Object value : values) {
+			row++;
+			if (value instanceof Number) {
+				// like the sequential search, the first match wins
+				index.putIfAbsent(((Number) value).longValue(), row);
+			}
+		}
+		logger.debug("Row index built for {} records.", row);
+		return index;
+	}
+
+	/**
+	 * Search the rowset row by row for a record the index did not find, for
+	 * example when the rows of a connected rowset differ from those of its
+	 * re-executed command. Each move notifies the rowset's listeners.
+	 * 
+	 * @param _pk primary key of the target record
+	 * @return true if the rowset is positioned at the target record
+	 * @throws SQLException if a database access error occurs
+	 */
+	private boolean scanForPK(final long _pk) throws SQLException {
+		logger.warn("SSSyncManager row index has no row for {}. Looping through each record for a match.", _pk);
+		rowset.beforeFirst();
+		while (rowset.next()) {
+			if (rowset.getLong(columnName) == _pk) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Stop synchronization between navigation components.
 	 */
 	public void async() {
 		logger.debug("");
+		stopNavigationTimer();
 		removeListeners();
 	}
 
+	/**
+	 * Set the time the combo box selection must be stable before the
+	 * rowset is moved and the bound components are refreshed. This
+	 * applies when the selection is changed from the keyboard, for
+	 * example holding down an arrow key; Enter, a mouse click or a
+	 * programmatic selection moves the rowset immediately.
+	 * <p>
+	 * The default, 0, moves the rowset for every selection change.
+	 *
+	 * @param _navigationDelay delay in milliseconds
+	 */
+	public void setNavigationDelay(final int _navigationDelay) {
+		stopNavigationTimer();
+		navigationDelay = Math.max(0, _navigationDelay);
+		if (navigationDelay > 0) {
+			if (navigationTimer == null) {
+				navigationTimer = new Timer(navigationDelay, _ae -> comboListener.syncRowSet());
+				navigationTimer.setRepeats(false);
+			}
+			navigationTimer.setInitialDelay(navigationDelay);
+		}
+	}
+
+	/**
+	 * @return milliseconds the combo box selection must be stable
+	 * before the rowset is moved
+	 * @see #setNavigationDelay(int)
+	 */
+	public int getNavigationDelay() {
+		return navigationDelay;
+	}
+
+	private void stopNavigationTimer() {
+		if (navigationTimer != null) {
+			navigationTimer.stop();
+		}
+	}
+
 	/**
 	 * Removes listener from the combo navigator
 	 */
@@ -425,6 +567,7 @@ public class SSSyncManager {
 	 */
 	public void setColumnName(final String _columnName) {
 		columnName = _columnName;
+		invalidateRowIndex();
 	}
 
 	/**
@@ -445,6 +588,7 @@ public class SSSyncManager {
 	public void setDataNavigator(final SSDataNavigator _dataNavigator) {
 		dataNavigator = _dataNavigator;
 		rowset = dataNavigator.getRowSet();
+		invalidateRowIndex();
 	}
 
 	/**
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * Build check for the logging discipline: messages are parameterized,
+ * "{}" with arguments or suppliers, never built eagerly with
+ * string concatenation or String.format. A concatenation or format
+ * inside a supplier lambda is fine; it is only evaluated if the
+ * level is enabled.
+ */
+@SuppressWarnings("javadoc")
+public class LoggingStyleTest {
+
+	private static final Path SOURCES = Paths.get("src", "main", "java");
+
+	private static final Pattern LOG_CALL = Pattern.compile(
+			"\\b(?:\\w*[lL]ogger|LogManager\\.getLogger\\([^)]*\\))\\s*\\.\\s*(?:trace|debug|info|warn|error|fatal)\\s*\\(");
+
+	private static final Pattern CONSTANT_CONCAT = Pattern.compile("\"\"(?:\\s*\\+\\s*\"\")+");
+
+	private static final Pattern EAGER = Pattern.compile("\"\\s*\\+|\\+\\s*\"|String\\.format\\s*\\(");
+
+	@Test
+	public void testNoEagerLogMessages() throws IOException {
+		assumeTrue(Files.isDirectory(SOURCES), "sources not found from " + Paths.get("").toAbsolutePath());
+
+		List<String> problems = new ArrayList<>();
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(SOURCES)) {
+			files = paths.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+		}
+		for (Path file : files) {
+			String src = stripComments(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+			Matcher m = LOG_CALL.matcher(src);
+			while (m.find()) {
+				String args = eagerPart(blankLiterals(src.substring(m.end(), closingParen(src, m.end()))));
+				if (EAGER.matcher(args).find()) {
+					problems.add(file + ":" + lineNumber(src, m.start()));
+				}
+			}
+		}
+		assertTrue(problems.isEmpty(), () -> "log message built eagerly, use \"{}\" parameters:\n  "
+				+ String.join("\n  ", problems));
+	}
+
+	/** Replace comments with spaces, keeping line breaks. */
+	static String stripComments(String _src) {
+		StringBuilder sb = new StringBuilder(_src);
+		int i = 0;
+		while (i < sb.length()) {
+			char c = sb.charAt(i);
+			if (c == '"' || c == '\'') {
+				i = skipLiteral(_src, i);
+			} else if (_src.startsWith("//", i)) {
+				while (i < sb.length() && sb.charAt(i) != '\n') {
+					sb.setCharAt(i++, ' ');
+				}
+			} else if (_src.startsWith("/*", i)) {
+				int end = _src.indexOf("*/", i + 2);
+				end = end < 0 ? sb.length() : end + 2;
+				for (; i < end; i++) {
+					if (sb.charAt(i) != '\n') {
+						sb.setCharAt(i, ' ');
+					}
+				}
+			} else {
+				i++;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Replace each string literal with an empty string literal;
+	 * literals concatenated with literals are folded by the compiler.
+	 */
+	static String blankLiterals(String _args) {
+		StringBuilder sb = new StringBuilder();
+		int i = 0;
+		while (i < _args.length()) {
+			char c = _args.charAt(i);
+			if (c == '"') {
+				i = skipLiteral(_args, i);
+				sb.append("\"\"");
+			} else {
+				sb.append(c);
+				i++;
+			}
+		}
+		return CONSTANT_CONCAT.matcher(sb).replaceAll("\"\"");
+	}
+
+	/** Arguments before the first lambda are evaluated at the call. */
+	static String eagerPart(String _args) {
+		int lambda = _args.indexOf("->");
+		return lambda < 0 ? _args : _args.substring(0, lambda);
+	}
+
+	/** @return index of the paren closing the call whose args start at _start */
+	static int closingParen(String _src, int _start) {
+		int depth = 1;
+		int i = _start;
+		while (i < _src.length()) {
+			char c = _src.charAt(i);
+			if (c == '"' || c == '\'') {
+				i = skipLiteral(_src, i);
+				continue;
+			}
+			if (c == '(') {
+				depth++;
+			} else if (c == ')' && --depth == 0) {
+				return i;
+			}
+			i++;
+		}
+		return _src.length();
+	}
+
+	/** @return index just past the literal starting at _start */
+	static int skipLiteral(String _src, int _start) {
+		char quote = _src.charAt(_start);
+		int i = _start + 1;
+		while (i < _src.length() && _src.charAt(i) != quote) {
+			i += _src.charAt(i) == '\\' ? 2 : 1;
+		}
+		return i + 1;
+	}
+
+	static int lineNumber(String _src, int _index) {
+		int line = 1;
+		for (int i = 0; i < _index; i++) {
+			if (_src.charAt(i) == '\n') {
+				line++;
+			}
+		}
+		return line;
+	}
+
+	@Test
+	public void testDetection() {
+		assertTrue(EAGER.matcher(eagerPart(blankLiterals("\"a\" + b"))).find());
+		assertTrue(EAGER.matcher(eagerPart(blankLiterals("String.format(\"%s\", b)"))).find());
+		assertTrue(EAGER.matcher(eagerPart(blankLiterals("x + \": a\", e"))).find());
+		assertFalse(EAGER.matcher(eagerPart(blankLiterals("\"a {} + b\", b"))).find());
+		assertFalse(EAGER.matcher(eagerPart(blankLiterals("\"a\"\n + \"{}\", b"))).find());
+		assertFalse(EAGER.matcher(eagerPart(blankLiterals("() -> \"a\" + b"))).find());
+		assertFalse(EAGER.matcher(eagerPart(blankLiterals("\"{}\", () -> String.format(\"%s\", b)"))).find());
+		assertEquals("a\n   \nb", stripComments("a\n//x\nb"));
+		assertEquals("a      b", stripComments("a /**/ b"));
+		assertEquals("\"//\" + b", stripComments("\"//\" + b"));
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nqadmin.swingset.SSColumnAggregates.Aggregate;
+
+/**
+ * Aggregates adjusted for each change match those computed from scratch.
+ */
+@SuppressWarnings("javadoc")
+public class SSColumnAggregatesTest {
+
+	/** Table model over a list of rows. */
+	@SuppressWarnings("serial")
+	static class ListTableModel extends SSTableModel {
+		final List<Object[]> rows = new ArrayList<>();
+
+		ListTableModel(Object[]... _rows) {
+			rows.addAll(Arrays.asList(_rows));
+			rowCount = rows.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return 4;
+		}
+
+		@Override
+		public Object getValueAt(int _row, int _column) {
+			return rows.get(_row)[_column];
+		}
+
+		void set(int _row, int _column, Object _value, SSColumnAggregates _aggregates) {
+			Object old = rows.get(_row)[_column];
+			rows.get(_row)[_column] = _value;
+			_aggregates.valueChanged(_column, old, _value);
+		}
+
+		void insert(Object[] _row, SSColumnAggregates _aggregates) {
+			rows.add(_row);
+			rowCount++;
+			_aggregates.rowInserted(_row);
+		}
+
+		void delete(int _row, SSColumnAggregates _aggregates) {
+			Object[] row = rows.remove(_row);
+			rowCount--;
+			_aggregates.rowDeleted(row);
+		}
+	}
+
+	// INTEGER, DECIMAL, DOUBLE, STRING
+	private static ListTableModel model() {
+		return new ListTableModel(
+				new Object[] { 3, new BigDecimal("0.10"), 0.1, "b" },
+				new Object[] { 7, new BigDecimal("0.20"), 0.2, "d" },
+				new Object[] { null, null, null, null },
+				new Object[] { -2, new BigDecimal("1.05"), 0.3, "a" });
+	}
+
+	private static SSColumnAggregates aggregates(SSTableModel _model, Aggregate _aggregate) {
+		SSColumnAggregates aggregates = new SSColumnAggregates(_model);
+		for (int column = 0; column < 4; column++) {
+			aggregates.setAggregate(column, _aggregate);
+		}
+		return aggregates;
+	}
+
+	private static void assertSameAsRescan(ListTableModel _model, SSColumnAggregates _incremental,
+			Aggregate _aggregate) {
+		SSColumnAggregates rescan = aggregates(_model, _aggregate);
+		for (int column = 0; column < 4; column++) {
+			Object expected = rescan.getValue(column);
+			Object actual = _incremental.getValue(column);
+			if (expected instanceof Double) {
+				assertEquals((Double) expected, (Double) actual, 1e-9, _aggregate + " column " + column);
+			} else {
+				assertEquals(expected, actual, _aggregate + " column " + column);
+			}
+		}
+	}
+
+	@Test
+	public void testSumTypes() {
+		System.out.println("testSumTypes");
+		SSColumnAggregates aggregates = aggregates(model(), Aggregate.SUM);
+		assertEquals(8L, aggregates.getValue(0));
+		assertEquals(new BigDecimal("1.35"), aggregates.getValue(1));
+		assertEquals(0.6, (Double) aggregates.getValue(2), 1e-9);
+		assertNull(aggregates.getValue(3));
+	}
+
+	@Test
+	public void testCountMinMaxAvg() {
+		System.out.println("testCountMinMaxAvg");
+		ListTableModel model = model();
+		assertEquals(3L, aggregates(model, Aggregate.COUNT).getValue(3));
+		assertEquals(-2, aggregates(model, Aggregate.MIN).getValue(0));
+		assertEquals("d", aggregates(model, Aggregate.MAX).getValue(3));
+		assertEquals(new BigDecimal("0.45"), aggregates(model, Aggregate.AVG).getValue(1));
+		assertEquals(8.0 / 3, (Double) aggregates(model, Aggregate.AVG).getValue(0), 1e-12);
+	}
+
+	@Test
+	public void testIncrementalMatchesRescan() {
+		System.out.println("testIncrementalMatchesRescan");
+		for (Aggregate aggregate : Aggregate.values()) {
+			ListTableModel model = model();
+			SSColumnAggregates aggregates = aggregates(model, aggregate);
+			aggregates.getValue(0);
+
+			model.set(0, 0, 11, aggregates);
+			model.set(1, 1, null, aggregates);
+			model.set(2, 3, "z", aggregates);
+			assertSameAsRescan(model, aggregates, aggregate);
+
+			// REMOVING THE MINIMUM AND THE MAXIMUM
+			model.delete(3, aggregates);
+			model.delete(2, aggregates);
+			assertSameAsRescan(model, aggregates, aggregate);
+
+			model.insert(new Object[] { -5, new BigDecimal("2.5"), 1.5, "c" }, aggregates);
+			model.insert(new Object[] { null, null, null, null }, aggregates);
+			assertSameAsRescan(model, aggregates, aggregate);
+		}
+	}
+
+	@Test
+	public void testDecimalSumDoesNotDrift() {
+		System.out.println("testDecimalSumDoesNotDrift");
+		ListTableModel model = model();
+		SSColumnAggregates aggregates = aggregates(model, Aggregate.SUM);
+		aggregates.getValue(1);
+		for (int i = 0; i < 10_000; i++) {
+			model.set(0, 1, new BigDecimal("0.01").multiply(BigDecimal.valueOf(i % 7)), aggregates);
+			model.set(0, 0, i, aggregates);
+		}
+		model.set(0, 1, new BigDecimal("0.10"), aggregates);
+		model.set(0, 0, 3, aggregates);
+		assertEquals(new BigDecimal("1.35"), aggregates.getValue(1));
+		assertEquals(8L, aggregates.getValue(0));
+	}
+
+	@Test
+	public void testLongOverflow() {
+		System.out.println("testLongOverflow");
+		ListTableModel model = new ListTableModel(
+				new Object[] { Long.MAX_VALUE, null, null, null },
+				new Object[] { Long.MAX_VALUE, null, null, null });
+		SSColumnAggregates aggregates = aggregates(model, Aggregate.SUM);
+		assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)), aggregates.getValue(0));
+		model.delete(1, aggregates);
+		assertEquals(Long.MAX_VALUE, aggregates.getValue(0));
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finding the item of a combo column value.
+ */
+@SuppressWarnings("javadoc")
+public class SSComboLookupTest {
+
+	private static final Object[] COLORS = { "Red", "Green", "Blue", "Green again" };
+
+	@Test
+	public void testIntegerIndex() {
+		System.out.println("testIntegerIndex");
+		SSComboLookup lookup = new SSComboLookup(COLORS, new Object[] { 10, 20L, (short) 30, 20 });
+		assertFalse(lookup.isIndexed());
+		assertEquals(0, lookup.indexOf(10));
+		assertEquals(2, lookup.indexOf(30));
+		// ANY INTEGRAL TYPE FINDS THE ITEM
+		assertEquals(0, lookup.indexOf(10L));
+		assertEquals(2, lookup.indexOf((short) 30));
+		assertEquals(-1, lookup.indexOf(40));
+		assertEquals(-1, lookup.indexOf("10"));
+		assertEquals(-1, lookup.indexOf(null));
+		assertEquals("Blue", lookup.getDisplayText(lookup.indexOf(30)));
+	}
+
+	@Test
+	public void testManyIntegers() {
+		System.out.println("testManyIntegers");
+		int count = 1000;
+		Object[] display = new Object[count];
+		Object[] underlying = new Object[count];
+		for (int i = 0; i < count; i++) {
+			display[i] = "item " + i;
+			// KEYS THAT COLLIDE IN A SMALL TABLE
+			underlying[i] = i * 1024;
+		}
+		SSComboLookup lookup = new SSComboLookup(display, underlying);
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, lookup.indexOf(i * 1024));
+		}
+		assertEquals(-1, lookup.indexOf(1));
+	}
+
+	@Test
+	public void testObjectIndex() {
+		System.out.println("testObjectIndex");
+		SSComboLookup lookup = new SSComboLookup(COLORS, new Object[] { "R", "G", "B", null });
+		assertEquals(0, lookup.indexOf("R"));
+		assertEquals(2, lookup.indexOf("B"));
+		assertEquals(-1, lookup.indexOf("X"));
+		assertEquals(-1, lookup.indexOf(null));
+		assertEquals("G", lookup.getUnderlyingValue(1));
+	}
+
+	@Test
+	public void testFirstDuplicateWins() {
+		System.out.println("testFirstDuplicateWins");
+		assertEquals(1, new SSComboLookup(COLORS, new Object[] { 10, 20, 30, 20 }).indexOf(20));
+		assertEquals(1, new SSComboLookup(COLORS, new Object[] { "R", "G", "B", "G" }).indexOf("G"));
+	}
+
+	@Test
+	public void testItemIndex() {
+		System.out.println("testItemIndex");
+		SSComboLookup lookup = new SSComboLookup(COLORS, null);
+		assertTrue(lookup.isIndexed());
+		assertEquals(3, lookup.indexOf(3));
+		assertEquals(-1, lookup.indexOf(4));
+		assertEquals(-1, lookup.indexOf(-1));
+		assertEquals(Integer.valueOf(2), lookup.getUnderlyingValue(2));
+		assertEquals(4, lookup.size());
+	}
+
+	@Test
+	public void testNullDisplayValue() {
+		System.out.println("testNullDisplayValue");
+		SSComboLookup lookup = new SSComboLookup(new Object[] { null, "x" }, new Object[] { 1, 2 });
+		assertEquals("", lookup.getDisplayText(0));
+	}
+}
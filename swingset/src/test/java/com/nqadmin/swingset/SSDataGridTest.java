@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.rowset.JdbcRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rewriting the query of a sorted or filtered data grid.
+ */
+@SuppressWarnings("javadoc")
+public class SSDataGridTest {
+
+	@Test
+	public void testTrailingOrderBy() {
+		System.out.println("testTrailingOrderBy");
+		String sql = "SELECT p.id, p.name FROM part p WHERE p.city = ? ORDER BY p.name, p.id";
+		assertEquals(sql.indexOf("ORDER"), SSDataGrid.trailingOrderByIndex(sql));
+		sql = "select * from part order\n by name";
+		assertEquals(sql.indexOf("order"), SSDataGrid.trailingOrderByIndex(sql));
+	}
+
+	@Test
+	public void testNoTrailingOrderBy() {
+		System.out.println("testNoTrailingOrderBy");
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex("SELECT * FROM part"));
+		// NESTED OR QUOTED
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex(
+				"SELECT id, ROW_NUMBER() OVER (ORDER BY name) FROM part"));
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex("SELECT * FROM part WHERE name = 'x order by y'"));
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex("SELECT \"order by\" FROM part"));
+		// THE ORDER BY DETERMINES WHICH ROWS ARE RETURNED
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex("SELECT * FROM part ORDER BY name LIMIT 10"));
+		assertEquals(-1, SSDataGrid.trailingOrderByIndex("SELECT TOP 10 * FROM part ORDER BY name"));
+	}
+
+	@Test
+	public void testOrderByAfterSubquery() {
+		System.out.println("testOrderByAfterSubquery");
+		String sql = "SELECT * FROM (SELECT * FROM part ORDER BY id) x ORDER BY name";
+		assertEquals(sql.lastIndexOf("ORDER"), SSDataGrid.trailingOrderByIndex(sql));
+	}
+
+	@Test
+	public void testSingleSelect() {
+		System.out.println("testSingleSelect");
+		assertTrue(SSDataGrid.isSingleSelect("SELECT p.id, p.name FROM part p WHERE p.city = ?"));
+		assertTrue(SSDataGrid.isSingleSelect("select * from part where id in (select id from x group by id)"));
+		assertFalse(SSDataGrid.isSingleSelect("SELECT city, COUNT(*) FROM part GROUP BY city"));
+		assertFalse(SSDataGrid.isSingleSelect("SELECT id FROM part UNION SELECT id FROM supplier"));
+		assertFalse(SSDataGrid.isSingleSelect("SELECT * FROM part LIMIT 10"));
+		assertFalse(SSDataGrid.isSingleSelect("WITH x AS (SELECT * FROM part) SELECT * FROM x"));
+	}
+
+	@Test
+	public void testSelectExpressions() {
+		System.out.println("testSelectExpressions");
+		assertEquals(Arrays.asList("p.id", "p.name", "UPPER(p.city)", "CASE WHEN p.id > 1 THEN 'a, b' END"),
+				SSDataGrid.selectExpressions("SELECT p.id, p.name AS nm, UPPER(p.city) city,"
+						+ " CASE WHEN p.id > 1 THEN 'a, b' END FROM part p"));
+		assertEquals(Arrays.asList("name"), SSDataGrid.selectExpressions("select distinct name \"Part Name\" from part"));
+		assertNull(SSDataGrid.selectExpressions("SELECT * FROM part"));
+		assertNull(SSDataGrid.selectExpressions("SELECT p.*, s.name FROM part p, supplier s"));
+	}
+
+	@Test
+	public void testOrderByOnLabels() {
+		System.out.println("testOrderByOnLabels");
+		final String[] labels = { "PART_ID", "NM" };
+		assertTrue(SSDataGrid.isOrderByOnLabels("ORDER BY p.part_id DESC, nm", labels));
+		assertTrue(SSDataGrid.isOrderByOnLabels("order by 2 asc nulls last", labels));
+		assertTrue(SSDataGrid.isOrderByOnLabels("ORDER BY \"NM\"", labels));
+		// NOT A COLUMN OF THE DERIVED TABLE
+		assertFalse(SSDataGrid.isOrderByOnLabels("ORDER BY part_name", labels));
+		assertFalse(SSDataGrid.isOrderByOnLabels("ORDER BY LOWER(nm)", labels));
+		assertFalse(SSDataGrid.isOrderByOnLabels("ORDER BY 3", labels));
+	}
+
+	@Test
+	public void testContainsPattern() {
+		System.out.println("testContainsPattern");
+		assertEquals("%abc%", SSDataGrid.containsPattern("ABC"));
+		assertEquals("%10!%!_!!x%", SSDataGrid.containsPattern("10%_!x"));
+	}
+
+	@Test
+	public void testEditAfterSort() throws SQLException {
+		System.out.println("testEditAfterSort");
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:SSDataGridTest");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE part (part_id INT PRIMARY KEY, part_name VARCHAR(20))");
+			statement.execute("INSERT INTO part VALUES (1, 'nut'), (2, 'bolt'), (3, '10% screw'), (4, '100 screws')");
+
+			final JdbcRowSet rowSet = RowSetProvider.newFactory().createJdbcRowSet();
+			rowSet.setUrl("jdbc:h2:mem:SSDataGridTest");
+			rowSet.setCommand("SELECT p.part_id, p.part_name FROM part p WHERE p.part_id > ? ORDER BY p.part_id");
+			rowSet.setInt(1, 0);
+			rowSet.setConcurrency(ResultSet.CONCUR_UPDATABLE);
+			rowSet.execute();
+			final SSDataGrid grid = new SSDataGrid(rowSet);
+
+			grid.setSortColumn(1, true);
+			assertEquals("SELECT p.part_id, p.part_name FROM part p WHERE (p.part_id > ?) ORDER BY p.part_name ASC",
+					rowSet.getCommand());
+			assertEquals(ResultSet.CONCUR_UPDATABLE, rowSet.getConcurrency());
+			assertEquals("10% screw", grid.getModel().getValueAt(0, 1));
+			grid.getModel().setValueAt("10% screws", 0, 1);
+
+			// THE PERCENT SIGN IS MATCHED LITERALLY
+			grid.setColumnFilter(1, "0%");
+			assertEquals(1, grid.getModel().getRowCount() - 1);
+			grid.getModel().setValueAt("20% screws", 0, 1);
+
+			try (ResultSet rs = statement.executeQuery("SELECT part_name FROM part WHERE part_id IN (3, 4) ORDER BY part_id")) {
+				assertTrue(rs.next());
+				assertEquals("20% screws", rs.getString(1));
+				assertTrue(rs.next());
+				assertEquals("100 screws", rs.getString(1));
+			}
+
+			// BACK TO THE APPLICATION'S COMMAND AND PARAMETER
+			grid.clearColumnFilters();
+			grid.setSortColumn(-1, true);
+			assertEquals("SELECT p.part_id, p.part_name FROM part p WHERE p.part_id > ? ORDER BY p.part_id",
+					rowSet.getCommand());
+			assertEquals(4, grid.getModel().getRowCount() - 1);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deleting several rows of a table model.
+ */
+@SuppressWarnings("javadoc")
+public class SSTableModelTest {
+
+	@Test
+	public void testDeleteRowsSkipsRefusedRows() throws SQLException {
+		System.out.println("testDeleteRowsSkipsRefusedRows");
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:SSTableModelTest");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE part (part_id INT PRIMARY KEY, part_name VARCHAR(20))");
+			statement.execute("INSERT INTO part VALUES (1, 'nut'), (2, 'bolt'), (3, 'screw'), (4, 'washer')");
+
+			CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+			rowSet.setCommand("SELECT part_id, part_name FROM part ORDER BY part_id");
+			rowSet.execute(connection);
+			SSTableModel model = new SSTableModel(rowSet);
+			List<String> calls = new ArrayList<>();
+			model.setSSDataGridHandler(new SSDataGridAdapter() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void performPreDeletionOps(int _row) {
+					calls.add("pre " + _row);
+				}
+
+				@Override
+				public boolean allowDeletion(int _row) {
+					calls.add("allow " + _row);
+					return _row != 1;
+				}
+			});
+
+			assertEquals(2, model.deleteRows(new int[] { 2, 0, 1 }));
+			// EACH ROW IS PREPARED AND CHECKED IN TURN, LAST ROW FIRST
+			assertEquals(Arrays.asList("pre 2", "allow 2", "pre 1", "allow 1", "pre 0", "allow 0"), calls);
+			assertEquals("bolt", model.getValueAt(0, 1));
+			assertEquals("washer", model.getValueAt(1, 1));
+
+			// THE FIRST ROW OF TWO
+			assertEquals(1, model.deleteRows(new int[] { 0, 1 }));
+			assertEquals(1, model.getRowCount() - 1);
+			assertEquals("washer", model.getValueAt(0, 1));
+		}
+	}
+}
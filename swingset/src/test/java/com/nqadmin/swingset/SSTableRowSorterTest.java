@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.RowSorter.SortKey;
+import javax.swing.SortOrder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * In memory sorting and filtering of an SSTableModel.
+ */
+@SuppressWarnings("javadoc")
+public class SSTableRowSorterTest {
+
+	/** Table model over an array, with an insertion row. */
+	@SuppressWarnings("serial")
+	static class ArrayTableModel extends SSTableModel {
+		final Object[][] data;
+
+		ArrayTableModel(Object[][] _data) {
+			data = _data;
+			rowCount = _data.length;
+			setInsertion(true);
+		}
+
+		@Override
+		public int getColumnCount() {
+			return data[0].length;
+		}
+
+		@Override
+		public Object getValueAt(int _row, int _column) {
+			return _row < rowCount ? data[_row][_column] : null;
+		}
+	}
+
+	// ID, NAME, CITY
+	private static final Object[][] DATA = {
+			{ 1, "pear", "Austin" },
+			{ 2, null, "Boston" },
+			{ 3, "apple", "Austin" },
+			{ 4, "pear", "Dallas" },
+			{ 5, "Apple", null },
+			{ 6, "pear", "Austin" },
+	};
+
+	private static SSTableRowSorter sorter(Object[][] _data) {
+		return new SSTableRowSorter(new ArrayTableModel(_data));
+	}
+
+	/** Model rows in view order. */
+	private static int[] view(SSTableRowSorter _sorter) {
+		int[] rows = new int[_sorter.getViewRowCount()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = _sorter.convertRowIndexToModel(i);
+		}
+		return rows;
+	}
+
+	private static SortKey key(int _column, SortOrder _order) {
+		return new SortKey(_column, _order);
+	}
+
+	@Test
+	public void testUnsorted() {
+		System.out.println("testUnsorted");
+		SSTableRowSorter sorter = sorter(DATA);
+		assertEquals(7, sorter.getViewRowCount());
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6 }, view(sorter));
+	}
+
+	@Test
+	public void testStableSortNullsFirst() {
+		System.out.println("testStableSortNullsFirst");
+		SSTableRowSorter sorter = sorter(DATA);
+		sorter.setSortKeys(Collections.singletonList(key(1, SortOrder.ASCENDING)));
+		// NULL FIRST, EQUAL NAMES KEEP THE MODEL ORDER, INSERTION ROW LAST
+		int[] rows = view(sorter);
+		assertEquals(1, rows[0]);
+		assertEquals(Arrays.asList(0, 3, 5), Arrays.asList(rows[3], rows[4], rows[5]));
+		assertEquals(6, rows[6]);
+		for (int i = 0; i < rows.length; i++) {
+			assertEquals(i, sorter.convertRowIndexToView(rows[i]));
+		}
+
+		sorter.setSortKeys(Collections.singletonList(key(1, SortOrder.DESCENDING)));
+		rows = view(sorter);
+		assertEquals(Arrays.asList(0, 3, 5), Arrays.asList(rows[0], rows[1], rows[2]));
+		assertEquals(1, rows[5]);
+		assertEquals(6, rows[6]);
+	}
+
+	@Test
+	public void testSecondaryKey() {
+		System.out.println("testSecondaryKey");
+		SSTableRowSorter sorter = sorter(DATA);
+		sorter.setSortKeys(Arrays.asList(key(1, SortOrder.DESCENDING), key(0, SortOrder.DESCENDING)));
+		int[] rows = view(sorter);
+		assertEquals(Arrays.asList(5, 3, 0), Arrays.asList(rows[0], rows[1], rows[2]));
+	}
+
+	@Test
+	public void testFiltersAreAnded() {
+		System.out.println("testFiltersAreAnded");
+		SSTableRowSorter sorter = sorter(DATA);
+		sorter.setColumnFilter(1, "PEAR");
+		assertArrayEquals(new int[] { 0, 3, 5, 6 }, view(sorter));
+		sorter.setColumnFilter(2, "aus");
+		assertArrayEquals(new int[] { 0, 5, 6 }, view(sorter));
+		assertEquals(-1, sorter.convertRowIndexToView(3));
+
+		// A NULL VALUE DOES NOT MATCH
+		Map<Integer, String> filters = new HashMap<>();
+		filters.put(2, "o");
+		sorter.setColumnFilters(filters);
+		assertArrayEquals(new int[] { 1, 6 }, view(sorter));
+
+		sorter.clearColumnFilters();
+		assertEquals(7, sorter.getViewRowCount());
+	}
+
+	@Test
+	public void testFilterAndSort() {
+		System.out.println("testFilterAndSort");
+		SSTableRowSorter sorter = sorter(DATA);
+		sorter.setColumnFilter(2, "austin");
+		sorter.setSortKeys(Collections.singletonList(key(0, SortOrder.DESCENDING)));
+		assertArrayEquals(new int[] { 5, 2, 0, 6 }, view(sorter));
+	}
+
+	@Test
+	public void testStructureChangedClears() {
+		System.out.println("testStructureChangedClears");
+		SSTableRowSorter sorter = sorter(DATA);
+		sorter.setColumnFilter(1, "pear");
+		sorter.setSortKeys(Collections.singletonList(key(0, SortOrder.DESCENDING)));
+		sorter.modelStructureChanged();
+		assertTrue(sorter.getSortKeys().isEmpty());
+		assertEquals(7, sorter.getViewRowCount());
+	}
+}
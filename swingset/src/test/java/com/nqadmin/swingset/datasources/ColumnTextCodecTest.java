@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing of date and timestamp text, as typed or as read from a file.
+ */
+@SuppressWarnings("javadoc")
+public class ColumnTextCodecTest {
+
+	@Test
+	public void testDateFormats() {
+		System.out.println("testDateFormats");
+		Date expected = Date.valueOf("2020-03-04");
+		assertEquals(expected, ColumnTextCodec.DATE.parseText("2020-03-04"));
+		assertEquals(expected, ColumnTextCodec.DATE.parseText("03/04/2020"));
+		assertEquals(expected, ColumnTextCodec.DATE.parseText("3/4/2020"));
+		assertEquals(expected, ColumnTextCodec.DATE.parseText("2020-3-4"));
+	}
+
+	@Test
+	public void testInvalidDate() {
+		System.out.println("testInvalidDate");
+		assertThrows(IllegalArgumentException.class, () -> ColumnTextCodec.DATE.parseText("03/04"));
+		assertThrows(IllegalArgumentException.class, () -> ColumnTextCodec.DATE.parseText("March 4"));
+	}
+
+	@Test
+	public void testTimestampFormats() {
+		System.out.println("testTimestampFormats");
+		Timestamp midnight = Timestamp.valueOf("2020-03-04 00:00:00");
+		assertEquals(midnight, ColumnTextCodec.TIMESTAMP.parseText("2020-03-04"));
+		assertEquals(midnight, ColumnTextCodec.TIMESTAMP.parseText("03/04/2020"));
+		Timestamp timestamp = Timestamp.valueOf("2020-03-04 13:45:06.789");
+		assertEquals(timestamp, ColumnTextCodec.TIMESTAMP.parseText("2020-03-04 13:45:06.789"));
+		// THE EXPORT TEXT READS BACK
+		assertEquals(timestamp, ColumnTextCodec.TIMESTAMP.parseText(timestamp.toString()));
+	}
+}
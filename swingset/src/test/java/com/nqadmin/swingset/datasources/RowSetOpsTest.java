@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetListener;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reading a column of a RowSet without moving its cursor.
+ */
+@SuppressWarnings("javadoc")
+public class RowSetOpsTest {
+
+	@Test
+	public void testCachedColumnValues() throws SQLException {
+		System.out.println("testCachedColumnValues");
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:RowSetOpsTest");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE part (part_id INT PRIMARY KEY, part_name VARCHAR(20))");
+			statement.execute("INSERT INTO part VALUES (1, 'nut'), (2, 'bolt'), (3, 'screw')");
+
+			CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+			rowSet.setCommand("SELECT part_id, part_name FROM part ORDER BY part_id");
+			rowSet.execute(connection);
+			// PENDING CHANGES
+			rowSet.absolute(2);
+			rowSet.deleteRow();
+			rowSet.moveToInsertRow();
+			rowSet.updateInt(1, 9);
+			rowSet.updateString(2, "washer");
+			rowSet.insertRow();
+			rowSet.moveToCurrentRow();
+			rowSet.first();
+			rowSet.next();
+
+			int[] moves = new int[2];
+			rowSet.addRowSetListener(new RowSetListener() {
+				@Override
+				public void rowSetChanged(RowSetEvent _event) {
+					fail("rowSetChanged");
+				}
+
+				@Override
+				public void rowChanged(RowSetEvent _event) {
+					fail("rowChanged");
+				}
+
+				@Override
+				public void cursorMoved(RowSetEvent _event) {
+					moves[(_event.getSource() == rowSet) ? 0 : 1]++;
+				}
+			});
+			assertEquals(Arrays.asList(1, 9, 3), RowSetOps.getColumnValues(rowSet, 1));
+			// WHILE A ROW IS BEING INSERTED
+			rowSet.moveToInsertRow();
+			rowSet.updateInt(1, 10);
+			assertEquals(Arrays.asList(1, 9, 3), RowSetOps.getColumnValues(rowSet, 1));
+			rowSet.moveToCurrentRow();
+			// ONLY THE SHARED COPY MOVED
+			assertEquals(0, moves[0]);
+			assertTrue(moves[1] > 0);
+			// THE CURSOR AND THE ROWS ARE UNCHANGED
+			assertEquals(2, rowSet.getRow());
+			assertEquals(9, rowSet.getInt(1));
+			assertTrue(rowSet.next());
+			assertEquals("screw", rowSet.getString(2));
+			assertFalse(rowSet.next());
+		}
+	}
+}
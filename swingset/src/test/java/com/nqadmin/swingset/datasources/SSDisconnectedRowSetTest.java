@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetListener;
+import javax.sql.rowset.CachedRowSet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finding and writing the changes of a disconnected RowSet.
+ */
+@SuppressWarnings("javadoc")
+public class SSDisconnectedRowSetTest {
+
+	/** Counts the cursor moves of the RowSet itself. */
+	private static class MoveCounter implements RowSetListener {
+		final CachedRowSet rowSet;
+		int moves;
+
+		MoveCounter(CachedRowSet _rowSet) {
+			rowSet = _rowSet;
+		}
+
+		@Override
+		public void rowSetChanged(RowSetEvent _event) {
+			// NOT COUNTED
+		}
+
+		@Override
+		public void rowChanged(RowSetEvent _event) {
+			// NOT COUNTED
+		}
+
+		@Override
+		public void cursorMoved(RowSetEvent _event) {
+			if (_event.getSource() == rowSet) {
+				moves++;
+			}
+		}
+	}
+
+	@Test
+	public void testChangesWithoutMovingCursor() throws SQLException {
+		System.out.println("testChangesWithoutMovingCursor");
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:SSDisconnectedRowSetTest");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE part (part_id INT PRIMARY KEY, part_name VARCHAR(20))");
+			statement.execute("INSERT INTO part VALUES (1, 'nut'), (2, 'bolt'), (3, 'screw')");
+
+			SSDisconnectedRowSet data = new SSDisconnectedRowSet(connection, "part", "part_id");
+			data.load("SELECT part_id, part_name FROM part ORDER BY part_id");
+			CachedRowSet rowSet = data.getRowSet();
+			MoveCounter counter = new MoveCounter(rowSet);
+			rowSet.addRowSetListener(counter);
+			assertFalse(data.hasPendingChanges());
+
+			rowSet.first();
+			rowSet.updateString(2, "hex nut");
+			rowSet.updateRow();
+			rowSet.next();
+			rowSet.deleteRow();
+			counter.moves = 0;
+			assertTrue(data.hasPendingChanges());
+			assertEquals(0, counter.moves);
+
+			// ON THE INSERT ROW
+			rowSet.moveToInsertRow();
+			rowSet.updateInt(1, 4);
+			rowSet.updateString(2, "washer");
+			counter.moves = 0;
+			assertTrue(data.hasPendingChanges());
+			assertEquals(0, counter.moves);
+			rowSet.insertRow();
+			rowSet.moveToCurrentRow();
+
+			assertEquals(3, data.synchronize());
+			assertFalse(data.hasPendingChanges());
+			try (ResultSet rs = statement.executeQuery("SELECT part_name FROM part ORDER BY part_id")) {
+				assertTrue(rs.next());
+				assertEquals("hex nut", rs.getString(1));
+				assertTrue(rs.next());
+				assertEquals("screw", rs.getString(1));
+				assertTrue(rs.next());
+				assertEquals("washer", rs.getString(1));
+				assertFalse(rs.next());
+			}
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.datasources;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saving and loading the metadata cache file.
+ */
+@SuppressWarnings("javadoc")
+public class SSMetaDataCacheTest {
+
+	private static final String COMMAND = "SELECT part_id, part_name FROM part_data";
+
+	@TempDir
+	Path dir;
+
+	@AfterEach
+	public void closeCache() {
+		SSMetaDataCache.close();
+	}
+
+	private static RowSetMetaDataImpl metaData(String... _labels) throws SQLException {
+		RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+		metaData.setColumnCount(_labels.length);
+		for (int i = 1; i <= _labels.length; i++) {
+			metaData.setColumnName(i, _labels[i - 1]);
+			metaData.setColumnLabel(i, _labels[i - 1]);
+			metaData.setColumnType(i, i == 1 ? Types.INTEGER : Types.VARCHAR);
+			metaData.setNullable(i, i == 1 ? ResultSetMetaData.columnNoNulls : ResultSetMetaData.columnNullable);
+		}
+		return metaData;
+	}
+
+	/** A RowSet with the command, executed if it has metadata. */
+	private static CachedRowSet rowSet(RowSetMetaDataImpl _metaData) throws SQLException {
+		CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+		rowSet.setCommand(COMMAND);
+		if (_metaData != null) {
+			rowSet.setMetaData(_metaData);
+		}
+		return rowSet;
+	}
+
+	private void cacheEntry(Path _file, String _schemaVersion) throws SQLException {
+		SSMetaDataCache.open(_file, _schemaVersion);
+		SSMetaDataCache.getMetaData(rowSet(metaData("PART_ID", "PART_NAME")));
+		SSMetaDataCache.close();
+	}
+
+	@Test
+	public void testRoundTrip() throws SQLException {
+		System.out.println("testRoundTrip");
+		Path file = dir.resolve("metadata.cache");
+		cacheEntry(file, "v1");
+		assertTrue(Files.exists(file));
+
+		SSMetaDataCache.open(file, "v1");
+		// NOT EXECUTED, THE METADATA COMES FROM THE FILE
+		CachedRowSet rowSet = rowSet(null);
+		ResultSetMetaData metaData = SSMetaDataCache.getMetaData(rowSet);
+		assertNotNull(metaData);
+		assertEquals(2, metaData.getColumnCount());
+		assertEquals("PART_NAME", metaData.getColumnLabel(2));
+		assertEquals(Types.INTEGER, metaData.getColumnType(1));
+		assertEquals(ResultSetMetaData.columnNoNulls, metaData.isNullable(1));
+		assertEquals(ResultSetMetaData.columnNullable, metaData.isNullable(2));
+		assertEquals(2, SSMetaDataCache.findColumn(rowSet, "part_name"));
+	}
+
+	@Test
+	public void testOutOfDateEntryReplaced() throws SQLException {
+		System.out.println("testOutOfDateEntryReplaced");
+		Path file = dir.resolve("metadata.cache");
+		cacheEntry(file, "v1");
+
+		SSMetaDataCache.open(file, "v1");
+		ResultSetMetaData metaData = SSMetaDataCache.getMetaData(rowSet(metaData("PART_ID", "NAME", "CITY")));
+		assertEquals(3, metaData.getColumnCount());
+		SSMetaDataCache.close();
+
+		SSMetaDataCache.open(file, "v1");
+		assertEquals(3, SSMetaDataCache.getMetaData(rowSet(null)).getColumnCount());
+	}
+
+	@Test
+	public void testOtherSchemaVersionDiscarded() throws SQLException {
+		System.out.println("testOtherSchemaVersionDiscarded");
+		Path file = dir.resolve("metadata.cache");
+		cacheEntry(file, "v1");
+
+		SSMetaDataCache.open(file, "v2");
+		assertNull(SSMetaDataCache.getMetaData(rowSet(null)));
+		SSMetaDataCache.close();
+
+		// THE FILE WAS REWRITTEN FOR v2, THE v1 ENTRIES ARE GONE
+		SSMetaDataCache.open(file, "v1");
+		assertNull(SSMetaDataCache.getMetaData(rowSet(null)));
+	}
+
+	@Test
+	public void testUnreadableFileStartsEmpty() throws IOException, SQLException {
+		System.out.println("testUnreadableFileStartsEmpty");
+		Path file = dir.resolve("metadata.cache");
+		Files.write(file, new byte[] { 1, 2, 3 });
+		SSMetaDataCache.open(file, "v1");
+		assertTrue(SSMetaDataCache.isEnabled());
+		assertNull(SSMetaDataCache.getMetaData(rowSet(null)));
+	}
+}
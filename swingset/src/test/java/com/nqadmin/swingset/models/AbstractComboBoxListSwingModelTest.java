@@ -182,6 +182,21 @@ public class AbstractComboBoxListSwingModelTest {
 		assertEquals(expResult, result);
 	}
 
+	/**
+	 * Test of getPrototypeListItem method, of class AbstractComboBoxListSwingModel.
+	 */
+	@Test
+	public void testGetPrototypeListItem() {
+		System.out.println("getPrototypeListItem");
+		assertNull(listInfo.getPrototypeListItem());
+		// default format uses elem 0, Integer; put a long one in the middle
+		List<SSListItem> items = liCreateMany(3);
+		SSListItem longest = listInfo.createListItem(123456, "x", null);
+		items.add(2, longest);
+		itemList.addAll(items);
+		assertEquals(longest, listInfo.getPrototypeListItem());
+	}
+
 	/**
 	 * Test of getItemNumElems method, of class AbstractComboBoxListSwingModel.
 	 */
@@ -0,0 +1,183 @@
+/*
+ * Portions created by Ernie Rael are
+ * Copyright (C) 2020 Ernie Rael.  All Rights Reserved.
+ *
+ * The contents of this file are subject to the Mozilla Public
+ * License Version 1.1 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of
+ * the License at http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS
+ * IS" basis, WITHOUT WARRANTY OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * rights and limitations under the License.
+ *
+ * Contributor(s): Ernie Rael <errael@raelity.com>
+ */
+package com.nqadmin.swingset.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JComboBox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author err
+ */
+@SuppressWarnings("javadoc")
+public class CompactOptionMappingItemListTest {
+
+	CompactOptionMappingSwingModel<Object> model;
+
+	List<Long> mappings = Arrays.asList(new Long[] { 10L, 20L, 30L, 40L, 50L });
+	List<String> options = Arrays.asList(new String[] { "one", "two", "three", "four", "five" });
+	List<Object> options2 = Arrays.asList(new Object[] { "a", 2, null, "d", 5.0 });
+
+	@BeforeEach
+	public void setUp() {
+		model = new CompactOptionMappingSwingModel<>(false);
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			remodel.addAll(mappings, options);
+		}
+	}
+
+	@Test
+	public void testGet() {
+		System.out.println("get");
+		assertEquals(5, model.getSize());
+		assertEquals(mappings, new ArrayList<>(model.getMappings()));
+		assertEquals(options, new ArrayList<>(model.getOptions()));
+
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			SSListItem li = remodel.get(2);
+			assertEquals(Long.valueOf(30), remodel.getMapping(li));
+			assertEquals("three", remodel.getOption(li));
+			// flyweights, equal but not the same
+			assertEquals(li, remodel.get(2));
+			assertNotSame(li, remodel.get(2));
+			assertNotEquals(li, remodel.get(3));
+		}
+	}
+
+	@Test
+	public void testIndexOf() {
+		System.out.println("indexOf");
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			// a list item created by the model is not a flyweight
+			SSListItem li = remodel.createOptionMappingItem(40L, "four", null);
+			assertEquals(3, remodel.indexOf(li));
+			assertEquals(-1, remodel.indexOf(remodel.createOptionMappingItem(40L, "fou", null)));
+			assertEquals(-1, remodel.indexOf(remodel.createOptionMappingItem(41L, "four", null)));
+			assertEquals(1, remodel.indexOf(remodel.get(1)));
+		}
+		assertEquals(4, model.indexOfMapping(50L));
+		assertEquals(-1, model.indexOfMapping(55L));
+		assertEquals(2, model.getMappings().indexOf(30L));
+	}
+
+	@Test
+	public void testNullItem() {
+		System.out.println("nullItem");
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			SSListItem nullItem = remodel.createOptionMappingItem(null, "", null);
+			remodel.add(0, nullItem);
+			assertEquals(6, remodel.getItemList().size());
+			assertNull(remodel.getMapping(0));
+			assertEquals("", remodel.getOption(remodel.get(0)));
+			assertEquals(Long.valueOf(10), remodel.getMapping(1));
+			assertEquals(0, remodel.indexOf(nullItem));
+			assertTrue(remodel.remove(nullItem));
+			assertEquals(mappings, new ArrayList<>(remodel.getMappings()));
+		}
+		assertEquals(-1, model.indexOfMapping(0L));
+	}
+
+	@Test
+	public void testModify() {
+		System.out.println("modify");
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			assertEquals("two", remodel.setOption(1, "TWO"));
+			assertEquals("TWO", remodel.getOption(remodel.get(1)));
+			assertEquals(Long.valueOf(20), remodel.getMapping(1));
+
+			remodel.remove(0);
+			remodel.add(2, remodel.createOptionMappingItem(25L, null, null));
+			assertEquals(Arrays.asList(new Long[] { 20L, 30L, 25L, 40L, 50L }),
+					new ArrayList<>(remodel.getMappings()));
+			assertEquals(Arrays.asList(new String[] { "TWO", "three", null, "four", "five" }),
+					new ArrayList<>(remodel.getOptions()));
+
+			remodel.set(4, remodel.createOptionMappingItem(55L, "fifty five", null));
+			assertEquals("fifty five", remodel.getOption(remodel.get(4)));
+
+			remodel.clear();
+			assertTrue(remodel.isEmpty());
+		}
+	}
+
+	@Test
+	public void testCompaction() {
+		System.out.println("compaction");
+		CompactOptionMappingItemList list = new CompactOptionMappingItemList(false);
+		CompactOptionMappingSwingModel<Object> m = new CompactOptionMappingSwingModel<>(false);
+		List<SSListItem> items = new ArrayList<>();
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = m.getRemodel()) {
+			for (long i = 0; i < 10000; i++) {
+				items.add(remodel.createOptionMappingItem(i, "option-" + i, null));
+			}
+		}
+		list.addAll(items);
+		// remove most, leaving lots of garbage which is compacted
+		for (int i = 9999; i >= 10; i--) {
+			list.remove(i);
+		}
+		list.trimToSize();
+		assertEquals(10, list.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(items.get(i).toString(), list.get(i).toString());
+			assertEquals(i, list.getMappingAsLong(i));
+		}
+	}
+
+	@Test
+	public void testRemoveSelected() {
+		System.out.println("removeSelected");
+		AbstractComboBoxListSwingModel.install(new JComboBox<SSListItem>(), model, null);
+		model.setSelectedItem(model.getElementAt(2));
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			// the removed item is a new flyweight, equal to the selection
+			remodel.remove(2);
+		}
+		assertEquals(Long.valueOf(20L), model.getMappings().get(1));
+		assertEquals(model.getElementAt(1), model.getSelectedItem());
+
+		model.setSelectedItem(model.getElementAt(0));
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			remodel.remove(0);
+		}
+		assertEquals(model.getElementAt(0), model.getSelectedItem());
+		assertEquals(Long.valueOf(20L), model.getMappings().get(0));
+	}
+
+	@Test
+	public void testOption2() {
+		System.out.println("option2");
+		assertThrows(IllegalStateException.class, () -> model.setOption2Enabled(true));
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			remodel.clear();
+		}
+		model.setOption2Enabled(true);
+		try (CompactOptionMappingSwingModel<Object>.Remodel remodel = model.getRemodel()) {
+			remodel.addAll(mappings, options, options2);
+			assertEquals(options2, new ArrayList<>(remodel.getOptions2()));
+			assertEquals(1, remodel.indexOf(remodel.createOptionMappingItem(20L, "two", 2)));
+			assertEquals(-1, remodel.indexOf(remodel.createOptionMappingItem(20L, "two", 3)));
+		}
+	}
+}
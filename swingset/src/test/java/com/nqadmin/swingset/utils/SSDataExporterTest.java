@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nqadmin.swingset.SSDataGrid;
+
+/**
+ * Exporting the rows of a data grid.
+ */
+@SuppressWarnings("javadoc")
+public class SSDataExporterTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testDisconnectedGridInViewOrder() throws Exception {
+		System.out.println("testDisconnectedGridInViewOrder");
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:SSDataExporterTest");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE part (part_id INT PRIMARY KEY, part_name VARCHAR(20))");
+			statement.execute("INSERT INTO part VALUES (1, 'nut'), (2, 'bolt'), (3, 'screw'), (4, 'wing nut')");
+
+			CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+			rowSet.setCommand("SELECT part_id, part_name FROM part ORDER BY part_id");
+			rowSet.execute(connection);
+			SSDataGrid grid = new SSDataGrid(rowSet);
+			grid.setHeaders(new String[] { "Id", "Part Name" });
+			grid.setColumnFilter(1, "nut");
+			grid.setSortColumn(1, false);
+
+			Path file = dir.resolve("parts.csv");
+			SSDataExporter exporter = SSDataExporter.forDataGrid(grid, null, file);
+			exporter.execute();
+			assertEquals(2L, exporter.get());
+			// COLUMN LABELS, ROWS AS SHOWN BY THE GRID
+			assertEquals(Arrays.asList("PART_ID,PART_NAME", "4,wing nut", "1,nut"), Files.readAllLines(file));
+
+			// THE ROWSET STILL HAS ITS ROWS
+			assertEquals(4, rowSet.size());
+			assertTrue(rowSet.absolute(2));
+			assertEquals("bolt", rowSet.getString(2));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2020, Prasanth R. Pasala, Brian E. Pangburn, & The Pangburn Group
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ * Contributors:
+ *   Prasanth R. Pasala
+ *   Brian E. Pangburn
+ *   Diego Gil
+ *   Man "Bee" Vo
+ *   Ernie R. Rael
+ ******************************************************************************/
+package com.nqadmin.swingset.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.sql.RowSet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reading the records of a CSV or TSV file.
+ */
+@SuppressWarnings("javadoc")
+public class SSDataImporterTest {
+
+	private static SSDataImporter importer(String _fileName) {
+		return new SSDataImporter((RowSet) null, "t", (Connection) null, Paths.get(_fileName));
+	}
+
+	private static BufferedReader reader(String _text) {
+		return new BufferedReader(new StringReader(_text));
+	}
+
+	@Test
+	public void testPlainFields() throws IOException {
+		System.out.println("testPlainFields");
+		SSDataImporter importer = importer("parts.csv");
+		BufferedReader reader = reader("1,bolt,,12.5\n2,nut,Austin,3\n");
+		assertEquals(Arrays.asList("1", "bolt", "", "12.5"), importer.readRecord(reader));
+		assertEquals(Arrays.asList("2", "nut", "Austin", "3"), importer.readRecord(reader));
+		assertNull(importer.readRecord(reader));
+	}
+
+	@Test
+	public void testQuotedFields() throws IOException {
+		System.out.println("testQuotedFields");
+		SSDataImporter importer = importer("parts.csv");
+		BufferedReader reader = reader("\"a,b\",\"say \"\"hi\"\"\",\"\"\n");
+		assertEquals(Arrays.asList("a,b", "say \"hi\"", ""), importer.readRecord(reader));
+	}
+
+	@Test
+	public void testEmbeddedLineBreaks() throws IOException {
+		System.out.println("testEmbeddedLineBreaks");
+		SSDataImporter importer = importer("parts.csv");
+		BufferedReader reader = reader("1,\"first\nsecond\n\nfourth\",x\r\n2,y,z\n");
+		assertEquals(Arrays.asList("1", "first\nsecond\n\nfourth", "x"), importer.readRecord(reader));
+		assertEquals(Arrays.asList("2", "y", "z"), importer.readRecord(reader));
+	}
+
+	@Test
+	public void testUnterminatedQuote() throws IOException {
+		System.out.println("testUnterminatedQuote");
+		SSDataImporter importer = importer("parts.csv");
+		assertEquals(Arrays.asList("1", "open\nend"), importer.readRecord(reader("1,\"open\nend")));
+	}
+
+	@Test
+	public void testTabDelimiter() throws IOException {
+		System.out.println("testTabDelimiter");
+		SSDataImporter importer = importer("parts.TSV");
+		assertEquals(Arrays.asList("a,b", "c"), importer.readRecord(reader("a,b\tc\n")));
+		importer.setDelimiter(';');
+		assertEquals(Arrays.asList("a", "b"), importer.readRecord(reader("a;b")));
+		assertEquals(Collections.singletonList(""), importer.readRecord(reader("\n")));
+	}
+}